@@ -9,7 +9,14 @@ import plan4life.entities.Schedule;
 import plan4life.ai.LlmScheduleService;
 import plan4life.ai.PromptBuilder;
 import plan4life.ai.RagRetriever;
+import plan4life.ai.rules.ActivityRuleCatalog;
+import plan4life.ai.rules.ActivityTimeRules;
 import plan4life.solver.ConstraintSolver;
+import plan4life.solver.CpScheduleSolver;
+import plan4life.solver.OccupancyGrid;
+import plan4life.solver.PortfolioSolver;
+import plan4life.solver.ScheduleSolver;
+import plan4life.solver.SolverListener;
 
 // --- Presenters ---
 import plan4life.presenter.CalendarPresenter;
@@ -41,27 +48,43 @@ import plan4life.use_case.set_preferences.SetPreferencesOutputBoundary;
 import plan4life.data_access.InMemoryReminderDAO;
 import plan4life.data_access.ReminderDataAccessInterface;
 import plan4life.presenter.SetReminderPresenter;
-import plan4life.use_case.set_reminder.SetReminderInputBoundary;
+import plan4life.use_case.set_reminder.CatchUpPolicy;
 import plan4life.use_case.set_reminder.SetReminderInteractor;
-import plan4life.use_case.set_reminder.SetReminderOutputBoundary;
 
 // --- View & Controllers ---
 import plan4life.view.CalendarFrame;
 import plan4life.controller.CalendarController;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+
 public class Main {
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-
-            // ============================================================
-            // 1. SCHEDULE STORAGE
-            // ============================================================
-            ScheduleDataAccessInterface scheduleDAO = new InMemoryScheduleDAO();
-
-            // IMPORTANT:
-            // Must create schedules using new constructor (id + type)
+        // ============================================================
+        // 1. STORAGE
+        // ============================================================
+        // Open (and replay) the file-backed stores on the main thread, before the EDT starts;
+        // PLAN4LIFE_DATA_DIR keeps schedules and reminders on disk across restarts.
+        String dataDir = System.getenv("PLAN4LIFE_DATA_DIR");
+        ScheduleDataAccessInterface scheduleDAO = openScheduleStore(dataDir);
+        ReminderDataAccessInterface reminderDAO = openReminderStore(dataDir);
+
+        // IMPORTANT:
+        // Must create schedules using new constructor (id + type)
+        if (scheduleDAO.getSchedule(1) == null) {
             scheduleDAO.saveSchedule(new Schedule(1, "day"));
+        }
+        if (scheduleDAO.getSchedule(2) == null) {
             scheduleDAO.saveSchedule(new Schedule(2, "week"));
+        }
+
+        SwingUtilities.invokeLater(() -> {
 
             // ============================================================
             // 2. SETTINGS FEATURE
@@ -81,8 +104,9 @@ public class Main {
             // 4. BLOCK-OFF-TIME FEATURE
             // ============================================================
             BlockOffTimeOutputBoundary blockPresenter = new CalendarPresenter(view);
+            ConstraintSolver greedySolver = new ConstraintSolver();
             BlockOffTimeInputBoundary blockInteractor =
-                    new BlockOffTimeInteractor(scheduleDAO, blockPresenter);
+                    new BlockOffTimeInteractor(scheduleDAO, blockPresenter, greedySolver);
             BlockOffTimeController blockController =
                     new BlockOffTimeController(blockInteractor);
 
@@ -97,7 +121,32 @@ public class Main {
             boolean hasApiKey = System.getenv("HUGGINGFACE_API_KEY") != null
                     && !System.getenv("HUGGINGFACE_API_KEY").isBlank();
             System.out.printf("[Main] LLM configured model: %s (API key present: %b)%n", configuredModel, hasApiKey);
-            ConstraintSolver constraintSolver = new ConstraintSolver();
+            // PLAN4LIFE_RULES points at a JSON file of extra activity rules that take precedence over the bundled ones.
+            String userRules = System.getenv("PLAN4LIFE_RULES");
+            if (userRules != null && !userRules.isBlank()) {
+                try {
+                    ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults().withRulesFrom(Path.of(userRules)));
+                } catch (IOException | IllegalArgumentException ex) {
+                    System.out.printf("[Main] Ignoring activity rules in %s: %s%n", userRules, ex.getMessage());
+                }
+            }
+            // PLAN4LIFE_SOLVER=cp uses the exact CP solver (greedy remains its fallback);
+            // PLAN4LIFE_SOLVER=portfolio runs one seeded greedy solve per core and keeps the best;
+            // PLAN4LIFE_SOLVER=anytime refines the greedy result by local search for up to 500 ms.
+            String solverMode = System.getenv("PLAN4LIFE_SOLVER");
+            ScheduleSolver constraintSolver;
+            if ("cp".equalsIgnoreCase(solverMode)) {
+                constraintSolver = new CpScheduleSolver();
+            } else if ("portfolio".equalsIgnoreCase(solverMode)) {
+                constraintSolver = new PortfolioSolver();
+            } else if ("anytime".equalsIgnoreCase(solverMode)) {
+                constraintSolver = new ConstraintSolver(
+                        LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                        new Random(), OccupancyGrid.DEFAULT_SLOT_MINUTES, SolverListener.NO_OP,
+                        Duration.ofMillis(500));
+            } else {
+                constraintSolver = greedySolver;
+            }
             GenerateScheduleInputBoundary scheduleInput = new GenerateScheduleInteractor(
                     schedulePresenter,
                     ragRetriever,
@@ -108,10 +157,16 @@ public class Main {
             // ============================================================
             // 6. set reminder
             // ============================================================
-            ReminderDataAccessInterface reminderDAO = new InMemoryReminderDAO();
-            SetReminderOutputBoundary reminderPresenter = new SetReminderPresenter();
-            SetReminderInputBoundary setReminderInteractor =
+            SetReminderPresenter reminderPresenter = new SetReminderPresenter();
+            closeOnExit(reminderPresenter, "reminder notifications");
+            SetReminderInteractor setReminderInteractor =
                     new SetReminderInteractor(reminderDAO, reminderPresenter);
+            // Re-arm stored reminders off the EDT; ones missed while closed get one notice per event
+            Thread recovery = new Thread(
+                    () -> setReminderInteractor.recoverPendingReminders(CatchUpPolicy.summaryPerEvent()),
+                    "plan4life-reminder-recovery");
+            recovery.setDaemon(true);
+            recovery.start();
 
             LockActivityOutputBoundary lockPresenter = new CalendarPresenter(view);
             LockActivityInputBoundary lockInteractor =
@@ -132,4 +187,46 @@ public class Main {
             view.setVisible(true);
         });
     }
-}
\ No newline at end of file
+
+    // Schedules live in memory unless a data directory is configured.
+    private static ScheduleDataAccessInterface openScheduleStore(String dataDir) {
+        if (dataDir != null && !dataDir.isBlank()) {
+            try {
+                // Saves are coalesced in memory and written to the journal in batches;
+                // closing the write-behind layer also closes the journal behind it.
+                WriteBehindScheduleDAO writeBehind =
+                        new WriteBehindScheduleDAO(new JournaledScheduleDAO(Path.of(dataDir)));
+                closeOnExit(writeBehind, "schedules");
+                return writeBehind;
+            } catch (IOException ex) {
+                System.out.printf("[Main] Ignoring schedule store in %s: %s%n", dataDir, ex.getMessage());
+            }
+        }
+        return new InMemoryScheduleDAO();
+    }
+
+    // Reminders live in memory unless a data directory is configured.
+    private static ReminderDataAccessInterface openReminderStore(String dataDir) {
+        if (dataDir != null && !dataDir.isBlank()) {
+            try {
+                JournaledReminderDAO journaled = new JournaledReminderDAO(Path.of(dataDir));
+                closeOnExit(journaled, "reminders");
+                return journaled;
+            } catch (IOException ex) {
+                System.out.printf("[Main] Ignoring reminder store in %s: %s%n", dataDir, ex.getMessage());
+            }
+        }
+        return new InMemoryReminderDAO();
+    }
+
+    // Flush a file-backed store's pending writes (or queued notifications) when the JVM exits.
+    private static void closeOnExit(Closeable store, String what) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                store.close();
+            } catch (IOException ex) {
+                System.out.printf("[Main] Could not flush %s: %s%n", what, ex.getMessage());
+            }
+        }));
+    }
+}
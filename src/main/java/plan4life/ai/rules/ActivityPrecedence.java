@@ -0,0 +1,93 @@
+package plan4life.ai.rules;
+
+import java.util.Objects;
+
+/**
+ * An ordering requirement between an activity and an anchor activity on the same day:
+ * "A before B" or "A after B", optionally within a maximum gap. The anchor is named by the id
+ * of the rule it matches in the active {@link ActivityRuleCatalog}.
+ */
+public final class ActivityPrecedence {
+
+    public static final String DINNER_ANCHOR = "dinner";
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public enum Relation {
+        BEFORE,
+        AFTER
+    }
+
+    private final Relation relation;
+    private final String anchorRuleId;
+    private final int withinMinutes;
+
+    public ActivityPrecedence(Relation relation, String anchorRuleId, int withinMinutes) {
+        if (withinMinutes < 0) {
+            throw new IllegalArgumentException("withinMinutes must not be negative");
+        }
+        this.relation = Objects.requireNonNull(relation);
+        this.anchorRuleId = Objects.requireNonNull(anchorRuleId);
+        this.withinMinutes = withinMinutes;
+    }
+
+    public static ActivityPrecedence before(String anchorRuleId) {
+        return new ActivityPrecedence(Relation.BEFORE, anchorRuleId, UNBOUNDED);
+    }
+
+    public static ActivityPrecedence after(String anchorRuleId) {
+        return new ActivityPrecedence(Relation.AFTER, anchorRuleId, UNBOUNDED);
+    }
+
+    public Relation getRelation() {
+        return relation;
+    }
+
+    public String getAnchorRuleId() {
+        return anchorRuleId;
+    }
+
+    /**
+     * Largest allowed gap between the activity and its anchor, or {@link #UNBOUNDED}.
+     */
+    public int getWithinMinutes() {
+        return withinMinutes;
+    }
+
+    public boolean isBounded() {
+        return withinMinutes != UNBOUNDED;
+    }
+
+    /**
+     * Whether an activity occupying {@code [start, end)} satisfies this precedence against an
+     * anchor occupying {@code [anchorStart, anchorEnd)}, all in minutes of the same day.
+     */
+    public boolean isSatisfied(int start, int end, int anchorStart, int anchorEnd) {
+        if (relation == Relation.BEFORE) {
+            return end <= anchorStart && (!isBounded() || anchorStart - end <= withinMinutes);
+        }
+        return start >= anchorEnd && (!isBounded() || start - anchorEnd <= withinMinutes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ActivityPrecedence)) {
+            return false;
+        }
+        ActivityPrecedence that = (ActivityPrecedence) other;
+        return relation == that.relation && withinMinutes == that.withinMinutes
+                && anchorRuleId.equals(that.anchorRuleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(relation, anchorRuleId, withinMinutes);
+    }
+
+    @Override
+    public String toString() {
+        return relation + " " + anchorRuleId + (isBounded() ? " within " + withinMinutes + "min" : "");
+    }
+}
@@ -0,0 +1,268 @@
+package plan4life.ai.rules;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import plan4life.ai.rules.ActivityRuleDefinition.Role;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable, compiled set of {@link ActivityTimeRule}s. Every keyword of every rule is folded
+ * into one {@link KeywordMatcher}, so an activity name is scanned once regardless of catalog size,
+ * and the outcome for each distinct name is memoized. Rules earlier in the catalog win; user
+ * rules added with {@link #withRules} are placed ahead of the ones they extend.
+ */
+public final class ActivityRuleCatalog {
+
+    static final String DEFAULT_RESOURCE = "/ai/rules/activity_time_rules.json";
+    private static final int MEMO_LIMIT = 4096;
+    private static final Gson GSON = new Gson();
+    private static final Type DEFINITION_LIST = new TypeToken<List<ActivityRuleDefinition>>() { }.getType();
+
+    private final List<ActivityRuleDefinition> definitions;
+    private final ActivityTimeRule[] rules;
+    private final Role[] roles;
+    private final String[] ids;
+    private final int[][] anyOf;
+    private final int[][] allOf;
+    private final int[][] noneOf;
+    private final int[][] rulesByKeyword;
+    private final KeywordMatcher matcher;
+    private final Map<String, Match> memo = new ConcurrentHashMap<>();
+
+    private ActivityRuleCatalog(List<ActivityRuleDefinition> definitions) {
+        this.definitions = List.copyOf(definitions);
+        int count = definitions.size();
+        this.rules = new ActivityTimeRule[count];
+        this.roles = new Role[count];
+        this.ids = new String[count];
+        this.anyOf = new int[count][];
+        this.allOf = new int[count][];
+        this.noneOf = new int[count][];
+
+        Map<String, Integer> keywordIds = new HashMap<>();
+        List<String> keywords = new ArrayList<>();
+        List<List<Integer>> triggers = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            ActivityRuleDefinition definition = definitions.get(r);
+            rules[r] = definition.toRule();
+            roles[r] = definition.getRole();
+            ids[r] = definition.getId();
+            anyOf[r] = intern(definition.getAnyOf(), keywordIds, keywords, triggers);
+            allOf[r] = intern(definition.getAllOf(), keywordIds, keywords, triggers);
+            noneOf[r] = intern(definition.getNoneOf(), keywordIds, keywords, triggers);
+            // A rule only needs evaluating when one of its positive keywords occurs.
+            for (int id : anyOf[r].length > 0 ? anyOf[r] : allOf[r]) {
+                triggers.get(id).add(r);
+            }
+        }
+        this.rulesByKeyword = new int[keywords.size()][];
+        for (int id = 0; id < keywords.size(); id++) {
+            rulesByKeyword[id] = triggers.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.matcher = new KeywordMatcher(keywords);
+    }
+
+    /**
+     * The rules bundled with the application.
+     */
+    public static ActivityRuleCatalog defaults() {
+        return Holder.DEFAULTS;
+    }
+
+    public static ActivityRuleCatalog of(List<ActivityRuleDefinition> definitions) {
+        return new ActivityRuleCatalog(definitions);
+    }
+
+    /**
+     * Parse a JSON array of {@link ActivityRuleDefinition}s.
+     *
+     * @throws IllegalArgumentException if the JSON or any entry in it is malformed
+     */
+    public static List<ActivityRuleDefinition> readDefinitions(Reader reader) {
+        try {
+            List<ActivityRuleDefinition> parsed = GSON.fromJson(reader, DEFINITION_LIST);
+            return parsed == null ? List.of() : parsed;
+        } catch (JsonParseException ex) {
+            throw new IllegalArgumentException("Malformed activity rule file", ex);
+        }
+    }
+
+    /**
+     * A catalog in which {@code additions} take precedence over this catalog's rules.
+     */
+    public ActivityRuleCatalog withRules(List<ActivityRuleDefinition> additions) {
+        if (additions == null || additions.isEmpty()) {
+            return this;
+        }
+        List<ActivityRuleDefinition> combined = new ArrayList<>(additions);
+        combined.addAll(definitions);
+        return new ActivityRuleCatalog(combined);
+    }
+
+    /**
+     * Load user rules from a JSON file and put them ahead of this catalog's rules.
+     */
+    public ActivityRuleCatalog withRulesFrom(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return withRules(readDefinitions(reader));
+        }
+    }
+
+    public Optional<ActivityTimeRule> findRule(String activityName) {
+        return Optional.ofNullable(match(activityName).rule);
+    }
+
+    public boolean hasRole(String activityName, Role role) {
+        return match(activityName).roles.contains(role);
+    }
+
+    /**
+     * Ids of every rule the activity satisfies, regardless of priority; used to find anchors
+     * referenced by {@link ActivityPrecedence}.
+     */
+    public Set<String> matchingRuleIds(String activityName) {
+        return match(activityName).ruleIds;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    private Match match(String activityName) {
+        if (activityName == null || activityName.isBlank()) {
+            return Match.NONE;
+        }
+        Match cached = memo.get(activityName);
+        if (cached != null) {
+            return cached;
+        }
+        Match computed = evaluate(activityName.toLowerCase(Locale.ROOT));
+        if (memo.size() >= MEMO_LIMIT) {
+            memo.clear();
+        }
+        memo.put(activityName, computed);
+        return computed;
+    }
+
+    private Match evaluate(String normalized) {
+        BitSet present = matcher.matches(normalized);
+        BitSet candidates = new BitSet(rules.length);
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            for (int r : rulesByKeyword[id]) {
+                candidates.set(r);
+            }
+        }
+
+        ActivityTimeRule first = null;
+        Set<Role> matchedRoles = EnumSet.noneOf(Role.class);
+        Set<String> matchedIds = new HashSet<>();
+        for (int r = candidates.nextSetBit(0); r >= 0; r = candidates.nextSetBit(r + 1)) {
+            if (!satisfied(r, present)) {
+                continue;
+            }
+            if (first == null) {
+                first = rules[r];
+            }
+            if (roles[r] != null) {
+                matchedRoles.add(roles[r]);
+            }
+            if (ids[r] != null) {
+                matchedIds.add(ids[r]);
+            }
+        }
+        return first == null ? Match.NONE : new Match(first, matchedRoles, Set.copyOf(matchedIds));
+    }
+
+    private boolean satisfied(int r, BitSet present) {
+        if (anyOf[r].length > 0) {
+            boolean any = false;
+            for (int id : anyOf[r]) {
+                if (present.get(id)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        for (int id : allOf[r]) {
+            if (!present.get(id)) {
+                return false;
+            }
+        }
+        for (int id : noneOf[r]) {
+            if (present.get(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] intern(List<String> words,
+                                Map<String, Integer> keywordIds,
+                                List<String> keywords,
+                                List<List<Integer>> triggers) {
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = keywordIds.computeIfAbsent(words.get(i), word -> {
+                keywords.add(word);
+                triggers.add(new ArrayList<>());
+                return keywords.size() - 1;
+            });
+        }
+        return ids;
+    }
+
+    private static ActivityRuleCatalog loadResource(String resourcePath) {
+        try (InputStream stream = ActivityRuleCatalog.class.getResourceAsStream(resourcePath)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing activity rule resource " + resourcePath);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                return of(readDefinitions(reader));
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to read activity rule resource " + resourcePath, ex);
+        }
+    }
+
+    private static final class Match {
+        static final Match NONE = new Match(null, EnumSet.noneOf(Role.class), Set.of());
+
+        final ActivityTimeRule rule;
+        final Set<Role> roles;
+        final Set<String> ruleIds;
+
+        Match(ActivityTimeRule rule, Set<Role> roles, Set<String> ruleIds) {
+            this.rule = rule;
+            this.roles = roles;
+            this.ruleIds = ruleIds;
+        }
+    }
+
+    private static final class Holder {
+        static final ActivityRuleCatalog DEFAULTS = loadResource(DEFAULT_RESOURCE);
+    }
+}
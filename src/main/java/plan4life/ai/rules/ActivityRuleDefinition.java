@@ -0,0 +1,178 @@
+package plan4life.ai.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One entry of an activity rule file, as read by Gson. An activity name matches when it contains
+ * at least one {@code anyOf} keyword (if any are listed), every {@code allOf} keyword, and none of
+ * the {@code noneOf} keywords. Times are {@code HH:mm}; {@code 24:00} is accepted as a window end.
+ * {@code precedes} and {@code follows} list anchors, by rule id, that the activity must be placed
+ * before or after on the same day, optionally within {@code withinMinutes}.
+ */
+public class ActivityRuleDefinition {
+
+    /**
+     * Extra meaning a matching rule gives an activity beyond its placement window.
+     */
+    public enum Role {
+        DINNER,
+        MORNING_ROUTINE
+    }
+
+    private String id;
+    private List<String> anyOf;
+    private List<String> allOf;
+    private List<String> noneOf;
+    private String windowStart;
+    private String windowEnd;
+    private String preferredStart;
+    private boolean mustPrecedeDinner;
+    private boolean weekdaysOnly;
+    private Role role;
+    private List<AnchorReference> precedes;
+    private List<AnchorReference> follows;
+
+    public ActivityRuleDefinition() {
+    }
+
+    public ActivityRuleDefinition(String id,
+                                  List<String> anyOf,
+                                  List<String> allOf,
+                                  List<String> noneOf,
+                                  String windowStart,
+                                  String windowEnd,
+                                  String preferredStart,
+                                  boolean mustPrecedeDinner,
+                                  boolean weekdaysOnly,
+                                  Role role) {
+        this.id = id;
+        this.anyOf = anyOf;
+        this.allOf = allOf;
+        this.noneOf = noneOf;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.preferredStart = preferredStart;
+        this.mustPrecedeDinner = mustPrecedeDinner;
+        this.weekdaysOnly = weekdaysOnly;
+        this.role = role;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getAnyOf() {
+        return normalize(anyOf);
+    }
+
+    public List<String> getAllOf() {
+        return normalize(allOf);
+    }
+
+    public List<String> getNoneOf() {
+        return normalize(noneOf);
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Build the placement rule this entry describes.
+     *
+     * @throws IllegalArgumentException if the entry has no positive keyword or a malformed time
+     */
+    ActivityTimeRule toRule() {
+        if (getAnyOf().isEmpty() && getAllOf().isEmpty()) {
+            throw new IllegalArgumentException("Rule " + id + " needs at least one anyOf or allOf keyword");
+        }
+        int[] start = parseTime(windowStart, "windowStart");
+        int[] end = parseTime(windowEnd, "windowEnd");
+        int[] preferred = preferredStart == null ? start : parseTime(preferredStart, "preferredStart");
+        List<ActivityPrecedence> precedences = new ArrayList<>();
+        addPrecedences(precedences, ActivityPrecedence.Relation.BEFORE, precedes);
+        addPrecedences(precedences, ActivityPrecedence.Relation.AFTER, follows);
+        return new ActivityTimeRule(start[0], start[1], end[0], end[1], preferred[0], preferred[1],
+                mustPrecedeDinner, weekdaysOnly, precedences);
+    }
+
+    /**
+     * Add "before"/"after" anchors to this entry; returns {@code this} for chaining.
+     */
+    public ActivityRuleDefinition withPrecedence(ActivityPrecedence precedence) {
+        List<AnchorReference> target;
+        if (precedence.getRelation() == ActivityPrecedence.Relation.BEFORE) {
+            precedes = precedes == null ? new ArrayList<>() : new ArrayList<>(precedes);
+            target = precedes;
+        } else {
+            follows = follows == null ? new ArrayList<>() : new ArrayList<>(follows);
+            target = follows;
+        }
+        target.add(new AnchorReference(precedence.getAnchorRuleId(),
+                precedence.isBounded() ? precedence.getWithinMinutes() : null));
+        return this;
+    }
+
+    private void addPrecedences(List<ActivityPrecedence> out,
+                                ActivityPrecedence.Relation relation,
+                                List<AnchorReference> anchors) {
+        if (anchors == null) {
+            return;
+        }
+        for (AnchorReference anchor : anchors) {
+            if (anchor == null || anchor.anchor == null || anchor.anchor.isBlank()) {
+                throw new IllegalArgumentException("Rule " + id + " has an anchor without a rule id");
+            }
+            int within = anchor.withinMinutes == null ? ActivityPrecedence.UNBOUNDED : anchor.withinMinutes;
+            if (within < 0) {
+                throw new IllegalArgumentException("Rule " + id + " has a negative withinMinutes");
+            }
+            out.add(new ActivityPrecedence(relation, anchor.anchor, within));
+        }
+    }
+
+    private int[] parseTime(String value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Rule " + id + " is missing " + field);
+        }
+        String[] parts = value.trim().split(":");
+        try {
+            int hour = Integer.parseInt(parts[0]);
+            int minute = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            if (hour < 0 || hour > 24 || minute < 0 || minute > 59 || (hour == 24 && minute != 0)) {
+                throw new IllegalArgumentException("Rule " + id + " has invalid " + field + ": " + value);
+            }
+            return new int[]{hour, minute};
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Rule " + id + " has invalid " + field + ": " + value, ex);
+        }
+    }
+
+    private static List<String> normalize(List<String> keywords) {
+        if (keywords == null) {
+            return List.of();
+        }
+        return keywords.stream()
+                .filter(keyword -> keyword != null && !keyword.isBlank())
+                .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * JSON form of one precedence anchor: {@code {"anchor": "dinner", "withinMinutes": 60}}.
+     */
+    public static class AnchorReference {
+        private String anchor;
+        private Integer withinMinutes;
+
+        public AnchorReference() {
+        }
+
+        public AnchorReference(String anchor, Integer withinMinutes) {
+            this.anchor = anchor;
+            this.withinMinutes = withinMinutes;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package plan4life.ai.rules;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents preferred placement guidance for an activity name pattern.
  */
@@ -12,6 +15,7 @@ public class ActivityTimeRule {
     private final int preferredStartMinute;
     private final boolean mustPrecedeDinner;
     private final boolean weekdaysOnly;
+    private final List<ActivityPrecedence> precedences;
 
     public ActivityTimeRule(int windowStartHour, int windowEndHour, int preferredStartHour, boolean mustPrecedeDinner) {
         this(windowStartHour, 0, windowEndHour, 0, preferredStartHour, 0, mustPrecedeDinner, false);
@@ -25,14 +29,39 @@ public class ActivityTimeRule {
                             int preferredStartMinute,
                             boolean mustPrecedeDinner,
                             boolean weekdaysOnly) {
+        this(windowStartHour, windowStartMinute, windowEndHour, windowEndMinute,
+                preferredStartHour, preferredStartMinute, mustPrecedeDinner, weekdaysOnly, List.of());
+    }
+
+    /**
+     * @param precedences ordering requirements against anchor activities on the same day; when
+     *                    {@code mustPrecedeDinner} is set, "before dinner" is added if missing
+     */
+    public ActivityTimeRule(int windowStartHour,
+                            int windowStartMinute,
+                            int windowEndHour,
+                            int windowEndMinute,
+                            int preferredStartHour,
+                            int preferredStartMinute,
+                            boolean mustPrecedeDinner,
+                            boolean weekdaysOnly,
+                            List<ActivityPrecedence> precedences) {
         this.windowStartHour = Math.max(0, windowStartHour);
         this.windowStartMinute = clampMinute(windowStartMinute);
         this.windowEndHour = Math.min(24, windowEndHour);
         this.windowEndMinute = clampMinute(windowEndMinute);
         this.preferredStartHour = preferredStartHour;
         this.preferredStartMinute = clampMinute(preferredStartMinute);
-        this.mustPrecedeDinner = mustPrecedeDinner;
         this.weekdaysOnly = weekdaysOnly;
+        List<ActivityPrecedence> all = new ArrayList<>(precedences == null ? List.of() : precedences);
+        boolean hasDinnerAnchor = all.stream().anyMatch(precedence ->
+                precedence.getRelation() == ActivityPrecedence.Relation.BEFORE
+                        && precedence.getAnchorRuleId().equals(ActivityPrecedence.DINNER_ANCHOR));
+        if (mustPrecedeDinner && !hasDinnerAnchor) {
+            all.add(ActivityPrecedence.before(ActivityPrecedence.DINNER_ANCHOR));
+        }
+        this.mustPrecedeDinner = mustPrecedeDinner || hasDinnerAnchor;
+        this.precedences = List.copyOf(all);
     }
 
     public int getWindowStartHour() {
@@ -67,6 +96,10 @@ public class ActivityTimeRule {
         return weekdaysOnly;
     }
 
+    public List<ActivityPrecedence> getPrecedences() {
+        return precedences;
+    }
+
     /**
      * Choose a preferred hour that stays within the rule window and accommodates the required slots.
      */
@@ -0,0 +1,103 @@
+package plan4life.ai.rules;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over a fixed set of lowercase keywords. One pass over a text reports
+ * every keyword it contains, however many keywords the automaton was built from.
+ */
+final class KeywordMatcher {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failure;
+    private final int[][] outputs;
+
+    KeywordMatcher(List<String> keywords) {
+        List<List<Integer>> pending = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        pending.add(new ArrayList<>());
+        for (int id = 0; id < keywords.size(); id++) {
+            int node = 0;
+            for (char c : keywords.get(id).toCharArray()) {
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(node).put(c, next);
+                    transitions.add(new HashMap<>());
+                    pending.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            pending.get(node).add(id);
+        }
+
+        failure = new int[transitions.size()];
+        outputs = new int[transitions.size()][];
+        outputs[0] = toArray(pending.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            List<Integer> matched = pending.get(node);
+            int[] inherited = outputs[failure[node]];
+            int[] merged = Arrays.copyOf(toArray(matched), matched.size() + (inherited == null ? 0 : inherited.length));
+            if (inherited != null) {
+                System.arraycopy(inherited, 0, merged, matched.size(), inherited.length);
+            }
+            outputs[node] = merged;
+
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                int child = edge.getValue();
+                failure[child] = step(failure[node], edge.getKey());
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Ids (positions in the constructor list) of every keyword that occurs in {@code text}.
+     */
+    BitSet matches(String text) {
+        BitSet found = new BitSet();
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, text.charAt(i));
+            for (int id : outputs[node]) {
+                found.set(id);
+            }
+        }
+        return found;
+    }
+
+    private int step(int node, char c) {
+        int current = node;
+        while (true) {
+            Integer next = transitions.get(current).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (current == 0) {
+                return 0;
+            }
+            current = failure[current];
+        }
+    }
+
+    private static int[] toArray(List<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        return array;
+    }
+}
@@ -2,6 +2,7 @@ package plan4life.controller;
 
 import plan4life.entities.Event;
 import plan4life.entities.Event.UrgencyLevel;
+import plan4life.entities.SlotKey;
 
 import plan4life.use_case.generate_schedule.GenerateScheduleInputBoundary;
 import plan4life.use_case.generate_schedule.GenerateScheduleRequestModel;
@@ -11,8 +12,10 @@ import plan4life.use_case.set_reminder.SetReminderInputBoundary;
 import plan4life.use_case.set_reminder.SetReminderRequestModel;
 
 import javax.swing.JOptionPane;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -67,8 +70,8 @@ public class CalendarController {
     /**
      * Used by CalendarFrame when user locks certain time slots.
      */
-    public void lockAndRegenerate(int scheduleId, Set<String> lockedSlots) {
-        Set<String> copy = (lockedSlots == null)
+    public void lockAndRegenerate(int scheduleId, Set<SlotKey> lockedSlots) {
+        Set<SlotKey> copy = (lockedSlots == null)
                 ? new HashSet<>()
                 : new HashSet<>(lockedSlots);
 
@@ -99,6 +102,19 @@ public class CalendarController {
         return Collections.unmodifiableList(events);
     }
 
+    /**
+     * Event occurrences starting in {@code [from, to)}, earliest first. Recurring events are
+     * expanded for the range only; their other occurrences are never created.
+     */
+    public List<Event> getEventsBetween(LocalDateTime from, LocalDateTime to) {
+        List<Event> result = new ArrayList<>();
+        for (Event event : events) {
+            result.addAll(event.occurrencesBetween(from, to));
+        }
+        result.sort(Comparator.comparing(Event::getStart));
+        return result;
+    }
+
 
     // =========================================================
     //      Extended reminder API used by ReminderDialog
@@ -118,14 +134,7 @@ public class CalendarController {
                                              boolean playSound) {
         if (event == null) return;
 
-        // Update view-layer event metadata so UI can still read these flags.
-        event.setImportant(true);
-        event.setReminderMinutesBefore(minutesBefore);
-        event.setAlertType(alertType);
-        event.setUrgencyLevel(urgencyLevel);
-        event.setSendMessage(sendMessage);
-        event.setSendEmail(sendEmail);
-        event.setPlaySound(playSound);
+        applyReminderMetadata(event, minutesBefore, alertType, urgencyLevel, sendMessage, sendEmail, playSound);
 
         // Track this event globally (for "apply to all events").
         registerEvent(event);
@@ -146,6 +155,25 @@ public class CalendarController {
     }
 
 
+    /**
+     * Update view-layer event metadata so UI can still read these flags.
+     */
+    private void applyReminderMetadata(Event event,
+                                       int minutesBefore,
+                                       String alertType,
+                                       UrgencyLevel urgencyLevel,
+                                       boolean sendMessage,
+                                       boolean sendEmail,
+                                       boolean playSound) {
+        event.setImportant(true);
+        event.setReminderMinutesBefore(minutesBefore);
+        event.setAlertType(alertType);
+        event.setUrgencyLevel(urgencyLevel);
+        event.setSendMessage(sendMessage);
+        event.setSendEmail(sendEmail);
+        event.setPlaySound(playSound);
+    }
+
     /**
      * Helper method to send reminder info to the SetReminder use case.
      * If isImportant = true  -> setReminder(...)
@@ -163,7 +191,25 @@ public class CalendarController {
             return;
         }
 
-        SetReminderRequestModel request = new SetReminderRequestModel(
+        SetReminderRequestModel request = buildReminderRequest(event, minutesBefore, alertType,
+                urgencyLevel, sendMessage, sendEmail, playSound, isImportant);
+
+        if (isImportant) {
+            setReminderInteractor.setReminder(request);
+        } else {
+            setReminderInteractor.cancelReminder(request);
+        }
+    }
+
+    private static SetReminderRequestModel buildReminderRequest(Event event,
+                                                                int minutesBefore,
+                                                                String alertType,
+                                                                UrgencyLevel urgencyLevel,
+                                                                boolean sendMessage,
+                                                                boolean sendEmail,
+                                                                boolean playSound,
+                                                                boolean isImportant) {
+        return new SetReminderRequestModel(
                 event.getTitle(),
                 event.getStart(),
                 event.getEnd(),
@@ -173,17 +219,16 @@ public class CalendarController {
                 sendMessage,
                 sendEmail,
                 playSound,
-                isImportant
+                isImportant,
+                event.getRecurrence()
         );
-
-        if (isImportant) {
-            setReminderInteractor.setReminder(request);
-        } else {
-            setReminderInteractor.cancelReminder(request);
-        }
     }
 
 
+    /**
+     * Applies the reminder settings to the source event and to every event that already had a
+     * reminder, sending all changed events to the SetReminder use case as one bulk request.
+     */
     public void setImportantReminderForAllEvents(Event sourceEvent,
                                                  int minutesBefore,
                                                  String alertType,
@@ -201,6 +246,7 @@ public class CalendarController {
             return;
         }
 
+        List<SetReminderRequestModel> requests = new ArrayList<>();
         for (Event e : events) {
 
             // NEW: only touch
@@ -234,17 +280,15 @@ public class CalendarController {
                 continue;
             }
 
-            setImportantReminderForEvent(
-                    e,
-                    minutesBefore,
-                    alertType,
-                    urgencyLevel,
-                    sendMessage,
-                    sendEmail,
-                    playSound
-            );
+            applyReminderMetadata(e, minutesBefore, alertType, urgencyLevel, sendMessage, sendEmail, playSound);
+            requests.add(buildReminderRequest(e, minutesBefore, alertType, urgencyLevel,
+                    sendMessage, sendEmail, playSound, true));
+            eventsWithReminder.add(e);
         }
 
+        if (setReminderInteractor != null && !requests.isEmpty()) {
+            setReminderInteractor.setReminders(requests);
+        }
     }
 
 
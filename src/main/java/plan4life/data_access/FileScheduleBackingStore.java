@@ -0,0 +1,52 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+
+/**
+ * One {@link ScheduleBinaryCodec} file per schedule under a directory per user. User ids are
+ * Base64url-encoded for the directory name, so any id is a safe single path segment.
+ */
+public class FileScheduleBackingStore implements ScheduleBackingStore {
+
+    private static final String SUFFIX = ".schedule";
+
+    private final Path root;
+
+    public FileScheduleBackingStore(Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+    }
+
+    @Override
+    public Schedule load(String userId, int scheduleId) throws IOException {
+        Path file = fileFor(userId, scheduleId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return ScheduleBinaryCodec.decode(Files.readAllBytes(file));
+    }
+
+    /**
+     * Replace the stored copy atomically, so a crash leaves either the old or the new schedule.
+     */
+    @Override
+    public void store(String userId, Schedule schedule) throws IOException {
+        Path file = fileFor(userId, schedule.getScheduleId());
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, ScheduleBinaryCodec.encode(schedule));
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path fileFor(String userId, int scheduleId) {
+        String directory = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(userId.getBytes(StandardCharsets.UTF_8));
+        return root.resolve(directory.isEmpty() ? "_" : directory).resolve(scheduleId + SUFFIX);
+    }
+}
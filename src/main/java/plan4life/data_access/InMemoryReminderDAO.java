@@ -2,36 +2,182 @@ package plan4life.data_access;
 
 import plan4life.entities.Reminder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Simple in-memory DAO for storing reminders.
  * This keeps timers & reminder entities in memory only.
+ *
+ * <p>Pending reminders are also indexed by reminder time, so due-range queries, {@link #nextDue}
+ * and paging seek straight to the window asked for instead of scanning. Writes are serialized to
+ * keep the two maps in step; reads take no lock.
  */
 public class InMemoryReminderDAO implements ReminderDataAccessInterface {
 
-    private final Map<String, Reminder> storage = new HashMap<>();
+    private final Map<String, Reminder> storage = new ConcurrentHashMap<>();
+    private final NavigableMap<DueKey, Reminder> byDueTime = new ConcurrentSkipListMap<>();
 
     @Override
     public synchronized void saveReminder(Reminder reminder) {
-        storage.put(reminder.getId(), reminder);
+        put(reminder);
     }
 
     @Override
     public synchronized void deleteReminder(String id) {
-        storage.remove(id);
+        unindex(storage.remove(id));
     }
 
     @Override
-    public synchronized Reminder getReminder(String id) {
+    public synchronized void saveReminders(Collection<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            put(reminder);
+        }
+    }
+
+    @Override
+    public synchronized void deleteReminders(Collection<String> ids) {
+        for (String id : ids) {
+            unindex(storage.remove(id));
+        }
+    }
+
+    @Override
+    public Reminder getReminder(String id) {
         return storage.get(id);
     }
 
     @Override
-    public synchronized List<Reminder> getAllReminders() {
+    public List<Reminder> getAllReminders() {
         return new ArrayList<>(storage.values());
     }
+
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public List<Reminder> findDueBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(byDueTime.subMap(DueKey.first(from), true, DueKey.first(to), false).values());
+    }
+
+    @Override
+    public Reminder nextDue(LocalDateTime from) {
+        Map.Entry<DueKey, Reminder> next = byDueTime.ceilingEntry(DueKey.first(from));
+        return next == null ? null : next.getValue();
+    }
+
+    /**
+     * Pages are read on demand, each resuming just after the last reminder returned, so saves and
+     * deletes between pages neither repeat nor skip the reminders that stay in the window.
+     */
+    @Override
+    public Iterator<List<Reminder>> pageDueBetween(LocalDateTime from, LocalDateTime to, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        DueKey end = DueKey.first(to);
+        return new Iterator<>() {
+            private DueKey after = DueKey.first(from);
+            private boolean inclusive = true;
+            private List<Reminder> page;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null) {
+                    page = readPage();
+                }
+                return !page.isEmpty();
+            }
+
+            @Override
+            public List<Reminder> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Reminder> result = page;
+                page = null;
+                return result;
+            }
+
+            private List<Reminder> readPage() {
+                List<Reminder> result = new ArrayList<>(pageSize);
+                if (after.compareTo(end) >= 0) {
+                    return result;
+                }
+                for (Map.Entry<DueKey, Reminder> entry : byDueTime.subMap(after, inclusive, end, false).entrySet()) {
+                    result.add(entry.getValue());
+                    after = entry.getKey();
+                    inclusive = false;
+                    if (result.size() == pageSize) {
+                        break;
+                    }
+                }
+                return result;
+            }
+        };
+    }
+
+    private void put(Reminder reminder) {
+        Reminder previous = storage.put(reminder.getId(), reminder);
+        unindex(previous);
+        if (isPending(reminder)) {
+            byDueTime.put(new DueKey(reminder.getReminderTime(), reminder.getId()), reminder);
+        }
+    }
+
+    private static boolean isPending(Reminder reminder) {
+        return reminder.getReminderTime() != null && !reminder.isDelivered();
+    }
+
+    private void unindex(Reminder reminder) {
+        if (reminder != null && isPending(reminder)) {
+            byDueTime.remove(new DueKey(reminder.getReminderTime(), reminder.getId()));
+        }
+    }
+
+    /**
+     * Index key: reminder time, then id so reminders due at the same moment stay distinct.
+     */
+    private static final class DueKey implements Comparable<DueKey> {
+        private final LocalDateTime time;
+        private final String id;
+
+        DueKey(LocalDateTime time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        // Sorts before every real reminder due at {@code time}.
+        static DueKey first(LocalDateTime time) {
+            return new DueKey(time, "");
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DueKey key && time.equals(key.time) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * time.hashCode() + id.hashCode();
+        }
+    }
 }
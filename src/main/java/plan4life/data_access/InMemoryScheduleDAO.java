@@ -1,19 +1,107 @@
 package plan4life.data_access;
 
 import plan4life.entities.Schedule;
-import java.util.HashMap;
-import java.util.Map;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent schedule store with a version per schedule. Plain saves always win;
+ * {@link #compareAndSave} only stores when the caller's version is still current, and
+ * {@link #update} retries a read-modify-write on a private copy until it applies to the latest
+ * version. Writes to different schedules never wait on each other.
+ */
 public class InMemoryScheduleDAO implements ScheduleDataAccessInterface {
-    private final Map<Integer, Schedule> schedules = new HashMap<>();
+    private final ConcurrentMap<Integer, VersionedSchedule> schedules = new ConcurrentHashMap<>();
 
     @Override
     public Schedule getSchedule(int scheduleId) {
+        VersionedSchedule current = schedules.get(scheduleId);
+        return current == null ? null : current.getSchedule();
+    }
+
+    /**
+     * The stored schedule and its version, or null if there is none.
+     */
+    public VersionedSchedule getVersioned(int scheduleId) {
         return schedules.get(scheduleId);
     }
 
     @Override
     public void saveSchedule(Schedule schedule) {
-        schedules.put(schedule.getScheduleId(), schedule);
+        schedules.compute(schedule.getScheduleId(), (id, current) -> {
+            stored(schedule);
+            return new VersionedSchedule(schedule, current == null ? 1 : current.getVersion() + 1);
+        });
+    }
+
+    /**
+     * Store {@code schedule} only if its id is still at {@code expectedVersion} (0 meaning not
+     * stored yet). Returns false, leaving the store unchanged, when another save got there first.
+     */
+    public boolean compareAndSave(Schedule schedule, long expectedVersion) {
+        boolean[] saved = {false};
+        schedules.compute(schedule.getScheduleId(), (id, current) -> {
+            long version = current == null ? 0 : current.getVersion();
+            if (version != expectedVersion) {
+                return current;
+            }
+            saved[0] = true;
+            stored(schedule);
+            return new VersionedSchedule(schedule, version + 1);
+        });
+        return saved[0];
+    }
+
+    /**
+     * {@code fn} is given a copy of the current schedule, so the published instance is never
+     * edited mid-update; if another save lands first the copy is discarded and {@code fn} runs
+     * again on the newer version.
+     */
+    @Override
+    public Schedule update(int scheduleId, UnaryOperator<Schedule> fn) {
+        while (true) {
+            VersionedSchedule current = schedules.get(scheduleId);
+            long version = current == null ? 0 : current.getVersion();
+            Schedule updated = fn.apply(current == null ? null : current.getSchedule().copy());
+            if (updated == null) {
+                return null;
+            }
+            if (updated.getScheduleId() != scheduleId) {
+                throw new IllegalArgumentException("update of schedule " + scheduleId
+                        + " returned schedule " + updated.getScheduleId());
+            }
+            if (compareAndSave(updated, version)) {
+                return updated;
+            }
+        }
+    }
+
+    public int size() {
+        return schedules.size();
+    }
+
+    /**
+     * Called with each schedule as it is saved, while other writes to the same id wait, so
+     * subclasses see the saves of one schedule in the order they were applied.
+     */
+    protected void stored(Schedule schedule) {
+    }
+
+    // Load a schedule (e.g. during recovery) without calling stored().
+    void restore(Schedule schedule) {
+        schedules.merge(schedule.getScheduleId(), new VersionedSchedule(schedule, 1),
+                (current, loaded) -> new VersionedSchedule(schedule, current.getVersion() + 1));
+    }
+
+    List<Schedule> allSchedules() {
+        List<Schedule> all = new ArrayList<>(schedules.size());
+        for (VersionedSchedule entry : schedules.values()) {
+            all.add(entry.getSchedule());
+        }
+        return all;
     }
-}
\ No newline at end of file
+}
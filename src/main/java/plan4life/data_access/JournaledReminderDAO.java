@@ -0,0 +1,294 @@
+package plan4life.data_access;
+
+import plan4life.entities.Recurrence;
+import plan4life.entities.Reminder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Durable reminder store: the time-indexed {@link InMemoryReminderDAO} backed by a
+ * {@link RecordJournal}. Every save and delete is encoded on the caller's thread and journaled in
+ * the background, so reminders (and their due-time index, rebuilt on open) survive a restart.
+ */
+public class JournaledReminderDAO extends InMemoryReminderDAO implements Closeable {
+
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofMillis(200);
+    public static final long DEFAULT_COMPACT_THRESHOLD_BYTES = 4L * 1024 * 1024;
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte[] JOURNAL_MAGIC = {'P', '4', 'L', 'R'};
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+
+    private final RecordJournal journal;
+
+    public JournaledReminderDAO(Path directory) throws IOException {
+        this(directory, DEFAULT_SYNC_INTERVAL, DEFAULT_COMPACT_THRESHOLD_BYTES);
+    }
+
+    public JournaledReminderDAO(Path directory, Duration syncInterval, long compactThresholdBytes) throws IOException {
+        this.journal = new RecordJournal(directory, "reminders", JOURNAL_MAGIC, FORMAT_VERSION,
+                syncInterval, compactThresholdBytes, new RecordJournal.Store() {
+                    @Override
+                    public void writeSnapshot(WritableByteChannel out) throws IOException {
+                        DataOutputStream data = new DataOutputStream(
+                                new BufferedOutputStream(Channels.newOutputStream(out), 64 * 1024));
+                        for (Reminder reminder : getAllReminders()) {
+                            byte[] record = encode(SAVE, reminder.getId(), reminder);
+                            data.writeInt(record.length);
+                            data.write(record);
+                        }
+                        data.flush();
+                    }
+
+                    @Override
+                    public void readSnapshot(ByteBuffer snapshot) throws IOException {
+                        while (snapshot.hasRemaining()) {
+                            int length = readInt(snapshot);
+                            if (length < 0 || length > snapshot.remaining()) {
+                                throw new EOFException("Truncated reminder snapshot");
+                            }
+                            replay(snapshot.slice(snapshot.position(), length));
+                            snapshot.position(snapshot.position() + length);
+                        }
+                    }
+
+                    @Override
+                    public void replay(ByteBuffer record) throws IOException {
+                        apply(record);
+                    }
+                });
+    }
+
+    /**
+     * Store {@code reminder} and queue its journal record. Synchronized so records reach the
+     * journal in the order the index was updated.
+     */
+    @Override
+    public synchronized void saveReminder(Reminder reminder) {
+        super.saveReminder(reminder);
+        journal.append(encode(SAVE, reminder.getId(), reminder));
+    }
+
+    @Override
+    public synchronized void deleteReminder(String id) {
+        super.deleteReminder(id);
+        journal.append(encode(DELETE, id, null));
+    }
+
+    @Override
+    public synchronized void saveReminders(Collection<Reminder> reminders) {
+        super.saveReminders(reminders);
+        List<byte[]> records = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            records.add(encode(SAVE, reminder.getId(), reminder));
+        }
+        journal.appendAll(records);
+    }
+
+    @Override
+    public synchronized void deleteReminders(Collection<String> ids) {
+        super.deleteReminders(ids);
+        List<byte[]> records = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            records.add(encode(DELETE, id, null));
+        }
+        journal.appendAll(records);
+    }
+
+    /**
+     * Block until every change queued so far is on disk.
+     *
+     * @throws IOException if a journal write has failed since the store was opened
+     */
+    public void flush() throws IOException {
+        journal.flush();
+    }
+
+    /**
+     * Write a new snapshot of all reminders now and start an empty journal.
+     */
+    public void compact() throws IOException {
+        journal.compact();
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // ---- Records (version 1): [op][id] and, for saves, the remaining reminder fields, the
+    // delivered flag and the recurrence. Bump FORMAT_VERSION when this layout changes. ----
+
+    private void apply(ByteBuffer record) throws IOException {
+        try {
+            byte op = record.get();
+            String id = readString(record);
+            if (op == DELETE) {
+                super.deleteReminder(id);
+            } else if (op == SAVE) {
+                Reminder reminder = new Reminder(id, readString(record), readTime(record), readTime(record),
+                        readTime(record), record.getInt(), readString(record), readString(record),
+                        record.get() != 0, record.get() != 0, record.get() != 0, record.get() != 0,
+                        record.get() != 0, readRecurrence(record));
+                super.saveReminder(reminder);
+            } else {
+                throw new IOException("Unknown reminder record type " + op);
+            }
+        } catch (BufferUnderflowException ex) {
+            throw new EOFException("Truncated reminder record");
+        }
+    }
+
+    private static byte[] encode(byte op, String id, Reminder reminder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(op);
+            writeString(out, id);
+            if (reminder != null) {
+                writeString(out, reminder.getTitle());
+                writeTime(out, reminder.getStart());
+                writeTime(out, reminder.getEnd());
+                writeTime(out, reminder.getReminderTime());
+                out.writeInt(reminder.getMinutesBefore());
+                writeString(out, reminder.getAlertType());
+                writeString(out, reminder.getUrgencyLevel());
+                out.writeBoolean(reminder.isSendMessage());
+                out.writeBoolean(reminder.isSendEmail());
+                out.writeBoolean(reminder.isPlaySound());
+                out.writeBoolean(reminder.isImportant());
+                out.writeBoolean(reminder.isDelivered());
+                writeRecurrence(out, reminder.getRecurrence());
+            }
+        } catch (IOException ex) {
+            // In-memory streams do not fail.
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new EOFException("Truncated reminder record");
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // [present] then first start, frequency, interval, day mask, count, until, exceptions
+    private static void writeRecurrence(DataOutputStream out, Recurrence recurrence) throws IOException {
+        out.writeBoolean(recurrence != null);
+        if (recurrence == null) {
+            return;
+        }
+        writeTime(out, recurrence.getFirstStart());
+        out.writeByte(recurrence.getFrequency().ordinal());
+        out.writeInt(recurrence.getInterval());
+        int dayMask = 0;
+        for (DayOfWeek day : recurrence.getDays()) {
+            dayMask |= 1 << day.ordinal();
+        }
+        out.writeByte(dayMask);
+        out.writeInt(recurrence.getCount());
+        writeTime(out, recurrence.getUntil());
+        out.writeInt(recurrence.getExceptions().size());
+        for (LocalDateTime exception : recurrence.getExceptions()) {
+            writeTime(out, exception);
+        }
+    }
+
+    private static Recurrence readRecurrence(ByteBuffer in) throws IOException {
+        if (in.get() == 0) {
+            return null;
+        }
+        LocalDateTime firstStart = readTime(in);
+        byte frequency = in.get();
+        int interval = in.getInt();
+        int dayMask = in.get();
+        List<DayOfWeek> days = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((dayMask & (1 << day.ordinal())) != 0) {
+                days.add(day);
+            }
+        }
+        Recurrence recurrence;
+        if (frequency == Recurrence.Frequency.DAILY.ordinal()) {
+            recurrence = Recurrence.daily(firstStart);
+        } else if (frequency == Recurrence.Frequency.WEEKLY.ordinal()) {
+            recurrence = Recurrence.weekly(firstStart, days.toArray(new DayOfWeek[0]));
+        } else {
+            throw new IOException("Unknown recurrence frequency " + frequency);
+        }
+        recurrence = recurrence.every(interval);
+        int count = in.getInt();
+        if (count > 0) {
+            recurrence = recurrence.times(count);
+        }
+        LocalDateTime until = readTime(in);
+        if (until != null) {
+            recurrence = recurrence.until(until);
+        }
+        for (int i = in.getInt(); i > 0; i--) {
+            recurrence = recurrence.except(readTime(in));
+        }
+        return recurrence;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long seconds = in.getLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+
+    private static int readInt(ByteBuffer in) throws EOFException {
+        if (in.remaining() < Integer.BYTES) {
+            throw new EOFException("Truncated reminder snapshot");
+        }
+        return in.getInt();
+    }
+}
@@ -0,0 +1,83 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * File-backed schedule store. Reads are served from memory; every save (plain, compare-and-save or
+ * update) is encoded with {@link ScheduleBinaryCodec} on the caller's thread and appended to a write-ahead journal by
+ * a background writer, which fsyncs at most once per sync interval. Saving therefore never
+ * touches the disk on the calling (usually Swing) thread, and a crash loses at most the last
+ * interval of saves.
+ *
+ * <p>Journal files, compaction into snapshot generations and crash recovery are handled by
+ * {@link RecordJournal}; snapshots use the {@link ScheduleBinaryCodec} stream format.
+ */
+public class JournaledScheduleDAO extends InMemoryScheduleDAO implements Closeable {
+
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofMillis(200);
+    public static final long DEFAULT_COMPACT_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    private static final byte[] JOURNAL_MAGIC = {'P', '4', 'L', 'J'};
+
+    private final RecordJournal journal;
+
+    public JournaledScheduleDAO(Path directory) throws IOException {
+        this(directory, DEFAULT_SYNC_INTERVAL, DEFAULT_COMPACT_THRESHOLD_BYTES);
+    }
+
+    public JournaledScheduleDAO(Path directory, Duration syncInterval, long compactThresholdBytes) throws IOException {
+        this.journal = new RecordJournal(directory, "schedules", JOURNAL_MAGIC, ScheduleBinaryCodec.FORMAT_VERSION,
+                syncInterval, compactThresholdBytes, new RecordJournal.Store() {
+                    @Override
+                    public void writeSnapshot(WritableByteChannel out) throws IOException {
+                        ScheduleBinaryCodec.writeAll(allSchedules(), out);
+                    }
+
+                    @Override
+                    public void readSnapshot(ByteBuffer snapshot) throws IOException {
+                        ScheduleBinaryCodec.readAll(snapshot, JournaledScheduleDAO.this::restore);
+                    }
+
+                    @Override
+                    public void replay(ByteBuffer record) throws IOException {
+                        restore(ScheduleBinaryCodec.decodeRecord(record));
+                    }
+                });
+    }
+
+    /**
+     * Queue the journal record for a save; runs in save order for each schedule.
+     */
+    @Override
+    protected void stored(Schedule schedule) {
+        journal.append(ScheduleBinaryCodec.encodeRecord(schedule));
+    }
+
+    /**
+     * Block until every save queued so far is on disk.
+     *
+     * @throws IOException if a journal write has failed since the store was opened
+     */
+    public void flush() throws IOException {
+        journal.flush();
+    }
+
+    /**
+     * Write a new snapshot of all schedules now and start an empty journal.
+     */
+    public void compact() throws IOException {
+        journal.compact();
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+}
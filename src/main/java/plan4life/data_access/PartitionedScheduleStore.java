@@ -0,0 +1,229 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Schedules of many users in one JVM, keyed by (user id, schedule id). Keys are spread over lock
+ * stripes so different users rarely contend, and at most {@code maxResident} schedules stay in
+ * memory: each stripe evicts its least recently used schedule to the {@link ScheduleBackingStore}
+ * when it is over its share, and a later read faults it back in. Only schedules saved since they
+ * were loaded are written out.
+ *
+ * <p>{@link #forUser} adapts one user's partition to {@link ScheduleDataAccessInterface}, so the
+ * interactors work unchanged per user.
+ */
+public class PartitionedScheduleStore {
+
+    public static final int DEFAULT_STRIPES = 16;
+
+    private final ScheduleBackingStore backingStore;
+    private final Stripe[] stripes;
+
+    public PartitionedScheduleStore(ScheduleBackingStore backingStore, int maxResident) {
+        this(backingStore, maxResident, DEFAULT_STRIPES);
+    }
+
+    public PartitionedScheduleStore(ScheduleBackingStore backingStore, int maxResident, int stripeCount) {
+        if (maxResident <= 0 || stripeCount <= 0) {
+            throw new IllegalArgumentException("maxResident and stripeCount must be positive");
+        }
+        this.backingStore = backingStore;
+        int count = Math.min(stripeCount, maxResident);
+        int perStripe = (maxResident + count - 1) / count;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public Schedule getSchedule(String userId, int scheduleId) {
+        Key key = new Key(userId, scheduleId);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Resident resident = stripe.residentOrLoad(key);
+            return resident == null ? null : resident.schedule;
+        }
+    }
+
+    public void saveSchedule(String userId, Schedule schedule) {
+        Key key = new Key(userId, schedule.getScheduleId());
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.put(key, schedule);
+        }
+    }
+
+    /**
+     * Read-modify-write under the stripe lock. {@code fn} gets a copy of the current schedule
+     * (null if there is none) and returns the schedule to store, or null to change nothing.
+     */
+    public Schedule update(String userId, int scheduleId, UnaryOperator<Schedule> fn) {
+        Key key = new Key(userId, scheduleId);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Resident resident = stripe.residentOrLoad(key);
+            Schedule updated = fn.apply(resident == null ? null : resident.schedule.copy());
+            if (updated == null) {
+                return null;
+            }
+            if (updated.getScheduleId() != scheduleId) {
+                throw new IllegalArgumentException("update of schedule " + scheduleId
+                        + " returned schedule " + updated.getScheduleId());
+            }
+            stripe.put(key, updated);
+            return updated;
+        }
+    }
+
+    /**
+     * One user's schedules as a {@link ScheduleDataAccessInterface}.
+     */
+    public ScheduleDataAccessInterface forUser(String userId) {
+        Objects.requireNonNull(userId, "userId");
+        return new ScheduleDataAccessInterface() {
+            @Override
+            public Schedule getSchedule(int scheduleId) {
+                return PartitionedScheduleStore.this.getSchedule(userId, scheduleId);
+            }
+
+            @Override
+            public void saveSchedule(Schedule schedule) {
+                PartitionedScheduleStore.this.saveSchedule(userId, schedule);
+            }
+
+            @Override
+            public Schedule update(int scheduleId, UnaryOperator<Schedule> fn) {
+                return PartitionedScheduleStore.this.update(userId, scheduleId, fn);
+            }
+        };
+    }
+
+    public int residentCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.residents.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write every resident schedule saved since it was loaded, e.g. before shutdown.
+     */
+    public void flush() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Map.Entry<Key, Resident> entry : stripe.residents.entrySet()) {
+                    stripe.writeBack(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private Stripe stripeFor(Key key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+
+    private static final class Key {
+        private final String userId;
+        private final int scheduleId;
+
+        Key(String userId, int scheduleId) {
+            this.userId = Objects.requireNonNull(userId, "userId");
+            this.scheduleId = scheduleId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && scheduleId == key.scheduleId && userId.equals(key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + scheduleId;
+        }
+    }
+
+    private static final class Resident {
+        private final Schedule schedule;
+        private boolean dirty;
+
+        Resident(Schedule schedule, boolean dirty) {
+            this.schedule = schedule;
+            this.dirty = dirty;
+        }
+    }
+
+    /**
+     * One lock stripe: an access-ordered map whose eldest entries are written back and dropped
+     * once it holds more than its capacity. Guarded by its own monitor.
+     */
+    private final class Stripe {
+        private final int capacity;
+        private final LinkedHashMap<Key, Resident> residents = new LinkedHashMap<>(16, 0.75f, true);
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        Resident residentOrLoad(Key key) {
+            Resident resident = residents.get(key);
+            if (resident != null) {
+                return resident;
+            }
+            Schedule loaded;
+            try {
+                loaded = backingStore.load(key.userId, key.scheduleId);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not load schedule " + key.scheduleId
+                        + " of user " + key.userId, ex);
+            }
+            if (loaded == null) {
+                return null;
+            }
+            resident = new Resident(loaded, false);
+            residents.put(key, resident);
+            evictOverflow();
+            return resident;
+        }
+
+        void put(Key key, Schedule schedule) {
+            residents.put(key, new Resident(schedule, true));
+            evictOverflow();
+        }
+
+        void writeBack(Key key, Resident resident) {
+            if (!resident.dirty) {
+                return;
+            }
+            try {
+                backingStore.store(key.userId, resident.schedule);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not store schedule " + key.scheduleId
+                        + " of user " + key.userId, ex);
+            }
+            resident.dirty = false;
+        }
+
+        private void evictOverflow() {
+            Iterator<Map.Entry<Key, Resident>> eldest = residents.entrySet().iterator();
+            while (residents.size() > capacity && eldest.hasNext()) {
+                Map.Entry<Key, Resident> entry = eldest.next();
+                // Written before it is dropped, so a failed write keeps the only copy resident.
+                writeBack(entry.getKey(), entry.getValue());
+                eldest.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package plan4life.data_access;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal plus snapshot generations behind the file-backed stores. Records are
+ * opaque byte arrays framed as {@code [length][crc32][payload]} and appended by one background
+ * writer thread, which fsyncs at most once per sync interval. Once the journal passes the
+ * compaction threshold the writer asks the owning store for a full snapshot, publishes it as the
+ * next generation (temp file, force, atomic rename) and starts an empty journal.
+ *
+ * <p>Opening recovers in the same order: the newest snapshot is memory-mapped and handed to the
+ * store, then its journal is replayed record by record. A torn or corrupt tail record, left by a
+ * crash mid-append, is cut off.
+ */
+final class RecordJournal implements Closeable {
+
+    /**
+     * The in-memory side of a journaled store.
+     */
+    interface Store {
+
+        void writeSnapshot(WritableByteChannel out) throws IOException;
+
+        void readSnapshot(ByteBuffer snapshot) throws IOException;
+
+        void replay(ByteBuffer record) throws IOException;
+    }
+
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final String prefix;
+    private final byte[] magic;
+    private final int formatVersion;
+    private final long compactThresholdBytes;
+    private final Store store;
+    private final ScheduledExecutorService writer;
+
+    // Owned by the writer thread after construction
+    private long generation;
+    private FileChannel journal;
+    private boolean dirty;
+    private IOException writeFailure;
+
+    /**
+     * Open (or create) the journal for files named {@code <prefix>-<generation>.*} in
+     * {@code directory}, recovering its contents into {@code store} before returning.
+     */
+    RecordJournal(Path directory, String prefix, byte[] magic, int formatVersion,
+                  Duration syncInterval, long compactThresholdBytes, Store store) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix + "-";
+        this.magic = magic.clone();
+        this.formatVersion = formatVersion;
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.store = store;
+        Files.createDirectories(directory);
+        recover();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plan4life-" + prefix + "-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long syncMillis = Math.max(1, syncInterval.toMillis());
+        writer.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue {@code record} for appending. Callers must queue records in the order the store
+     * applied them.
+     */
+    void append(byte[] record) {
+        writer.execute(() -> write(record));
+    }
+
+    /**
+     * Queue {@code records} as one task, so a batch costs one hand-off to the writer thread.
+     */
+    void appendAll(List<byte[]> records) {
+        writer.execute(() -> records.forEach(this::write));
+    }
+
+    /**
+     * Block until every record queued so far is on disk.
+     *
+     * @throws IOException if a journal write has failed since the journal was opened
+     */
+    void flush() throws IOException {
+        await(() -> {
+            sync();
+            return null;
+        }, "flushing");
+    }
+
+    /**
+     * Write a new snapshot now and start an empty journal.
+     */
+    void compact() throws IOException {
+        await(() -> {
+            compactNow();
+            return null;
+        }, "compacting");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            journal.close();
+        }
+    }
+
+    private void await(Callable<Void> task, String action) throws IOException {
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while " + action + " the " + prefix + " journal", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof IOException io ? io : new IOException(ex.getCause());
+        }
+    }
+
+    // ---- Writer thread ----
+
+    private void write(byte[] record) {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+            header.putInt(record.length).putInt(crc(record, 0, record.length)).flip();
+            ByteBuffer[] buffers = {header, ByteBuffer.wrap(record)};
+            while (buffers[1].hasRemaining()) {
+                journal.write(buffers);
+            }
+            dirty = true;
+            if (journal.size() >= compactThresholdBytes) {
+                compactNow();
+            }
+        } catch (IOException ex) {
+            writeFailure = ex;
+            System.out.printf("[RecordJournal] Journal write failed in %s: %s%n", directory, ex.getMessage());
+        }
+    }
+
+    private void sync() throws IOException {
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+        if (dirty) {
+            journal.force(false);
+            dirty = false;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException ex) {
+            // Already reported when the write failed; flush() rethrows it.
+        }
+    }
+
+    private void compactNow() throws IOException {
+        long next = generation + 1;
+        Path temp = directory.resolve(prefix + next + SNAPSHOT_SUFFIX + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            store.writeSnapshot(out);
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath(next), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // The new snapshot holds everything journaled so far; switch to a fresh journal.
+        FileChannel previous = journal;
+        journal = openJournal(next);
+        previous.close();
+        Files.deleteIfExists(journalPath(generation));
+        Files.deleteIfExists(snapshotPath(generation));
+        generation = next;
+        dirty = false;
+    }
+
+    // ---- Startup ----
+
+    private void recover() throws IOException {
+        generation = newestSnapshotGeneration();
+        Path snapshot = snapshotPath(generation);
+        if (Files.exists(snapshot)) {
+            try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                store.readSnapshot(mapped);
+            }
+        }
+        journal = openJournal(generation);
+        replayJournal();
+        deleteOlderGenerations();
+    }
+
+    // A crash between publishing a snapshot and deleting its predecessors leaves older files behind.
+    private void deleteOlderGenerations() throws IOException {
+        for (long older = generation - 1; older >= 0; older--) {
+            boolean deleted = Files.deleteIfExists(snapshotPath(older)) | Files.deleteIfExists(journalPath(older));
+            if (!deleted) {
+                break;
+            }
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        long size = journal.size();
+        ByteBuffer contents = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        journal.read(contents, 0);
+        contents.flip();
+        contents.position(magic.length + 1);
+
+        long validEnd = contents.position();
+        while (contents.remaining() >= RECORD_HEADER_BYTES) {
+            int length = contents.getInt();
+            int checksum = contents.getInt();
+            if (length < 0 || length > contents.remaining()
+                    || crc(contents.array(), contents.position(), length) != checksum) {
+                break;
+            }
+            ByteBuffer record = contents.slice(contents.position(), length);
+            contents.position(contents.position() + length);
+            store.replay(record);
+            validEnd = contents.position();
+        }
+        if (validEnd < size) {
+            System.out.printf("[RecordJournal] Dropping %d bytes of incomplete journal tail in %s%n",
+                    size - validEnd, journalPath(generation));
+            journal.truncate(validEnd);
+            journal.force(false);
+        }
+        journal.position(validEnd);
+    }
+
+    private FileChannel openJournal(long journalGeneration) throws IOException {
+        Path path = journalPath(journalGeneration);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() < magic.length + 1) {
+            ByteBuffer header = ByteBuffer.allocate(magic.length + 1);
+            header.put(magic).put((byte) formatVersion).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(magic.length + 1);
+            channel.read(header, 0);
+            byte[] found = Arrays.copyOf(header.array(), magic.length);
+            int version = header.get(magic.length);
+            if (!Arrays.equals(found, magic) || version < 1 || version > formatVersion) {
+                channel.close();
+                throw new IOException("Unrecognised journal " + path);
+            }
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private long newestSnapshotGeneration() throws IOException {
+        long newest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(prefix.length(), name.length() - SNAPSHOT_SUFFIX.length());
+                try {
+                    newest = Math.max(newest, Long.parseLong(number));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours.
+                }
+            }
+        }
+        return newest;
+    }
+
+    private Path snapshotPath(long snapshotGeneration) {
+        return directory.resolve(prefix + snapshotGeneration + SNAPSHOT_SUFFIX);
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve(prefix + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
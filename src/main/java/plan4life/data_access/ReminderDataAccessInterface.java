@@ -2,10 +2,23 @@ package plan4life.data_access;
 
 import plan4life.entities.Reminder;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 public interface ReminderDataAccessInterface {
 
+    /**
+     * Order of the due-time queries: reminder time, then id.
+     */
+    Comparator<Reminder> DUE_ORDER = Comparator.comparing(Reminder::getReminderTime)
+            .thenComparing(Reminder::getId);
+
     void saveReminder(Reminder reminder);
 
     void deleteReminder(String id);
@@ -13,4 +26,90 @@ public interface ReminderDataAccessInterface {
     Reminder getReminder(String id);
 
     List<Reminder> getAllReminders();
+
+    /**
+     * Store every reminder in {@code reminders}. This default saves them one at a time; stores
+     * override it to apply the whole batch under one lock and one write.
+     */
+    default void saveReminders(Collection<Reminder> reminders) {
+        reminders.forEach(this::saveReminder);
+    }
+
+    /**
+     * Delete every reminder in {@code ids}; unknown ids are ignored.
+     */
+    default void deleteReminders(Collection<String> ids) {
+        ids.forEach(this::deleteReminder);
+    }
+
+    /**
+     * Reminders due in {@code [from, to)}, earliest first. Delivered reminders and those without
+     * a reminder time are never due. This default scans every reminder; indexed stores override it.
+     */
+    default List<Reminder> findDueBetween(LocalDateTime from, LocalDateTime to) {
+        return getAllReminders().stream()
+                .filter(r -> r.getReminderTime() != null && !r.isDelivered())
+                .filter(r -> !r.getReminderTime().isBefore(from) && r.getReminderTime().isBefore(to))
+                .sorted(DUE_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The earliest reminder due at or after {@code from}, or null if there is none.
+     */
+    default Reminder nextDue(LocalDateTime from) {
+        return getAllReminders().stream()
+                .filter(r -> r.getReminderTime() != null && !r.isDelivered())
+                .filter(r -> !r.getReminderTime().isBefore(from))
+                .min(DUE_ORDER)
+                .orElse(null);
+    }
+
+    /**
+     * Every occurrence due in {@code [from, to)}, earliest first, with recurring reminders
+     * expanded on the fly. Only each series' next pending occurrence is stored, and later ones
+     * are due after it, so the candidates are the reminders due before {@code to}.
+     *
+     * @throws IllegalArgumentException if {@code to} is {@link LocalDateTime#MAX} and a stored
+     *                                  series never ends (see {@link Reminder#occurrencesDueBetween})
+     */
+    default List<Reminder> occurrencesDueBetween(LocalDateTime from, LocalDateTime to) {
+        List<Reminder> result = new ArrayList<>();
+        for (Reminder reminder : findDueBetween(LocalDateTime.MIN, to)) {
+            result.addAll(reminder.occurrencesDueBetween(from, to));
+        }
+        result.sort(DUE_ORDER);
+        return result;
+    }
+
+    /**
+     * Pages of at most {@code pageSize} reminders due in {@code [from, to)}, earliest first.
+     * This default is eager: it loads the whole window through {@link #findDueBetween} up front
+     * and only slices it into pages. Stores with a due-time index (such as
+     * {@link InMemoryReminderDAO}) override it to read each page on demand.
+     */
+    default Iterator<List<Reminder>> pageDueBetween(LocalDateTime from, LocalDateTime to, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        List<Reminder> due = findDueBetween(from, to);
+        return new Iterator<>() {
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return offset < due.size();
+            }
+
+            @Override
+            public List<Reminder> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Reminder> page = due.subList(offset, Math.min(due.size(), offset + pageSize));
+                offset += page.size();
+                return page;
+            }
+        };
+    }
 }
@@ -0,0 +1,18 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+import java.io.IOException;
+
+/**
+ * Where {@link PartitionedScheduleStore} keeps schedules that are not resident in memory.
+ */
+public interface ScheduleBackingStore {
+
+    /**
+     * The stored schedule, or null if {@code userId} has never stored {@code scheduleId}.
+     */
+    Schedule load(String userId, int scheduleId) throws IOException;
+
+    void store(String userId, Schedule schedule) throws IOException;
+}
@@ -0,0 +1,641 @@
+package plan4life.data_access;
+
+import plan4life.entities.Activity;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduleSnapshot;
+import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Compact, versioned binary form of {@link Schedule}: activities, locked cells, locked and
+ * unlocked blocks, blocked times, unplaced activities and tasks.
+ *
+ * <p>A stream is a header ({@code "P4LS"} and a format version byte) followed by one
+ * length-prefixed frame per schedule, so large sets can be written and read one schedule at a
+ * time over NIO channels. Inside a frame every string appears once in a string table and is
+ * referenced by index; integers are LEB128 varints (zig-zag where they can be negative); cell
+ * keys are delta-coded in week order; and times are minute offsets from the earliest time in the
+ * frame, with sub-minute precision only spent on times that have it.
+ */
+public final class ScheduleBinaryCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'P', '4', 'L', 'S'};
+    private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private ScheduleBinaryCodec() {
+    }
+
+    // ---- Whole-schedule convenience ----
+
+    public static byte[] encode(Schedule schedule) {
+        ByteSink sink = new ByteSink(256);
+        writeHeader(sink);
+        writeFrame(sink, schedule);
+        return sink.toByteArray();
+    }
+
+    public static Schedule decode(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        readHeader(new BufferSource(buffer));
+        Schedule schedule = readFrame(new BufferSource(buffer));
+        if (schedule == null) {
+            throw new EOFException("No schedule in input");
+        }
+        return schedule;
+    }
+
+    // ---- Streaming over channels ----
+
+    /**
+     * Write {@code schedules} to {@code channel}, one frame at a time.
+     */
+    public static void writeAll(Collection<Schedule> schedules, WritableByteChannel channel) throws IOException {
+        ByteSink sink = new ByteSink(4096);
+        writeHeader(sink);
+        drain(sink, channel);
+        for (Schedule schedule : schedules) {
+            writeFrame(sink, schedule);
+            drain(sink, channel);
+        }
+    }
+
+    /**
+     * Read every schedule in {@code channel}, handing each to {@code consumer} as soon as its frame
+     * has been decoded. Returns how many schedules were read.
+     *
+     * @throws IOException on a bad header, an unsupported version or a truncated frame
+     */
+    public static int readAll(ReadableByteChannel channel, Consumer<Schedule> consumer) throws IOException {
+        ChannelSource source = new ChannelSource(channel);
+        readHeader(source);
+        int count = 0;
+        Schedule schedule;
+        while ((schedule = readFrame(source)) != null) {
+            consumer.accept(schedule);
+            count++;
+        }
+        return count;
+    }
+
+    public static List<Schedule> readAll(ReadableByteChannel channel) throws IOException {
+        List<Schedule> schedules = new ArrayList<>();
+        readAll(channel, schedules::add);
+        return schedules;
+    }
+
+    // ---- Package-private hooks for the journaled store ----
+
+    /**
+     * Read every frame after the header of an in-memory (e.g. memory-mapped) stream.
+     */
+    static int readAll(ByteBuffer buffer, Consumer<Schedule> consumer) throws IOException {
+        BufferSource source = new BufferSource(buffer);
+        readHeader(source);
+        int count = 0;
+        Schedule schedule;
+        while ((schedule = readFrame(source)) != null) {
+            consumer.accept(schedule);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * One schedule's frame body, without the stream header or length prefix.
+     */
+    static byte[] encodeRecord(Schedule schedule) {
+        return encodeBody(schedule).toByteArray();
+    }
+
+    static Schedule decodeRecord(ByteBuffer record) throws IOException {
+        return decodeBody(new BufferSource(record));
+    }
+
+    // ---- Header ----
+
+    private static void writeHeader(ByteSink sink) {
+        sink.writeBytes(MAGIC);
+        sink.writeByte(FORMAT_VERSION);
+    }
+
+    private static void readHeader(Source source) throws IOException {
+        byte[] magic = source.readBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a schedule stream");
+        }
+        int version = source.readByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported schedule format version " + version);
+        }
+    }
+
+    // ---- Frames ----
+
+    private static void writeFrame(ByteSink out, Schedule schedule) {
+        ByteSink body = encodeBody(schedule);
+        out.writeVarint(body.size());
+        out.writeBytes(body.buffer, 0, body.size());
+    }
+
+    private static ByteSink encodeBody(Schedule schedule) {
+        ScheduleSnapshot snapshot = schedule.snapshot();
+        StringTable strings = new StringTable();
+        strings.index(schedule.getType());
+        snapshot.getActivities().values().forEach(strings::index);
+        snapshot.getLockedBlocks().forEach(block -> strings.index(block.getActivityName()));
+        snapshot.getUnlockedBlocks().forEach(block -> strings.index(block.getActivityName()));
+        snapshot.getBlockedTimes().forEach(block -> strings.index(block == null ? null : block.getDescription()));
+        snapshot.getUnplacedActivities().forEach(strings::index);
+        List<Activity> tasks = new ArrayList<>(schedule.getTasks());
+        for (Activity task : tasks) {
+            strings.index(task.getDescription());
+            strings.index(task.getStartTime());
+        }
+
+        ByteSink body = new ByteSink(256);
+        body.writeSignedVarint(schedule.getScheduleId());
+        strings.writeTo(body);
+        body.writeVarint(strings.index(schedule.getType()));
+
+        long base = earliestMinute(snapshot);
+        body.writeSignedVarint(base);
+
+        body.writeVarint(snapshot.getActivities().size());
+        int previous = 0;
+        for (Map.Entry<SlotKey, String> entry : snapshot.getActivities().entrySet()) {
+            int packed = entry.getKey().toPacked();
+            body.writeVarint(packed - previous);
+            body.writeVarint(strings.index(entry.getValue()));
+            previous = packed;
+        }
+
+        int[] locked = snapshot.getLockedSlotKeys().stream().mapToInt(SlotKey::toPacked).sorted().toArray();
+        body.writeVarint(locked.length);
+        previous = 0;
+        for (int packed : locked) {
+            body.writeVarint(packed - previous);
+            previous = packed;
+        }
+
+        writeBlocks(body, snapshot.getLockedBlocks(), strings, base);
+        writeBlocks(body, snapshot.getUnlockedBlocks(), strings, base);
+
+        List<BlockedTime> blockedTimes = new ArrayList<>();
+        for (BlockedTime blockedTime : snapshot.getBlockedTimes()) {
+            if (blockedTime != null && blockedTime.getStart() != null && blockedTime.getEnd() != null) {
+                blockedTimes.add(blockedTime);
+            }
+        }
+        body.writeVarint(blockedTimes.size());
+        for (BlockedTime blockedTime : blockedTimes) {
+            writeInterval(body, blockedTime.getStart(), blockedTime.getEnd(), base);
+            body.writeVarint(strings.index(blockedTime.getDescription()));
+            body.writeSignedVarint(blockedTime.getColumnIndex());
+        }
+
+        body.writeVarint(snapshot.getUnplacedActivities().size());
+        for (String name : snapshot.getUnplacedActivities()) {
+            body.writeVarint(strings.index(name));
+        }
+
+        body.writeVarint(tasks.size());
+        for (Activity task : tasks) {
+            body.writeVarint(strings.index(task.getDescription()));
+            body.writeInt(Float.floatToIntBits(task.getDuration()));
+            body.writeVarint(strings.index(task.getStartTime()));
+            body.writeVarint(task.getDayIndex() == null ? 0 : task.getDayIndex() + 1);
+        }
+        return body;
+    }
+
+    /**
+     * Next schedule in {@code source}, or {@code null} at a clean end of input.
+     */
+    private static Schedule readFrame(Source source) throws IOException {
+        if (source.atEnd()) {
+            return null;
+        }
+        long length = source.readVarint();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Schedule frame of " + length + " bytes is out of range");
+        }
+        return decodeBody(new BufferSource(ByteBuffer.wrap(source.readBytes((int) length))));
+    }
+
+    private static Schedule decodeBody(BufferSource in) throws IOException {
+        int scheduleId = (int) in.readSignedVarint();
+        String[] strings = readStringTable(in);
+        String type = string(strings, in.readVarint());
+        Schedule schedule = new Schedule(scheduleId, type);
+        long base = in.readSignedVarint();
+
+        long activityCount = in.readVarint();
+        Map<SlotKey, String> activities = new HashMap<>();
+        int packed = 0;
+        for (long i = 0; i < activityCount; i++) {
+            packed += (int) in.readVarint();
+            activities.put(slot(packed), string(strings, in.readVarint()));
+        }
+        schedule.addActivities(activities);
+
+        long lockedCount = in.readVarint();
+        Set<SlotKey> locked = new HashSet<>();
+        packed = 0;
+        for (long i = 0; i < lockedCount; i++) {
+            packed += (int) in.readVarint();
+            locked.add(slot(packed));
+        }
+        if (!locked.isEmpty()) {
+            schedule.replaceLockedSlotKeys(locked);
+        }
+
+        readBlocks(in, strings, base, true, schedule::addLockedBlock);
+        readBlocks(in, strings, base, false, schedule::addUnlockedBlock);
+
+        long blockedCount = in.readVarint();
+        for (long i = 0; i < blockedCount; i++) {
+            LocalDateTime[] interval = readInterval(in, base);
+            String description = string(strings, in.readVarint());
+            int column = (int) in.readSignedVarint();
+            schedule.addBlockedTime(new BlockedTime(interval[0], interval[1], description, column));
+        }
+
+        long unplacedCount = in.readVarint();
+        for (long i = 0; i < unplacedCount; i++) {
+            schedule.addUnplacedActivity(string(strings, in.readVarint()));
+        }
+
+        long taskCount = in.readVarint();
+        for (long i = 0; i < taskCount; i++) {
+            String description = string(strings, in.readVarint());
+            float duration = Float.intBitsToFloat(in.readInt());
+            String startTime = string(strings, in.readVarint());
+            long day = in.readVarint();
+            schedule.addTask(toTask(description, duration, startTime, day == 0 ? null : (int) (day - 1)));
+        }
+        if (in.buffer.hasRemaining()) {
+            throw new IOException("Trailing bytes in schedule frame " + scheduleId);
+        }
+        return schedule;
+    }
+
+    private static void writeBlocks(ByteSink body, List<ScheduledBlock> blocks, StringTable strings, long base) {
+        List<ScheduledBlock> encodable = new ArrayList<>();
+        for (ScheduledBlock block : blocks) {
+            if (block.getStart() != null && block.getEnd() != null) {
+                encodable.add(block);
+            }
+        }
+        body.writeVarint(encodable.size());
+        for (ScheduledBlock block : encodable) {
+            writeInterval(body, block.getStart(), block.getEnd(), base);
+            body.writeVarint(strings.index(block.getActivityName()));
+            body.writeSignedVarint(block.getColumnIndex());
+        }
+    }
+
+    private static void readBlocks(BufferSource in, String[] strings, long base, boolean locked,
+                                   Consumer<ScheduledBlock> sink) throws IOException {
+        long count = in.readVarint();
+        for (long i = 0; i < count; i++) {
+            LocalDateTime[] interval = readInterval(in, base);
+            String name = string(strings, in.readVarint());
+            int column = (int) in.readSignedVarint();
+            sink.accept(new ScheduledBlock(interval[0], interval[1], name, locked, column));
+        }
+    }
+
+    // A start is (minutes after base << 1 | has-sub-minute), the end is a signed minute length;
+    // either is followed by its nanos-of-minute only when that flag is set.
+    private static void writeInterval(ByteSink body, LocalDateTime start, LocalDateTime end, long base) {
+        long startMinute = epochMinute(start);
+        long startNanos = nanosOfMinute(start);
+        body.writeSignedVarint(((startMinute - base) << 1) | (startNanos != 0 ? 1 : 0));
+        if (startNanos != 0) {
+            body.writeVarint(startNanos);
+        }
+        long endNanos = nanosOfMinute(end);
+        body.writeSignedVarint(((epochMinute(end) - startMinute) << 1) | (endNanos != 0 ? 1 : 0));
+        if (endNanos != 0) {
+            body.writeVarint(endNanos);
+        }
+    }
+
+    private static LocalDateTime[] readInterval(BufferSource in, long base) throws IOException {
+        long startField = in.readSignedVarint();
+        long startMinute = base + (startField >> 1);
+        long startNanos = (startField & 1) != 0 ? in.readVarint() : 0;
+        long endField = in.readSignedVarint();
+        long endMinute = startMinute + (endField >> 1);
+        long endNanos = (endField & 1) != 0 ? in.readVarint() : 0;
+        return new LocalDateTime[]{toDateTime(startMinute, startNanos), toDateTime(endMinute, endNanos)};
+    }
+
+    private static long earliestMinute(ScheduleSnapshot snapshot) {
+        long earliest = Long.MAX_VALUE;
+        for (ScheduledBlock block : snapshot.getLockedBlocks()) {
+            earliest = Math.min(earliest, block.getStart() == null ? earliest : epochMinute(block.getStart()));
+        }
+        for (ScheduledBlock block : snapshot.getUnlockedBlocks()) {
+            earliest = Math.min(earliest, block.getStart() == null ? earliest : epochMinute(block.getStart()));
+        }
+        for (BlockedTime block : snapshot.getBlockedTimes()) {
+            if (block != null && block.getStart() != null) {
+                earliest = Math.min(earliest, epochMinute(block.getStart()));
+            }
+        }
+        return earliest == Long.MAX_VALUE ? 0 : earliest;
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long nanosOfMinute(LocalDateTime time) {
+        return time.getSecond() * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime toDateTime(long epochMinute, long nanosOfMinute) throws IOException {
+        if (nanosOfMinute < 0 || nanosOfMinute >= NANOS_PER_MINUTE) {
+            throw new IOException("Invalid sub-minute time " + nanosOfMinute);
+        }
+        return LocalDateTime.ofEpochSecond(epochMinute * 60 + nanosOfMinute / 1_000_000_000L,
+                (int) (nanosOfMinute % 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static SlotKey slot(int packed) throws IOException {
+        try {
+            return SlotKey.fromPacked(packed);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Invalid cell key " + packed, ex);
+        }
+    }
+
+    private static Activity toTask(String description, float duration, String startTime, Integer dayIndex) {
+        if (dayIndex == null) {
+            return startTime == null ? new Activity(description, duration) : new Activity(description, duration, startTime);
+        }
+        return startTime == null
+                ? Activity.withDayOnly(description, duration, dayIndex)
+                : new Activity(description, duration, dayIndex, startTime);
+    }
+
+    private static String[] readStringTable(BufferSource in) throws IOException {
+        long count = in.readVarint();
+        if (count > in.buffer.remaining()) {
+            throw new IOException("String table of " + count + " entries does not fit its frame");
+        }
+        String[] strings = new String[(int) count + 1];
+        for (int i = 1; i <= count; i++) {
+            long length = in.readVarint();
+            if (length > in.buffer.remaining()) {
+                throw new IOException("String of " + length + " bytes does not fit its frame");
+            }
+            strings[i] = new String(in.readBytes((int) length), StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static String string(String[] strings, long index) throws IOException {
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("String index " + index + " is out of range");
+        }
+        return strings[(int) index];
+    }
+
+    private static void drain(ByteSink sink, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(sink.buffer, 0, sink.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        sink.reset();
+    }
+
+    /**
+     * Strings by first use; index 0 stands for {@code null}.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int index(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer existing = indices.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            strings.add(value);
+            indices.put(value, strings.size());
+            return strings.size();
+        }
+
+        void writeTo(ByteSink out) {
+            out.writeVarint(strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeVarint(bytes.length);
+                out.writeBytes(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    private static final class ByteSink {
+        private byte[] buffer;
+        private int size;
+
+        ByteSink(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private abstract static class Source {
+        abstract int readByte() throws IOException;
+
+        abstract byte[] readBytes(int length) throws IOException;
+
+        abstract boolean atEnd() throws IOException;
+
+        long readVarint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long readSignedVarint() throws IOException {
+            long raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        int readInt() throws IOException {
+            byte[] bytes = readBytes(4);
+            return ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+        }
+    }
+
+    private static final class BufferSource extends Source {
+        private final ByteBuffer buffer;
+
+        BufferSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int readByte() throws IOException {
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Truncated schedule data");
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        byte[] readBytes(int length) throws IOException {
+            if (buffer.remaining() < length) {
+                throw new EOFException("Truncated schedule data");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        @Override
+        boolean atEnd() {
+            return !buffer.hasRemaining();
+        }
+    }
+
+    /**
+     * Buffered reader over a channel, refilled 8 KiB at a time.
+     */
+    private static final class ChannelSource extends Source {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(8192).flip();
+
+        ChannelSource(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        int readByte() throws IOException {
+            if (!fill()) {
+                throw new EOFException("Truncated schedule data");
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        byte[] readBytes(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                if (!fill()) {
+                    throw new EOFException("Truncated schedule data");
+                }
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return bytes;
+        }
+
+        @Override
+        boolean atEnd() throws IOException {
+            return !fill();
+        }
+
+        private boolean fill() throws IOException {
+            while (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
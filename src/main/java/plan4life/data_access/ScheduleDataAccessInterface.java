@@ -1,8 +1,40 @@
 package plan4life.data_access;
 
 import plan4life.entities.Schedule;
+import plan4life.entities.ScheduleSnapshot;
+
+import java.util.function.UnaryOperator;
 
 public interface ScheduleDataAccessInterface {
     Schedule getSchedule(int scheduleId);
     void saveSchedule(Schedule schedule);
-}
\ No newline at end of file
+
+    /**
+     * Read-modify-write of one schedule. {@code fn} receives the current schedule (null if there
+     * is none) and returns the schedule to store, or null to leave the store unchanged; the stored
+     * result (or null) is returned.
+     *
+     * <p>This default is not atomic. Versioned stores override it to hand {@code fn} a private
+     * copy and retry on conflicting writes, so {@code fn} may run more than once and must not
+     * have side effects outside the schedule it is given.
+     */
+    default Schedule update(int scheduleId, UnaryOperator<Schedule> fn) {
+        Schedule updated = fn.apply(getSchedule(scheduleId));
+        if (updated != null) {
+            saveSchedule(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Store {@code schedule} only if the stored schedule is still at {@code expected}, the
+     * snapshot the caller read (null meaning none was stored). Returns false, leaving the store
+     * unchanged, when another write got there first. Atomic wherever {@link #update} is.
+     */
+    default boolean compareAndSave(Schedule schedule, ScheduleSnapshot expected) {
+        return update(schedule.getScheduleId(), current -> {
+            ScheduleSnapshot stored = current == null ? null : current.snapshot();
+            return stored == expected ? schedule : null;
+        }) != null;
+    }
+}
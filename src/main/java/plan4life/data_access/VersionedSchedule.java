@@ -0,0 +1,26 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+/**
+ * A stored schedule together with the store version it was read at. The version starts at 1
+ * when a schedule is first saved and increases by one with every save.
+ */
+public final class VersionedSchedule {
+
+    private final Schedule schedule;
+    private final long version;
+
+    public VersionedSchedule(Schedule schedule, long version) {
+        this.schedule = schedule;
+        this.version = version;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
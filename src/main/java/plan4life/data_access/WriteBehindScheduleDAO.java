@@ -0,0 +1,154 @@
+package plan4life.data_access;
+
+import plan4life.entities.Schedule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind cache in front of another schedule store. Reads are served from memory (loading
+ * from the backing store once per id), and saves only mark the schedule dirty: repeated saves of
+ * the same id within the flush window collapse into one backing write, which a background thread
+ * performs in batches.
+ *
+ * <p>At most {@code maxPending} schedules wait at once; a save beyond that flushes on the saving
+ * thread, so a slow backing store slows callers down instead of growing the queue. Call
+ * {@link #flush()} (or {@link #close()}) before shutdown.
+ */
+public class WriteBehindScheduleDAO implements ScheduleDataAccessInterface, Closeable {
+
+    public static final Duration DEFAULT_FLUSH_WINDOW = Duration.ofMillis(100);
+    public static final int DEFAULT_MAX_PENDING = 1024;
+
+    private final ScheduleDataAccessInterface delegate;
+    private final int maxPending;
+    private final Map<Integer, Schedule> cache = new ConcurrentHashMap<>();
+    private final Map<Integer, Schedule> dirty = new ConcurrentHashMap<>();
+    // Serializes batches so the backing store sees each id's saves in order
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    public WriteBehindScheduleDAO(ScheduleDataAccessInterface delegate) {
+        this(delegate, DEFAULT_FLUSH_WINDOW, DEFAULT_MAX_PENDING);
+    }
+
+    public WriteBehindScheduleDAO(ScheduleDataAccessInterface delegate, Duration flushWindow, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        }
+        this.delegate = delegate;
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plan4life-schedule-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = Math.max(1, flushWindow.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Schedule getSchedule(int scheduleId) {
+        Schedule cached = cache.get(scheduleId);
+        if (cached != null) {
+            return cached;
+        }
+        Schedule loaded = delegate.getSchedule(scheduleId);
+        // A save that raced with the load wins.
+        return loaded == null ? null : cache.merge(scheduleId, loaded, (current, ignored) -> current);
+    }
+
+    @Override
+    public void saveSchedule(Schedule schedule) {
+        // Cache and dirty entry change together so racing saves cannot leave them disagreeing
+        cache.compute(schedule.getScheduleId(), (id, current) -> {
+            dirty.put(id, schedule);
+            return schedule;
+        });
+        applyBackpressure();
+    }
+
+    /**
+     * Atomic per id: {@code fn} runs on a copy of the cached schedule while other updates of the
+     * same id wait, so no retry is needed.
+     */
+    @Override
+    public Schedule update(int scheduleId, UnaryOperator<Schedule> fn) {
+        Schedule[] stored = new Schedule[1];
+        cache.compute(scheduleId, (id, current) -> {
+            Schedule base = current != null ? current : delegate.getSchedule(scheduleId);
+            Schedule updated = fn.apply(base == null ? null : base.copy());
+            if (updated == null) {
+                return current;
+            }
+            stored[0] = updated;
+            dirty.put(id, updated);
+            return updated;
+        });
+        applyBackpressure();
+        return stored[0];
+    }
+
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Write every pending schedule to the backing store now, on the calling thread.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            for (Integer scheduleId : dirty.keySet()) {
+                Schedule schedule = dirty.remove(scheduleId);
+                if (schedule == null) {
+                    continue;
+                }
+                try {
+                    delegate.saveSchedule(schedule);
+                } catch (RuntimeException ex) {
+                    // Keep it for the next batch unless a newer save replaced it meanwhile.
+                    dirty.putIfAbsent(scheduleId, schedule);
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush, stop the background thread, and close the backing store if it is closeable.
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void applyBackpressure() {
+        if (dirty.size() > maxPending) {
+            flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            System.out.printf("[WriteBehindScheduleDAO] Flush failed, will retry: %s%n", ex.getMessage());
+        }
+    }
+}
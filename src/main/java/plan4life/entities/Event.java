@@ -1,7 +1,10 @@
 package plan4life.entities;
 
 import java.awt.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Simple event model used by the calendar and reminder system.
@@ -35,6 +38,9 @@ public class Event {
 
     private Color color = new Color(65, 243, 6); // default: light green
 
+    /** Null for a one-off event; otherwise the rule its occurrences follow. */
+    private Recurrence recurrence;
+
     public Event(String title, LocalDateTime start, LocalDateTime end) {
         this.title = title;
         this.start = start;
@@ -147,5 +153,37 @@ public class Event {
     public void setPlaySound(boolean playSound) {
         this.playSound = playSound;
     }
-}
 
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Occurrences starting in {@code [from, to)}, earliest first. A recurring event yields one copy
+     * per occurrence, built on the fly with the same settings; a one-off event yields itself.
+     */
+    public List<Event> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        if (recurrence == null) {
+            return !start.isBefore(from) && start.isBefore(to) ? List.of(this) : List.of();
+        }
+        Duration length = Duration.between(start, end);
+        List<Event> result = new ArrayList<>();
+        for (LocalDateTime occurrenceStart : recurrence.startsBetween(from, to)) {
+            Event occurrence = new Event(title, occurrenceStart, occurrenceStart.plus(length));
+            occurrence.important = important;
+            occurrence.reminderMinutesBefore = reminderMinutesBefore;
+            occurrence.alertType = alertType;
+            occurrence.setUrgencyLevel(urgencyLevel);
+            occurrence.sendMessage = sendMessage;
+            occurrence.sendEmail = sendEmail;
+            occurrence.playSound = playSound;
+            occurrence.recurrence = recurrence;
+            result.add(occurrence);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package plan4life.entities;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-column interval tree (a treap ordered by start, augmented with the largest end in each
+ * subtree) over schedule intervals. Overlap uses the same inclusive rule as
+ * {@link ScheduledBlock#overlaps}: intervals that only touch still overlap. Checks and range
+ * collection cost O(log n + k) for k hits instead of a scan over every interval.
+ */
+final class IntervalIndex<T> {
+
+    // Created on first add: most schedules never hold blocks of every kind
+    private Map<Integer, Node<T>> roots;
+    private int size;
+    private int sequence;
+
+    void add(int column, LocalDateTime start, LocalDateTime end, T value) {
+        if (start == null || end == null) {
+            return;
+        }
+        if (roots == null) {
+            roots = new HashMap<>();
+        }
+        Node<T> node = new Node<>(toSeconds(start), toSeconds(end), value, priority(sequence++));
+        roots.put(column, insert(roots.get(column), node));
+        size++;
+    }
+
+    /**
+     * Remove the entry holding exactly {@code value} (by identity); returns whether one was found.
+     */
+    boolean remove(int column, LocalDateTime start, LocalDateTime end, T value) {
+        if (start == null || end == null || roots == null) {
+            return false;
+        }
+        Node<T> root = roots.get(column);
+        if (root == null) {
+            return false;
+        }
+        int before = size;
+        Node<T> updated = delete(root, toSeconds(start), toSeconds(end), value);
+        if (updated == null) {
+            roots.remove(column);
+        } else {
+            roots.put(column, updated);
+        }
+        return size < before;
+    }
+
+    boolean overlapsAny(int column, LocalDateTime start, LocalDateTime end) {
+        return roots != null && findAny(roots.get(column), toSeconds(start), toSeconds(end));
+    }
+
+    /**
+     * Append every value in {@code column} overlapping {@code [start, end]} to {@code out}, in
+     * start order.
+     */
+    void collectOverlapping(int column, LocalDateTime start, LocalDateTime end, List<T> out) {
+        if (roots != null) {
+            collect(roots.get(column), toSeconds(start), toSeconds(end), out);
+        }
+    }
+
+    void clear() {
+        roots = null;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Treap priorities only need to look random; a mixed counter avoids a Random per index.
+    private static int priority(int sequence) {
+        int h = sequence * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static <T> boolean findAny(Node<T> node, long lo, long hi) {
+        while (node != null && node.maxHi >= lo) {
+            if (node.lo <= hi && node.hi >= lo) {
+                return true;
+            }
+            if (node.left != null && node.left.maxHi >= lo) {
+                node = node.left;
+            } else if (node.lo > hi) {
+                return false;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    private static <T> void collect(Node<T> node, long lo, long hi, List<T> out) {
+        if (node == null || node.maxHi < lo) {
+            return;
+        }
+        collect(node.left, lo, hi, out);
+        if (node.lo > hi) {
+            return;
+        }
+        if (node.hi >= lo) {
+            out.add(node.value);
+        }
+        collect(node.right, lo, hi, out);
+    }
+
+    private static <T> Node<T> insert(Node<T> root, Node<T> node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.lo < root.lo) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private Node<T> delete(Node<T> root, long lo, long hi, T value) {
+        if (root == null) {
+            return null;
+        }
+        if (root.lo == lo && root.hi == hi && root.value == value) {
+            size--;
+            return merge(root.left, root.right);
+        }
+        // Equal starts may sit on either side after rotations.
+        if (lo <= root.lo) {
+            int before = size;
+            root.left = delete(root.left, lo, hi, value);
+            if (size < before || lo < root.lo) {
+                root.update();
+                return root;
+            }
+        }
+        root.right = delete(root.right, lo, hi, value);
+        root.update();
+        return root;
+    }
+
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node<T> {
+        private final long lo;
+        private final long hi;
+        private final T value;
+        private final int priority;
+        private long maxHi;
+        private Node<T> left;
+        private Node<T> right;
+
+        Node(long lo, long hi, T value, int priority) {
+            this.lo = lo;
+            this.hi = hi;
+            this.value = value;
+            this.priority = priority;
+            this.maxHi = hi;
+        }
+
+        void update() {
+            long max = hi;
+            if (left != null && left.maxHi > max) {
+                max = left.maxHi;
+            }
+            if (right != null && right.maxHi > max) {
+                max = right.maxHi;
+            }
+            maxHi = max;
+        }
+    }
+}
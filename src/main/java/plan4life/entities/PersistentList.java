@@ -0,0 +1,150 @@
+package plan4life.entities;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Immutable list stored as fixed-capacity chunks. Every "mutation" returns a new list that
+ * shares all chunks it did not touch: appending copies only the last chunk and the chunk table,
+ * and removals rebuild only the chunks that actually lose an element.
+ */
+final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int CHUNK = 32;
+    private static final PersistentList<?> EMPTY = new PersistentList<>(new Object[0][], new int[0], 0);
+
+    private final Object[][] chunks;
+    // offsets[i] is the list index of chunks[i][0]
+    private final int[] offsets;
+    private final int size;
+
+    private PersistentList(Object[][] chunks, int[] offsets, int size) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int chunk = Arrays.binarySearch(offsets, index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        return (E) chunks[chunk][index - offsets[chunk]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    PersistentList<E> with(E element) {
+        int last = chunks.length - 1;
+        if (last >= 0 && chunks[last].length < CHUNK) {
+            Object[][] nextChunks = chunks.clone();
+            Object[] tail = Arrays.copyOf(chunks[last], chunks[last].length + 1);
+            tail[tail.length - 1] = element;
+            nextChunks[last] = tail;
+            return new PersistentList<>(nextChunks, offsets, size + 1);
+        }
+        Object[][] nextChunks = Arrays.copyOf(chunks, chunks.length + 1);
+        nextChunks[chunks.length] = new Object[]{element};
+        int[] nextOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+        nextOffsets[offsets.length] = size;
+        return new PersistentList<>(nextChunks, nextOffsets, size + 1);
+    }
+
+    /**
+     * The list without every element matching {@code filter}; {@code this} if none match.
+     */
+    @SuppressWarnings("unchecked")
+    PersistentList<E> without(Predicate<? super E> filter) {
+        Object[][] nextChunks = null;
+        int kept = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            Object[] chunk = chunks[c];
+            Object[] filtered = null;
+            int count = 0;
+            for (int i = 0; i < chunk.length; i++) {
+                if (filter.test((E) chunk[i])) {
+                    if (filtered == null) {
+                        filtered = Arrays.copyOf(chunk, chunk.length);
+                        count = i;
+                    }
+                } else if (filtered != null) {
+                    filtered[count++] = chunk[i];
+                }
+            }
+            if (filtered != null && nextChunks == null) {
+                nextChunks = Arrays.copyOf(chunks, c);
+                kept = c;
+            }
+            if (nextChunks != null) {
+                Object[] result = filtered == null ? chunk : Arrays.copyOf(filtered, count);
+                if (result.length > 0) {
+                    nextChunks = ensureCapacity(nextChunks, kept + 1);
+                    nextChunks[kept++] = result;
+                }
+            }
+        }
+        if (nextChunks == null) {
+            return this;
+        }
+        return fromChunks(Arrays.copyOf(nextChunks, kept));
+    }
+
+    /**
+     * The list without the first element equal to {@code element}; {@code this} if absent.
+     */
+    PersistentList<E> withoutFirst(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return this;
+        }
+        int chunk = Arrays.binarySearch(offsets, index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        Object[] source = chunks[chunk];
+        int at = index - offsets[chunk];
+        Object[][] nextChunks = chunks.clone();
+        if (source.length == 1) {
+            Object[][] compacted = new Object[chunks.length - 1][];
+            System.arraycopy(nextChunks, 0, compacted, 0, chunk);
+            System.arraycopy(nextChunks, chunk + 1, compacted, chunk, chunks.length - chunk - 1);
+            return fromChunks(compacted);
+        }
+        Object[] shrunk = new Object[source.length - 1];
+        System.arraycopy(source, 0, shrunk, 0, at);
+        System.arraycopy(source, at + 1, shrunk, at, source.length - at - 1);
+        nextChunks[chunk] = shrunk;
+        return fromChunks(nextChunks);
+    }
+
+    private static Object[][] ensureCapacity(Object[][] array, int capacity) {
+        return array.length >= capacity ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+
+    private static <E> PersistentList<E> fromChunks(Object[][] chunks) {
+        if (chunks.length == 0) {
+            return empty();
+        }
+        int[] offsets = new int[chunks.length];
+        int size = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            offsets[c] = size;
+            size += chunks[c].length;
+        }
+        return new PersistentList<>(chunks, offsets, size);
+    }
+}
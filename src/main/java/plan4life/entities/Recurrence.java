@@ -0,0 +1,259 @@
+package plan4life.entities;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Repeat rule for an event or reminder, a subset of iCalendar RRULE: daily or weekly on chosen
+ * days, every {@code interval} days/weeks, ending after {@code count} occurrences or at
+ * {@code until}, with individual occurrences excluded. Weeks start on Monday.
+ *
+ * <p>Occurrences are never stored: {@link #nextAtOrAfter} jumps straight to the period holding
+ * the requested time, and {@link #startsFrom} enumerates lazily, so a rule costs the same memory
+ * whether it repeats twice or forever. As in RRULE, excluded occurrences still count towards
+ * {@code count}. Immutable; the {@code every/times/until/except} methods return modified copies.
+ */
+public final class Recurrence {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY
+    }
+
+    private final LocalDateTime firstStart;
+    private final Frequency frequency;
+    private final int interval;
+    // Weekly only, ascending; the days a week of the series falls on
+    private final DayOfWeek[] days;
+    // 0 = no limit
+    private final int count;
+    private final LocalDateTime until;
+    private final Set<LocalDateTime> exceptions;
+
+    private Recurrence(LocalDateTime firstStart, Frequency frequency, int interval, DayOfWeek[] days,
+                       int count, LocalDateTime until, Set<LocalDateTime> exceptions) {
+        this.firstStart = firstStart;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = days;
+        this.count = count;
+        this.until = until;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Every day from {@code firstStart}, at its time of day.
+     */
+    public static Recurrence daily(LocalDateTime firstStart) {
+        return new Recurrence(firstStart, Frequency.DAILY, 1, new DayOfWeek[0], 0, null, Set.of());
+    }
+
+    /**
+     * Every week on {@code days} (the day of {@code firstStart} if none are given), from
+     * {@code firstStart} at its time of day.
+     */
+    public static Recurrence weekly(LocalDateTime firstStart, DayOfWeek... days) {
+        EnumSet<DayOfWeek> set = days.length == 0
+                ? EnumSet.of(firstStart.getDayOfWeek())
+                : EnumSet.copyOf(Arrays.asList(days));
+        return new Recurrence(firstStart, Frequency.WEEKLY, 1, set.toArray(new DayOfWeek[0]), 0, null, Set.of());
+    }
+
+    /**
+     * Repeat every {@code interval} days or weeks instead of every one.
+     */
+    public Recurrence every(int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        return new Recurrence(firstStart, frequency, interval, days, count, until, exceptions);
+    }
+
+    /**
+     * Stop after {@code count} occurrences.
+     */
+    public Recurrence times(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        return new Recurrence(firstStart, frequency, interval, days, count, until, exceptions);
+    }
+
+    /**
+     * No occurrence starts after {@code until}.
+     */
+    public Recurrence until(LocalDateTime until) {
+        return new Recurrence(firstStart, frequency, interval, days, count, until, exceptions);
+    }
+
+    /**
+     * Skip the occurrence starting at {@code occurrenceStart}.
+     */
+    public Recurrence except(LocalDateTime occurrenceStart) {
+        Set<LocalDateTime> more = new HashSet<>(exceptions);
+        more.add(occurrenceStart);
+        return new Recurrence(firstStart, frequency, interval, days, count, until, Collections.unmodifiableSet(more));
+    }
+
+    public LocalDateTime getFirstStart() {
+        return firstStart;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Days of the week for a weekly rule, Monday first; empty for a daily one.
+     */
+    public List<DayOfWeek> getDays() {
+        return List.of(days);
+    }
+
+    /**
+     * The occurrence limit, or 0 for none.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public Set<LocalDateTime> getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Start of the first occurrence at or after {@code from}, or null if the series has ended.
+     */
+    public LocalDateTime nextAtOrAfter(LocalDateTime from) {
+        Iterator<LocalDateTime> starts = startsFrom(from);
+        return starts.hasNext() ? starts.next() : null;
+    }
+
+    /**
+     * Starts of the occurrences in {@code [from, to)}, earliest first.
+     */
+    public List<LocalDateTime> startsBetween(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> result = new ArrayList<>();
+        Iterator<LocalDateTime> starts = startsFrom(from);
+        while (starts.hasNext()) {
+            LocalDateTime start = starts.next();
+            if (!start.isBefore(to)) {
+                break;
+            }
+            result.add(start);
+        }
+        return result;
+    }
+
+    /**
+     * Occurrence starts at or after {@code from}, earliest first, computed as they are read.
+     */
+    public Iterator<LocalDateTime> startsFrom(LocalDateTime from) {
+        return new Iterator<>() {
+            private final Cursor cursor = new Cursor(from.isBefore(firstStart) ? firstStart : from);
+            private LocalDateTime next = cursor.advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime result = next;
+                next = cursor.advance();
+                return result;
+            }
+        };
+    }
+
+    // Period 0 holds firstStart: its day for DAILY, its Monday-to-Sunday week for WEEKLY.
+    private LocalDate periodAnchor() {
+        LocalDate date = firstStart.toLocalDate();
+        return frequency == Frequency.DAILY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private int slotsPerPeriod() {
+        return frequency == Frequency.DAILY ? 1 : days.length;
+    }
+
+    // Null past LocalDate.MAX, where the series necessarily ends
+    private LocalDateTime slotStart(long period, int slot) {
+        long offsetDays = frequency == Frequency.DAILY
+                ? period * interval
+                : 7L * period * interval + days[slot].getValue() - 1;
+        long epochDay = periodAnchor().toEpochDay() + offsetDays;
+        if (epochDay > LocalDate.MAX.toEpochDay()) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(epochDay).atTime(firstStart.toLocalTime());
+    }
+
+    // Slots of period 0 that fall before firstStart, which are not occurrences
+    private int skippedInFirstPeriod() {
+        int skipped = 0;
+        while (skipped < slotsPerPeriod() && slotStart(0, skipped).isBefore(firstStart)) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Walks (period, slot) positions in time order, keeping the occurrence ordinal for
+     * {@code count}, starting from the period that holds {@code from}.
+     */
+    private final class Cursor {
+        private final LocalDateTime from;
+        private final int skipped = skippedInFirstPeriod();
+        private long period;
+        private int slot;
+
+        Cursor(LocalDateTime from) {
+            this.from = from;
+            long periodDays = frequency == Frequency.DAILY ? interval : 7L * interval;
+            this.period = Math.max(0, ChronoUnit.DAYS.between(periodAnchor(), from.toLocalDate()) / periodDays);
+            this.slot = period == 0 ? skipped : 0;
+        }
+
+        LocalDateTime advance() {
+            while (true) {
+                if (slot >= slotsPerPeriod()) {
+                    period++;
+                    slot = 0;
+                }
+                long ordinal = period * slotsPerPeriod() + slot - skipped;
+                LocalDateTime start = slotStart(period, slot);
+                slot++;
+                if (start == null || (count > 0 && ordinal >= count) || (until != null && start.isAfter(until))) {
+                    return null;
+                }
+                if (!start.isBefore(from) && !exceptions.contains(start)) {
+                    return start;
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package plan4life.entities;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Domain entity representing a reminder associated with an event.
@@ -19,6 +22,10 @@ public class Reminder {
     private final boolean sendEmail;
     private final boolean playSound;
     private final boolean important;
+    // True once the reminder has fired (or was deliberately skipped), so it is no longer pending
+    private final boolean delivered;
+    // Null for a one-off reminder. A recurring one is stored once, as its next pending occurrence.
+    private final Recurrence recurrence;
 
     public Reminder(String id,
                     String title,
@@ -32,6 +39,41 @@ public class Reminder {
                     boolean sendEmail,
                     boolean playSound,
                     boolean important) {
+        this(id, title, start, end, reminderTime, minutesBefore, alertType, urgencyLevel,
+                sendMessage, sendEmail, playSound, important, false);
+    }
+
+    public Reminder(String id,
+                    String title,
+                    LocalDateTime start,
+                    LocalDateTime end,
+                    LocalDateTime reminderTime,
+                    int minutesBefore,
+                    String alertType,
+                    String urgencyLevel,
+                    boolean sendMessage,
+                    boolean sendEmail,
+                    boolean playSound,
+                    boolean important,
+                    boolean delivered) {
+        this(id, title, start, end, reminderTime, minutesBefore, alertType, urgencyLevel,
+                sendMessage, sendEmail, playSound, important, delivered, null);
+    }
+
+    public Reminder(String id,
+                    String title,
+                    LocalDateTime start,
+                    LocalDateTime end,
+                    LocalDateTime reminderTime,
+                    int minutesBefore,
+                    String alertType,
+                    String urgencyLevel,
+                    boolean sendMessage,
+                    boolean sendEmail,
+                    boolean playSound,
+                    boolean important,
+                    boolean delivered,
+                    Recurrence recurrence) {
         this.id = id;
         this.title = title;
         this.start = start;
@@ -44,6 +86,8 @@ public class Reminder {
         this.sendEmail = sendEmail;
         this.playSound = playSound;
         this.important = important;
+        this.delivered = delivered;
+        this.recurrence = recurrence;
     }
 
     public String getId() {
@@ -93,4 +137,90 @@ public class Reminder {
     public boolean isImportant() {
         return important;
     }
+
+    public boolean isDelivered() {
+        return delivered;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * This reminder, marked as no longer pending.
+     */
+    public Reminder asDelivered() {
+        return delivered ? this : new Reminder(id, title, start, end, reminderTime, minutesBefore,
+                alertType, urgencyLevel, sendMessage, sendEmail, playSound, important, true, recurrence);
+    }
+
+    /**
+     * The occurrence after this one, or null if this is a one-off reminder or the series has
+     * ended. Keeps the id, so it replaces this reminder in the store.
+     */
+    public Reminder nextOccurrence() {
+        return recurrence == null || start == null ? null : occurrenceStartingAtOrAfter(start.plusNanos(1));
+    }
+
+    /**
+     * The first occurrence, from this one on, whose reminder time is at or after {@code time};
+     * null if there is none. A one-off reminder is its only occurrence.
+     */
+    public Reminder occurrenceDueAtOrAfter(LocalDateTime time) {
+        if (recurrence == null) {
+            return reminderTime != null && !reminderTime.isBefore(time) ? this : null;
+        }
+        LocalDateTime from = shift(time, minutesBefore);
+        return occurrenceStartingAtOrAfter(from.isBefore(start) ? start : from);
+    }
+
+    /**
+     * Occurrences, from this one on, whose reminder time falls in {@code [from, to)}, earliest
+     * first. Generated on the fly; nothing is stored.
+     *
+     * @throws IllegalArgumentException if {@code to} is {@link LocalDateTime#MAX} and the series
+     *                                  has neither a count nor an end date, as it would never end
+     */
+    public List<Reminder> occurrencesDueBetween(LocalDateTime from, LocalDateTime to) {
+        if (recurrence == null) {
+            Reminder self = occurrenceDueAtOrAfter(from);
+            return self != null && self.reminderTime.isBefore(to) ? List.of(self) : List.of();
+        }
+        if (to.equals(LocalDateTime.MAX) && recurrence.getCount() == 0 && recurrence.getUntil() == null) {
+            throw new IllegalArgumentException("Open-ended series " + id + " has no last occurrence; bound the window");
+        }
+        LocalDateTime first = shift(from, minutesBefore);
+        List<Reminder> result = new ArrayList<>();
+        for (LocalDateTime occurrenceStart : recurrence.startsBetween(first.isBefore(start) ? start : first,
+                shift(to, minutesBefore))) {
+            result.add(startingAt(occurrenceStart));
+        }
+        return result;
+    }
+
+    // Reminder time to occurrence start, saturating at MIN/MAX instead of overflowing.
+    private static LocalDateTime shift(LocalDateTime time, int minutes) {
+        if (minutes > 0 && time.isAfter(LocalDateTime.MAX.minusMinutes(minutes))) {
+            return LocalDateTime.MAX;
+        }
+        if (minutes < 0 && time.isBefore(LocalDateTime.MIN.minusMinutes(minutes))) {
+            return LocalDateTime.MIN;
+        }
+        return time.plusMinutes(minutes);
+    }
+
+    private Reminder occurrenceStartingAtOrAfter(LocalDateTime from) {
+        LocalDateTime next = recurrence.nextAtOrAfter(from);
+        return next == null ? null : startingAt(next);
+    }
+
+    private Reminder startingAt(LocalDateTime occurrenceStart) {
+        if (occurrenceStart.equals(start)) {
+            return this;
+        }
+        LocalDateTime occurrenceEnd = end == null ? null : occurrenceStart.plus(Duration.between(start, end));
+        return new Reminder(id, title, occurrenceStart, occurrenceEnd, occurrenceStart.minusMinutes(minutesBefore),
+                minutesBefore, alertType, urgencyLevel, sendMessage, sendEmail, playSound, important, false,
+                recurrence);
+    }
 }
@@ -1,34 +1,28 @@
 package plan4life.entities;
 
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 
 public class Schedule {
     private final int scheduleId;
     private final String type;    // "day", "week", etc.
-    private final Map<String, String> activities = new LinkedHashMap<>();
-    // Keys are "dayIndex:hour" (e.g., "2:14"), Values are activity description
     private final List<Activity> tasks;
-    private final List<ScheduledBlock> unlockedBlocks;
-    private final List<ScheduledBlock> lockedBlocks;
-    private final List<BlockedTime> blockedTimes;
-    private final List<String> unplacedActivities;
 
-    // Set of locked time keys (e.g., "Mon 9:00")
-    private final Set<String> lockedSlotKeys = new HashSet<>();
+    // Current immutable version: activities keyed by calendar cell, locked cells, blocks.
+    // Edits are serialized on this object and publish a new snapshot; reads never lock.
+    private volatile ScheduleSnapshot state;
+
+    // Per-column interval trees mirroring the block lists, for overlap queries
+    private final IntervalIndex<ScheduledBlock> lockedIndex = new IntervalIndex<>();
+    private final IntervalIndex<ScheduledBlock> unlockedIndex = new IntervalIndex<>();
+    private final IntervalIndex<BlockedTime> blockedIndex = new IntervalIndex<>();
 
     public Schedule(int scheduleId, String type) {
         this.scheduleId = scheduleId;
         this.type = type;
 
         this.tasks = new ArrayList<>();
-        this.unlockedBlocks = new ArrayList<>();
-        this.lockedBlocks = new ArrayList<>();
-        this.blockedTimes = new ArrayList<>();
-        this.unplacedActivities = new ArrayList<>();
+        this.state = ScheduleSnapshot.empty(scheduleId, type);
     }
 
     public Schedule() {
@@ -38,73 +32,130 @@ public class Schedule {
     public int getScheduleId() { return scheduleId; }
     public String getType() { return type; }
 
+    /**
+     * The current version of this schedule. It never changes after it is returned, so it can be
+     * read on any thread (e.g. while rendering) while edits continue here.
+     */
+    public ScheduleSnapshot snapshot() {
+        return state;
+    }
+
+    /**
+     * What changed between {@code previous} (an earlier snapshot of this schedule, or of any
+     * schedule) and the current version, in column order for cells, then blocked times.
+     */
+    public List<ScheduleDelta> changesSince(ScheduleSnapshot previous) {
+        ScheduleSnapshot current = state;
+        return ScheduleDelta.between(previous != null ? previous : ScheduleSnapshot.empty(scheduleId, type), current);
+    }
+
+    /**
+     * An independent schedule starting from this one's current version. Cheap: the snapshot is
+     * shared, only the overlap indexes and the task list are rebuilt.
+     */
+    public synchronized Schedule copy() {
+        Schedule copy = new Schedule(scheduleId, type);
+        copy.state = state;
+        for (ScheduledBlock block : state.lockedBlockList()) {
+            copy.lockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
+        }
+        for (ScheduledBlock block : state.unlockedBlockList()) {
+            copy.unlockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
+        }
+        for (BlockedTime block : state.blockedTimeList()) {
+            if (block != null) {
+                copy.blockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
+            }
+        }
+        copy.tasks.addAll(tasks);
+        return copy;
+    }
+
     public List<BlockedTime> getBlockedTimes() {
-        return Collections.unmodifiableList(blockedTimes);
+        return state.getBlockedTimes();
     }
 
     public List<ScheduledBlock> getLockedBlocks() {
-        return Collections.unmodifiableList(lockedBlocks);
+        return state.getLockedBlocks();
     }
 
     public List<ScheduledBlock> getUnlockedBlocks() {
-        return Collections.unmodifiableList(unlockedBlocks);
+        return state.getUnlockedBlocks();
     }
 
     public List<String> getUnplacedActivities() {
-        return Collections.unmodifiableList(unplacedActivities);
+        return state.getUnplacedActivities();
     }
 
-    public void addUnplacedActivity(String activityName) {
+    public synchronized void addUnplacedActivity(String activityName) {
         if (activityName != null && !activityName.isBlank()) {
-            unplacedActivities.add(activityName);
+            state = state.withUnplacedActivities(state.unplacedActivityList().with(activityName));
         }
     }
 
     // locked keys accessor
-    public Set<String> getLockedSlotKeys() {
-        return Collections.unmodifiableSet(lockedSlotKeys);
+    public Set<SlotKey> getLockedSlotKeys() {
+        return state.getLockedSlotKeys();
     }
 
-    public void addLockedBlock(ScheduledBlock block) {
+    public synchronized void addLockedBlock(ScheduledBlock block) {
         if (block != null) {
-            lockedBlocks.add(block);
+            state = state.withLockedBlocks(state.lockedBlockList().with(block));
+            lockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
         }
     }
 
-    public void addUnlockedBlock(ScheduledBlock block) {
+    public synchronized void addUnlockedBlock(ScheduledBlock block) {
         if (block != null) {
-            unlockedBlocks.add(block);
+            state = state.withUnlockedBlocks(state.unlockedBlockList().with(block));
+            unlockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
         }
     }
 
-    // lock/unlock using time-key strings
-    public void lockSlotKey(String timeKey) {
-        if (timeKey == null) return;
-        lockedSlotKeys.add(timeKey);
+    // lock/unlock by calendar cell
+    public synchronized void lockSlotKey(SlotKey timeKey) {
+        if (timeKey == null || state.isLockedKey(timeKey)) return;
+        Set<SlotKey> next = new HashSet<>(state.getLockedSlotKeys());
+        next.add(timeKey);
+        state = state.withLockedSlotKeys(next);
     }
 
-    public void replaceLockedSlotKeys(Set<String> newLockedKeys) {
-        lockedSlotKeys.clear();
-        if (newLockedKeys != null) {
-            lockedSlotKeys.addAll(newLockedKeys);
-        }
+    public synchronized void replaceLockedSlotKeys(Set<SlotKey> newLockedKeys) {
+        state = state.withLockedSlotKeys(newLockedKeys != null ? newLockedKeys : Set.of());
+    }
+
+    public synchronized void unlockSlotKey(SlotKey timeKey) {
+        if (timeKey == null || !state.isLockedKey(timeKey)) return;
+        Set<SlotKey> next = new HashSet<>(state.getLockedSlotKeys());
+        next.remove(timeKey);
+        state = state.withLockedSlotKeys(next);
+    }
+
+    public boolean isLockedKey(SlotKey timeKey) {
+        return state.isLockedKey(timeKey);
     }
 
-    public void unlockSlotKey(String timeKey) {
-        if (timeKey == null) return;
-        lockedSlotKeys.remove(timeKey);
+    public synchronized void addActivity(SlotKey timeSlot, String activity) {
+        state = state.withActivity(timeSlot, activity);
     }
 
-    public boolean isLockedKey(String timeKey) {
-        return timeKey != null && lockedSlotKeys.contains(timeKey);
+    // Adds or overwrites many cells in one new version (e.g. when loading a stored schedule)
+    public synchronized void addActivities(Map<SlotKey, String> entries) {
+        if (entries == null || entries.isEmpty()) return;
+        Map<SlotKey, String> merged = new HashMap<>(state.getActivities());
+        merged.putAll(entries);
+        state = state.withActivities(merged);
     }
 
-    public void addActivity(String timeSlot, String activity) {
-        activities.put(timeSlot, activity);
+    // Removes an unlocked activity entry; locked entries are left untouched.
+    public synchronized void removeActivity(SlotKey timeSlot) {
+        if (timeSlot == null || state.isLockedKey(timeSlot)) return;
+        state = state.withoutActivity(timeSlot);
     }
 
-    public Map<String, String> getActivities() {
-        return Collections.unmodifiableMap(activities);
+    // Activities in week order, as of the current snapshot
+    public Map<SlotKey, String> getActivities() {
+        return state.getActivities();
     }
 
     public void addTask(Activity activity) {
@@ -116,15 +167,16 @@ public class Schedule {
     public void removeTask(Activity activity) { tasks.remove(activity); }
 
     // Reformatted populateRandomly
-    public void populateRandomly() {
-        activities.clear();
+    public synchronized void populateRandomly() {
+        Set<SlotKey> lockedSlotKeys = state.getLockedSlotKeys();
+        Map<SlotKey, String> activities = new HashMap<>();
         Random rand = new Random();
         String[] sampleActivities = {"Work", "Gym", "Study", "Relax", "Sleep"};
 
         // 7 days, 24 hours
         for (int day = 0; day < 7; day++) {
             for (int hour = 0; hour < 24; hour++) {
-                String key = day + ":" + hour;
+                SlotKey key = SlotKey.ofHour(day, hour);
 
                 if (lockedSlotKeys.contains(key)) continue;
 
@@ -134,16 +186,18 @@ public class Schedule {
                 }
             }
         }
+        state = state.withActivities(activities);
     }
 
-    public void populateRandomly(Set<String> lockedKeys) {
-        activities.clear();
+    public synchronized void populateRandomly(Set<SlotKey> lockedKeys) {
+        Set<SlotKey> lockedSlotKeys = state.getLockedSlotKeys();
+        Map<SlotKey, String> activities = new HashMap<>();
         Random rand = new Random();
         String[] sampleActivities = {"Work", "Gym", "Study", "Relax", "Sleep"};
 
         for (int day = 0; day < 7; day++) {
             for (int hour = 0; hour < 24; hour++) {
-                String key = day + ":" + hour;
+                SlotKey key = SlotKey.ofHour(day, hour);
 
                 if (lockedKeys != null && lockedKeys.contains(key)) continue;
                 if (lockedSlotKeys.contains(key)) continue;
@@ -153,85 +207,88 @@ public class Schedule {
                 }
             }
         }
+        state = state.withActivities(activities);
     }
 
 
-    public boolean overlapsWithExistingBlocks(LocalDateTime start, LocalDateTime end, int columnIndex) {
-        for (BlockedTime block : blockedTimes) {
-            if (block.getColumnIndex() != columnIndex) continue;
-            if (block.overlaps(start, end)) {
-                return true;
-            }
-        }
-        return false;
+    public synchronized boolean overlapsWithExistingBlocks(LocalDateTime start, LocalDateTime end, int columnIndex) {
+        return blockedIndex.overlapsAny(columnIndex, start, end);
     }
 
-    public boolean overlapsWithActivities(LocalDateTime start, LocalDateTime end, int columnIndex) {
-        for (ScheduledBlock block : lockedBlocks) {
-            if (block.overlaps(start, end, columnIndex)) {
-                return true;
-            }
-        }
-
-        for (ScheduledBlock block : unlockedBlocks) {
-            if (block.overlaps(start, end, columnIndex)) {
-                return true;
-            }
-        }
-
-        return false;
+    public synchronized boolean overlapsWithActivities(LocalDateTime start, LocalDateTime end, int columnIndex) {
+        return lockedIndex.overlapsAny(columnIndex, start, end)
+                || unlockedIndex.overlapsAny(columnIndex, start, end);
     }
 
-    public void removeOverlappingActivities(LocalDateTime start, LocalDateTime end, int columnIndex) {
+    public synchronized List<ScheduledBlock> removeOverlappingActivities(LocalDateTime start, LocalDateTime end, int columnIndex) {
         // Remove only the unlocked blocks in the matching column that overlap this range
-        unlockedBlocks.removeIf(block -> block.overlaps(start, end, columnIndex));
+        List<ScheduledBlock> removed = new ArrayList<>();
+        unlockedIndex.collectOverlapping(columnIndex, start, end, removed);
+        if (!removed.isEmpty()) {
+            Set<ScheduledBlock> doomed = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ScheduledBlock block : removed) {
+                doomed.add(block);
+                unlockedIndex.remove(columnIndex, block.getStart(), block.getEnd(), block);
+            }
+            state = state.withUnlockedBlocks(state.unlockedBlockList().without(doomed::contains));
+        }
 
         // Prune activities map only for the impacted column/time window, skipping locked entries
-        LocalTimeRange removalRange = new LocalTimeRange(start.toLocalTime(), end.toLocalTime());
-        activities.entrySet().removeIf(entry -> {
-            ParsedTimeKey parsed = parseTimeKey(entry.getKey());
-            if (parsed == null || parsed.columnIndex != columnIndex) {
-                return false;
-            }
-            if (lockedSlotKeys.contains(entry.getKey())) {
-                return false;
-            }
-            return removalRange.contains(parsed.time);
-        });
+        int fromMinute = start.getHour() * 60 + start.getMinute();
+        int toMinute = end.getHour() * 60 + end.getMinute();
+        if (columnIndex >= 0 && columnIndex < SlotKey.DAYS_IN_WEEK && fromMinute <= toMinute) {
+            Set<SlotKey> lockedSlotKeys = state.getLockedSlotKeys();
+            state = state.withoutActivitiesBetween(columnIndex, fromMinute, toMinute, lockedSlotKeys::contains);
+        }
+        return removed;
     }
 
-    public void addBlockedTime(BlockedTime block) {
-        blockedTimes.add(block);
+    public synchronized void addBlockedTime(BlockedTime block) {
+        state = state.withBlockedTimes(state.blockedTimeList().with(block));
+        if (block != null) {
+            blockedIndex.add(block.getColumnIndex(), block.getStart(), block.getEnd(), block);
+        }
     }
 
-    public void removeBlockedTime(BlockedTime block) {
-        blockedTimes.remove(block);
+    public synchronized void removeBlockedTime(BlockedTime block) {
+        List<BlockedTime> blockedTimes = state.getBlockedTimes();
+        int position = blockedTimes.indexOf(block);
+        if (position < 0) return;
+        BlockedTime removed = blockedTimes.get(position);
+        state = state.withBlockedTimes(state.blockedTimeList().withoutFirst(block));
+        if (removed != null) {
+            blockedIndex.remove(removed.getColumnIndex(), removed.getStart(), removed.getEnd(), removed);
+        }
     }
 
     // Copy locked activities into this schedule from a source schedule
-    public void copyLockedActivitiesFrom(Schedule source) {
+    public synchronized void copyLockedActivitiesFrom(Schedule source) {
         if (source == null) return;
+        ScheduleSnapshot from = source.snapshot();
+        ScheduleSnapshot next = state;
+        Set<SlotKey> locked = new HashSet<>(next.getLockedSlotKeys());
         // copy map entries for locked keys if present in source
-        for (String key : source.getLockedSlotKeys()) {
-            String activity = source.getActivities().get(key);
+        for (SlotKey key : from.getLockedSlotKeys()) {
+            String activity = from.getActivities().get(key);
             if (activity != null) {
-                this.activities.put(key, activity);
-                this.lockedSlotKeys.add(key);
+                next = next.withActivity(key, activity);
+                locked.add(key);
             }
         }
+        state = locked.size() == next.getLockedSlotKeys().size() ? next : next.withLockedSlotKeys(locked);
     }
 
-    public void placeActivity(int dayIndex, int startHour, String description) {
-        String key = dayIndex + ":" + startHour;
-        activities.put(key, description);
+    public synchronized void placeActivity(int dayIndex, int startHour, String description) {
+        state = state.withActivity(SlotKey.ofHour(dayIndex, startHour), description);
     }
 
-    public void placeActivityDuration(int dayIndex, int startHour, float duration, String description) {
+    public synchronized void placeActivityDuration(int dayIndex, int startHour, float duration, String description) {
         int hours = (int)Math.ceil(duration);
-        for (int h = 0; h < hours; h++) {
-            String key = dayIndex + ":" + (startHour + h);
-            activities.put(key, description);
+        ScheduleSnapshot next = state;
+        for (int h = 0; h < hours && startHour + h < 24; h++) {
+            next = next.withActivity(SlotKey.ofHour(dayIndex, startHour + h), description);
         }
+        state = next;
     }
 
     public Integer getId() {
@@ -240,78 +297,15 @@ public class Schedule {
 
     // Just for JUnit tests. This would normally be package-protected or private.
     public void addUnlockedBlockForTest(ScheduledBlock block) {
-        unlockedBlocks.add(block);
-    }
-
-    public void clearBlockedTimes() {
-        this.blockedTimes.clear();
-    }
-
-    public void clearLockedSlotKeys() {
-        lockedSlotKeys.clear();
-    }
-
-    private ParsedTimeKey parseTimeKey(String timeKey) {
-        if (timeKey == null || !timeKey.contains(" ")) {
-            return null;
-        }
-
-        String[] parts = timeKey.split(" ");
-        if (parts.length < 2) {
-            return null;
-        }
-
-        int columnIndex = toColumnIndex(parts[0]);
-        if (columnIndex < 0) {
-            return null;
-        }
-
-        try {
-            LocalTime time = LocalTime.parse(parts[1], DateTimeFormatter.ofPattern("HH:mm"));
-            return new ParsedTimeKey(columnIndex, time);
-        } catch (DateTimeParseException ex) {
-            return null;
-        }
+        addUnlockedBlock(block);
     }
 
-    private int toColumnIndex(String dayAbbreviation) {
-        if (dayAbbreviation == null) {
-            return -1;
-        }
-
-        return switch (dayAbbreviation.trim().toUpperCase(Locale.ROOT)) {
-            case "MON", "MONDAY" -> 0;
-            case "TUE", "TUESDAY" -> 1;
-            case "WED", "WEDNESDAY" -> 2;
-            case "THU", "THURSDAY" -> 3;
-            case "FRI", "FRIDAY" -> 4;
-            case "SAT", "SATURDAY" -> 5;
-            case "SUN", "SUNDAY" -> 6;
-            default -> -1;
-        };
-    }
-
-    private static class ParsedTimeKey {
-        final int columnIndex;
-        final LocalTime time;
-
-        ParsedTimeKey(int columnIndex, LocalTime time) {
-            this.columnIndex = columnIndex;
-            this.time = time;
-        }
+    public synchronized void clearBlockedTimes() {
+        state = state.withBlockedTimes(PersistentList.empty());
+        blockedIndex.clear();
     }
 
-    private static class LocalTimeRange {
-        private final LocalTime start;
-        private final LocalTime end;
-
-        LocalTimeRange(LocalTime start, LocalTime end) {
-            this.start = start;
-            this.end = end;
-        }
-
-        boolean contains(LocalTime time) {
-            return !time.isBefore(start) && !time.isAfter(end);
-        }
+    public synchronized void clearLockedSlotKeys() {
+        state = state.withLockedSlotKeys(Set.of());
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package plan4life.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One visible change between two versions of a schedule: an activity cell added, removed or
+ * renamed, a cell locked or unlocked, or a blocked time added or removed. Lists of deltas come
+ * from {@link Schedule#changesSince(ScheduleSnapshot)} so a view can repaint only what changed.
+ */
+public final class ScheduleDelta {
+
+    public enum Kind {
+        ACTIVITY_ADDED,
+        ACTIVITY_REMOVED,
+        ACTIVITY_CHANGED,
+        LOCK_TOGGLED,
+        BLOCK_ADDED,
+        BLOCK_REMOVED
+    }
+
+    private final Kind kind;
+    private final SlotKey slotKey;
+    private final String activityName;
+    private final boolean locked;
+    private final BlockedTime blockedTime;
+
+    private ScheduleDelta(Kind kind, SlotKey slotKey, String activityName, boolean locked, BlockedTime blockedTime) {
+        this.kind = kind;
+        this.slotKey = slotKey;
+        this.activityName = activityName;
+        this.locked = locked;
+        this.blockedTime = blockedTime;
+    }
+
+    public static ScheduleDelta activityAdded(SlotKey key, String activityName, boolean locked) {
+        return new ScheduleDelta(Kind.ACTIVITY_ADDED, key, activityName, locked, null);
+    }
+
+    public static ScheduleDelta activityRemoved(SlotKey key, String activityName) {
+        return new ScheduleDelta(Kind.ACTIVITY_REMOVED, key, activityName, false, null);
+    }
+
+    public static ScheduleDelta activityChanged(SlotKey key, String activityName, boolean locked) {
+        return new ScheduleDelta(Kind.ACTIVITY_CHANGED, key, activityName, locked, null);
+    }
+
+    public static ScheduleDelta lockToggled(SlotKey key, boolean locked) {
+        return new ScheduleDelta(Kind.LOCK_TOGGLED, key, null, locked, null);
+    }
+
+    public static ScheduleDelta blockAdded(BlockedTime block) {
+        return new ScheduleDelta(Kind.BLOCK_ADDED, null, null, false, block);
+    }
+
+    public static ScheduleDelta blockRemoved(BlockedTime block) {
+        return new ScheduleDelta(Kind.BLOCK_REMOVED, null, null, false, block);
+    }
+
+    public Kind getKind() { return kind; }
+
+    /**
+     * The affected cell; {@code null} for block deltas.
+     */
+    public SlotKey getSlotKey() { return slotKey; }
+
+    /**
+     * The new name for added/changed activities, the old name for removed ones.
+     */
+    public String getActivityName() { return activityName; }
+
+    /**
+     * Lock state of the cell after the change.
+     */
+    public boolean isLocked() { return locked; }
+
+    /**
+     * The affected blocked time; {@code null} for cell deltas.
+     */
+    public BlockedTime getBlockedTime() { return blockedTime; }
+
+    /**
+     * Everything that differs between {@code from} and {@code to}. Parts the two versions still
+     * share are skipped by identity, so the cost follows the size of the edit rather than of the
+     * schedule. Blocked times are compared by identity, as the schedule itself does.
+     */
+    static List<ScheduleDelta> between(ScheduleSnapshot from, ScheduleSnapshot to) {
+        if (from == to) {
+            return Collections.emptyList();
+        }
+        List<ScheduleDelta> deltas = new ArrayList<>();
+        Set<SlotKey> toLocks = to.getLockedSlotKeys();
+        for (int column = 0; column < SlotKey.DAYS_IN_WEEK; column++) {
+            NavigableMap<SlotKey, String> before = from.getActivitiesInColumn(column);
+            NavigableMap<SlotKey, String> after = to.getActivitiesInColumn(column);
+            if (before != after) {
+                diffColumn(before, after, toLocks, deltas);
+            }
+        }
+
+        Set<SlotKey> fromLocks = from.getLockedSlotKeys();
+        if (fromLocks != toLocks) {
+            // Added/changed activity deltas already carry the new lock state.
+            Set<SlotKey> repainted = new HashSet<>();
+            for (ScheduleDelta delta : deltas) {
+                if (delta.kind != Kind.ACTIVITY_REMOVED) {
+                    repainted.add(delta.slotKey);
+                }
+            }
+            for (SlotKey key : fromLocks) {
+                if (!toLocks.contains(key) && !repainted.contains(key)) {
+                    deltas.add(lockToggled(key, false));
+                }
+            }
+            for (SlotKey key : toLocks) {
+                if (!fromLocks.contains(key) && !repainted.contains(key)) {
+                    deltas.add(lockToggled(key, true));
+                }
+            }
+        }
+
+        List<BlockedTime> fromBlocks = from.getBlockedTimes();
+        List<BlockedTime> toBlocks = to.getBlockedTimes();
+        if (fromBlocks != toBlocks) {
+            Map<BlockedTime, Boolean> kept = new IdentityHashMap<>();
+            for (BlockedTime block : toBlocks) {
+                kept.put(block, Boolean.TRUE);
+            }
+            for (BlockedTime block : fromBlocks) {
+                if (kept.remove(block) == null && block != null) {
+                    deltas.add(blockRemoved(block));
+                }
+            }
+            for (BlockedTime block : toBlocks) {
+                if (kept.containsKey(block) && block != null) {
+                    deltas.add(blockAdded(block));
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private static void diffColumn(NavigableMap<SlotKey, String> before,
+                                   NavigableMap<SlotKey, String> after,
+                                   Set<SlotKey> locks,
+                                   List<ScheduleDelta> out) {
+        Iterator<Map.Entry<SlotKey, String>> left = before.entrySet().iterator();
+        Iterator<Map.Entry<SlotKey, String>> right = after.entrySet().iterator();
+        Map.Entry<SlotKey, String> a = left.hasNext() ? left.next() : null;
+        Map.Entry<SlotKey, String> b = right.hasNext() ? right.next() : null;
+        while (a != null || b != null) {
+            int order = a == null ? 1 : b == null ? -1 : a.getKey().compareTo(b.getKey());
+            if (order < 0) {
+                out.add(activityRemoved(a.getKey(), a.getValue()));
+                a = left.hasNext() ? left.next() : null;
+            } else if (order > 0) {
+                out.add(activityAdded(b.getKey(), b.getValue(), locks.contains(b.getKey())));
+                b = right.hasNext() ? right.next() : null;
+            } else {
+                if (!Objects.equals(a.getValue(), b.getValue())) {
+                    out.add(activityChanged(b.getKey(), b.getValue(), locks.contains(b.getKey())));
+                }
+                a = left.hasNext() ? left.next() : null;
+                b = right.hasNext() ? right.next() : null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kind + (slotKey != null ? " " + slotKey : "")
+                + (activityName != null ? " " + activityName : "")
+                + (blockedTime != null ? " " + blockedTime.getDescription() : "")
+                + (kind == Kind.LOCK_TOGGLED || kind == Kind.ACTIVITY_ADDED ? " locked=" + locked : "");
+    }
+}
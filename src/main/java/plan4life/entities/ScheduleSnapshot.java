@@ -0,0 +1,280 @@
+package plan4life.entities;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * One immutable version of a {@link Schedule}. Every edit to a schedule publishes a new snapshot
+ * that shares everything the edit did not touch: activities are held per week column, so placing
+ * a Tuesday activity copies only Tuesday's cells, and the block lists are {@link PersistentList}s.
+ * Views, presenters and exporters can hold a snapshot and read it from any thread without locks
+ * or defensive copies while the schedule keeps changing.
+ */
+public final class ScheduleSnapshot {
+
+    private static final NavigableMap<SlotKey, String>[] NO_ACTIVITIES = newColumns();
+
+    static {
+        for (int column = 0; column < SlotKey.DAYS_IN_WEEK; column++) {
+            NO_ACTIVITIES[column] = Collections.emptyNavigableMap();
+        }
+    }
+
+    private final int scheduleId;
+    private final String type;
+    private final long version;
+    private final NavigableMap<SlotKey, String>[] activitiesByColumn;
+    private final int activityCount;
+    private final Set<SlotKey> lockedSlotKeys;
+    private final PersistentList<ScheduledBlock> lockedBlocks;
+    private final PersistentList<ScheduledBlock> unlockedBlocks;
+    private final PersistentList<BlockedTime> blockedTimes;
+    private final PersistentList<String> unplacedActivities;
+    // Built on first use; racing threads may each build one, which is harmless
+    private Map<SlotKey, String> activities;
+
+    private ScheduleSnapshot(int scheduleId,
+                             String type,
+                             long version,
+                             NavigableMap<SlotKey, String>[] activitiesByColumn,
+                             Set<SlotKey> lockedSlotKeys,
+                             PersistentList<ScheduledBlock> lockedBlocks,
+                             PersistentList<ScheduledBlock> unlockedBlocks,
+                             PersistentList<BlockedTime> blockedTimes,
+                             PersistentList<String> unplacedActivities) {
+        this.scheduleId = scheduleId;
+        this.type = type;
+        this.version = version;
+        this.activitiesByColumn = activitiesByColumn;
+        int count = 0;
+        for (NavigableMap<SlotKey, String> column : activitiesByColumn) {
+            count += column.size();
+        }
+        this.activityCount = count;
+        this.lockedSlotKeys = lockedSlotKeys;
+        this.lockedBlocks = lockedBlocks;
+        this.unlockedBlocks = unlockedBlocks;
+        this.blockedTimes = blockedTimes;
+        this.unplacedActivities = unplacedActivities;
+    }
+
+    static ScheduleSnapshot empty(int scheduleId, String type) {
+        return new ScheduleSnapshot(scheduleId, type, 0, NO_ACTIVITIES, Collections.emptySet(),
+                PersistentList.empty(), PersistentList.empty(), PersistentList.empty(), PersistentList.empty());
+    }
+
+    public int getScheduleId() { return scheduleId; }
+    public String getType() { return type; }
+
+    /**
+     * Increases by one with every edit of the owning schedule.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * All activities in week order (Monday 00:00 first).
+     */
+    public Map<SlotKey, String> getActivities() {
+        Map<SlotKey, String> view = activities;
+        if (view == null) {
+            view = new WeekView();
+            activities = view;
+        }
+        return view;
+    }
+
+    public NavigableMap<SlotKey, String> getActivitiesInColumn(int columnIndex) {
+        return activitiesByColumn[columnIndex];
+    }
+
+    public Set<SlotKey> getLockedSlotKeys() { return lockedSlotKeys; }
+
+    public boolean isLockedKey(SlotKey timeKey) {
+        return timeKey != null && lockedSlotKeys.contains(timeKey);
+    }
+
+    public List<ScheduledBlock> getLockedBlocks() { return lockedBlocks; }
+    public List<ScheduledBlock> getUnlockedBlocks() { return unlockedBlocks; }
+    public List<BlockedTime> getBlockedTimes() { return blockedTimes; }
+    public List<String> getUnplacedActivities() { return unplacedActivities; }
+
+    // ---- Edits: each returns a new version sharing all untouched structure ----
+
+    ScheduleSnapshot withActivity(SlotKey key, String activity) {
+        NavigableMap<SlotKey, String> column = activitiesByColumn[key.getColumnIndex()];
+        if (activity != null && activity.equals(column.get(key))) {
+            return this;
+        }
+        TreeMap<SlotKey, String> copy = new TreeMap<>(column);
+        copy.put(key, activity);
+        return withColumn(key.getColumnIndex(), copy);
+    }
+
+    ScheduleSnapshot withoutActivity(SlotKey key) {
+        NavigableMap<SlotKey, String> column = activitiesByColumn[key.getColumnIndex()];
+        if (!column.containsKey(key)) {
+            return this;
+        }
+        TreeMap<SlotKey, String> copy = new TreeMap<>(column);
+        copy.remove(key);
+        return withColumn(key.getColumnIndex(), copy);
+    }
+
+    /**
+     * Drop the activities of {@code columnIndex} between the two minutes (inclusive) that
+     * {@code keep} rejects.
+     */
+    ScheduleSnapshot withoutActivitiesBetween(int columnIndex, int fromMinute, int toMinute, Predicate<SlotKey> keep) {
+        NavigableMap<SlotKey, String> column = activitiesByColumn[columnIndex];
+        NavigableMap<SlotKey, String> range = column.subMap(
+                SlotKey.of(columnIndex, fromMinute), true, SlotKey.of(columnIndex, toMinute), true);
+        TreeMap<SlotKey, String> copy = null;
+        for (SlotKey key : range.keySet()) {
+            if (!keep.test(key)) {
+                if (copy == null) {
+                    copy = new TreeMap<>(column);
+                }
+                copy.remove(key);
+            }
+        }
+        return copy == null ? this : withColumn(columnIndex, copy);
+    }
+
+    /**
+     * Replace every activity with {@code replacement}, keyed by any column.
+     */
+    ScheduleSnapshot withActivities(Map<SlotKey, String> replacement) {
+        NavigableMap<SlotKey, String>[] columns = newColumns();
+        for (Map.Entry<SlotKey, String> entry : replacement.entrySet()) {
+            int column = entry.getKey().getColumnIndex();
+            if (columns[column] == null) {
+                columns[column] = new TreeMap<>();
+            }
+            columns[column].put(entry.getKey(), entry.getValue());
+        }
+        NavigableMap<SlotKey, String>[] next = newColumns();
+        for (int column = 0; column < SlotKey.DAYS_IN_WEEK; column++) {
+            next[column] = columns[column] == null
+                    ? Collections.emptyNavigableMap()
+                    : Collections.unmodifiableNavigableMap(columns[column]);
+        }
+        return new ScheduleSnapshot(scheduleId, type, version + 1, next, lockedSlotKeys,
+                lockedBlocks, unlockedBlocks, blockedTimes, unplacedActivities);
+    }
+
+    // Java cannot create a generic array directly; callers fill the columns before publishing them.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static NavigableMap<SlotKey, String>[] newColumns() {
+        return new NavigableMap[SlotKey.DAYS_IN_WEEK];
+    }
+
+    ScheduleSnapshot withLockedSlotKeys(Set<SlotKey> keys) {
+        Set<SlotKey> next = keys.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(keys));
+        return new ScheduleSnapshot(scheduleId, type, version + 1, activitiesByColumn, next,
+                lockedBlocks, unlockedBlocks, blockedTimes, unplacedActivities);
+    }
+
+    ScheduleSnapshot withLockedBlocks(PersistentList<ScheduledBlock> blocks) {
+        return new ScheduleSnapshot(scheduleId, type, version + 1, activitiesByColumn, lockedSlotKeys,
+                blocks, unlockedBlocks, blockedTimes, unplacedActivities);
+    }
+
+    ScheduleSnapshot withUnlockedBlocks(PersistentList<ScheduledBlock> blocks) {
+        return blocks == unlockedBlocks ? this : new ScheduleSnapshot(scheduleId, type, version + 1,
+                activitiesByColumn, lockedSlotKeys, lockedBlocks, blocks, blockedTimes, unplacedActivities);
+    }
+
+    ScheduleSnapshot withBlockedTimes(PersistentList<BlockedTime> blocks) {
+        return blocks == blockedTimes ? this : new ScheduleSnapshot(scheduleId, type, version + 1,
+                activitiesByColumn, lockedSlotKeys, lockedBlocks, unlockedBlocks, blocks, unplacedActivities);
+    }
+
+    ScheduleSnapshot withUnplacedActivities(PersistentList<String> names) {
+        return new ScheduleSnapshot(scheduleId, type, version + 1, activitiesByColumn, lockedSlotKeys,
+                lockedBlocks, unlockedBlocks, blockedTimes, names);
+    }
+
+    PersistentList<ScheduledBlock> lockedBlockList() { return lockedBlocks; }
+    PersistentList<ScheduledBlock> unlockedBlockList() { return unlockedBlocks; }
+    PersistentList<BlockedTime> blockedTimeList() { return blockedTimes; }
+    PersistentList<String> unplacedActivityList() { return unplacedActivities; }
+
+    private ScheduleSnapshot withColumn(int columnIndex, TreeMap<SlotKey, String> column) {
+        NavigableMap<SlotKey, String>[] next = activitiesByColumn.clone();
+        next[columnIndex] = column.isEmpty()
+                ? Collections.emptyNavigableMap()
+                : Collections.unmodifiableNavigableMap(column);
+        return new ScheduleSnapshot(scheduleId, type, version + 1, next, lockedSlotKeys,
+                lockedBlocks, unlockedBlocks, blockedTimes, unplacedActivities);
+    }
+
+    /**
+     * Read-only map over the seven column maps, iterated in week order.
+     */
+    private final class WeekView extends AbstractMap<SlotKey, String> {
+
+        private final Set<Entry<SlotKey, String>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<SlotKey, String>> iterator() {
+                return new Iterator<>() {
+                    private int column;
+                    private Iterator<Entry<SlotKey, String>> current = activitiesByColumn[0].entrySet().iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!current.hasNext()) {
+                            if (++column >= SlotKey.DAYS_IN_WEEK) {
+                                return false;
+                            }
+                            current = activitiesByColumn[column].entrySet().iterator();
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public Entry<SlotKey, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return current.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return activityCount;
+            }
+        };
+
+        @Override
+        public Set<Entry<SlotKey, String>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public int size() {
+            return activityCount;
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof SlotKey slot ? activitiesByColumn[slot.getColumnIndex()].get(slot) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof SlotKey slot && activitiesByColumn[slot.getColumnIndex()].containsKey(slot);
+        }
+    }
+}
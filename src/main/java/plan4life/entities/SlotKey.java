@@ -0,0 +1,150 @@
+package plan4life.entities;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * A calendar cell address: a week column (Monday = 0) and a minute of the day, packed into one
+ * int as {@code column * 1440 + minute}. Instances are interned, so equal keys are the same
+ * object and map lookups or lock checks never allocate.
+ */
+public final class SlotKey implements Comparable<SlotKey> {
+
+    public static final int DAYS_IN_WEEK = 7;
+    public static final int MINUTES_IN_DAY = 24 * 60;
+
+    private static final SlotKey[] INTERNED = new SlotKey[DAYS_IN_WEEK * MINUTES_IN_DAY];
+
+    static {
+        for (int packed = 0; packed < INTERNED.length; packed++) {
+            INTERNED[packed] = new SlotKey(packed);
+        }
+    }
+
+    private final int packed;
+
+    private SlotKey(int packed) {
+        this.packed = packed;
+    }
+
+    public static SlotKey of(int columnIndex, int minuteOfDay) {
+        if (columnIndex < 0 || columnIndex >= DAYS_IN_WEEK || minuteOfDay < 0 || minuteOfDay >= MINUTES_IN_DAY) {
+            throw new IllegalArgumentException("No slot for column " + columnIndex + ", minute " + minuteOfDay);
+        }
+        return INTERNED[columnIndex * MINUTES_IN_DAY + minuteOfDay];
+    }
+
+    public static SlotKey of(DayOfWeek day, LocalTime time) {
+        return of(day.getValue() - 1, time.getHour() * 60 + time.getMinute());
+    }
+
+    public static SlotKey ofHour(int columnIndex, int hour) {
+        return of(columnIndex, hour * 60);
+    }
+
+    public static SlotKey fromPacked(int packed) {
+        if (packed < 0 || packed >= INTERNED.length) {
+            throw new IllegalArgumentException("No slot for packed value " + packed);
+        }
+        return INTERNED[packed];
+    }
+
+    /**
+     * Read a legacy text key: {@code "Mon 09:00"} (also {@code "Monday 9:00"}) or the
+     * {@code "dayIndex:hour"} form such as {@code "2:14"}. Returns {@code null} if it is neither.
+     */
+    public static SlotKey parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String trimmed = text.trim();
+        int space = trimmed.indexOf(' ');
+        try {
+            if (space < 0) {
+                int colon = trimmed.indexOf(':');
+                if (colon < 0) {
+                    return null;
+                }
+                return ofHour(Integer.parseInt(trimmed.substring(0, colon)),
+                        Integer.parseInt(trimmed.substring(colon + 1)));
+            }
+            int column = columnOf(trimmed.substring(0, space));
+            String time = trimmed.substring(space + 1).trim();
+            int colon = time.indexOf(':');
+            if (column < 0 || colon < 0) {
+                return null;
+            }
+            int hour = Integer.parseInt(time.substring(0, colon));
+            int minute = Integer.parseInt(time.substring(colon + 1));
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return null;
+            }
+            return of(column, hour * 60 + minute);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    public int getColumnIndex() {
+        return packed / MINUTES_IN_DAY;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return DayOfWeek.of(getColumnIndex() + 1);
+    }
+
+    public int getMinuteOfDay() {
+        return packed % MINUTES_IN_DAY;
+    }
+
+    public int getHour() {
+        return getMinuteOfDay() / 60;
+    }
+
+    public LocalTime toLocalTime() {
+        return LocalTime.of(getHour(), getMinuteOfDay() % 60);
+    }
+
+    public int toPacked() {
+        return packed;
+    }
+
+    @Override
+    public int compareTo(SlotKey other) {
+        return Integer.compare(packed, other.packed);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SlotKey && ((SlotKey) other).packed == packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    /**
+     * The {@code "Mon 09:00"} form.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s %02d:%02d", getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                getHour(), getMinuteOfDay() % 60);
+    }
+
+    private static int columnOf(String dayToken) {
+        return switch (dayToken.trim().toUpperCase(Locale.ROOT)) {
+            case "MON", "MONDAY" -> 0;
+            case "TUE", "TUESDAY" -> 1;
+            case "WED", "WEDNESDAY" -> 2;
+            case "THU", "THURSDAY" -> 3;
+            case "FRI", "FRIDAY" -> 4;
+            case "SAT", "SATURDAY" -> 5;
+            case "SUN", "SUNDAY" -> 6;
+            default -> -1;
+        };
+    }
+}
@@ -1,19 +1,23 @@
 package plan4life.entities;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * An account. A user's schedules are not held here: they live in the schedule store under the
+ * user's name (see {@code PartitionedScheduleStore}), so idle users cost no heap.
+ */
 public class User {
     private final String username;
     private final UserPreferences userPreferences;
-    private final List<Schedule> schedules;
 
     public User(String username, UserPreferences userPreferences) {
         this.username = username;
         this.userPreferences = userPreferences;
+    }
+
+    public String getUsername() {
+        return username;
+    }
 
-        this.schedules = new ArrayList<>();
-        this.schedules.add(new Schedule(0, "day"));
-        this.schedules.add(new Schedule(1, "week"));
+    public UserPreferences getUserPreferences() {
+        return userPreferences;
     }
 }
@@ -0,0 +1,30 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import java.util.List;
+
+/**
+ * Local stand-in for email delivery: logs the email that would be generated, one per batch.
+ */
+public class EmailNotificationChannel implements NotificationChannel {
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean accepts(SetReminderResponseModel reminder) {
+        return reminder.isSendEmail();
+    }
+
+    @Override
+    public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+        String subject = batch.size() == 1
+                ? ToastNotificationChannel.headline(batch.get(0))
+                : batch.size() + " reminders";
+        System.out.printf("[EmailNotificationChannel] Email generated \"%s\": %s%n", subject,
+                ToastNotificationChannel.describe(batch, overflow).replace('\n', ' '));
+    }
+}
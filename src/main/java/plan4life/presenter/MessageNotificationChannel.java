@@ -0,0 +1,27 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import java.util.List;
+
+/**
+ * Local stand-in for the messaging inbox: logs the message that would be sent, one per batch.
+ */
+public class MessageNotificationChannel implements NotificationChannel {
+
+    @Override
+    public String name() {
+        return "message";
+    }
+
+    @Override
+    public boolean accepts(SetReminderResponseModel reminder) {
+        return reminder.isSendMessage();
+    }
+
+    @Override
+    public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+        System.out.printf("[MessageNotificationChannel] Message sent: %s%n",
+                ToastNotificationChannel.describe(batch, overflow).replace('\n', ' '));
+    }
+}
@@ -0,0 +1,26 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import java.util.List;
+
+/**
+ * One way of telling the user a reminder fired (sound, toast, message, email). The
+ * {@link NotificationDispatcher} gives each channel its own queue and thread, so
+ * {@link #deliver} may be slow without holding up the other channels or the EDT.
+ */
+public interface NotificationChannel {
+
+    /** Short name, used for the channel's thread and log lines. */
+    String name();
+
+    /** Whether this channel should be told about the reminder at all. */
+    boolean accepts(SetReminderResponseModel reminder);
+
+    /**
+     * Deliver one grouped notification for {@code batch} (reminders that fired together,
+     * earliest first). {@code overflow} counts reminders dropped since the last delivery because
+     * the channel's queue was full. Runs on the channel's own thread.
+     */
+    void deliver(List<SetReminderResponseModel> batch, int overflow);
+}
@@ -0,0 +1,153 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import javax.swing.SwingUtilities;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans fired reminders out to {@link NotificationChannel}s without doing any of the work on the
+ * caller's thread. Each channel has a bounded queue and a daemon thread that takes the first
+ * waiting reminder, keeps collecting for {@code batchWindow}, and delivers everything collected
+ * as one grouped notification, so a burst due in the same second becomes one toast and one beep.
+ *
+ * <p>Backpressure: when a channel's queue is full, {@link #submit} waits up to
+ * {@code offerTimeout} for room, except on the EDT, which never waits. A reminder that still
+ * does not fit is dropped for that channel only and reported as overflow with its next batch.
+ */
+public final class NotificationDispatcher implements Closeable {
+
+    public static final Duration DEFAULT_BATCH_WINDOW = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_OFFER_TIMEOUT = Duration.ofMillis(50);
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final long batchWindowMillis;
+    private final long offerTimeoutMillis;
+    private volatile boolean closed;
+
+    public NotificationDispatcher(List<NotificationChannel> channels) {
+        this(channels, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_WINDOW, DEFAULT_OFFER_TIMEOUT);
+    }
+
+    public NotificationDispatcher(List<NotificationChannel> channels, int queueCapacity,
+                                  Duration batchWindow, Duration offerTimeout) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.batchWindowMillis = Math.max(0, batchWindow.toMillis());
+        this.offerTimeoutMillis = Math.max(0, offerTimeout.toMillis());
+        for (NotificationChannel channel : channels) {
+            Lane lane = new Lane(channel, queueCapacity);
+            lanes.add(lane);
+            lane.worker.start();
+        }
+    }
+
+    /**
+     * Queue {@code reminder} on every channel that accepts it. Returns the number of channels
+     * that had to drop it.
+     */
+    public int submit(SetReminderResponseModel reminder) {
+        if (closed) {
+            throw new IllegalStateException("NotificationDispatcher is closed");
+        }
+        long waitMillis = SwingUtilities.isEventDispatchThread() ? 0 : offerTimeoutMillis;
+        int dropped = 0;
+        for (Lane lane : lanes) {
+            if (lane.channel.accepts(reminder) && !lane.offer(reminder, waitMillis)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Deliver what is still queued, then stop the channel threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Lane lane : lanes) {
+            lane.worker.interrupt();
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Lane {
+        private final NotificationChannel channel;
+        private final BlockingQueue<SetReminderResponseModel> queue;
+        private final AtomicInteger overflow = new AtomicInteger();
+        private final Thread worker;
+
+        Lane(NotificationChannel channel, int capacity) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::run, "plan4life-notify-" + channel.name());
+            worker.setDaemon(true);
+        }
+
+        boolean offer(SetReminderResponseModel reminder, long waitMillis) {
+            try {
+                if (queue.offer(reminder, waitMillis, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            overflow.incrementAndGet();
+            System.out.printf("[NotificationDispatcher] %s queue full, dropped \"%s\"%n",
+                    channel.name(), reminder.getTitle());
+            return false;
+        }
+
+        private void run() {
+            boolean stopping = false;
+            while (!stopping) {
+                List<SetReminderResponseModel> batch = new ArrayList<>();
+                try {
+                    batch.add(queue.take());
+                    long deadline = System.currentTimeMillis() + batchWindowMillis;
+                    long remaining;
+                    while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                        SetReminderResponseModel next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException ex) {
+                    // close(): deliver what has been collected and whatever is still queued
+                    stopping = closed;
+                }
+                // A backlog that built up meanwhile joins this notification instead of trailing it
+                queue.drainTo(batch);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            }
+        }
+
+        private void deliver(List<SetReminderResponseModel> batch) {
+            try {
+                channel.deliver(batch, overflow.getAndSet(0));
+            } catch (RuntimeException ex) {
+                System.out.printf("[NotificationDispatcher] %s failed: %s%n", channel.name(), ex);
+            }
+        }
+    }
+}
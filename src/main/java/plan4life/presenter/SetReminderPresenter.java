@@ -3,15 +3,29 @@ package plan4life.presenter;
 import plan4life.use_case.set_reminder.SetReminderOutputBoundary;
 import plan4life.use_case.set_reminder.SetReminderResponseModel;
 
-import javax.swing.*;
-import java.awt.*;
-import javax.swing.SwingUtilities;
+import java.io.Closeable;
+import java.util.List;
 
 /**
  * Presenter for the SetReminder use case.
- * Uses Swing dialogs and system beep to notify the user.
+ * Hands fired reminders to a {@link NotificationDispatcher} (sound, toast, message and email by
+ * default), which notifies the user off the calling thread and never blocks the EDT.
  */
-public class SetReminderPresenter implements SetReminderOutputBoundary {
+public class SetReminderPresenter implements SetReminderOutputBoundary, Closeable {
+
+    private final NotificationDispatcher dispatcher;
+
+    public SetReminderPresenter() {
+        this(new NotificationDispatcher(List.of(
+                new SoundNotificationChannel(),
+                new ToastNotificationChannel(),
+                new MessageNotificationChannel(),
+                new EmailNotificationChannel())));
+    }
+
+    public SetReminderPresenter(NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
 
     @Override
     public void presentReminderScheduled(SetReminderResponseModel responseModel) {
@@ -20,56 +34,24 @@ public class SetReminderPresenter implements SetReminderOutputBoundary {
 
     @Override
     public void presentReminderFired(SetReminderResponseModel responseModel) {
-        SwingUtilities.invokeLater(() -> {
-            // Sound alert if requested
-            if (responseModel.isPlaySound()) {
-                for (int i = 0; i < 2; i++) {
-                    Toolkit.getDefaultToolkit().beep();
-                    try {
-                        Thread.sleep(150);
-                    } catch (InterruptedException ignored) {}
-                }
-            }
-
-            // Base reminder popup
-            StringBuilder msg = new StringBuilder();
-            msg.append("Reminder: ").append(responseModel.getTitle());
-            if (responseModel.getUrgencyLevel() != null) {
-                msg.append(" (").append(responseModel.getUrgencyLevel()).append(")");
-            }
-
-            JOptionPane.showMessageDialog(
-                    null,
-                    msg.toString(),
-                    "Important Reminder",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
-
-            // Simulate "message" notification
-            if (responseModel.isSendMessage()) {
-                JOptionPane.showMessageDialog(
-                        null,
-                        "A message notification for this event has been sent to your messaging inbox.",
-                        "Message Sent",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
-            }
+        dispatcher.submit(responseModel);
+    }
 
-            // Simulate "email" notification
-            if (responseModel.isSendEmail()) {
-                JOptionPane.showMessageDialog(
-                        null,
-                        "An email reminder for this event has been generated.",
-                        "Email Sent",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
-            }
-        });
+    @Override
+    public void presentRemindersMissed(SetReminderResponseModel latest, int missedCount) {
+        dispatcher.submit(latest.asMissed(missedCount));
     }
 
     @Override
     public void presentReminderCancelled(SetReminderResponseModel responseModel) {
 //        JOptionPane.showMessageDialog(null, "Reminder cancelled.");
     }
-}
 
+    /**
+     * Deliver notifications still queued and stop the channel threads.
+     */
+    @Override
+    public void close() {
+        dispatcher.close();
+    }
+}
@@ -0,0 +1,35 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import java.awt.Toolkit;
+import java.util.List;
+
+/**
+ * Double beep for reminders that asked for sound; one double beep per batch.
+ */
+public class SoundNotificationChannel implements NotificationChannel {
+
+    @Override
+    public String name() {
+        return "sound";
+    }
+
+    @Override
+    public boolean accepts(SetReminderResponseModel reminder) {
+        return reminder.isPlaySound();
+    }
+
+    @Override
+    public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+        for (int i = 0; i < 2; i++) {
+            Toolkit.getDefaultToolkit().beep();
+            try {
+                Thread.sleep(150);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
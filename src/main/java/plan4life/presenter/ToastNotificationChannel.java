@@ -0,0 +1,91 @@
+package plan4life.presenter;
+
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Small non-modal window in the corner of the screen that closes itself, listing every reminder
+ * in the batch. Only building and showing it happens on the EDT; nothing waits for the user.
+ */
+public class ToastNotificationChannel implements NotificationChannel {
+
+    private static final int VISIBLE_MILLIS = 6000;
+
+    @Override
+    public String name() {
+        return "toast";
+    }
+
+    @Override
+    public boolean accepts(SetReminderResponseModel reminder) {
+        return true;
+    }
+
+    @Override
+    public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+        String text = describe(batch, overflow);
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.printf("[ToastNotificationChannel] %s%n", text.replace('\n', ' '));
+            return;
+        }
+        SwingUtilities.invokeLater(() -> show(batch.size() == 1 ? "Reminder" : batch.size() + " reminders", text));
+    }
+
+    static String describe(List<SetReminderResponseModel> batch, int overflow) {
+        StringBuilder msg = new StringBuilder();
+        for (SetReminderResponseModel reminder : batch) {
+            if (msg.length() > 0) {
+                msg.append('\n');
+            }
+            msg.append(headline(reminder));
+            if (reminder.getUrgencyLevel() != null) {
+                msg.append(" (").append(reminder.getUrgencyLevel()).append(")");
+            }
+        }
+        if (overflow > 0) {
+            msg.append('\n').append("...and ").append(overflow).append(" more");
+        }
+        return msg.toString();
+    }
+
+    /**
+     * "Reminder: title", or for a recovery summary "Missed N occurrences: title".
+     */
+    static String headline(SetReminderResponseModel reminder) {
+        int missed = reminder.getMissedCount();
+        if (missed == 0) {
+            return "Reminder: " + reminder.getTitle();
+        }
+        return "Missed " + missed + (missed == 1 ? " occurrence: " : " occurrences: ") + reminder.getTitle();
+    }
+
+    private static void show(String heading, String text) {
+        JWindow toast = new JWindow();
+        JPanel panel = new JPanel(new BorderLayout(0, 4));
+        panel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(Color.GRAY),
+                BorderFactory.createEmptyBorder(8, 12, 8, 12)));
+        JLabel title = new JLabel(heading);
+        title.setFont(title.getFont().deriveFont(Font.BOLD));
+        JTextArea body = new JTextArea(text);
+        body.setEditable(false);
+        body.setOpaque(false);
+        panel.add(title, BorderLayout.NORTH);
+        panel.add(body, BorderLayout.CENTER);
+        toast.add(panel);
+        toast.pack();
+
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        toast.setLocation(screen.x + screen.width - toast.getWidth() - 16,
+                screen.y + screen.height - toast.getHeight() - 16);
+        toast.setAlwaysOnTop(true);
+        toast.setVisible(true);
+
+        Timer dismiss = new Timer(VISIBLE_MILLIS, e -> toast.dispose());
+        dismiss.setRepeats(false);
+        dismiss.start();
+    }
+}
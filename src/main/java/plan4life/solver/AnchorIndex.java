@@ -0,0 +1,84 @@
+package plan4life.solver;
+
+import plan4life.ai.rules.ActivityTimeRules;
+import plan4life.entities.ScheduledBlock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+/**
+ * Per-column index of placed blocks keyed by every activity rule id they match, so precedence
+ * anchors ("the first dinner on Tuesday") are found in O(log n) instead of by scanning the
+ * schedule. Blocks are added and removed as the solver places and lifts them.
+ */
+final class AnchorIndex {
+
+    private final int columnCount;
+    private final Map<String, Column[]> byAnchor = new HashMap<>();
+
+    AnchorIndex(int columnCount) {
+        this.columnCount = columnCount;
+    }
+
+    void add(ScheduledBlock block) {
+        add(block.getActivityName(), block.getColumnIndex(),
+                WeekLayout.minuteOfDay(block.getStart()), WeekLayout.endMinuteOfDay(block.getStart(), block.getEnd()));
+    }
+
+    void add(String activityName, int column, int startMinute, int endMinute) {
+        if (column < 0 || column >= columnCount) {
+            return;
+        }
+        for (String anchor : ActivityTimeRules.getCatalog().matchingRuleIds(activityName)) {
+            Column[] columns = byAnchor.computeIfAbsent(anchor, id -> new Column[columnCount]);
+            if (columns[column] == null) {
+                columns[column] = new Column();
+            }
+            columns[column].add(startMinute, endMinute);
+        }
+    }
+
+    void remove(String activityName, int column, int startMinute, int endMinute) {
+        if (column < 0 || column >= columnCount) {
+            return;
+        }
+        for (String anchor : ActivityTimeRules.getCatalog().matchingRuleIds(activityName)) {
+            Column[] columns = byAnchor.get(anchor);
+            if (columns != null && columns[column] != null) {
+                columns[column].remove(startMinute, endMinute);
+            }
+        }
+    }
+
+    OptionalInt earliestStart(String anchor, int column) {
+        Column entry = column(anchor, column);
+        return entry == null || entry.starts.isEmpty() ? OptionalInt.empty() : OptionalInt.of(entry.starts.firstKey());
+    }
+
+    OptionalInt latestEnd(String anchor, int column) {
+        Column entry = column(anchor, column);
+        return entry == null || entry.ends.isEmpty() ? OptionalInt.empty() : OptionalInt.of(entry.ends.lastKey());
+    }
+
+    private Column column(String anchor, int column) {
+        Column[] columns = byAnchor.get(anchor);
+        return columns == null || column < 0 || column >= columnCount ? null : columns[column];
+    }
+
+    private static final class Column {
+        private final TreeMap<Integer, Integer> starts = new TreeMap<>();
+        private final TreeMap<Integer, Integer> ends = new TreeMap<>();
+
+        void add(int startMinute, int endMinute) {
+            starts.merge(startMinute, 1, Integer::sum);
+            ends.merge(endMinute, 1, Integer::sum);
+        }
+
+        void remove(int startMinute, int endMinute) {
+            starts.computeIfPresent(startMinute, (minute, count) -> count > 1 ? count - 1 : null);
+            ends.computeIfPresent(endMinute, (minute, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
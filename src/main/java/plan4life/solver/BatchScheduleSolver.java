@@ -0,0 +1,193 @@
+package plan4life.solver;
+
+import plan4life.entities.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Solves many independent schedules (e.g. one per user) on a bounded pool. Each task builds its
+ * own solver from its {@link SolveRequest}, runs under its own timeout, and its result is
+ * delivered as soon as it finishes. A timed-out solve is also interrupted, so it gives its worker
+ * back instead of holding it until it finishes; the solvers in this package check for interruption
+ * between placements and during search. The project targets Java 17, so the pool uses platform
+ * daemon threads rather than virtual threads.
+ */
+public class BatchScheduleSolver implements AutoCloseable {
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timeouts;
+    private final Function<SolveRequest, ScheduleSolver> solverFactory;
+
+    public BatchScheduleSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchScheduleSolver(int parallelism) {
+        this(parallelism,
+                request -> new ConstraintSolver(request.getWeekStart(), new Random(request.getSeed())));
+    }
+
+    public BatchScheduleSolver(int parallelism, Function<SolveRequest, ScheduleSolver> solverFactory) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.workers = Executors.newFixedThreadPool(parallelism, daemonThreads("plan4life-batch-"));
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(daemonThreads("plan4life-batch-timeout-"));
+        this.solverFactory = Objects.requireNonNull(solverFactory);
+    }
+
+    /**
+     * Solve every request, invoking {@code onResult} once per request as each one finishes, and
+     * block until the batch is done. Callbacks run on worker or timeout threads.
+     */
+    public BatchStats solveAll(List<SolveRequest> requests, Consumer<SolveResult> onResult) {
+        List<SolveResult> results = Collections.synchronizedList(new ArrayList<>(requests.size()));
+        CountDownLatch done = new CountDownLatch(requests.size());
+        long batchStart = System.nanoTime();
+        for (SolveRequest request : requests) {
+            submit(request).thenAccept(result -> {
+                results.add(result);
+                try {
+                    onResult.accept(result);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            done.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return BatchStats.of(new ArrayList<>(results), System.nanoTime() - batchStart);
+    }
+
+    /**
+     * Start solving every request and return an iterator that yields results in completion order.
+     */
+    public BatchRun solveAll(List<SolveRequest> requests) {
+        BatchRun run = new BatchRun(requests.size());
+        for (SolveRequest request : requests) {
+            submit(request).thenAccept(run::offer);
+        }
+        return run;
+    }
+
+    private CompletableFuture<SolveResult> submit(SolveRequest request) {
+        CompletableFuture<SolveResult> outcome = new CompletableFuture<>();
+        workers.execute(() -> {
+            long start = System.nanoTime();
+            Thread worker = Thread.currentThread();
+            // Guards worker interruption: once the solve is over, the timeout must not interrupt
+            // whatever task this thread runs next
+            boolean[] running = {true};
+            ScheduledFuture<?> timer = timeouts.schedule(() -> {
+                outcome.complete(SolveResult.timedOut(request, System.nanoTime() - start));
+                synchronized (running) {
+                    if (running[0]) {
+                        worker.interrupt();
+                    }
+                }
+            }, request.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            try {
+                Schedule schedule = solverFactory.apply(request).solve(request.getScheduleId(),
+                        request.getScheduleType(), request.getProposedEvents(), request.getBlockedTimes());
+                outcome.complete(SolveResult.completed(request, schedule, System.nanoTime() - start));
+            } catch (RuntimeException ex) {
+                outcome.complete(SolveResult.failed(request, ex, System.nanoTime() - start));
+            } finally {
+                timer.cancel(false);
+                synchronized (running) {
+                    running[0] = false;
+                }
+                // Clear an interrupt that arrived as the solve was finishing
+                Thread.interrupted();
+            }
+        });
+        return outcome;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Results of an in-flight batch, yielded as each solve finishes. {@link #getStats()} is
+     * available once every result has been consumed.
+     */
+    public static final class BatchRun implements Iterator<SolveResult> {
+        private final BlockingQueue<SolveResult> finished = new LinkedBlockingQueue<>();
+        private final List<SolveResult> consumed = new ArrayList<>();
+        private final int total;
+        private final long startNanos = System.nanoTime();
+        private long wallNanos = -1;
+
+        BatchRun(int total) {
+            this.total = total;
+        }
+
+        void offer(SolveResult result) {
+            finished.add(result);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return consumed.size() < total;
+        }
+
+        @Override
+        public SolveResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                SolveResult result = finished.take();
+                consumed.add(result);
+                if (consumed.size() == total) {
+                    wallNanos = System.nanoTime() - startNanos;
+                }
+                return result;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch results", ex);
+            }
+        }
+
+        public BatchStats getStats() {
+            if (hasNext()) {
+                throw new IllegalStateException("Batch still has " + (total - consumed.size()) + " pending results");
+            }
+            return BatchStats.of(consumed, Math.max(0, wallNanos));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package plan4life.solver;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregate throughput and latency figures for one batch of solves.
+ */
+public final class BatchStats {
+    private final int total;
+    private final int completed;
+    private final int timedOut;
+    private final int failed;
+    private final long wallNanos;
+    private final long meanLatencyNanos;
+    private final long p50LatencyNanos;
+    private final long p95LatencyNanos;
+    private final long maxLatencyNanos;
+
+    private BatchStats(int total, int completed, int timedOut, int failed, long wallNanos,
+                       long meanLatencyNanos, long p50LatencyNanos, long p95LatencyNanos, long maxLatencyNanos) {
+        this.total = total;
+        this.completed = completed;
+        this.timedOut = timedOut;
+        this.failed = failed;
+        this.wallNanos = wallNanos;
+        this.meanLatencyNanos = meanLatencyNanos;
+        this.p50LatencyNanos = p50LatencyNanos;
+        this.p95LatencyNanos = p95LatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    static BatchStats of(List<SolveResult> results, long wallNanos) {
+        int completed = 0;
+        int timedOut = 0;
+        int failed = 0;
+        long[] latencies = new long[results.size()];
+        long sum = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            SolveResult result = results.get(i);
+            switch (result.getStatus()) {
+                case COMPLETED -> completed++;
+                case TIMED_OUT -> timedOut++;
+                case FAILED -> failed++;
+            }
+            latencies[i] = result.getLatencyNanos();
+            sum += latencies[i];
+        }
+        Arrays.sort(latencies);
+        long mean = latencies.length == 0 ? 0 : sum / latencies.length;
+        return new BatchStats(results.size(), completed, timedOut, failed, wallNanos, mean,
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getTimedOut() {
+        return timedOut;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Finished solves (any status) per second of wall-clock time.
+     */
+    public double getThroughputPerSecond() {
+        return wallNanos <= 0 ? 0.0 : total * 1_000_000_000.0 / wallNanos;
+    }
+
+    public long getMeanLatencyNanos() {
+        return meanLatencyNanos;
+    }
+
+    public long getP50LatencyNanos() {
+        return p50LatencyNanos;
+    }
+
+    public long getP95LatencyNanos() {
+        return p95LatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d solves (%d ok, %d timed out, %d failed) in %d ms, %.1f/s, p50 %.2f ms, p95 %.2f ms",
+                total, completed, timedOut, failed, wallNanos / 1_000_000, getThroughputPerSecond(),
+                p50LatencyNanos / 1e6, p95LatencyNanos / 1e6);
+    }
+}
@@ -1,41 +1,48 @@
 package plan4life.solver;
 
 import plan4life.ai.ProposedEvent;
-import plan4life.ai.rules.ActivityTimeRule;
+import plan4life.ai.rules.ActivityPrecedence;
+import plan4life.ai.rules.ActivityRuleCatalog;
 import plan4life.ai.rules.ActivityTimeRules;
 import plan4life.entities.BlockedTime;
 import plan4life.entities.Schedule;
 import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.OptionalInt;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
 /**
- * A greedy, grid-based scheduler that places events on a 7x24 canvas.
- * Locked/fixed events are preserved exactly as proposed, while flexible
- * events are nudged to the nearest available slot when conflicts arise.
+ * A greedy, grid-based scheduler that places events on a weekly bitset canvas
+ * (15-minute slots by default). Locked/fixed events are preserved exactly as
+ * proposed, while flexible events are nudged to the nearest available slot
+ * when conflicts arise. With an improvement budget, a {@link LocalSearchImprover}
+ * then refines the flexible placements until the budget measured from the start
+ * of the solve runs out.
  */
-public class ConstraintSolver {
+public class ConstraintSolver implements ScheduleSolver, ScheduleRepairer {
 
-    private static final int HOURS_IN_DAY = 24;
-    private static final int DAYS_IN_WEEK = 7;
+    private static final int DAYS_IN_WEEK = WeekLayout.DAYS_IN_WEEK;
+    private static final int MAX_SLOT_OPTIONS = 5;
 
-    private final LocalDate weekStart;
+    private final WeekLayout layout;
     private final Random random;
+    private final int slotMinutes;
+    private final SolverListener listener;
+    private final boolean tracing;
+    private final Duration improvementBudget;
 
     public ConstraintSolver() {
         this(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), new Random());
@@ -46,35 +53,59 @@ public class ConstraintSolver {
     }
 
     public ConstraintSolver(LocalDate weekStart, Random random) {
-        this.weekStart = weekStart;
+        this(weekStart, random, OccupancyGrid.DEFAULT_SLOT_MINUTES);
+    }
+
+    public ConstraintSolver(LocalDate weekStart, Random random, int slotMinutes) {
+        this(weekStart, random, slotMinutes, SolverListener.NO_OP);
+    }
+
+    public ConstraintSolver(LocalDate weekStart, Random random, int slotMinutes, SolverListener listener) {
+        this(weekStart, random, slotMinutes, listener, Duration.ZERO);
+    }
+
+    public ConstraintSolver(LocalDate weekStart,
+                            Random random,
+                            int slotMinutes,
+                            SolverListener listener,
+                            Duration improvementBudget) {
+        this.layout = new WeekLayout(weekStart);
         this.random = random;
+        this.slotMinutes = slotMinutes;
+        this.listener = listener == null ? SolverListener.NO_OP : listener;
+        this.tracing = this.listener != SolverListener.NO_OP;
+        this.improvementBudget = improvementBudget == null || improvementBudget.isNegative()
+                ? Duration.ZERO
+                : improvementBudget;
     }
 
     /**
      * Greedily place proposed events into a Schedule while respecting locked blocks and
-     * user blocked times. The solver discretizes time into hour-long slots on a weekly grid.
+     * user blocked times. The solver discretizes time into fixed-width slots on a weekly grid.
      */
+    @Override
     public Schedule solve(int scheduleId,
                           String scheduleType,
                           List<ProposedEvent> proposedEvents,
                           List<BlockedTime> blockedTimes) {
+        long solveStart = System.nanoTime();
         Schedule schedule = new Schedule(scheduleId, scheduleType);
-        Map<Integer, boolean[]> occupancy = initializeGrid();
+        OccupancyGrid occupancy = new OccupancyGrid(DAYS_IN_WEEK, slotMinutes);
+        AnchorIndex anchors = new AnchorIndex(DAYS_IN_WEEK);
+        listener.onSolveStarted(scheduleId);
+        long phaseStart = tracing ? solveStart : 0L;
 
         // Respect user blocked periods first so events avoid them.
         if (blockedTimes != null) {
             for (BlockedTime blockedTime : blockedTimes) {
                 schedule.addBlockedTime(blockedTime);
-                markRangeAsOccupied(occupancy, blockedTime.getColumnIndex(),
-                        blockedTime.getStart().getHour(), blockedTime.getEnd().getHour());
+                WeekLayout.markBlockedTime(occupancy, blockedTime);
             }
         }
+        phaseStart = finishPhase(SolverPhase.BLOCKED_TIMES, phaseStart);
 
-        if (proposedEvents == null || proposedEvents.isEmpty()) {
-            return schedule;
-        }
-
-        List<ProposedEvent> ordered = new ArrayList<>(proposedEvents);
+        // With no proposals the later phases are empty, but listeners still see them and the summary
+        List<ProposedEvent> ordered = proposedEvents == null ? new ArrayList<>() : new ArrayList<>(proposedEvents);
         ordered.sort(Comparator
                 .comparing(ProposedEvent::getDay)
                 .thenComparing(ProposedEvent::getStartTime));
@@ -82,40 +113,172 @@ public class ConstraintSolver {
         // Place locked first so they are always preserved.
         for (ProposedEvent event : ordered) {
             if (event.isLocked()) {
-                placeLockedEvent(schedule, occupancy, event);
+                placeLockedEvent(schedule, occupancy, anchors, event);
             }
         }
+        phaseStart = finishPhase(SolverPhase.LOCKED, phaseStart);
 
         List<ProposedEvent> flexible = ordered.stream()
                 .filter(event -> !event.isLocked())
                 .collect(Collectors.toCollection(ArrayList::new));
-        Map<Integer, Integer> occupiedHours = countOccupiedHours(occupancy);
+        int[] occupiedSlots = countOccupiedSlots(occupancy);
         Collections.shuffle(flexible, random);
         flexible.sort(Comparator
-                .comparing((ProposedEvent e) -> occupiedHours.getOrDefault(toColumnIndex(e.getDay()), 0))
+                .comparingInt((ProposedEvent e) -> occupiedSlots[toColumnIndex(e.getDay())])
                 .thenComparing(ProposedEvent::getDay));
-        System.out.printf("[ConstraintSolver] placing %d flexible events in balanced order.%n", flexible.size());
+        // A precedence is only enforced against anchors already placed, so anchors go first
+        flexible = anchorsFirst(flexible);
 
         for (ProposedEvent event : flexible) {
-            placeFlexibleEvent(schedule, occupancy, event);
+            checkInterrupted();
+            placeFlexibleEvent(schedule, occupancy, anchors, layout, event, MAX_SLOT_OPTIONS,
+                    buildColumnOrderByOccupancy(occupancy, toColumnIndex(event.getDay())));
+        }
+        phaseStart = finishPhase(SolverPhase.FLEXIBLE, phaseStart);
+
+        if (!improvementBudget.isZero()) {
+            long deadline = solveStart + improvementBudget.toNanos();
+            schedule = new LocalSearchImprover(layout, slotMinutes, random).improve(schedule, flexible, deadline);
+            checkInterrupted();
+            finishPhase(SolverPhase.IMPROVE, phaseStart);
         }
 
-        logPerDaySummary(schedule);
+        reportPerDaySummary(schedule);
+
+        return schedule;
+    }
+
+    /**
+     * Apply a block-off or newly locked block to an existing schedule in place. Only the unlocked
+     * blocks the delta overlaps are lifted; each is re-placed at the nearest free slot on its own
+     * day, on an occupancy grid rebuilt from the schedule, or reported unplaced if that day has no
+     * room. Other days are never touched, and everything else stays put.
+     */
+    @Override
+    public Schedule repair(Schedule schedule, RepairDelta delta) {
+        if (schedule == null || delta == null || delta.isEmpty()) {
+            return schedule;
+        }
+
+        List<ScheduledBlock> displaced = new ArrayList<>();
+        for (BlockedTime blockedTime : delta.getBlockedTimes()) {
+            displaced.addAll(schedule.removeOverlappingActivities(
+                    blockedTime.getStart(), blockedTime.getEnd(), blockedTime.getColumnIndex()));
+            schedule.addBlockedTime(blockedTime);
+        }
+        for (ScheduledBlock locked : delta.getLockedBlocks()) {
+            displaced.addAll(schedule.removeOverlappingActivities(
+                    locked.getStart(), locked.getEnd(), locked.getColumnIndex()));
+            schedule.addLockedBlock(locked);
+            SlotKey timeKey = WeekLayout.slotKey(locked.getStart().getDayOfWeek(), locked.getStart().toLocalTime());
+            schedule.addActivity(timeKey, locked.getActivityName());
+            schedule.lockSlotKey(timeKey);
+        }
+        if (displaced.isEmpty()) {
+            return schedule;
+        }
 
+        listener.onSolveStarted(schedule.getScheduleId());
+        long phaseStart = tracing ? System.nanoTime() : 0L;
+        OccupancyGrid occupancy = new OccupancyGrid(DAYS_IN_WEEK, slotMinutes);
+        schedule.getBlockedTimes().forEach(blockedTime -> WeekLayout.markBlockedTime(occupancy, blockedTime));
+        schedule.getLockedBlocks().forEach(block -> WeekLayout.markBlock(occupancy, block));
+        schedule.getUnlockedBlocks().forEach(block -> WeekLayout.markBlock(occupancy, block));
+        AnchorIndex anchors = new AnchorIndex(DAYS_IN_WEEK);
+        schedule.getLockedBlocks().forEach(anchors::add);
+        schedule.getUnlockedBlocks().forEach(anchors::add);
+
+        displaced.sort(Comparator.comparing(ScheduledBlock::getStart));
+        for (ScheduledBlock block : displaced) {
+            DayOfWeek day = block.getStart().getDayOfWeek();
+            LocalTime startTime = block.getStart().toLocalTime();
+            schedule.removeActivity(WeekLayout.slotKey(day, startTime));
+
+            int durationMinutes = (int) Duration.between(block.getStart(), block.getEnd()).toMinutes();
+            ProposedEvent event = new ProposedEvent(day, startTime, Math.max(1, durationMinutes),
+                    block.getActivityName(), false);
+            WeekLayout blockWeek = new WeekLayout(block.getStart().toLocalDate().minusDays(block.getColumnIndex()));
+            placeFlexibleEvent(schedule, occupancy, anchors, blockWeek, event, 1, List.of(toColumnIndex(day)));
+        }
+        finishPhase(SolverPhase.REPAIR, phaseStart);
         return schedule;
     }
 
-    private void logPerDaySummary(Schedule schedule) {
+    /**
+     * Reorder {@code events} so every event comes after the events that match the anchors of
+     * its precedences, keeping the given order otherwise. On a cycle the earliest remaining
+     * event goes next, and the improver's precedence penalty has to sort it out.
+     */
+    private static List<ProposedEvent> anchorsFirst(List<ProposedEvent> events) {
+        int count = events.size();
+        ActivityRuleCatalog catalog = ActivityTimeRules.getCatalog();
+        List<Set<String>> ruleIds = new ArrayList<>(count);
+        for (ProposedEvent event : events) {
+            ruleIds.add(catalog.matchingRuleIds(event.getName()));
+        }
+        int[] waitingOn = new int[count];
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        boolean anyPrecedence = false;
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            for (ActivityPrecedence precedence : PlacementWindow.forEvent(events.get(i)).getPrecedences()) {
+                for (int j = 0; j < count; j++) {
+                    if (j != i && ruleIds.get(j).contains(precedence.getAnchorRuleId())) {
+                        dependents.get(j).add(i);
+                        waitingOn[i]++;
+                        anyPrecedence = true;
+                    }
+                }
+            }
+        }
+        if (!anyPrecedence) {
+            return events;
+        }
+
+        List<ProposedEvent> result = new ArrayList<>(count);
+        boolean[] taken = new boolean[count];
+        while (result.size() < count) {
+            int next = -1;
+            for (int i = 0; i < count && next < 0; i++) {
+                if (!taken[i] && waitingOn[i] == 0) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                for (int i = 0; next < 0; i++) {
+                    if (!taken[i]) {
+                        next = i;
+                    }
+                }
+            }
+            taken[next] = true;
+            result.add(events.get(next));
+            for (int dependent : dependents.get(next)) {
+                waitingOn[dependent]--;
+            }
+        }
+        return result;
+    }
+
+    private void reportPerDaySummary(Schedule schedule) {
+        if (!tracing) {
+            return;
+        }
         int[] counts = new int[DAYS_IN_WEEK];
         schedule.getLockedBlocks().forEach(block -> incrementDayCount(counts, block.getStart().getDayOfWeek()));
         schedule.getUnlockedBlocks().forEach(block -> incrementDayCount(counts, block.getStart().getDayOfWeek()));
+        listener.onSummary(counts, schedule.getUnplacedActivities().size());
+    }
 
-        String[] abbreviations = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
-        String summary = "[ConstraintSolver] per-day placed counts:";
-        for (int i = 0; i < DAYS_IN_WEEK; i++) {
-            summary += " " + abbreviations[i] + "=" + counts[i];
+    private long finishPhase(SolverPhase phase, long startedAt) {
+        if (!tracing) {
+            return 0L;
         }
-        System.out.println(summary);
+        long now = System.nanoTime();
+        listener.onPhaseFinished(phase, now - startedAt);
+        return now;
     }
 
     private void incrementDayCount(int[] counts, DayOfWeek day) {
@@ -125,163 +288,92 @@ public class ConstraintSolver {
         }
     }
 
-    private Map<Integer, Integer> countOccupiedHours(Map<Integer, boolean[]> occupancy) {
-        Map<Integer, Integer> counts = new HashMap<>();
-        if (occupancy == null) {
-            return counts;
-        }
-        for (Map.Entry<Integer, boolean[]> entry : occupancy.entrySet()) {
-            int hours = 0;
-            for (boolean filled : entry.getValue()) {
-                if (filled) {
-                    hours++;
-                }
-            }
-            counts.put(entry.getKey(), hours);
+    private int[] countOccupiedSlots(OccupancyGrid occupancy) {
+        int[] counts = new int[DAYS_IN_WEEK];
+        for (int column = 0; column < DAYS_IN_WEEK; column++) {
+            counts[column] = occupancy.occupiedSlotCount(column);
         }
         return counts;
     }
 
-    private Map<Integer, boolean[]> initializeGrid() {
-        Map<Integer, boolean[]> grid = new HashMap<>();
-        for (int i = 0; i < DAYS_IN_WEEK; i++) {
-            grid.put(i, new boolean[HOURS_IN_DAY]);
-        }
-        return grid;
-    }
-
-    private void placeLockedEvent(Schedule schedule, Map<Integer, boolean[]> occupancy, ProposedEvent event) {
-        int columnIndex = toColumnIndex(event.getDay());
-        LocalDateTime start = toDateTime(event.getDay(), event.getStartTime());
-        LocalDateTime end = start.plusMinutes(event.getDurationMinutes());
+    private void placeLockedEvent(Schedule schedule, OccupancyGrid occupancy, AnchorIndex anchors, ProposedEvent event) {
+        ScheduledBlock block = layout.addPlacement(schedule, event, event.getDay(), event.getStartTime(), true);
 
-        schedule.addLockedBlock(new ScheduledBlock(start, end, event.getName(), true, columnIndex));
-        String timeKey = formatTimeKey(event.getDay(), event.getStartTime());
-        schedule.addActivity(timeKey, event.getName());
-        schedule.lockSlotKey(timeKey);
+        listener.onPlaced(event.getName(), event.getDay(), event.getStartTime(), block.getColumnIndex(), true);
 
-        System.out.printf("[ConstraintSolver] locked -> %s %s (col %d)%n", event.getDay(), event.getStartTime(), columnIndex);
-
-        int startHour = start.getHour();
-        int endHour = Math.min(HOURS_IN_DAY, startHour + requiredSlots(event.getDurationMinutes()));
-        markRangeAsOccupied(occupancy, columnIndex, startHour, endHour);
+        WeekLayout.markBlock(occupancy, block);
+        anchors.add(block);
     }
 
-    private void placeFlexibleEvent(Schedule schedule, Map<Integer, boolean[]> occupancy, ProposedEvent event) {
-        int preferredColumn = toColumnIndex(event.getDay());
-        int requiredSlots = requiredSlots(event.getDurationMinutes());
-
-        int windowStart = 0;
-        int windowEnd = HOURS_IN_DAY;
-        int preferredHour = event.getStartTime().getHour();
-        ActivityTimeRule rule = ActivityTimeRules.findRule(event.getName()).orElse(null);
-        if (rule != null) {
-            windowStart = rule.getWindowStartHour();
-            windowEnd = Math.min(HOURS_IN_DAY, rule.getWindowEndHour());
-            preferredHour = rule.choosePreferredHour(preferredHour, requiredSlots);
-
-            if (rule.mustPrecedeDinner()) {
-                int dinnerStart = findDinnerStartHour(schedule, preferredColumn);
-                if (dinnerStart >= 0) {
-                    windowEnd = Math.min(windowEnd, dinnerStart);
-                    int latestStart = Math.max(windowStart, dinnerStart - requiredSlots);
-                    preferredHour = Math.min(preferredHour, latestStart);
-                    preferredHour = Math.max(windowStart, preferredHour);
+    private void placeFlexibleEvent(Schedule schedule,
+                                    OccupancyGrid occupancy,
+                                    AnchorIndex anchors,
+                                    WeekLayout week,
+                                    ProposedEvent event,
+                                    int optionLimit,
+                                    List<Integer> columnOrder) {
+        int requiredSlots = occupancy.slotsFor(event.getDurationMinutes());
+
+        PlacementWindow window = PlacementWindow.forEvent(event);
+        int columnsTried = 0;
+        for (int columnIndex : columnOrder) {
+            columnsTried++;
+            // Precedence anchors differ per day, so the window is narrowed column by column.
+            PlacementWindow columnWindow = window;
+            if (window.hasPrecedences()) {
+                columnWindow = window.constrainedBy(anchors, columnIndex, event.getDurationMinutes());
+                if (columnWindow.getStartMinute() != window.getStartMinute()
+                        || columnWindow.getEndMinute() != window.getEndMinute()) {
+                    listener.onWindowNarrowed(event.getName(), columnIndex,
+                            window.getStartMinute(), window.getEndMinute(),
+                            columnWindow.getStartMinute(), columnWindow.getEndMinute());
                 }
             }
-        }
-
-        List<Integer> columnOrder = buildColumnOrderByOccupancy(occupancy, preferredColumn);
-        for (int columnIndex : columnOrder) {
-            OptionalInt slot = findNearestAvailableSlot(occupancy, columnIndex, preferredHour, requiredSlots,
-                    windowStart, windowEnd);
+            OptionalInt slot = findNearestAvailableSlot(occupancy, columnIndex,
+                    occupancy.toSlotFloor(columnWindow.getPreferredMinute()), requiredSlots,
+                    occupancy.toSlotCeil(columnWindow.getStartMinute()),
+                    occupancy.toSlotFloor(columnWindow.getEndMinute()), optionLimit);
             if (slot.isEmpty()) {
                 continue;
             }
 
-            LocalTime placementStart = LocalTime.of(slot.getAsInt(), event.getStartTime().getMinute());
+            LocalTime placementStart = LocalTime.MIDNIGHT.plusMinutes(occupancy.toMinuteOfDay(slot.getAsInt()));
             DayOfWeek placementDay = toDayOfWeek(columnIndex);
-            LocalDateTime start = toDateTime(placementDay, placementStart);
-            LocalDateTime end = start.plusMinutes(event.getDurationMinutes());
+            ScheduledBlock block = week.addPlacement(schedule, event, placementDay, placementStart, false);
 
-            schedule.addUnlockedBlock(new ScheduledBlock(start, end, event.getName(), false, columnIndex));
-            schedule.addActivity(formatTimeKey(placementDay, placementStart), event.getName());
+            listener.onPlaced(event.getName(), placementDay, placementStart, columnIndex, false);
 
-            System.out.printf("[ConstraintSolver] placed -> %s %s (col %d)%n", placementDay, placementStart, columnIndex);
-
-            int startHour = placementStart.getHour();
-            int endHour = Math.min(HOURS_IN_DAY, startHour + requiredSlots);
-            markRangeAsOccupied(occupancy, columnIndex, startHour, endHour);
+            occupancy.markSlots(columnIndex, slot.getAsInt(), slot.getAsInt() + requiredSlots);
+            anchors.add(block);
             return;
         }
 
         schedule.addUnplacedActivity(event.getName());
+        listener.onRejected(event.getName(), columnsTried);
     }
 
-    private OptionalInt findNearestAvailableSlot(Map<Integer, boolean[]> occupancy,
+    private OptionalInt findNearestAvailableSlot(OccupancyGrid occupancy,
                                                  int columnIndex,
-                                                 int preferredHour,
+                                                 int preferredSlot,
                                                  int requiredSlots,
-                                                 int windowStart,
-                                                 int windowEnd) {
-        int maxStart = windowEnd - requiredSlots;
-        if (maxStart < windowStart) {
-            return OptionalInt.empty();
-        }
-
-        Set<Integer> candidates = new LinkedHashSet<>();
-        for (int delta = 0; delta < HOURS_IN_DAY; delta++) {
-            int forward = preferredHour + delta;
-            int backward = preferredHour - delta;
-            if (forward >= windowStart && forward <= maxStart) {
-                candidates.add(forward);
-            }
-            if (backward >= windowStart && backward <= maxStart) {
-                candidates.add(backward);
-            }
-        }
-
-        List<Integer> freeOptions = new ArrayList<>();
-        for (int candidate : candidates) {
-            if (isRangeFree(occupancy, columnIndex, candidate, candidate + requiredSlots)) {
-                freeOptions.add(candidate);
-            }
-        }
-
-        if (freeOptions.isEmpty()) {
+                                                 int windowStartSlot,
+                                                 int windowEndSlot,
+                                                 int optionLimit) {
+        int[] freeOptions = new int[optionLimit];
+        int limit = occupancy.nearestFreeStarts(columnIndex, preferredSlot, requiredSlots,
+                windowStartSlot, windowEndSlot, freeOptions);
+        if (limit == 0) {
+            listener.onCandidatesScanned(columnIndex, preferredSlot, 0, -1);
             return OptionalInt.empty();
         }
 
-        int limit = Math.min(5, freeOptions.size());
-        int chosen = freeOptions.get(random.nextInt(limit));
-        if (limit > 1) {
-            System.out.printf("[ConstraintSolver] multiple slots available for column %d, pref %d -> chose %d among %d options.%n",
-                    columnIndex, preferredHour, chosen, limit);
-        }
+        int chosen = freeOptions[random.nextInt(limit)];
+        listener.onCandidatesScanned(columnIndex, preferredSlot, limit, chosen);
         return OptionalInt.of(chosen);
     }
 
-    private int findDinnerStartHour(Schedule schedule, int columnIndex) {
-        OptionalInt locked = schedule.getLockedBlocks().stream()
-                .filter(block -> block.getColumnIndex() == columnIndex)
-                .filter(block -> ActivityTimeRules.isDinnerActivity(block.getActivityName()))
-                .mapToInt(block -> block.getStart().getHour())
-                .min();
-
-        OptionalInt flexible = schedule.getUnlockedBlocks().stream()
-                .filter(block -> block.getColumnIndex() == columnIndex)
-                .filter(block -> ActivityTimeRules.isDinnerActivity(block.getActivityName()))
-                .mapToInt(block -> block.getStart().getHour())
-                .min();
-
-        if (locked.isPresent() && flexible.isPresent()) {
-            return Math.min(locked.getAsInt(), flexible.getAsInt());
-        }
-        return locked.orElseGet(() -> flexible.orElse(-1));
-    }
-
-    private List<Integer> buildColumnOrderByOccupancy(Map<Integer, boolean[]> occupancy, int preferredColumn) {
-        Map<Integer, Integer> occupiedHours = countOccupiedHours(occupancy);
+    private List<Integer> buildColumnOrderByOccupancy(OccupancyGrid occupancy, int preferredColumn) {
+        int[] occupiedSlots = countOccupiedSlots(occupancy);
         List<Integer> otherColumns = new ArrayList<>();
         for (int column = 0; column < DAYS_IN_WEEK; column++) {
             if (column != preferredColumn) {
@@ -290,7 +382,7 @@ public class ConstraintSolver {
         }
 
         otherColumns.sort(Comparator
-                .comparing((Integer column) -> occupiedHours.getOrDefault(column, 0))
+                .comparingInt((Integer column) -> occupiedSlots[column])
                 .thenComparingInt(column -> column));
 
         List<Integer> ordered = new ArrayList<>();
@@ -299,51 +391,18 @@ public class ConstraintSolver {
         return ordered;
     }
 
-    private void markRangeAsOccupied(Map<Integer, boolean[]> occupancy, int columnIndex, int startHour, int endHour) {
-        if (!occupancy.containsKey(columnIndex)) {
-            return;
-        }
-        boolean[] hours = occupancy.get(columnIndex);
-        int safeStart = Math.max(0, startHour);
-        int safeEnd = Math.min(HOURS_IN_DAY, endHour);
-        for (int hour = safeStart; hour < safeEnd; hour++) {
-            hours[hour] = true;
-        }
-    }
-
-    private boolean isRangeFree(Map<Integer, boolean[]> occupancy, int columnIndex, int startHour, int endHour) {
-        boolean[] hours = occupancy.getOrDefault(columnIndex, new boolean[HOURS_IN_DAY]);
-        for (int hour = startHour; hour < endHour; hour++) {
-            if (hour < 0 || hour >= HOURS_IN_DAY) {
-                return false;
-            }
-            if (hours[hour]) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private int toColumnIndex(DayOfWeek day) {
-        return day.getValue() - 1;
+        return WeekLayout.toColumnIndex(day);
     }
 
     private DayOfWeek toDayOfWeek(int columnIndex) {
-        return DayOfWeek.of(columnIndex + 1);
+        return WeekLayout.toDayOfWeek(columnIndex);
     }
 
-    private LocalDateTime toDateTime(DayOfWeek day, LocalTime time) {
-        LocalDate date = weekStart.plusDays(toColumnIndex(day));
-        return LocalDateTime.of(date, time);
-    }
-
-    private String formatTimeKey(DayOfWeek day, LocalTime time) {
-        String[] abbreviations = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
-        String dayName = abbreviations[toColumnIndex(day)];
-        return String.format("%s %02d:%02d", dayName, time.getHour(), time.getMinute());
-    }
-
-    private int requiredSlots(int durationMinutes) {
-        return Math.max(1, (int) Math.ceil(durationMinutes / 60.0));
+    // A caller that gave up on this solve (e.g. a batch timeout) interrupts its thread.
+    static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Solve interrupted");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,364 @@
+package plan4life.solver;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainClosest;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMax;
+import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import plan4life.ai.ProposedEvent;
+import plan4life.ai.rules.ActivityPrecedence;
+import plan4life.ai.rules.ActivityRuleCatalog;
+import plan4life.ai.rules.ActivityTimeRules;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Exact scheduler that models the week as a constraint program (Choco). Every flexible
+ * proposal becomes an optional interval over the week's slots; blocked times, locked
+ * proposals and {@link plan4life.ai.rules.ActivityTimeRule} windows prune or constrain
+ * those intervals, rule precedences ("A before/after B within X minutes") order events that
+ * share a day, and the objective places as many activities as possible before
+ * minimizing the total distance from their preferred starts.
+ *
+ * <p>The search runs under a hard wall-clock budget. If the budget expires before the
+ * optimum is proven, the greedy fallback is run as well and the better of the two
+ * schedules (fewest unplaced activities, CP result on ties) is returned.</p>
+ */
+public class CpScheduleSolver implements ScheduleSolver {
+
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(2);
+
+    private static final int DAYS_IN_WEEK = WeekLayout.DAYS_IN_WEEK;
+    private static final int WEEKDAY_COUNT = 5;
+
+    private final WeekLayout layout;
+    private final int slotMinutes;
+    private final Duration timeBudget;
+    private final ScheduleSolver fallback;
+    private final SolverListener listener;
+
+    public CpScheduleSolver() {
+        this(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), DEFAULT_TIME_BUDGET);
+    }
+
+    public CpScheduleSolver(LocalDate weekStart, Duration timeBudget) {
+        this(weekStart, timeBudget, OccupancyGrid.DEFAULT_SLOT_MINUTES,
+                new ConstraintSolver(weekStart, new Random(), OccupancyGrid.DEFAULT_SLOT_MINUTES));
+    }
+
+    public CpScheduleSolver(LocalDate weekStart, Duration timeBudget, int slotMinutes, ScheduleSolver fallback) {
+        this(weekStart, timeBudget, slotMinutes, fallback, SolverListener.NO_OP);
+    }
+
+    public CpScheduleSolver(LocalDate weekStart,
+                            Duration timeBudget,
+                            int slotMinutes,
+                            ScheduleSolver fallback,
+                            SolverListener listener) {
+        this.layout = new WeekLayout(weekStart);
+        this.slotMinutes = slotMinutes;
+        this.timeBudget = Objects.requireNonNull(timeBudget);
+        this.fallback = Objects.requireNonNull(fallback);
+        this.listener = listener == null ? SolverListener.NO_OP : listener;
+    }
+
+    @Override
+    public Schedule solve(int scheduleId,
+                          String scheduleType,
+                          List<ProposedEvent> proposedEvents,
+                          List<BlockedTime> blockedTimes) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Schedule schedule = new Schedule(scheduleId, scheduleType);
+        OccupancyGrid occupancy = new OccupancyGrid(DAYS_IN_WEEK, slotMinutes);
+
+        if (blockedTimes != null) {
+            for (BlockedTime blockedTime : blockedTimes) {
+                schedule.addBlockedTime(blockedTime);
+                WeekLayout.markBlockedTime(occupancy, blockedTime);
+            }
+        }
+
+        if (proposedEvents == null || proposedEvents.isEmpty()) {
+            return schedule;
+        }
+
+        List<ProposedEvent> ordered = new ArrayList<>(proposedEvents);
+        ordered.sort(Comparator
+                .comparing(ProposedEvent::getDay)
+                .thenComparing(ProposedEvent::getStartTime));
+
+        AnchorIndex lockedAnchors = new AnchorIndex(DAYS_IN_WEEK);
+        List<ProposedEvent> flexible = new ArrayList<>();
+        for (ProposedEvent event : ordered) {
+            if (!event.isLocked()) {
+                flexible.add(event);
+                continue;
+            }
+            ScheduledBlock block = layout.addPlacement(schedule, event, event.getDay(), event.getStartTime(), true);
+            WeekLayout.markBlock(occupancy, block);
+            lockedAnchors.add(block);
+        }
+
+        if (flexible.isEmpty()) {
+            return schedule;
+        }
+
+        CpPlacement placement = new CpModelBuilder(occupancy, lockedAnchors).solve(flexible, deadline);
+        if (placement == null) {
+            listener.onFallback(SolverFallback.NO_CP_SOLUTION);
+            return fallback.solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
+        }
+
+        for (int i = 0; i < flexible.size(); i++) {
+            ProposedEvent event = flexible.get(i);
+            int weekSlot = placement.startSlots[i];
+            if (weekSlot < 0) {
+                schedule.addUnplacedActivity(event.getName());
+                continue;
+            }
+            int column = weekSlot / occupancy.getSlotsPerDay();
+            int minute = occupancy.toMinuteOfDay(weekSlot % occupancy.getSlotsPerDay());
+            layout.addPlacement(schedule, event, WeekLayout.toDayOfWeek(column), LocalTime.MIDNIGHT.plusMinutes(minute), false);
+        }
+
+        if (placement.proven) {
+            return schedule;
+        }
+
+        Schedule greedy = fallback.solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
+        if (greedy != null && greedy.getUnplacedActivities().size() < schedule.getUnplacedActivities().size()) {
+            listener.onFallback(SolverFallback.GREEDY_PLACED_MORE);
+            return greedy;
+        }
+        return schedule;
+    }
+
+    /**
+     * Start slot (counted from Monday 00:00) per flexible event, or -1 when left unplaced.
+     */
+    private static final class CpPlacement {
+        final int[] startSlots;
+        final boolean proven;
+
+        CpPlacement(int[] startSlots, boolean proven) {
+            this.startSlots = startSlots;
+            this.proven = proven;
+        }
+    }
+
+    private static final class CpModelBuilder {
+        private final OccupancyGrid occupancy;
+        private final AnchorIndex lockedAnchors;
+        private final int slotsPerDay;
+
+        CpModelBuilder(OccupancyGrid occupancy, AnchorIndex lockedAnchors) {
+            this.occupancy = occupancy;
+            this.lockedAnchors = lockedAnchors;
+            this.slotsPerDay = occupancy.getSlotsPerDay();
+        }
+
+        CpPlacement solve(List<ProposedEvent> flexible, long deadlineNanos) {
+            int count = flexible.size();
+            int horizon = DAYS_IN_WEEK * slotsPerDay;
+            Model model = new Model("plan4life-week");
+
+            IntVar[] starts = new IntVar[count];
+            BoolVar[] placed = new BoolVar[count];
+            IntVar[] costs = new IntVar[count];
+            int[] preferred = new int[count];
+            PlacementWindow[] windows = new PlacementWindow[count];
+            List<Task> tasks = new ArrayList<>();
+            List<IntVar> heights = new ArrayList<>();
+
+            for (int i = 0; i < count; i++) {
+                ProposedEvent event = flexible.get(i);
+                PlacementWindow window = PlacementWindow.forEvent(event);
+                windows[i] = window;
+                int required = occupancy.slotsFor(event.getDurationMinutes());
+                int[] domain = candidateStarts(event, window, required);
+                preferred[i] = WeekLayout.toColumnIndex(event.getDay()) * slotsPerDay
+                        + occupancy.toSlotFloor(window.getPreferredMinute());
+
+                if (domain.length == 0) {
+                    starts[i] = model.intVar(-1);
+                    placed[i] = model.boolVar(false);
+                    costs[i] = model.intVar(0);
+                    continue;
+                }
+
+                starts[i] = model.intVar("start_" + i, domain);
+                placed[i] = model.boolVar("placed_" + i);
+                tasks.add(new Task(starts[i], required));
+                heights.add(placed[i]);
+
+                // Deviation only counts for placed events.
+                IntVar deviation = model.intVar("dev_" + i, 0, horizon);
+                model.absolute(deviation, model.offset(starts[i], -preferred[i])).post();
+                costs[i] = model.intVar("cost_" + i, 0, horizon);
+                model.times(deviation, placed[i], costs[i]).post();
+            }
+
+            if (!tasks.isEmpty()) {
+                model.cumulative(tasks.toArray(new Task[0]), heights.toArray(new IntVar[0]), model.intVar(1)).post();
+            }
+            postPrecedences(model, flexible, windows, starts, placed);
+
+            // Every additional placement outweighs any achievable total deviation.
+            int unplacedWeight = count * horizon + 1;
+            IntVar[] terms = new IntVar[count * 2];
+            int[] coefficients = new int[count * 2];
+            for (int i = 0; i < count; i++) {
+                terms[i] = placed[i].not();
+                coefficients[i] = unplacedWeight;
+                terms[count + i] = costs[i];
+                coefficients[count + i] = 1;
+            }
+            IntVar objective = model.intVar("objective", 0, unplacedWeight * count + horizon * count);
+            model.scalar(terms, coefficients, "=", objective).post();
+            model.setObjective(Model.MINIMIZE, objective);
+
+            Solver solver = model.getSolver();
+            solver.setSearch(buildSearch(model, starts, placed, preferred));
+            long remainingMillis = Math.max(1, (deadlineNanos - System.nanoTime()) / 1_000_000);
+            solver.limitTime(remainingMillis);
+            solver.addStopCriterion(() -> Thread.currentThread().isInterrupted());
+
+            // Each solution found is strictly better than the previous one; keep the latest.
+            int[] bestStarts = null;
+            while (solver.solve()) {
+                bestStarts = new int[count];
+                for (int i = 0; i < count; i++) {
+                    bestStarts[i] = placed[i].getValue() == 1 ? starts[i].getValue() : -1;
+                }
+            }
+            ConstraintSolver.checkInterrupted();
+            if (bestStarts == null) {
+                return null;
+            }
+            boolean proven = solver.getSearchState() == SearchState.TERMINATED;
+            return new CpPlacement(bestStarts, proven);
+        }
+
+        /**
+         * Week-level start slots that fit the event's rule window and avoid every fixed block.
+         * Precedences on locked anchors are fixed bounds, so they narrow each day's window here.
+         */
+        private int[] candidateStarts(ProposedEvent event, PlacementWindow window, int required) {
+            int dayLimit = window.isWeekdaysOnly() ? WEEKDAY_COUNT : DAYS_IN_WEEK;
+            List<Integer> values = new ArrayList<>();
+            for (int column = 0; column < dayLimit; column++) {
+                PlacementWindow dayWindow = window;
+                if (window.hasPrecedences()) {
+                    dayWindow = window.constrainedBy(lockedAnchors, column, event.getDurationMinutes());
+                }
+                int first = occupancy.toSlotCeil(dayWindow.getStartMinute());
+                int last = occupancy.toSlotFloor(dayWindow.getEndMinute()) - required;
+                for (int slot = first; slot <= last; slot++) {
+                    if (occupancy.isFree(column, slot, slot + required)) {
+                        values.add(column * slotsPerDay + slot);
+                    }
+                }
+            }
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Precedences between flexible events: when an event and an anchor matching the rule id
+         * are both placed on the same day, the event keeps its relation and maximum gap to it.
+         */
+        private void postPrecedences(Model model,
+                                     List<ProposedEvent> flexible,
+                                     PlacementWindow[] windows,
+                                     IntVar[] starts,
+                                     BoolVar[] placed) {
+            ActivityRuleCatalog catalog = ActivityTimeRules.getCatalog();
+            List<Set<String>> ruleIds = new ArrayList<>(flexible.size());
+            for (ProposedEvent event : flexible) {
+                ruleIds.add(catalog.matchingRuleIds(event.getName()));
+            }
+            IntVar slotsPerDayVar = model.intVar(slotsPerDay);
+            IntVar[] days = new IntVar[flexible.size()];
+            for (int i = 0; i < flexible.size(); i++) {
+                if (placed[i].isInstantiatedTo(0)) {
+                    continue;
+                }
+                for (ActivityPrecedence precedence : windows[i].getPrecedences()) {
+                    for (int j = 0; j < flexible.size(); j++) {
+                        if (j == i || placed[j].isInstantiatedTo(0)
+                                || !ruleIds.get(j).contains(precedence.getAnchorRuleId())) {
+                            continue;
+                        }
+                        if (days[i] == null) {
+                            days[i] = dayOf(model, starts[i], slotsPerDayVar, i);
+                        }
+                        if (days[j] == null) {
+                            days[j] = dayOf(model, starts[j], slotsPerDayVar, j);
+                        }
+                        BoolVar sameDay = model.arithm(days[i], "=", days[j]).reify();
+                        model.ifThen(model.and(sameDay, placed[i], placed[j]), ordered(model, precedence,
+                                starts[i], flexible.get(i).getDurationMinutes(),
+                                starts[j], flexible.get(j).getDurationMinutes()));
+                    }
+                }
+            }
+        }
+
+        /**
+         * {@code precedence} between an event and its anchor in exact minutes. Both start on the same
+         * day, so the gap is the difference of their week slots times the slot width, less the
+         * duration of whichever comes first.
+         */
+        private Constraint ordered(Model model, ActivityPrecedence precedence,
+                                   IntVar start, int durationMinutes, IntVar anchorStart, int anchorDurationMinutes) {
+            int slotMinutes = occupancy.getSlotMinutes();
+            boolean before = precedence.getRelation() == ActivityPrecedence.Relation.BEFORE;
+            IntVar[] terms = before ? new IntVar[]{anchorStart, start} : new IntVar[]{start, anchorStart};
+            int[] coefficients = {slotMinutes, -slotMinutes};
+            int firstDuration = before ? durationMinutes : anchorDurationMinutes;
+            Constraint noOverlap = model.scalar(terms, coefficients, ">=", firstDuration);
+            if (!precedence.isBounded()) {
+                return noOverlap;
+            }
+            return model.and(noOverlap,
+                    model.scalar(terms, coefficients, "<=", firstDuration + precedence.getWithinMinutes()));
+        }
+
+        private IntVar dayOf(Model model, IntVar start, IntVar slotsPerDayVar, int index) {
+            IntVar day = model.intVar("day_" + index, 0, DAYS_IN_WEEK - 1);
+            model.div(start, slotsPerDayVar, day).post();
+            return day;
+        }
+
+        private AbstractStrategy<?>[] buildSearch(Model model, IntVar[] starts, BoolVar[] placed, int[] preferred) {
+            List<AbstractStrategy<IntVar>> strategies = new ArrayList<>();
+            for (int i = 0; i < starts.length; i++) {
+                if (starts[i].isInstantiated()) {
+                    continue;
+                }
+                strategies.add(Search.intVarSearch(new InputOrder<>(model), new IntDomainMax(), placed[i]));
+                strategies.add(Search.intVarSearch(new InputOrder<>(model), new IntDomainClosest(preferred[i]), starts[i]));
+            }
+            return strategies.toArray(new AbstractStrategy<?>[0]);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.ai.rules.ActivityTimeRules;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Plans a multi-week date range one week at a time. Each week is solved by a week-specific
+ * {@link ScheduleSolver} and handed to the caller as soon as it is ready, so only the active
+ * week is held in memory. Two kinds of state flow from one week into the next:
+ * <ul>
+ *     <li>weekly quotas: flexible activities left unplaced are proposed again the following week,
+ *     at most once per activity name, and one that was carried in and fails again is not carried
+ *     a second time, so the backlog never outgrows the weekly routine;</li>
+ *     <li>dinner anchors: a day's dinner start becomes the preferred dinner time on that day next week.</li>
+ * </ul>
+ */
+public class HorizonPlanner {
+
+    static final String OUT_OF_RANGE_DESCRIPTION = "Outside planning range";
+
+    private final Function<LocalDate, ScheduleSolver> solverForWeek;
+
+    public HorizonPlanner() {
+        this(weekStart -> new ConstraintSolver(weekStart, new Random(weekStart.toEpochDay())));
+    }
+
+    public HorizonPlanner(Function<LocalDate, ScheduleSolver> solverForWeek) {
+        this.solverForWeek = Objects.requireNonNull(solverForWeek);
+    }
+
+    /**
+     * Plan every week touching {@code [from, to]}, streaming each finished week to {@code sink}.
+     *
+     * @param weeklyProposals    the weekly routine, expressed by day of week
+     * @param blockedTimesForWeek loads the blocked times for the week starting on the given Monday
+     */
+    public void plan(int scheduleId,
+                     LocalDate from,
+                     LocalDate to,
+                     List<ProposedEvent> weeklyProposals,
+                     Function<LocalDate, List<BlockedTime>> blockedTimesForWeek,
+                     Consumer<WeekPlan> sink) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid planning range: " + from + " to " + to);
+        }
+
+        List<ProposedEvent> template = weeklyProposals == null ? List.of() : weeklyProposals;
+        CarryOver carryOver = new CarryOver();
+        LocalDate weekStart = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        while (!weekStart.isAfter(to)) {
+            LocalDate weekEnd = weekStart.plusDays(WeekLayout.DAYS_IN_WEEK - 1);
+            LocalDate activeFrom = from.isAfter(weekStart) ? from : weekStart;
+            LocalDate activeTo = to.isBefore(weekEnd) ? to : weekEnd;
+
+            List<ProposedEvent> proposals = new ArrayList<>();
+            List<String> carriedIn = new ArrayList<>();
+            for (ProposedEvent event : template) {
+                if (isActiveDay(weekStart, event.getDay(), activeFrom, activeTo)) {
+                    proposals.add(carryOver.anchor(event));
+                }
+            }
+            for (ProposedEvent pending : carryOver.drainDeficit()) {
+                proposals.add(carryOver.anchor(pending));
+                carriedIn.add(pending.getName());
+            }
+
+            List<BlockedTime> blockedTimes = new ArrayList<>();
+            List<BlockedTime> loaded = blockedTimesForWeek == null ? null : blockedTimesForWeek.apply(weekStart);
+            if (loaded != null) {
+                blockedTimes.addAll(loaded);
+            }
+            List<BlockedTime> outOfRange = blockInactiveDays(weekStart, activeFrom, activeTo);
+            blockedTimes.addAll(outOfRange);
+
+            Schedule schedule = solverForWeek.apply(weekStart).solve(scheduleId, "week", proposals, blockedTimes);
+            outOfRange.forEach(schedule::removeBlockedTime);
+
+            carryOver.recordWeek(schedule, proposals, carriedIn);
+            sink.accept(new WeekPlan(weekStart, schedule, carriedIn));
+            weekStart = weekStart.plusWeeks(1);
+        }
+    }
+
+    private boolean isActiveDay(LocalDate weekStart, DayOfWeek day, LocalDate activeFrom, LocalDate activeTo) {
+        LocalDate date = weekStart.plusDays(WeekLayout.toColumnIndex(day));
+        return !date.isBefore(activeFrom) && !date.isAfter(activeTo);
+    }
+
+    private List<BlockedTime> blockInactiveDays(LocalDate weekStart, LocalDate activeFrom, LocalDate activeTo) {
+        List<BlockedTime> blocked = new ArrayList<>();
+        for (int column = 0; column < WeekLayout.DAYS_IN_WEEK; column++) {
+            LocalDate date = weekStart.plusDays(column);
+            if (date.isBefore(activeFrom) || date.isAfter(activeTo)) {
+                blocked.add(new BlockedTime(date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                        OUT_OF_RANGE_DESCRIPTION, column));
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * One solved week of the horizon.
+     */
+    public static final class WeekPlan {
+        private final LocalDate weekStart;
+        private final Schedule schedule;
+        private final List<String> carriedIn;
+
+        WeekPlan(LocalDate weekStart, Schedule schedule, List<String> carriedIn) {
+            this.weekStart = weekStart;
+            this.schedule = schedule;
+            this.carriedIn = Collections.unmodifiableList(carriedIn);
+        }
+
+        public LocalDate getWeekStart() {
+            return weekStart;
+        }
+
+        public Schedule getSchedule() {
+            return schedule;
+        }
+
+        /**
+         * Activities that were left unplaced the previous week and were proposed again here.
+         */
+        public List<String> getCarriedIn() {
+            return carriedIn;
+        }
+    }
+
+    /**
+     * State handed from one week to the next; sized by the weekly routine, not by the horizon.
+     */
+    private static final class CarryOver {
+        // Keyed by activity name, so there is at most one entry per activity of the routine
+        private final Map<String, ProposedEvent> deficit = new LinkedHashMap<>();
+        private final Map<DayOfWeek, LocalTime> dinnerAnchors = new HashMap<>();
+
+        List<ProposedEvent> drainDeficit() {
+            List<ProposedEvent> drained = new ArrayList<>(deficit.values());
+            deficit.clear();
+            return drained;
+        }
+
+        ProposedEvent anchor(ProposedEvent event) {
+            if (event.isLocked() || !ActivityTimeRules.isDinnerActivity(event.getName())) {
+                return event;
+            }
+            LocalTime anchor = dinnerAnchors.get(event.getDay());
+            if (anchor == null || anchor.equals(event.getStartTime())) {
+                return event;
+            }
+            return new ProposedEvent(event.getDay(), anchor, event.getDurationMinutes(), event.getName(), false);
+        }
+
+        void recordWeek(Schedule schedule, List<ProposedEvent> proposals, List<String> carriedIn) {
+            Map<String, ProposedEvent> byName = new HashMap<>();
+            for (ProposedEvent event : proposals) {
+                if (!event.isLocked()) {
+                    byName.putIfAbsent(event.getName(), event);
+                }
+            }
+            // A carried-in activity that fails again has had its retry; only this week's own
+            // failures (unplaced beyond the carried-in copies) are carried forward.
+            Map<String, Integer> unplacedCounts = new HashMap<>();
+            for (String unplaced : schedule.getUnplacedActivities()) {
+                unplacedCounts.merge(unplaced, 1, Integer::sum);
+            }
+            for (String retried : carriedIn) {
+                unplacedCounts.computeIfPresent(retried, (name, count) -> count > 1 ? count - 1 : null);
+            }
+            for (String unplaced : unplacedCounts.keySet()) {
+                ProposedEvent source = byName.get(unplaced);
+                if (source != null) {
+                    deficit.putIfAbsent(unplaced, source);
+                }
+            }
+
+            dinnerAnchors.clear();
+            recordDinners(schedule.getLockedBlocks());
+            recordDinners(schedule.getUnlockedBlocks());
+        }
+
+        private void recordDinners(List<ScheduledBlock> blocks) {
+            for (ScheduledBlock block : blocks) {
+                if (!ActivityTimeRules.isDinnerActivity(block.getActivityName())) {
+                    continue;
+                }
+                DayOfWeek day = block.getStart().getDayOfWeek();
+                LocalTime start = block.getStart().toLocalTime();
+                dinnerAnchors.merge(day, start, (current, candidate) -> candidate.isBefore(current) ? candidate : current);
+            }
+        }
+    }
+}
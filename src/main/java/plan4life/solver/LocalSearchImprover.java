@@ -0,0 +1,348 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulated-annealing improvement over a greedy schedule. Only unlocked placements move:
+ * activities are relocated, swapped, or allowed to evict a neighbour so that unplaced activities
+ * get in and placed ones drift toward their preferred hour, while precedence constraints
+ * (e.g. dinner-prep before dinner) are penalised when broken. The best state seen so far is kept,
+ * so the search can stop at any deadline, or once it stops finding better states, and still
+ * return its best schedule.
+ */
+final class LocalSearchImprover {
+
+    private static final int DAYS_IN_WEEK = WeekLayout.DAYS_IN_WEEK;
+    private static final int WEEKDAY_COUNT = 5;
+    private static final int MAX_SLOT_OPTIONS = 4;
+    private static final long UNPLACED_PENALTY = (long) DAYS_IN_WEEK * OccupancyGrid.MINUTES_IN_DAY;
+    private static final long PRECEDENCE_PENALTY = UNPLACED_PENALTY / 2;
+    private static final double START_TEMPERATURE = 120.0;
+    // Moves tried in a row without beating the best cost before the search gives up early
+    private static final int MAX_STALE_ITERATIONS = 20_000;
+
+    private final WeekLayout layout;
+    private final int slotMinutes;
+    private final Random random;
+
+    LocalSearchImprover(WeekLayout layout, int slotMinutes, Random random) {
+        this.layout = layout;
+        this.slotMinutes = slotMinutes;
+        this.random = random;
+    }
+
+    /**
+     * Improve {@code greedy} until {@code deadlineNanos} (a {@link System#nanoTime()} value), or
+     * sooner once {@value #MAX_STALE_ITERATIONS} moves in a row have not beaten the best cost.
+     * Returns {@code greedy} itself when nothing better was found, otherwise a new schedule that
+     * carries over the blocked times and locked blocks unchanged.
+     */
+    Schedule improve(Schedule greedy, List<ProposedEvent> flexible, long deadlineNanos) {
+        if (flexible.isEmpty() || System.nanoTime() >= deadlineNanos) {
+            return greedy;
+        }
+        State state = new State(greedy, flexible);
+        long current = state.cost();
+        long initial = current;
+        long best = current;
+        int[] bestColumn = state.column.clone();
+        int[] bestStart = state.start.clone();
+        long startedAt = System.nanoTime();
+        long budget = Math.max(1, deadlineNanos - startedAt);
+        int stale = 0;
+
+        while (best > 0 && stale < MAX_STALE_ITERATIONS) {
+            long now = System.nanoTime();
+            if (now >= deadlineNanos || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            stale++;
+            if (!state.tryMove()) {
+                continue;
+            }
+            long candidate = state.cost();
+            double temperature = START_TEMPERATURE * (1.0 - (double) (now - startedAt) / budget);
+            long delta = candidate - current;
+            if (delta <= 0 || (temperature > 0 && random.nextDouble() < Math.exp(-delta / temperature))) {
+                current = candidate;
+                if (current < best) {
+                    best = current;
+                    stale = 0;
+                    bestColumn = state.column.clone();
+                    bestStart = state.start.clone();
+                }
+            } else {
+                state.undo();
+            }
+        }
+
+        if (best >= initial) {
+            return greedy;
+        }
+        return state.materialize(greedy, bestColumn, bestStart);
+    }
+
+    /**
+     * Placement of every flexible activity plus the occupancy grid that backs it.
+     */
+    private final class State {
+        private final List<ProposedEvent> events;
+        private final OccupancyGrid occupancy;
+        private final PlacementWindow[] windows;
+        private final int[] requiredSlots;
+        private final int[] preferredColumn;
+        private final long[] targetMinute;
+        private final AnchorIndex anchors = new AnchorIndex(DAYS_IN_WEEK);
+        private final int[] column;
+        private final int[] start;
+        // Undo log of the last move: the activities it touched (at most two) and where they were
+        private final int[] movedIndex = new int[2];
+        private final int[] movedColumn = new int[2];
+        private final int[] movedStart = new int[2];
+        private int moved;
+
+        State(Schedule greedy, List<ProposedEvent> events) {
+            this.events = events;
+            int count = events.size();
+            this.occupancy = new OccupancyGrid(DAYS_IN_WEEK, slotMinutes);
+            this.windows = new PlacementWindow[count];
+            this.requiredSlots = new int[count];
+            this.preferredColumn = new int[count];
+            this.targetMinute = new long[count];
+            this.column = new int[count];
+            this.start = new int[count];
+            Arrays.fill(column, -1);
+            Arrays.fill(start, -1);
+
+            for (BlockedTime blockedTime : greedy.getBlockedTimes()) {
+                WeekLayout.markBlockedTime(occupancy, blockedTime);
+            }
+            for (ScheduledBlock block : greedy.getLockedBlocks()) {
+                WeekLayout.markBlock(occupancy, block);
+                anchors.add(block);
+            }
+
+            for (int i = 0; i < count; i++) {
+                ProposedEvent event = events.get(i);
+                windows[i] = PlacementWindow.forEvent(event);
+                requiredSlots[i] = occupancy.slotsFor(event.getDurationMinutes());
+                preferredColumn[i] = WeekLayout.toColumnIndex(event.getDay());
+                targetMinute[i] = (long) preferredColumn[i] * OccupancyGrid.MINUTES_IN_DAY + windows[i].getPreferredMinute();
+            }
+
+            // Adopt the greedy placements, matching each block to an unclaimed proposal of the same name.
+            for (ScheduledBlock block : greedy.getUnlockedBlocks()) {
+                int blockColumn = block.getColumnIndex();
+                int blockStart = occupancy.toSlotFloor(WeekLayout.minuteOfDay(block.getStart()));
+                int match = -1;
+                for (int i = 0; i < count; i++) {
+                    if (column[i] < 0 && events.get(i).getName().equals(block.getActivityName())) {
+                        match = i;
+                        break;
+                    }
+                }
+                if (match >= 0 && occupancy.isFree(blockColumn, blockStart, blockStart + requiredSlots[match])) {
+                    place(match, blockColumn, blockStart);
+                } else {
+                    WeekLayout.markBlock(occupancy, block);
+                    anchors.add(block);
+                }
+            }
+        }
+
+        boolean tryMove() {
+            moved = 0;
+            int i = random.nextInt(events.size());
+            int move = random.nextInt(4);
+            if (move == 3 && column[i] >= 0) {
+                return swap(i, random.nextInt(events.size()));
+            }
+            if (move == 2 && column[i] < 0) {
+                return evictAndPlace(i);
+            }
+            int target = column[i] < 0 || random.nextBoolean() ? preferredColumn[i] : randomColumn(i);
+            return relocate(i, target);
+        }
+
+        private boolean relocate(int i, int targetColumn) {
+            if (!allowedColumn(i, targetColumn)) {
+                return false;
+            }
+            int oldColumn = column[i];
+            int oldStart = start[i];
+            remember(i);
+            unplace(i);
+            int[] options = new int[MAX_SLOT_OPTIONS];
+            PlacementWindow window = windowFor(i, targetColumn);
+            int found = occupancy.nearestFreeStarts(targetColumn, occupancy.toSlotFloor(window.getPreferredMinute()),
+                    requiredSlots[i], occupancy.toSlotCeil(window.getStartMinute()),
+                    occupancy.toSlotFloor(window.getEndMinute()), options);
+            if (found == 0) {
+                if (oldColumn >= 0) {
+                    place(i, oldColumn, oldStart);
+                }
+                return false;
+            }
+            int chosen = options[random.nextInt(found)];
+            if (chosen == oldStart && targetColumn == oldColumn) {
+                place(i, oldColumn, oldStart);
+                return false;
+            }
+            place(i, targetColumn, chosen);
+            return true;
+        }
+
+        private boolean swap(int i, int j) {
+            if (i == j || column[j] < 0 || !allowedColumn(i, column[j]) || !allowedColumn(j, column[i])) {
+                return false;
+            }
+            int iColumn = column[i];
+            int iStart = start[i];
+            int jColumn = column[j];
+            int jStart = start[j];
+            remember(i);
+            remember(j);
+            unplace(i);
+            unplace(j);
+            if (fits(i, jColumn, jStart)) {
+                place(i, jColumn, jStart);
+                if (fits(j, iColumn, iStart)) {
+                    place(j, iColumn, iStart);
+                    return true;
+                }
+                unplace(i);
+            }
+            place(i, iColumn, iStart);
+            place(j, jColumn, jStart);
+            return false;
+        }
+
+        private boolean evictAndPlace(int i) {
+            int targetColumn = preferredColumn[i];
+            int victim = -1;
+            int seen = 0;
+            for (int j = 0; j < events.size(); j++) {
+                if (column[j] == targetColumn && random.nextInt(++seen) == 0) {
+                    victim = j;
+                }
+            }
+            if (victim < 0) {
+                return relocate(i, randomColumn(i));
+            }
+            int victimStart = start[victim];
+            remember(victim);
+            unplace(victim);
+            if (relocate(i, targetColumn)) {
+                return true;
+            }
+            place(victim, targetColumn, victimStart);
+            return false;
+        }
+
+        long cost() {
+            long total = 0;
+            for (int i = 0; i < events.size(); i++) {
+                if (column[i] < 0) {
+                    total += UNPLACED_PENALTY;
+                    continue;
+                }
+                int startMinute = occupancy.toMinuteOfDay(start[i]);
+                long placedAt = (long) column[i] * OccupancyGrid.MINUTES_IN_DAY + startMinute;
+                total += Math.abs(placedAt - targetMinute[i]);
+                if (windows[i].hasPrecedences() && !windows[i].satisfiesPrecedences(anchors, column[i],
+                        startMinute, startMinute + events.get(i).getDurationMinutes())) {
+                    total += PRECEDENCE_PENALTY;
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Revert the last successful {@link #tryMove()}, touching only the activities it moved.
+         */
+        void undo() {
+            for (int k = 0; k < moved; k++) {
+                unplace(movedIndex[k]);
+            }
+            for (int k = 0; k < moved; k++) {
+                if (movedColumn[k] >= 0) {
+                    place(movedIndex[k], movedColumn[k], movedStart[k]);
+                }
+            }
+            moved = 0;
+        }
+
+        private void remember(int i) {
+            movedIndex[moved] = i;
+            movedColumn[moved] = column[i];
+            movedStart[moved] = start[i];
+            moved++;
+        }
+
+        Schedule materialize(Schedule greedy, int[] bestColumn, int[] bestStart) {
+            Schedule improved = new Schedule(greedy.getScheduleId(), greedy.getType());
+            greedy.getBlockedTimes().forEach(improved::addBlockedTime);
+            greedy.getLockedBlocks().forEach(improved::addLockedBlock);
+            improved.copyLockedActivitiesFrom(greedy);
+            for (int i = 0; i < events.size(); i++) {
+                ProposedEvent event = events.get(i);
+                if (bestColumn[i] < 0) {
+                    improved.addUnplacedActivity(event.getName());
+                    continue;
+                }
+                LocalTime startTime = LocalTime.MIDNIGHT.plusMinutes(occupancy.toMinuteOfDay(bestStart[i]));
+                layout.addPlacement(improved, event, WeekLayout.toDayOfWeek(bestColumn[i]), startTime, false);
+            }
+            return improved;
+        }
+
+        private PlacementWindow windowFor(int i, int targetColumn) {
+            PlacementWindow window = windows[i];
+            return window.hasPrecedences()
+                    ? window.constrainedBy(anchors, targetColumn, events.get(i).getDurationMinutes())
+                    : window;
+        }
+
+        private boolean fits(int i, int targetColumn, int slot) {
+            PlacementWindow window = windows[i];
+            return slot >= occupancy.toSlotCeil(window.getStartMinute())
+                    && slot + requiredSlots[i] <= occupancy.toSlotFloor(window.getEndMinute())
+                    && occupancy.isFree(targetColumn, slot, slot + requiredSlots[i]);
+        }
+
+        private boolean allowedColumn(int i, int targetColumn) {
+            return targetColumn >= 0 && targetColumn < (windows[i].isWeekdaysOnly() ? WEEKDAY_COUNT : DAYS_IN_WEEK);
+        }
+
+        private int randomColumn(int i) {
+            return random.nextInt(windows[i].isWeekdaysOnly() ? WEEKDAY_COUNT : DAYS_IN_WEEK);
+        }
+
+        private void place(int i, int targetColumn, int slot) {
+            column[i] = targetColumn;
+            start[i] = slot;
+            occupancy.markSlots(targetColumn, slot, slot + requiredSlots[i]);
+            int startMinute = occupancy.toMinuteOfDay(slot);
+            anchors.add(events.get(i).getName(), targetColumn, startMinute, startMinute + events.get(i).getDurationMinutes());
+        }
+
+        private void unplace(int i) {
+            if (column[i] < 0) {
+                return;
+            }
+            occupancy.clearSlots(column[i], start[i], start[i] + requiredSlots[i]);
+            int startMinute = occupancy.toMinuteOfDay(start[i]);
+            anchors.remove(events.get(i).getName(), column[i], startMinute, startMinute + events.get(i).getDurationMinutes());
+            column[i] = -1;
+            start[i] = -1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package plan4life.solver;
+
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Writes solver trace events to a stream in the solver's original console format.
+ */
+public class LoggingSolverListener implements SolverListener {
+
+    private final PrintStream out;
+
+    public LoggingSolverListener() {
+        this(System.out);
+    }
+
+    public LoggingSolverListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onPlaced(String activityName, DayOfWeek day, LocalTime start, int columnIndex, boolean locked) {
+        out.printf("[ConstraintSolver] %s -> %s %s (col %d)%n", locked ? "locked" : "placed", day, start, columnIndex);
+    }
+
+    @Override
+    public void onRejected(String activityName, int columnsTried) {
+        out.printf("[ConstraintSolver] unplaced -> %s after %d columns%n", activityName, columnsTried);
+    }
+
+    @Override
+    public void onCandidatesScanned(int columnIndex, int preferredSlot, int optionCount, int chosenSlot) {
+        if (optionCount > 1) {
+            out.printf("[ConstraintSolver] multiple slots available for column %d, pref %d -> chose %d among %d options.%n",
+                    columnIndex, preferredSlot, chosenSlot, optionCount);
+        }
+    }
+
+    @Override
+    public void onSummary(int[] placedPerDay, int unplacedCount) {
+        StringBuilder summary = new StringBuilder("[ConstraintSolver] per-day placed counts:");
+        for (int i = 0; i < placedPerDay.length; i++) {
+            summary.append(' ').append(WeekLayout.dayAbbreviation(i)).append('=').append(placedPerDay[i]);
+        }
+        out.println(summary);
+    }
+
+    @Override
+    public void onFallback(SolverFallback reason) {
+        if (reason == SolverFallback.NO_CP_SOLUTION) {
+            out.println("[CpScheduleSolver] no CP solution within budget, using greedy fallback.");
+        } else {
+            out.println("[CpScheduleSolver] budget expired; greedy fallback placed more activities.");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package plan4life.solver;
+
+import java.util.Arrays;
+
+/**
+ * Bitset occupancy canvas used by the solver. Each day column is a run of
+ * fixed-width slots (15 minutes by default) packed into {@code long} words,
+ * so free-range and nearest-gap queries are answered with bit operations
+ * instead of scanning arrays.
+ */
+public final class OccupancyGrid {
+
+    public static final int MINUTES_IN_DAY = 24 * 60;
+    public static final int DEFAULT_SLOT_MINUTES = 15;
+
+    private final int dayCount;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int wordsPerDay;
+    private final long[][] days;
+
+    // Scratch buffers reused across queries; a grid belongs to a single solve.
+    private final long[] runScratch;
+    private final long[] shiftScratch;
+
+    public OccupancyGrid(int dayCount) {
+        this(dayCount, DEFAULT_SLOT_MINUTES);
+    }
+
+    public OccupancyGrid(int dayCount, int slotMinutes) {
+        if (dayCount <= 0) {
+            throw new IllegalArgumentException("dayCount must be positive");
+        }
+        if (slotMinutes <= 0 || MINUTES_IN_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("slotMinutes must evenly divide a day: " + slotMinutes);
+        }
+        this.dayCount = dayCount;
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = MINUTES_IN_DAY / slotMinutes;
+        this.wordsPerDay = (slotsPerDay + 63) >>> 6;
+        this.days = new long[dayCount][wordsPerDay];
+        this.runScratch = new long[wordsPerDay];
+        this.shiftScratch = new long[wordsPerDay];
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /**
+     * Number of slots needed to hold the given duration, rounded up to the slot width.
+     */
+    public int slotsFor(int durationMinutes) {
+        return Math.max(1, (durationMinutes + slotMinutes - 1) / slotMinutes);
+    }
+
+    public int toSlotFloor(int minuteOfDay) {
+        return clampSlot(Math.floorDiv(minuteOfDay, slotMinutes));
+    }
+
+    public int toSlotCeil(int minuteOfDay) {
+        return clampSlot(Math.floorDiv(minuteOfDay + slotMinutes - 1, slotMinutes));
+    }
+
+    public int toMinuteOfDay(int slot) {
+        return slot * slotMinutes;
+    }
+
+    /**
+     * Mark every slot touched by {@code [startMinute, endMinute)} as occupied.
+     */
+    public void markMinutes(int day, int startMinute, int endMinute) {
+        markSlots(day, toSlotFloor(startMinute), toSlotCeil(endMinute));
+    }
+
+    /**
+     * Mark slots {@code [fromSlot, toSlot)} as occupied; out-of-range days are ignored.
+     */
+    public void markSlots(int day, int fromSlot, int toSlot) {
+        if (!isValidDay(day)) {
+            return;
+        }
+        applyRange(days[day], clampSlot(fromSlot), clampSlot(toSlot), true);
+    }
+
+    /**
+     * Release slots {@code [fromSlot, toSlot)} so they can be reused.
+     */
+    public void clearSlots(int day, int fromSlot, int toSlot) {
+        if (!isValidDay(day)) {
+            return;
+        }
+        applyRange(days[day], clampSlot(fromSlot), clampSlot(toSlot), false);
+    }
+
+    public boolean isFree(int day, int fromSlot, int toSlot) {
+        if (!isValidDay(day) || fromSlot < 0 || toSlot > slotsPerDay || fromSlot >= toSlot) {
+            return false;
+        }
+        long[] words = days[day];
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = rangeMask(w, fromSlot, toSlot);
+            if ((words[w] & mask) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int occupiedSlotCount(int day) {
+        if (!isValidDay(day)) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : days[day]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Collect up to {@code out.length} start slots where {@code requiredSlots} consecutive free
+     * slots begin inside {@code [windowStartSlot, windowEndSlot)}, ordered by distance from
+     * {@code preferredSlot} (later start wins ties).
+     *
+     * @return the number of candidates written into {@code out}
+     */
+    public int nearestFreeStarts(int day,
+                                 int preferredSlot,
+                                 int requiredSlots,
+                                 int windowStartSlot,
+                                 int windowEndSlot,
+                                 int[] out) {
+        if (!isValidDay(day) || out.length == 0 || requiredSlots <= 0) {
+            return 0;
+        }
+        int lowest = Math.max(0, windowStartSlot);
+        int highest = Math.min(slotsPerDay, windowEndSlot) - requiredSlots;
+        if (highest < lowest) {
+            return 0;
+        }
+
+        long[] starts = freeRunStarts(days[day], requiredSlots);
+        for (int w = 0; w < wordsPerDay; w++) {
+            starts[w] &= rangeMask(w, lowest, highest + 1);
+        }
+
+        int pivot = Math.max(0, Math.min(slotsPerDay - 1, preferredSlot));
+        int forward = nextSetBit(starts, pivot);
+        int backward = previousSetBit(starts, pivot - 1);
+        int count = 0;
+        while (count < out.length && (forward >= 0 || backward >= 0)) {
+            boolean takeForward = backward < 0
+                    || (forward >= 0 && forward - preferredSlot <= preferredSlot - backward);
+            if (takeForward) {
+                out[count++] = forward;
+                forward = nextSetBit(starts, forward + 1);
+            } else {
+                out[count++] = backward;
+                backward = previousSetBit(starts, backward - 1);
+            }
+        }
+        return count;
+    }
+
+    public void clear() {
+        for (long[] words : days) {
+            Arrays.fill(words, 0L);
+        }
+    }
+
+    /**
+     * Bit i of the result is set when slots {@code [i, i + length)} are all free. Built by
+     * repeatedly AND-ing the free mask with shifted copies of itself, doubling the run length.
+     */
+    private long[] freeRunStarts(long[] occupied, int length) {
+        long[] run = runScratch;
+        for (int w = 0; w < wordsPerDay; w++) {
+            run[w] = ~occupied[w] & rangeMask(w, 0, slotsPerDay);
+        }
+        int covered = 1;
+        while (covered < length) {
+            int step = Math.min(covered, length - covered);
+            shiftDown(run, step, shiftScratch);
+            for (int w = 0; w < wordsPerDay; w++) {
+                run[w] &= shiftScratch[w];
+            }
+            covered += step;
+        }
+        return run;
+    }
+
+    private void shiftDown(long[] source, int distance, long[] target) {
+        int wordShift = distance >>> 6;
+        int bitShift = distance & 63;
+        for (int w = 0; w < wordsPerDay; w++) {
+            int src = w + wordShift;
+            long low = src < wordsPerDay ? source[src] : 0L;
+            long high = src + 1 < wordsPerDay ? source[src + 1] : 0L;
+            target[w] = bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift));
+        }
+    }
+
+    private void applyRange(long[] words, int fromSlot, int toSlot, boolean occupied) {
+        if (fromSlot >= toSlot) {
+            return;
+        }
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = rangeMask(w, fromSlot, toSlot);
+            words[w] = occupied ? words[w] | mask : words[w] & ~mask;
+        }
+    }
+
+    /**
+     * Bits of word {@code w} that fall inside slot range {@code [fromSlot, toSlot)}.
+     */
+    private static long rangeMask(int w, int fromSlot, int toSlot) {
+        int base = w << 6;
+        int lo = Math.max(fromSlot - base, 0);
+        int hi = Math.min(toSlot - base, 64);
+        if (lo >= hi) {
+            return 0L;
+        }
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        long lower = (1L << lo) - 1;
+        return upper & ~lower;
+    }
+
+    private int nextSetBit(long[] words, int fromSlot) {
+        if (fromSlot < 0) {
+            fromSlot = 0;
+        }
+        int w = fromSlot >>> 6;
+        if (w >= wordsPerDay) {
+            return -1;
+        }
+        long word = words[w] & (-1L << (fromSlot & 63));
+        while (true) {
+            if (word != 0L) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == wordsPerDay) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    private int previousSetBit(long[] words, int fromSlot) {
+        if (fromSlot < 0) {
+            return -1;
+        }
+        int w = fromSlot >>> 6;
+        if (w >= wordsPerDay) {
+            w = wordsPerDay - 1;
+            fromSlot = (w << 6) + 63;
+        }
+        long word = words[w] & (-1L >>> (63 - (fromSlot & 63)));
+        while (true) {
+            if (word != 0L) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (w-- == 0) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    private boolean isValidDay(int day) {
+        return day >= 0 && day < dayCount;
+    }
+
+    private int clampSlot(int slot) {
+        return Math.max(0, Math.min(slotsPerDay, slot));
+    }
+}
@@ -0,0 +1,122 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.ai.rules.ActivityPrecedence;
+import plan4life.ai.rules.ActivityTimeRule;
+import plan4life.ai.rules.ActivityTimeRules;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * The minute-of-day range a flexible event may occupy and the start it would prefer,
+ * derived from the event's proposal and any matching {@link ActivityTimeRule}.
+ */
+final class PlacementWindow {
+
+    private final int startMinute;
+    private final int endMinute;
+    private final int preferredMinute;
+    private final boolean weekdaysOnly;
+    private final List<ActivityPrecedence> precedences;
+
+    private PlacementWindow(int startMinute, int endMinute, int preferredMinute,
+                            boolean weekdaysOnly, List<ActivityPrecedence> precedences) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.preferredMinute = preferredMinute;
+        this.weekdaysOnly = weekdaysOnly;
+        this.precedences = precedences;
+    }
+
+    static PlacementWindow forEvent(ProposedEvent event) {
+        int proposedMinute = WeekLayout.minuteOfDay(event.getStartTime());
+        ActivityTimeRule rule = ActivityTimeRules.findRule(event.getName()).orElse(null);
+        if (rule == null) {
+            return new PlacementWindow(0, OccupancyGrid.MINUTES_IN_DAY, proposedMinute, false, List.of());
+        }
+
+        int windowStart = rule.getWindowStartHour() * 60 + rule.getWindowStartMinute();
+        int windowEnd = Math.min(OccupancyGrid.MINUTES_IN_DAY, rule.getWindowEndHour() * 60 + rule.getWindowEndMinute());
+        int requiredHours = Math.max(1, (event.getDurationMinutes() + 59) / 60);
+        int preferredHour = rule.choosePreferredHour(event.getStartTime().getHour(), requiredHours);
+        int preferredMinute = preferredHour * 60 + event.getStartTime().getMinute();
+        return new PlacementWindow(windowStart, windowEnd, preferredMinute, rule.isWeekdaysOnly(),
+                rule.getPrecedences());
+    }
+
+    /**
+     * Narrow the window by every precedence whose anchor is already placed in {@code column}.
+     * "Before" uses the earliest anchor start of the day, "after" the latest anchor end.
+     */
+    PlacementWindow constrainedBy(AnchorIndex anchors, int column, int durationMinutes) {
+        PlacementWindow window = this;
+        for (ActivityPrecedence precedence : precedences) {
+            if (precedence.getRelation() == ActivityPrecedence.Relation.BEFORE) {
+                OptionalInt anchorStart = anchors.earliestStart(precedence.getAnchorRuleId(), column);
+                if (anchorStart.isPresent()) {
+                    int anchor = anchorStart.getAsInt();
+                    int earliest = precedence.isBounded() ? anchor - precedence.getWithinMinutes() - durationMinutes : 0;
+                    window = window.within(earliest, anchor, durationMinutes);
+                }
+            } else {
+                OptionalInt anchorEnd = anchors.latestEnd(precedence.getAnchorRuleId(), column);
+                if (anchorEnd.isPresent()) {
+                    int anchor = anchorEnd.getAsInt();
+                    int latest = precedence.isBounded()
+                            ? anchor + precedence.getWithinMinutes() + durationMinutes
+                            : OccupancyGrid.MINUTES_IN_DAY;
+                    window = window.within(anchor, latest, durationMinutes);
+                }
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Whether {@code [start, end)} in {@code column} satisfies every precedence whose anchor is placed there.
+     */
+    boolean satisfiesPrecedences(AnchorIndex anchors, int column, int start, int end) {
+        for (ActivityPrecedence precedence : precedences) {
+            OptionalInt anchorStart = anchors.earliestStart(precedence.getAnchorRuleId(), column);
+            OptionalInt anchorEnd = anchors.latestEnd(precedence.getAnchorRuleId(), column);
+            if (anchorStart.isPresent()
+                    && !precedence.isSatisfied(start, end, anchorStart.getAsInt(), anchorEnd.getAsInt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private PlacementWindow within(int earliestStart, int latestEnd, int durationMinutes) {
+        int start = Math.max(startMinute, earliestStart);
+        int end = Math.min(endMinute, latestEnd);
+        int latestStart = Math.max(start, end - durationMinutes);
+        int preferred = Math.max(start, Math.min(preferredMinute, latestStart));
+        return new PlacementWindow(start, end, preferred, weekdaysOnly, precedences);
+    }
+
+    int getStartMinute() {
+        return startMinute;
+    }
+
+    int getEndMinute() {
+        return endMinute;
+    }
+
+    int getPreferredMinute() {
+        return preferredMinute;
+    }
+
+    boolean isWeekdaysOnly() {
+        return weekdaysOnly;
+    }
+
+    boolean hasPrecedences() {
+        return !precedences.isEmpty();
+    }
+
+    List<ActivityPrecedence> getPrecedences() {
+        return precedences;
+    }
+}
@@ -0,0 +1,143 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs several independently seeded greedy solves in parallel and keeps the best schedule
+ * under a pluggable {@link ScheduleScore} ordering. Each run owns its own
+ * {@link ConstraintSolver} and {@link Random}, so the winning seed reproduces the result.
+ */
+public class PortfolioSolver implements ScheduleSolver {
+
+    private final LocalDate weekStart;
+    private final int runs;
+    private final int slotMinutes;
+    private final ForkJoinPool pool;
+    private final Comparator<ScheduleScore> ranking;
+    private final SplittableRandom seeds;
+
+    public PortfolioSolver() {
+        this(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public PortfolioSolver(LocalDate weekStart, int runs) {
+        this(weekStart, runs, OccupancyGrid.DEFAULT_SLOT_MINUTES, ForkJoinPool.commonPool(),
+                ScheduleScore.STANDARD, new SplittableRandom().nextLong());
+    }
+
+    public PortfolioSolver(LocalDate weekStart,
+                           int runs,
+                           int slotMinutes,
+                           ForkJoinPool pool,
+                           Comparator<ScheduleScore> ranking,
+                           long masterSeed) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+        this.weekStart = Objects.requireNonNull(weekStart);
+        this.runs = runs;
+        this.slotMinutes = slotMinutes;
+        this.pool = Objects.requireNonNull(pool);
+        this.ranking = Objects.requireNonNull(ranking);
+        this.seeds = new SplittableRandom(masterSeed);
+    }
+
+    @Override
+    public Schedule solve(int scheduleId,
+                          String scheduleType,
+                          List<ProposedEvent> proposedEvents,
+                          List<BlockedTime> blockedTimes) {
+        return solveWithSeed(scheduleId, scheduleType, proposedEvents, blockedTimes).getSchedule();
+    }
+
+    /**
+     * Solve with the portfolio and report which seed produced the winning schedule.
+     */
+    public Result solveWithSeed(int scheduleId,
+                                String scheduleType,
+                                List<ProposedEvent> proposedEvents,
+                                List<BlockedTime> blockedTimes) {
+        long[] runSeeds = nextSeeds();
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(runs);
+        for (long seed : runSeeds) {
+            tasks.add(pool.submit(() -> {
+                ConstraintSolver solver = new ConstraintSolver(weekStart, new Random(seed), slotMinutes);
+                Schedule schedule = solver.solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
+                return new Result(schedule, seed, ScheduleScore.of(schedule, proposedEvents));
+            }));
+        }
+
+        Result best = null;
+        for (ForkJoinTask<Result> task : tasks) {
+            if (Thread.currentThread().isInterrupted()) {
+                // The caller gave up; runs not yet started are dropped
+                tasks.forEach(pending -> pending.cancel(false));
+                ConstraintSolver.checkInterrupted();
+            }
+            Result candidate = task.join();
+            if (best == null || ranking.compare(candidate.getScore(), best.getScore()) < 0) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Re-run a single seed, e.g. to reproduce a reported portfolio result.
+     */
+    public Schedule solveSeed(long seed,
+                              int scheduleId,
+                              String scheduleType,
+                              List<ProposedEvent> proposedEvents,
+                              List<BlockedTime> blockedTimes) {
+        return new ConstraintSolver(weekStart, new Random(seed), slotMinutes)
+                .solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
+    }
+
+    private synchronized long[] nextSeeds() {
+        long[] runSeeds = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            runSeeds[i] = seeds.nextLong();
+        }
+        return runSeeds;
+    }
+
+    public static final class Result {
+        private final Schedule schedule;
+        private final long seed;
+        private final ScheduleScore score;
+
+        Result(Schedule schedule, long seed, ScheduleScore score) {
+            this.schedule = schedule;
+            this.seed = seed;
+            this.score = score;
+        }
+
+        public Schedule getSchedule() {
+            return schedule;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public ScheduleScore getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package plan4life.solver;
+
+import plan4life.entities.BlockedTime;
+import plan4life.entities.ScheduledBlock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change applied to an existing schedule that may displace unlocked activities:
+ * newly blocked periods and newly pinned (locked) blocks.
+ */
+public final class RepairDelta {
+    private final List<BlockedTime> blockedTimes;
+    private final List<ScheduledBlock> lockedBlocks;
+
+    private RepairDelta(List<BlockedTime> blockedTimes, List<ScheduledBlock> lockedBlocks) {
+        this.blockedTimes = Collections.unmodifiableList(new ArrayList<>(blockedTimes));
+        this.lockedBlocks = Collections.unmodifiableList(new ArrayList<>(lockedBlocks));
+    }
+
+    public static RepairDelta blockedTime(BlockedTime blockedTime) {
+        return new RepairDelta(List.of(blockedTime), List.of());
+    }
+
+    public static RepairDelta lockedBlocks(List<ScheduledBlock> lockedBlocks) {
+        return new RepairDelta(List.of(), lockedBlocks);
+    }
+
+    public static RepairDelta of(List<BlockedTime> blockedTimes, List<ScheduledBlock> lockedBlocks) {
+        return new RepairDelta(blockedTimes, lockedBlocks);
+    }
+
+    public List<BlockedTime> getBlockedTimes() {
+        return blockedTimes;
+    }
+
+    public List<ScheduledBlock> getLockedBlocks() {
+        return lockedBlocks;
+    }
+
+    public boolean isEmpty() {
+        return blockedTimes.isEmpty() && lockedBlocks.isEmpty();
+    }
+}
@@ -0,0 +1,12 @@
+package plan4life.solver;
+
+import plan4life.entities.Schedule;
+
+/**
+ * Applies a {@link RepairDelta} to an existing schedule in place, re-placing only the
+ * unlocked activities the delta displaces and leaving every other placement untouched.
+ */
+public interface ScheduleRepairer {
+
+    Schedule repair(Schedule schedule, RepairDelta delta);
+}
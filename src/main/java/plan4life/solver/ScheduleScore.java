@@ -0,0 +1,121 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quality measures for a solved schedule. The natural order ranks fewer unplaced activities
+ * first, then less total deviation from the proposed start times, then a more even spread of
+ * placed minutes across the days of the week.
+ */
+public final class ScheduleScore implements Comparable<ScheduleScore> {
+
+    public static final Comparator<ScheduleScore> STANDARD = Comparator
+            .comparingInt(ScheduleScore::getUnplacedCount)
+            .thenComparingLong(ScheduleScore::getDeviationMinutes)
+            .thenComparingLong(ScheduleScore::getImbalance);
+
+    private static final int MINUTES_IN_WEEK = WeekLayout.DAYS_IN_WEEK * OccupancyGrid.MINUTES_IN_DAY;
+
+    private final int unplacedCount;
+    private final long deviationMinutes;
+    private final long imbalance;
+
+    public ScheduleScore(int unplacedCount, long deviationMinutes, long imbalance) {
+        this.unplacedCount = unplacedCount;
+        this.deviationMinutes = deviationMinutes;
+        this.imbalance = imbalance;
+    }
+
+    /**
+     * Score a schedule against the proposals it was solved from. Each flexible block is matched
+     * to the closest remaining proposal with the same activity name.
+     */
+    public static ScheduleScore of(Schedule schedule, List<ProposedEvent> proposedEvents) {
+        Map<String, List<Integer>> preferredByName = new HashMap<>();
+        if (proposedEvents != null) {
+            for (ProposedEvent event : proposedEvents) {
+                if (!event.isLocked()) {
+                    preferredByName.computeIfAbsent(event.getName(), name -> new ArrayList<>())
+                            .add(weekMinute(WeekLayout.toColumnIndex(event.getDay()),
+                                    WeekLayout.minuteOfDay(event.getStartTime())));
+                }
+            }
+        }
+
+        long deviation = 0;
+        long[] minutesPerDay = new long[WeekLayout.DAYS_IN_WEEK];
+        for (ScheduledBlock block : schedule.getUnlockedBlocks()) {
+            int column = WeekLayout.toColumnIndex(block.getStart().getDayOfWeek());
+            int placedAt = weekMinute(column, WeekLayout.minuteOfDay(block.getStart()));
+            deviation += takeClosest(preferredByName.get(block.getActivityName()), placedAt);
+            minutesPerDay[column] += Duration.between(block.getStart(), block.getEnd()).toMinutes();
+        }
+        for (ScheduledBlock block : schedule.getLockedBlocks()) {
+            int column = WeekLayout.toColumnIndex(block.getStart().getDayOfWeek());
+            minutesPerDay[column] += Duration.between(block.getStart(), block.getEnd()).toMinutes();
+        }
+
+        long total = 0;
+        for (long minutes : minutesPerDay) {
+            total += minutes;
+        }
+        long mean = total / minutesPerDay.length;
+        long imbalance = 0;
+        for (long minutes : minutesPerDay) {
+            imbalance += (minutes - mean) * (minutes - mean);
+        }
+        return new ScheduleScore(schedule.getUnplacedActivities().size(), deviation, imbalance);
+    }
+
+    private static int takeClosest(List<Integer> candidates, int placedAt) {
+        if (candidates == null || candidates.isEmpty()) {
+            return 0;
+        }
+        int bestIndex = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < candidates.size(); i++) {
+            int distance = Math.abs(candidates.get(i) - placedAt);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestIndex = i;
+            }
+        }
+        candidates.remove(bestIndex);
+        return bestDistance;
+    }
+
+    private static int weekMinute(int column, int minuteOfDay) {
+        return Math.floorMod(column * OccupancyGrid.MINUTES_IN_DAY + minuteOfDay, MINUTES_IN_WEEK);
+    }
+
+    public int getUnplacedCount() {
+        return unplacedCount;
+    }
+
+    public long getDeviationMinutes() {
+        return deviationMinutes;
+    }
+
+    public long getImbalance() {
+        return imbalance;
+    }
+
+    @Override
+    public int compareTo(ScheduleScore other) {
+        return STANDARD.compare(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return "unplaced=" + unplacedCount + ", deviation=" + deviationMinutes + "min, imbalance=" + imbalance;
+    }
+}
@@ -0,0 +1,19 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+
+import java.util.List;
+
+/**
+ * Places proposed events onto a weekly {@link Schedule}. Locked proposals must keep their
+ * exact slot; flexible proposals that cannot fit are reported as unplaced activities.
+ */
+public interface ScheduleSolver {
+
+    Schedule solve(int scheduleId,
+                   String scheduleType,
+                   List<ProposedEvent> proposedEvents,
+                   List<BlockedTime> blockedTimes);
+}
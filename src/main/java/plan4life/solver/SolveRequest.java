@@ -0,0 +1,74 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One schedule to solve as part of a batch. Everything a solve needs travels with the
+ * request, so tasks in a batch never share mutable solver state.
+ */
+public final class SolveRequest {
+    private final String requestId;
+    private final int scheduleId;
+    private final String scheduleType;
+    private final LocalDate weekStart;
+    private final List<ProposedEvent> proposedEvents;
+    private final List<BlockedTime> blockedTimes;
+    private final long seed;
+    private final Duration timeout;
+
+    public SolveRequest(String requestId,
+                        int scheduleId,
+                        String scheduleType,
+                        LocalDate weekStart,
+                        List<ProposedEvent> proposedEvents,
+                        List<BlockedTime> blockedTimes,
+                        long seed,
+                        Duration timeout) {
+        this.requestId = Objects.requireNonNull(requestId, "requestId");
+        this.scheduleId = scheduleId;
+        this.scheduleType = scheduleType;
+        this.weekStart = Objects.requireNonNull(weekStart, "weekStart");
+        this.proposedEvents = proposedEvents == null ? List.of() : List.copyOf(proposedEvents);
+        this.blockedTimes = blockedTimes == null ? List.of() : List.copyOf(blockedTimes);
+        this.seed = seed;
+        this.timeout = Objects.requireNonNull(timeout, "timeout");
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public int getScheduleId() {
+        return scheduleId;
+    }
+
+    public String getScheduleType() {
+        return scheduleType;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public List<ProposedEvent> getProposedEvents() {
+        return proposedEvents;
+    }
+
+    public List<BlockedTime> getBlockedTimes() {
+        return blockedTimes;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
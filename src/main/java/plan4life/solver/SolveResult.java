@@ -0,0 +1,67 @@
+package plan4life.solver;
+
+import plan4life.entities.Schedule;
+
+/**
+ * Outcome of one {@link SolveRequest} in a batch.
+ */
+public final class SolveResult {
+
+    public enum Status {
+        COMPLETED,
+        TIMED_OUT,
+        FAILED
+    }
+
+    private final SolveRequest request;
+    private final Status status;
+    private final Schedule schedule;
+    private final Throwable error;
+    private final long latencyNanos;
+
+    private SolveResult(SolveRequest request, Status status, Schedule schedule, Throwable error, long latencyNanos) {
+        this.request = request;
+        this.status = status;
+        this.schedule = schedule;
+        this.error = error;
+        this.latencyNanos = latencyNanos;
+    }
+
+    static SolveResult completed(SolveRequest request, Schedule schedule, long latencyNanos) {
+        return new SolveResult(request, Status.COMPLETED, schedule, null, latencyNanos);
+    }
+
+    static SolveResult timedOut(SolveRequest request, long latencyNanos) {
+        return new SolveResult(request, Status.TIMED_OUT, null, null, latencyNanos);
+    }
+
+    static SolveResult failed(SolveRequest request, Throwable error, long latencyNanos) {
+        return new SolveResult(request, Status.FAILED, null, error, latencyNanos);
+    }
+
+    public SolveRequest getRequest() {
+        return request;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * The solved schedule, or null unless the status is {@link Status#COMPLETED}.
+     */
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Time from the task starting to run until its result was produced.
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+}
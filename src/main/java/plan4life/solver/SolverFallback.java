@@ -0,0 +1,12 @@
+package plan4life.solver;
+
+/**
+ * Why an exact solve returned the greedy fallback's schedule, reported to
+ * {@link SolverListener#onFallback}.
+ */
+public enum SolverFallback {
+    /** The CP search found no solution within its time budget. */
+    NO_CP_SOLUTION,
+    /** The budget expired before the optimum was proven and the greedy schedule placed more activities. */
+    GREEDY_PLACED_MORE
+}
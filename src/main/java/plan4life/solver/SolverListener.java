@@ -0,0 +1,54 @@
+package plan4life.solver;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Tracing hook for the greedy solver. Every callback has an empty default, and the solver
+ * skips timing and summary work entirely when {@link #NO_OP} is installed, so tracing costs
+ * nothing unless a listener is configured. Callbacks run on the solving thread.
+ */
+public interface SolverListener {
+
+    SolverListener NO_OP = new SolverListener() {
+    };
+
+    /** A solve (or repair) is about to start for the given schedule. */
+    default void onSolveStarted(int scheduleId) {
+    }
+
+    /** An activity was placed; {@code locked} placements keep their proposed slot exactly. */
+    default void onPlaced(String activityName, DayOfWeek day, LocalTime start, int columnIndex, boolean locked) {
+    }
+
+    /** No column could hold the activity, so it was recorded as unplaced. */
+    default void onRejected(String activityName, int columnsTried) {
+    }
+
+    /**
+     * Precedence anchors on the column narrowed the activity's window (minutes of the day) from
+     * {@code [previousStartMinute, previousEndMinute]} to {@code [newStartMinute, newEndMinute]}.
+     */
+    default void onWindowNarrowed(String activityName, int columnIndex,
+                                  int previousStartMinute, int previousEndMinute,
+                                  int newStartMinute, int newEndMinute) {
+    }
+
+    /**
+     * One column was probed for free starts; {@code chosenSlot} is -1 when none were found.
+     */
+    default void onCandidatesScanned(int columnIndex, int preferredSlot, int optionCount, int chosenSlot) {
+    }
+
+    /** Per-day count of placed blocks (Monday first) once the solve has finished. */
+    default void onSummary(int[] placedPerDay, int unplacedCount) {
+    }
+
+    /** A timed stage of the solve (or repair) ended after {@code elapsedNanos}. */
+    default void onPhaseFinished(SolverPhase phase, long elapsedNanos) {
+    }
+
+    /** An exact solver returned its greedy fallback's schedule instead of its own. */
+    default void onFallback(SolverFallback reason) {
+    }
+}
@@ -0,0 +1,12 @@
+package plan4life.solver;
+
+/**
+ * Timed stages of a single solve or repair, reported to {@link SolverListener#onPhaseFinished}.
+ */
+public enum SolverPhase {
+    BLOCKED_TIMES,
+    LOCKED,
+    FLEXIBLE,
+    IMPROVE,
+    REPAIR
+}
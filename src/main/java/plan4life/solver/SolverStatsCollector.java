@@ -0,0 +1,128 @@
+package plan4life.solver;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Aggregates counters and per-phase timings for each solve. {@link #getLastSolve()} returns the
+ * counters of the most recent solve; the collector resets itself when the next solve starts.
+ * Not thread-safe: give each concurrently running solver its own collector.
+ */
+public class SolverStatsCollector implements SolverListener {
+
+    private int placements;
+    private int lockedPlacements;
+    private int unplaced;
+    private int optionsReturned;
+    private int columnsProbed;
+    private int windowNarrowings;
+    private long[] phaseNanos = new long[SolverPhase.values().length];
+
+    @Override
+    public void onSolveStarted(int scheduleId) {
+        placements = 0;
+        lockedPlacements = 0;
+        unplaced = 0;
+        optionsReturned = 0;
+        columnsProbed = 0;
+        windowNarrowings = 0;
+        phaseNanos = new long[SolverPhase.values().length];
+    }
+
+    @Override
+    public void onPlaced(String activityName, DayOfWeek day, LocalTime start, int columnIndex, boolean locked) {
+        placements++;
+        if (locked) {
+            lockedPlacements++;
+        }
+    }
+
+    @Override
+    public void onRejected(String activityName, int columnsTried) {
+        unplaced++;
+    }
+
+    @Override
+    public void onWindowNarrowed(String activityName, int columnIndex,
+                                 int previousStartMinute, int previousEndMinute,
+                                 int newStartMinute, int newEndMinute) {
+        windowNarrowings++;
+    }
+
+    @Override
+    public void onCandidatesScanned(int columnIndex, int preferredSlot, int optionCount, int chosenSlot) {
+        columnsProbed++;
+        optionsReturned += optionCount;
+    }
+
+    @Override
+    public void onPhaseFinished(SolverPhase phase, long elapsedNanos) {
+        phaseNanos[phase.ordinal()] += elapsedNanos;
+    }
+
+    public SolverStats getLastSolve() {
+        return new SolverStats(placements, lockedPlacements, unplaced, optionsReturned, columnsProbed,
+                windowNarrowings, phaseNanos.clone());
+    }
+
+    /**
+     * Immutable counters for one solve.
+     */
+    public static final class SolverStats {
+        private final int placements;
+        private final int lockedPlacements;
+        private final int unplaced;
+        private final int optionsReturned;
+        private final int columnsProbed;
+        private final int windowNarrowings;
+        private final long[] phaseNanos;
+
+        SolverStats(int placements, int lockedPlacements, int unplaced, int optionsReturned,
+                    int columnsProbed, int windowNarrowings, long[] phaseNanos) {
+            this.placements = placements;
+            this.lockedPlacements = lockedPlacements;
+            this.unplaced = unplaced;
+            this.optionsReturned = optionsReturned;
+            this.columnsProbed = columnsProbed;
+            this.windowNarrowings = windowNarrowings;
+            this.phaseNanos = phaseNanos;
+        }
+
+        public int getPlacements() {
+            return placements;
+        }
+
+        public int getLockedPlacements() {
+            return lockedPlacements;
+        }
+
+        public int getUnplaced() {
+            return unplaced;
+        }
+
+        /**
+         * Slot options the column probes offered (at most a few per probe), not every slot examined.
+         */
+        public int getOptionsReturned() {
+            return optionsReturned;
+        }
+
+        public int getColumnsProbed() {
+            return columnsProbed;
+        }
+
+        public int getWindowNarrowings() {
+            return windowNarrowings;
+        }
+
+        public long getPhaseNanos(SolverPhase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return "placements=" + placements + " (locked " + lockedPlacements + "), unplaced=" + unplaced
+                    + ", options=" + optionsReturned + " over " + columnsProbed + " columns";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package plan4life.solver;
+
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Maps between the solver's day-column/minute coordinates and the dates, blocks and
+ * time keys stored on a {@link Schedule} for one concrete week.
+ */
+final class WeekLayout {
+
+    static final int DAYS_IN_WEEK = 7;
+    private static final String[] DAY_ABBREVIATIONS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    private final LocalDate weekStart;
+
+    WeekLayout(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    LocalDateTime toDateTime(DayOfWeek day, LocalTime time) {
+        return LocalDateTime.of(weekStart.plusDays(toColumnIndex(day)), time);
+    }
+
+    /**
+     * Record a placement on the schedule as a block plus its activity time key.
+     */
+    ScheduledBlock addPlacement(Schedule schedule, ProposedEvent event, DayOfWeek day, LocalTime startTime,
+                                boolean locked) {
+        int columnIndex = toColumnIndex(day);
+        LocalDateTime start = toDateTime(day, startTime);
+        LocalDateTime end = start.plusMinutes(event.getDurationMinutes());
+        ScheduledBlock block = new ScheduledBlock(start, end, event.getName(), locked, columnIndex);
+        SlotKey timeKey = slotKey(day, startTime);
+        if (locked) {
+            schedule.addLockedBlock(block);
+            schedule.addActivity(timeKey, event.getName());
+            schedule.lockSlotKey(timeKey);
+        } else {
+            schedule.addUnlockedBlock(block);
+            schedule.addActivity(timeKey, event.getName());
+        }
+        return block;
+    }
+
+    static void markBlockedTime(OccupancyGrid occupancy, BlockedTime blockedTime) {
+        occupancy.markMinutes(blockedTime.getColumnIndex(),
+                minuteOfDay(blockedTime.getStart()), endMinuteOfDay(blockedTime.getStart(), blockedTime.getEnd()));
+    }
+
+    static void markBlock(OccupancyGrid occupancy, ScheduledBlock block) {
+        occupancy.markMinutes(block.getColumnIndex(),
+                minuteOfDay(block.getStart()), endMinuteOfDay(block.getStart(), block.getEnd()));
+    }
+
+    static int toColumnIndex(DayOfWeek day) {
+        return day.getValue() - 1;
+    }
+
+    static DayOfWeek toDayOfWeek(int columnIndex) {
+        return DayOfWeek.of(columnIndex + 1);
+    }
+
+    static String dayAbbreviation(int columnIndex) {
+        return DAY_ABBREVIATIONS[columnIndex];
+    }
+
+    static SlotKey slotKey(DayOfWeek day, LocalTime time) {
+        return SlotKey.of(day, time);
+    }
+
+    static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * End minute within the start's day; ranges running past midnight are clipped to the day's end.
+     */
+    static int endMinuteOfDay(LocalDateTime start, LocalDateTime end) {
+        if (end.toLocalDate().isAfter(start.toLocalDate())) {
+            return OccupancyGrid.MINUTES_IN_DAY;
+        }
+        return minuteOfDay(end);
+    }
+}
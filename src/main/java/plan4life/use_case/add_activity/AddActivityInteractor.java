@@ -34,8 +34,15 @@ public class AddActivityInteractor implements AddActivityInputBoundary {
                 requestModel.getDuration()
         );
 
-        schedule.addTask(newActivity);
-        scheduleDAO.saveSchedule(schedule);
+        schedule = scheduleDAO.update(requestModel.getScheduleId(), current -> {
+            if (current != null) {
+                current.addTask(newActivity);
+            }
+            return current;
+        });
+        if (schedule == null) {
+            return fail("Schedule not found.");
+        }
 
         // Successful response
         AddActivityResponseModel response = new AddActivityResponseModel(
@@ -3,6 +3,8 @@ package plan4life.use_case.block_off_time;
 import plan4life.entities.Schedule;
 import plan4life.entities.BlockedTime;
 import plan4life.data_access.ScheduleDataAccessInterface;
+import plan4life.solver.RepairDelta;
+import plan4life.solver.ScheduleRepairer;
 
 import java.util.List;
 
@@ -15,9 +17,12 @@ public class BlockOffTimeInteractor implements BlockOffTimeInputBoundary {
     private final ScheduleDataAccessInterface scheduleDAO;
     /** Presenter responsible for formatting output data. */
     private final BlockOffTimeOutputBoundary presenter;
+    /** Optional solver used to re-place displaced activities; may be null. */
+    private final ScheduleRepairer repairer;
 
     /**
-     * Creates a new {@code BlockOffTimeInteractor}.
+     * Creates a new {@code BlockOffTimeInteractor} that simply drops
+     * activities overlapping a new blocked period.
      *
      * @param scheduleDaoInput the schedule data access object
      * @param presenterInput the presenter for output formatting
@@ -25,8 +30,25 @@ public class BlockOffTimeInteractor implements BlockOffTimeInputBoundary {
     public BlockOffTimeInteractor(
             final ScheduleDataAccessInterface scheduleDaoInput,
             final BlockOffTimeOutputBoundary presenterInput) {
+        this(scheduleDaoInput, presenterInput, null);
+    }
+
+    /**
+     * Creates a new {@code BlockOffTimeInteractor} that re-places
+     * displaced activities through the given repairer.
+     *
+     * @param scheduleDaoInput the schedule data access object
+     * @param presenterInput the presenter for output formatting
+     * @param repairerInput the incremental repairer, or null to drop
+     *                      displaced activities
+     */
+    public BlockOffTimeInteractor(
+            final ScheduleDataAccessInterface scheduleDaoInput,
+            final BlockOffTimeOutputBoundary presenterInput,
+            final ScheduleRepairer repairerInput) {
         this.scheduleDAO = scheduleDaoInput;
         this.presenter = presenterInput;
+        this.repairer = repairerInput;
     }
 
     /**
@@ -49,27 +71,43 @@ public class BlockOffTimeInteractor implements BlockOffTimeInputBoundary {
         if (!isValidTimeRange(requestModel)) {
             return fail("Invalid time range.");
         }
-        if (schedule.overlapsWithExistingBlocks(
-                requestModel.getStart(),
-                requestModel.getEnd(),
-                requestModel.getColumnIndex())) {
-            return fail("The selected time overlaps with "
-                    + "an existing blocked period.");
-        }
-        schedule.removeOverlappingActivities(
-                requestModel.getStart(),
-                requestModel.getEnd(),
-                requestModel.getColumnIndex());
 
-        // Create and add new BlockedTime to the schedule
+        // Create the new BlockedTime and apply it to the latest version
+        // of the schedule; the overlap check is repeated on every retry
         BlockedTime newBlock = new BlockedTime(
                 requestModel.getStart(),
                 requestModel.getEnd(),
                 requestModel.getDescription(),
                 requestModel.getColumnIndex()
         );
-        schedule.addBlockedTime(newBlock);
-        scheduleDAO.saveSchedule(schedule);
+        String[] rejection = new String[1];
+        schedule = scheduleDAO.update(requestModel.getScheduleId(), current -> {
+            if (current == null) {
+                rejection[0] = "Schedule not found.";
+                return null;
+            }
+            if (current.overlapsWithExistingBlocks(
+                    requestModel.getStart(),
+                    requestModel.getEnd(),
+                    requestModel.getColumnIndex())) {
+                rejection[0] = "The selected time overlaps with "
+                        + "an existing blocked period.";
+                return null;
+            }
+            if (repairer != null) {
+                repairer.repair(current, RepairDelta.blockedTime(newBlock));
+            } else {
+                current.removeOverlappingActivities(
+                        requestModel.getStart(),
+                        requestModel.getEnd(),
+                        requestModel.getColumnIndex());
+                current.addBlockedTime(newBlock);
+            }
+            return current;
+        });
+        if (schedule == null) {
+            return fail(rejection[0]);
+        }
 
         // Successful response
         BlockOffTimeResponseModel response = new BlockOffTimeResponseModel(
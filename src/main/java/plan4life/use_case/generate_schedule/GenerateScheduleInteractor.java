@@ -9,14 +9,14 @@ import plan4life.ai.TimeFormats;
 import plan4life.data_access.ScheduleDataAccessInterface;
 import plan4life.entities.BlockedTime;
 import plan4life.entities.Schedule;
+import plan4life.entities.ScheduleSnapshot;
 import plan4life.entities.ScheduledBlock;
-import plan4life.solver.ConstraintSolver;
+import plan4life.entities.SlotKey;
+import plan4life.solver.ScheduleSolver;
 
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -30,6 +30,8 @@ import java.util.regex.Pattern;
 
 public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary {
     private static final int EXAMPLE_COUNT = 2;
+    // Re-solves against a schedule edited while solving before giving up
+    private static final int MAX_SAVE_ATTEMPTS = 3;
     private static final Pattern FIXED_EVENT_PATTERN = Pattern.compile(
             "(?i)^(mon|monday|tue|tuesday|wed|wednesday|thu|thursday|fri|friday|sat|saturday|sun|sunday)\\s+" +
                     "(\\d{1,2}:\\d{2})(?:\\s*-\\s*(\\d{1,2}:\\d{2}))?(?:\\s+(\\d+))?\\s+(.+)$");
@@ -37,13 +39,13 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
     private final GenerateScheduleOutputBoundary presenter;
     private final RagRetriever ragRetriever;
     private final LlmScheduleService llmScheduleService;
-    private final ConstraintSolver constraintSolver;
+    private final ScheduleSolver constraintSolver;
     private final ScheduleDataAccessInterface scheduleDAO;
 
     public GenerateScheduleInteractor(GenerateScheduleOutputBoundary presenter,
                                       RagRetriever ragRetriever,
                                       LlmScheduleService llmScheduleService,
-                                      ConstraintSolver constraintSolver,
+                                      ScheduleSolver constraintSolver,
                                       ScheduleDataAccessInterface scheduleDAO) {
         this.presenter = Objects.requireNonNull(presenter);
         this.ragRetriever = Objects.requireNonNull(ragRetriever);
@@ -72,11 +74,6 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
         }
 
         final int scheduleId = 2;
-        Schedule existingSchedule = scheduleDAO.getSchedule(scheduleId);
-        List<ProposedEvent> lockedCarryOver = collectLockedEvents(existingSchedule);
-        List<BlockedTime> existingBlockedTimes = existingSchedule == null
-                ? Collections.emptyList()
-                : new ArrayList<>(existingSchedule.getBlockedTimes());
 
         try {
             List<RagRetriever.RoutineExample> examples = ragRetriever.retrieveExamples(routineSummary, EXAMPLE_COUNT);
@@ -87,13 +84,15 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
             System.out.printf("[GenerateScheduleInteractor] generation mode: %s%n",
                     lastCall != null && lastCall.usedLiveModel() ? "live AI" : "fallback / heuristic");
 
-            List<ProposedEvent> combinedProposals = new ArrayList<>(lockedCarryOver);
-            if (proposals != null) {
-                combinedProposals.addAll(proposals);
+            Schedule schedule = null;
+            for (int attempt = 0; attempt < MAX_SAVE_ATTEMPTS && schedule == null; attempt++) {
+                schedule = solveAndSave(scheduleId, proposals);
+            }
+            if (schedule == null) {
+                presenter.present(new GenerateScheduleResponseModel(null,
+                        "Your schedule was changed while a new one was being generated. Please try again."));
+                return;
             }
-
-            Schedule schedule = constraintSolver.solve(scheduleId, "week", combinedProposals, existingBlockedTimes);
-            scheduleDAO.saveSchedule(schedule);
             presenter.present(new GenerateScheduleResponseModel(schedule,
                     buildGenerationMessage(schedule, llmScheduleService.getLastCallInfo())));
         } catch (Exception ex) {
@@ -102,6 +101,32 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
         }
     }
 
+    /**
+     * Solve {@code proposals} around the current locks and blocked times and store the result,
+     * unless a lock or block-off was saved in the meantime; then nothing is stored and null is
+     * returned, so the caller can re-solve against the newer schedule.
+     */
+    private Schedule solveAndSave(int scheduleId, List<ProposedEvent> proposals) {
+        Schedule stored = scheduleDAO.getSchedule(scheduleId);
+        // A private copy, so the locks and blocked times below all come from the version read
+        Schedule existingSchedule = stored == null ? null : stored.copy();
+        ScheduleSnapshot readAt = existingSchedule == null ? null : existingSchedule.snapshot();
+        List<ProposedEvent> combinedProposals = new ArrayList<>(collectLockedEvents(existingSchedule));
+        if (proposals != null) {
+            combinedProposals.addAll(proposals);
+        }
+        List<BlockedTime> existingBlockedTimes = existingSchedule == null
+                ? Collections.emptyList()
+                : new ArrayList<>(existingSchedule.getBlockedTimes());
+
+        Schedule schedule = constraintSolver.solve(scheduleId, "week", combinedProposals, existingBlockedTimes);
+        if (!scheduleDAO.compareAndSave(schedule, readAt)) {
+            System.out.printf("[GenerateScheduleInteractor] schedule %d changed while solving; re-solving%n", scheduleId);
+            return null;
+        }
+        return schedule;
+    }
+
     private String buildGenerationMessage(Schedule schedule, LlmScheduleService.LastCallInfo lastCallInfo) {
         if (schedule == null) {
             return "No plan was generated.";
@@ -211,19 +236,19 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
             return Collections.emptyList();
         }
 
-        Set<String> seenKeys = new HashSet<>();
+        Set<SlotKey> seenKeys = new HashSet<>();
         List<ProposedEvent> lockedEvents = new ArrayList<>();
 
         for (ScheduledBlock block : existingSchedule.getLockedBlocks()) {
             ProposedEvent locked = toLockedEvent(block);
-            if (locked != null && seenKeys.add(formatKey(locked.getDay(), locked.getStartTime()))) {
+            if (locked != null && seenKeys.add(SlotKey.of(locked.getDay(), locked.getStartTime()))) {
                 lockedEvents.add(locked);
             }
         }
 
         existingSchedule.getLockedSlotKeys().forEach(key -> {
             ProposedEvent event = toLockedEvent(key, existingSchedule);
-            if (event != null && seenKeys.add(formatKey(event.getDay(), event.getStartTime()))) {
+            if (event != null && seenKeys.add(key)) {
                 lockedEvents.add(event);
             }
         });
@@ -244,34 +269,15 @@ public class GenerateScheduleInteractor implements GenerateScheduleInputBoundary
         return new ProposedEvent(day, start, duration, block.getActivityName(), true);
     }
 
-    private ProposedEvent toLockedEvent(String timeKey, Schedule schedule) {
+    private ProposedEvent toLockedEvent(SlotKey timeKey, Schedule schedule) {
         if (timeKey == null || schedule == null) {
             return null;
         }
 
-        String[] parts = timeKey.split(" ");
-        if (parts.length < 2) {
-            return null;
-        }
-
-        DayOfWeek day = parseDay(parts[0]);
-        if (day == null) {
-            return null;
-        }
-
-        try {
-            LocalTime start = LocalTime.parse(parts[1], DateTimeFormatter.ofPattern("HH:mm"));
-            String name = schedule.getActivities().get(timeKey);
-            if (name == null || name.isBlank()) {
-                return null;
-            }
-            return new ProposedEvent(day, start, 60, name, true);
-        } catch (DateTimeParseException ex) {
+        String name = schedule.getActivities().get(timeKey);
+        if (name == null || name.isBlank()) {
             return null;
         }
+        return new ProposedEvent(timeKey.getDayOfWeek(), timeKey.toLocalTime(), 60, name, true);
     }
-
-    private String formatKey(DayOfWeek day, LocalTime time) {
-        return day + "|" + time;
-    }
-}
\ No newline at end of file
+}
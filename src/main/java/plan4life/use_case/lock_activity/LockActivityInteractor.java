@@ -1,6 +1,7 @@
 package plan4life.use_case.lock_activity;
 
 import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
 import plan4life.data_access.ScheduleDataAccessInterface;
 
 public class LockActivityInteractor implements LockActivityInputBoundary {
@@ -23,29 +24,26 @@ public class LockActivityInteractor implements LockActivityInputBoundary {
         }
 
         int scheduleId = requestModel.getScheduleId();
-        Schedule schedule = scheduleDAO.getSchedule(scheduleId);
-
-        // Create a new empty schedule if missing
-        if (schedule == null) {
-            schedule = new Schedule(scheduleId, "week");
-            scheduleDAO.saveSchedule(schedule);
-            presenter.present(new LockActivityResponseModel(schedule));
-            return;
-        }
+        Schedule schedule = scheduleDAO.update(scheduleId, current -> {
+            // Create a new empty schedule if missing
+            if (current == null) {
+                return new Schedule(scheduleId, "week");
+            }
 
-        // Apply lock/unlock actions
-        for (String key : requestModel.getLockedSlots()) {
-            if (schedule.isLockedKey(key)) {
-                schedule.unlockSlotKey(key);
-            } else {
-                schedule.lockSlotKey(key);
+            // Apply lock/unlock actions
+            for (SlotKey key : requestModel.getLockedSlots()) {
+                if (current.isLockedKey(key)) {
+                    current.unlockSlotKey(key);
+                } else {
+                    current.lockSlotKey(key);
+                }
             }
-        }
-        // Replace locked set with the user selection while keeping all activities/blocks intact
-        schedule.replaceLockedSlotKeys(requestModel.getLockedSlots());
+            // Replace locked set with the user selection while keeping all activities/blocks intact
+            current.replaceLockedSlotKeys(requestModel.getLockedSlots());
+            return current;
+        });
 
-        // Save and present the updated schedule once
-        scheduleDAO.saveSchedule(schedule);
+        // Present the updated schedule once
         presenter.present(new LockActivityResponseModel(schedule));
     }
 }
\ No newline at end of file
@@ -1,18 +1,20 @@
 package plan4life.use_case.lock_activity;
 
+import plan4life.entities.SlotKey;
+
 import java.util.Set;
 
 public class LockActivityRequestModel {
     private final int scheduleId;
-    private final Set<String> lockedSlots;
+    private final Set<SlotKey> lockedSlots;
 
-    public LockActivityRequestModel(int scheduleId, Set<String> lockedSlots) {
+    public LockActivityRequestModel(int scheduleId, Set<SlotKey> lockedSlots) {
         this.scheduleId = scheduleId;
         this.lockedSlots = lockedSlots;
     }
 
     public int getScheduleId() { return scheduleId; }
-    public Set<String> getLockedSlots() {
+    public Set<SlotKey> getLockedSlots() {
         return lockedSlots;
     }
 }
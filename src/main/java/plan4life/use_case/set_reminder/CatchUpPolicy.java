@@ -0,0 +1,55 @@
+package plan4life.use_case.set_reminder;
+
+import java.time.Duration;
+
+/**
+ * What startup recovery does with reminders that came due while the application was not running.
+ */
+public final class CatchUpPolicy {
+
+    private final boolean summarise;
+    private final Duration maxAge;
+
+    private CatchUpPolicy(boolean summarise, Duration maxAge) {
+        this.summarise = summarise;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Fire every missed reminder, oldest first; a recurring one fires once, for its latest missed
+     * occurrence.
+     */
+    public static CatchUpPolicy fireAll() {
+        return new CatchUpPolicy(false, null);
+    }
+
+    /**
+     * One summary notification per event (reminder id, shared by every occurrence of a recurring
+     * series), however many of its occurrences were missed. Events that only share a title are
+     * summarised separately.
+     */
+    public static CatchUpPolicy summaryPerEvent() {
+        return new CatchUpPolicy(true, null);
+    }
+
+    /**
+     * Skip missed reminders older than {@code maxAge} and fire the rest.
+     */
+    public static CatchUpPolicy dropOlderThan(Duration maxAge) {
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException("maxAge must not be negative: " + maxAge);
+        }
+        return new CatchUpPolicy(false, maxAge);
+    }
+
+    boolean isSummarise() {
+        return summarise;
+    }
+
+    /**
+     * Null when nothing is too old to fire.
+     */
+    Duration getMaxAge() {
+        return maxAge;
+    }
+}
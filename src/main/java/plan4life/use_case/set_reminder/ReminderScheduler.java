@@ -0,0 +1,57 @@
+package plan4life.use_case.set_reminder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs reminder callbacks at their due time. Implementations share a few threads across every
+ * pending reminder rather than holding a thread per reminder.
+ */
+public interface ReminderScheduler {
+
+    /**
+     * A scheduled callback.
+     */
+    interface Handle {
+
+        /**
+         * Stop the callback from running. Returns false if it already ran or was cancelled.
+         */
+        boolean cancel();
+    }
+
+    /**
+     * The clock due times are measured against; tests may supply a virtual one.
+     */
+    Clock clock();
+
+    /**
+     * Run {@code task} once, no earlier than {@code delayMillis} from now on {@link #clock()}.
+     */
+    Handle schedule(long delayMillis, Runnable task);
+
+    /**
+     * Schedule {@code tasks.get(i)} after {@code delayMillis[i]} for every i, returning the
+     * handles in the same order. This default schedules them one at a time; implementations may
+     * register the whole batch in one step.
+     */
+    default List<Handle> scheduleAll(long[] delayMillis, List<Runnable> tasks) {
+        if (delayMillis.length != tasks.size()) {
+            throw new IllegalArgumentException("one delay per task expected");
+        }
+        List<Handle> handles = new ArrayList<>(tasks.size());
+        for (int i = 0; i < delayMillis.length; i++) {
+            handles.add(schedule(delayMillis[i], tasks.get(i)));
+        }
+        return handles;
+    }
+
+    /**
+     * Cancel every handle in {@code handles}.
+     */
+    default void cancelAll(Collection<Handle> handles) {
+        handles.forEach(Handle::cancel);
+    }
+}
@@ -1,10 +1,26 @@
 package plan4life.use_case.set_reminder;
 
+import java.util.List;
+
 public interface SetReminderInputBoundary {
 
     void setReminder(SetReminderRequestModel requestModel);
 
     void cancelReminder(SetReminderRequestModel requestModel);
-}
 
+    /**
+     * Set a reminder for every request. Implementations validate the whole batch before storing
+     * any of it and report it to the presenter in one callback; this default sets them one at a
+     * time.
+     */
+    default void setReminders(List<SetReminderRequestModel> requestModels) {
+        requestModels.forEach(this::setReminder);
+    }
 
+    /**
+     * Cancel the reminder of every request, reported to the presenter in one callback.
+     */
+    default void cancelReminders(List<SetReminderRequestModel> requestModels) {
+        requestModels.forEach(this::cancelReminder);
+    }
+}
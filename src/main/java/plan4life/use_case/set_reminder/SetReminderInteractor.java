@@ -5,29 +5,43 @@ import plan4life.entities.Reminder;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Interactor for the SetReminder use case.
  * - Persists reminder data via DAO
- * - Schedules and cancels timers
+ * - Schedules and cancels reminder callbacks on a shared {@link ReminderScheduler}
  * - Notifies presenter when reminders are scheduled / fired / cancelled
+ * - Re-arms stored reminders after a restart ({@link #recoverPendingReminders})
  */
 public class SetReminderInteractor implements SetReminderInputBoundary {
 
     private final ReminderDataAccessInterface reminderDAI;
     private final SetReminderOutputBoundary presenter;
+    private final ReminderScheduler scheduler;
 
-    // Keeps track of active timers by reminder id
-    private final Map<String, Timer> timers = new HashMap<>();
+    // Keeps track of pending reminder callbacks by reminder id
+    private final Map<String, ReminderScheduler.Handle> timers = new ConcurrentHashMap<>();
+
+    private static final int RECOVERY_PAGE_SIZE = 1024;
 
     public SetReminderInteractor(ReminderDataAccessInterface reminderDAI,
                                  SetReminderOutputBoundary presenter) {
+        this(reminderDAI, presenter, TimingWheelReminderScheduler.shared());
+    }
+
+    public SetReminderInteractor(ReminderDataAccessInterface reminderDAI,
+                                 SetReminderOutputBoundary presenter,
+                                 ReminderScheduler scheduler) {
         this.reminderDAI = reminderDAI;
         this.presenter = presenter;
+        this.scheduler = scheduler;
     }
 
     private String buildReminderId(SetReminderRequestModel request) {
@@ -37,9 +51,9 @@ public class SetReminderInteractor implements SetReminderInputBoundary {
     }
 
     private void cancelTimer(String id) {
-        Timer t = timers.remove(id);
-        if (t != null) {
-            t.cancel();
+        ReminderScheduler.Handle handle = timers.remove(id);
+        if (handle != null) {
+            handle.cancel();
         }
     }
 
@@ -50,24 +64,9 @@ public class SetReminderInteractor implements SetReminderInputBoundary {
         // Cancel any existing timer for this reminder
         cancelTimer(id);
 
-        LocalDateTime reminderTime =
-                requestModel.getStart().minusMinutes(requestModel.getMinutesBefore());
-        long delayMillis = Duration.between(LocalDateTime.now(), reminderTime).toMillis();
-
-        Reminder reminder = new Reminder(
-                id,
-                requestModel.getTitle(),
-                requestModel.getStart(),
-                requestModel.getEnd(),
-                reminderTime,
-                requestModel.getMinutesBefore(),
-                requestModel.getAlertType(),
-                requestModel.getUrgencyLevel(),
-                requestModel.isSendMessage(),
-                requestModel.isSendEmail(),
-                requestModel.isPlaySound(),
-                requestModel.isImportant()
-        );
+        LocalDateTime now = LocalDateTime.now(scheduler.clock());
+        Reminder reminder = upcoming(toReminder(id, requestModel), now);
+        long delayMillis = Duration.between(now, reminder.getReminderTime()).toMillis();
 
         // Persist
         reminderDAI.saveReminder(reminder);
@@ -76,38 +75,242 @@ public class SetReminderInteractor implements SetReminderInputBoundary {
                 SetReminderResponseModel.fromEntity(reminder);
         presenter.presentReminderScheduled(scheduledResponse);
 
-        // Decide whether to fire immediately:
-        // 1) reminder time is in the past, OR
-        // 2) user set minutesBefore = 0  (demo-friendly: treat as "remind now")
-        boolean fireImmediately =
-                delayMillis <= 0 || requestModel.getMinutesBefore() == 0;
-
-        if (fireImmediately) {
+        if (reminder.isDelivered()) {
+            return;
+        }
+        if (firesImmediately(reminder, delayMillis)) {
             presenter.presentReminderFired(scheduledResponse);
+            advance(reminder, reminder.nextOccurrence());
             return;
         }
 
-        Timer timer = new Timer(true);
-        timers.put(id, timer);
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SetReminderResponseModel fireResponse =
-                        SetReminderResponseModel.fromEntity(reminder);
-                presenter.presentReminderFired(fireResponse);
+        arm(reminder, delayMillis);
+    }
+
+    /**
+     * Bulk {@link #setReminder}: the batch is validated up front (nothing is stored if any request
+     * is invalid), persisted with one DAO call, armed in one scheduler call, and reported with one
+     * {@code presentRemindersScheduled}. A later request for the same event replaces an earlier one.
+     */
+    @Override
+    public void setReminders(List<SetReminderRequestModel> requestModels) {
+        validate(requestModels);
+        Map<String, SetReminderRequestModel> byId = new LinkedHashMap<>();
+        for (SetReminderRequestModel request : requestModels) {
+            byId.put(buildReminderId(request), request);
+        }
+
+        LocalDateTime now = LocalDateTime.now(scheduler.clock());
+        List<ReminderScheduler.Handle> replaced = new ArrayList<>();
+        List<Reminder> reminders = new ArrayList<>(byId.size());
+        for (Map.Entry<String, SetReminderRequestModel> entry : byId.entrySet()) {
+            ReminderScheduler.Handle previous = timers.remove(entry.getKey());
+            if (previous != null) {
+                replaced.add(previous);
             }
-        }, delayMillis);
+            reminders.add(upcoming(toReminder(entry.getKey(), entry.getValue()), now));
+        }
+        scheduler.cancelAll(replaced);
+        reminderDAI.saveReminders(reminders);
+
+        List<SetReminderResponseModel> scheduled = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            scheduled.add(SetReminderResponseModel.fromEntity(reminder));
+        }
+        presenter.presentRemindersScheduled(scheduled);
+
+        List<Reminder> immediate = new ArrayList<>();
+        List<Reminder> armed = new ArrayList<>(reminders.size());
+        List<Runnable> tasks = new ArrayList<>(reminders.size());
+        List<ReminderScheduler.Handle[]> holders = new ArrayList<>(reminders.size());
+        long[] delays = new long[reminders.size()];
+        for (int i = 0; i < reminders.size(); i++) {
+            Reminder reminder = reminders.get(i);
+            if (reminder.isDelivered()) {
+                continue;
+            }
+            long delayMillis = Duration.between(now, reminder.getReminderTime()).toMillis();
+            if (firesImmediately(reminder, delayMillis)) {
+                presenter.presentReminderFired(scheduled.get(i));
+                immediate.add(reminder);
+                continue;
+            }
+            ReminderScheduler.Handle[] handle = new ReminderScheduler.Handle[1];
+            delays[armed.size()] = delayMillis;
+            armed.add(reminder);
+            holders.add(handle);
+            tasks.add(fireTask(reminder, handle));
+        }
+
+        List<ReminderScheduler.Handle> handles =
+                scheduler.scheduleAll(Arrays.copyOf(delays, armed.size()), tasks);
+        for (int i = 0; i < armed.size(); i++) {
+            holders.get(i)[0] = handles.get(i);
+            timers.put(armed.get(i).getId(), handles.get(i));
+        }
+        List<Reminder> oneOff = new ArrayList<>(immediate.size());
+        for (Reminder reminder : immediate) {
+            if (reminder.getRecurrence() == null) {
+                oneOff.add(reminder);
+            } else {
+                advance(reminder, reminder.nextOccurrence());
+            }
+        }
+        markDelivered(oneOff);
     }
 
+    /**
+     * Bulk {@link #cancelReminder}: one scheduler call, one DAO call, one
+     * {@code presentRemindersCancelled}.
+     */
     @Override
-    public void cancelReminder(SetReminderRequestModel requestModel) {
-        String id = buildReminderId(requestModel);
+    public void cancelReminders(List<SetReminderRequestModel> requestModels) {
+        validate(requestModels);
+        List<String> ids = new ArrayList<>(requestModels.size());
+        List<ReminderScheduler.Handle> handles = new ArrayList<>();
+        List<SetReminderResponseModel> cancelled = new ArrayList<>(requestModels.size());
+        for (SetReminderRequestModel request : requestModels) {
+            String id = buildReminderId(request);
+            ids.add(id);
+            ReminderScheduler.Handle handle = timers.remove(id);
+            if (handle != null) {
+                handles.add(handle);
+            }
+            cancelled.add(SetReminderResponseModel.fromEntity(cancelledReminder(id, request)));
+        }
+        scheduler.cancelAll(handles);
+        reminderDAI.deleteReminders(ids);
+        presenter.presentRemindersCancelled(cancelled);
+    }
 
-        cancelTimer(id);
-        reminderDAI.deleteReminder(id);
+    /**
+     * Startup pass over the stored reminders that have not fired yet: future ones are scheduled
+     * again, and ones that came due while the application was down are handled by
+     * {@code policy}. Reads the store a page at a time and only does O(1) scheduler work per
+     * reminder, so it can run on a background thread while the UI comes up. A recurring reminder
+     * is treated as one notification for all of its missed occurrences and then re-armed for its
+     * next one.
+     */
+    public RecoveryReport recoverPendingReminders(CatchUpPolicy policy) {
+        LocalDateTime now = LocalDateTime.now(scheduler.clock());
+        int rescheduled = 0;
+        Iterator<List<Reminder>> future = reminderDAI.pageDueBetween(now, LocalDateTime.MAX, RECOVERY_PAGE_SIZE);
+        while (future.hasNext()) {
+            for (Reminder reminder : future.next()) {
+                if (!timers.containsKey(reminder.getId())) {
+                    arm(reminder, Duration.between(now, reminder.getReminderTime()).toMillis());
+                    rescheduled++;
+                }
+            }
+        }
+
+        LocalDateTime oldestToFire = policy.getMaxAge() == null ? null : now.minus(policy.getMaxAge());
+        int fired = 0;
+        int dropped = 0;
+        Iterator<List<Reminder>> missed = reminderDAI.pageDueBetween(LocalDateTime.MIN, now, RECOVERY_PAGE_SIZE);
+        while (missed.hasNext()) {
+            for (Reminder reminder : missed.next()) {
+                List<Reminder> occurrences = reminder.occurrencesDueBetween(reminder.getReminderTime(), now);
+                Reminder latest = occurrences.isEmpty() ? reminder : occurrences.get(occurrences.size() - 1);
+                if (oldestToFire != null && latest.getReminderTime().isBefore(oldestToFire)) {
+                    catchUp(reminder, now);
+                    dropped++;
+                } else if (policy.isSummarise()) {
+                    // One stored reminder per event id; a recurring series is one event
+                    presenter.presentRemindersMissed(SetReminderResponseModel.fromEntity(latest),
+                            Math.max(1, occurrences.size()));
+                    catchUp(reminder, now);
+                    fired++;
+                } else {
+                    presenter.presentReminderFired(SetReminderResponseModel.fromEntity(latest));
+                    catchUp(reminder, now);
+                    fired++;
+                }
+            }
+        }
+
+        System.out.printf("[SetReminderInteractor] Recovery: %d rescheduled, %d missed notifications, %d dropped%n",
+                rescheduled, fired, dropped);
+        return new RecoveryReport(rescheduled, fired, dropped);
+    }
+
+    private void arm(Reminder reminder, long delayMillis) {
+        ReminderScheduler.Handle[] handle = new ReminderScheduler.Handle[1];
+        handle[0] = scheduler.schedule(delayMillis, fireTask(reminder, handle));
+        timers.put(reminder.getId(), handle[0]);
+    }
+
+    // {@code handle[0]} is filled in once the scheduler has returned the task's handle.
+    private Runnable fireTask(Reminder reminder, ReminderScheduler.Handle[] handle) {
+        return () -> {
+            // Null only if it fired before schedule() returned; the entry left behind is inert
+            if (handle[0] != null) {
+                timers.remove(reminder.getId(), handle[0]);
+            }
+            SetReminderResponseModel fireResponse =
+                    SetReminderResponseModel.fromEntity(reminder);
+            presenter.presentReminderFired(fireResponse);
+            advance(reminder, reminder.nextOccurrence());
+        };
+    }
+
+    // A new recurring reminder starts at its first occurrence still to come; past ones are not
+    // fired. Delivered if the series has already ended.
+    private static Reminder upcoming(Reminder reminder, LocalDateTime now) {
+        if (reminder.getRecurrence() == null) {
+            return reminder;
+        }
+        Reminder next = reminder.occurrenceDueAtOrAfter(now);
+        return next != null ? next : reminder.asDelivered();
+    }
+
+    // After a reminder fired: store and arm its series' next occurrence, or mark it delivered.
+    // Only one occurrence per series is ever stored or armed.
+    private void advance(Reminder reminder, Reminder next) {
+        if (next == null) {
+            markDelivered(reminder);
+            return;
+        }
+        if (reminderDAI.getReminder(reminder.getId()) == reminder) {
+            reminderDAI.saveReminder(next);
+            arm(next, Duration.between(LocalDateTime.now(scheduler.clock()), next.getReminderTime()).toMillis());
+        }
+    }
+
+    // Recovery: skip past every occurrence that was missed.
+    private void catchUp(Reminder reminder, LocalDateTime now) {
+        advance(reminder, reminder.getRecurrence() == null ? null : reminder.occurrenceDueAtOrAfter(now));
+    }
+
+    // Decide whether to fire immediately:
+    // 1) reminder time is in the past, OR
+    // 2) user set minutesBefore = 0 on a one-off reminder (demo-friendly: treat as "remind now")
+    private static boolean firesImmediately(Reminder reminder, long delayMillis) {
+        return delayMillis <= 0 || (reminder.getMinutesBefore() == 0 && reminder.getRecurrence() == null);
+    }
+
+    private static Reminder toReminder(String id, SetReminderRequestModel requestModel) {
+        return new Reminder(
+                id,
+                requestModel.getTitle(),
+                requestModel.getStart(),
+                requestModel.getEnd(),
+                requestModel.getStart().minusMinutes(requestModel.getMinutesBefore()),
+                requestModel.getMinutesBefore(),
+                requestModel.getAlertType(),
+                requestModel.getUrgencyLevel(),
+                requestModel.isSendMessage(),
+                requestModel.isSendEmail(),
+                requestModel.isPlaySound(),
+                requestModel.isImportant(),
+                false,
+                requestModel.getRecurrence()
+        );
+    }
 
-        // Build a lightweight Reminder object just for presenter
-        Reminder dummy = new Reminder(
+    // Build a lightweight Reminder object just for presenter
+    private static Reminder cancelledReminder(String id, SetReminderRequestModel requestModel) {
+        return new Reminder(
                 id,
                 requestModel.getTitle(),
                 requestModel.getStart(),
@@ -121,9 +324,81 @@ public class SetReminderInteractor implements SetReminderInputBoundary {
                 requestModel.isPlaySound(),
                 false
         );
+    }
+
+    // Every problem in the batch is reported together, before any of it is applied.
+    private static void validate(List<SetReminderRequestModel> requestModels) {
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < requestModels.size(); i++) {
+            SetReminderRequestModel request = requestModels.get(i);
+            if (request == null) {
+                problems.add("#" + i + ": missing request");
+            } else if (request.getTitle() == null || request.getStart() == null || request.getEnd() == null) {
+                problems.add("#" + i + ": title, start and end are required");
+            } else if (request.getMinutesBefore() < 0) {
+                problems.add("#" + i + ": minutesBefore must not be negative");
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid reminder requests " + problems);
+        }
+    }
+
+    // Record that the reminder fired, unless it was cancelled or replaced meanwhile.
+    private void markDelivered(Reminder reminder) {
+        if (reminderDAI.getReminder(reminder.getId()) == reminder) {
+            reminderDAI.saveReminder(reminder.asDelivered());
+        }
+    }
+
+    private void markDelivered(List<Reminder> reminders) {
+        List<Reminder> delivered = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            if (reminderDAI.getReminder(reminder.getId()) == reminder) {
+                delivered.add(reminder.asDelivered());
+            }
+        }
+        if (!delivered.isEmpty()) {
+            reminderDAI.saveReminders(delivered);
+        }
+    }
+
+    @Override
+    public void cancelReminder(SetReminderRequestModel requestModel) {
+        String id = buildReminderId(requestModel);
+
+        cancelTimer(id);
+        reminderDAI.deleteReminder(id);
 
         SetReminderResponseModel resp =
-                SetReminderResponseModel.fromEntity(dummy);
+                SetReminderResponseModel.fromEntity(cancelledReminder(id, requestModel));
         presenter.presentReminderCancelled(resp);
     }
+
+    /**
+     * Counts from {@link #recoverPendingReminders}.
+     */
+    public static final class RecoveryReport {
+        private final int rescheduled;
+        private final int missedNotifications;
+        private final int dropped;
+
+        RecoveryReport(int rescheduled, int missedNotifications, int dropped) {
+            this.rescheduled = rescheduled;
+            this.missedNotifications = missedNotifications;
+            this.dropped = dropped;
+        }
+
+        public int getRescheduled() {
+            return rescheduled;
+        }
+
+        public int getMissedNotifications() {
+            return missedNotifications;
+        }
+
+        public int getDropped() {
+            return dropped;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package plan4life.use_case.set_reminder;
 
+import java.util.List;
+
 public interface SetReminderOutputBoundary {
 
     /**
@@ -16,5 +18,27 @@ public interface SetReminderOutputBoundary {
      * Called when an existing reminder is cancelled.
      */
     void presentReminderCancelled(SetReminderResponseModel responseModel);
-}
 
+    /**
+     * Called once after a bulk {@code setReminders}, with every reminder it scheduled.
+     */
+    default void presentRemindersScheduled(List<SetReminderResponseModel> responseModels) {
+        responseModels.forEach(this::presentReminderScheduled);
+    }
+
+    /**
+     * Called once after a bulk {@code cancelReminders}, with every reminder it cancelled.
+     */
+    default void presentRemindersCancelled(List<SetReminderResponseModel> responseModels) {
+        responseModels.forEach(this::presentReminderCancelled);
+    }
+
+    /**
+     * Called once per event whose reminders came due while the application was not running, when
+     * recovery summarises them; {@code latest} is the most recent of the {@code missedCount}
+     * occurrences.
+     */
+    default void presentRemindersMissed(SetReminderResponseModel latest, int missedCount) {
+        presentReminderFired(latest);
+    }
+}
@@ -1,5 +1,7 @@
 package plan4life.use_case.set_reminder;
 
+import plan4life.entities.Recurrence;
+
 import java.time.LocalDateTime;
 
 /**
@@ -17,6 +19,8 @@ public class SetReminderRequestModel {
     private final boolean sendEmail;
     private final boolean playSound;
     private final boolean important;
+    // Null for a one-off reminder
+    private final Recurrence recurrence;
 
     public SetReminderRequestModel(String title,
                                    LocalDateTime start,
@@ -28,6 +32,21 @@ public class SetReminderRequestModel {
                                    boolean sendEmail,
                                    boolean playSound,
                                    boolean important) {
+        this(title, start, end, minutesBefore, alertType, urgencyLevel,
+                sendMessage, sendEmail, playSound, important, null);
+    }
+
+    public SetReminderRequestModel(String title,
+                                   LocalDateTime start,
+                                   LocalDateTime end,
+                                   int minutesBefore,
+                                   String alertType,
+                                   String urgencyLevel,
+                                   boolean sendMessage,
+                                   boolean sendEmail,
+                                   boolean playSound,
+                                   boolean important,
+                                   Recurrence recurrence) {
         this.title = title;
         this.start = start;
         this.end = end;
@@ -38,6 +57,7 @@ public class SetReminderRequestModel {
         this.sendEmail = sendEmail;
         this.playSound = playSound;
         this.important = important;
+        this.recurrence = recurrence;
     }
 
     public String getTitle() {
@@ -79,4 +99,8 @@ public class SetReminderRequestModel {
     public boolean isImportant() {
         return important;
     }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
 }
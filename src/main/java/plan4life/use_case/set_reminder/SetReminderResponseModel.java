@@ -20,6 +20,7 @@ public class SetReminderResponseModel {
     private final boolean sendEmail;
     private final boolean playSound;
     private final boolean important;
+    private final int missedCount;
 
     public SetReminderResponseModel(String title,
                                     LocalDateTime start,
@@ -32,6 +33,22 @@ public class SetReminderResponseModel {
                                     boolean sendEmail,
                                     boolean playSound,
                                     boolean important) {
+        this(title, start, end, reminderTime, minutesBefore, alertType, urgencyLevel, sendMessage, sendEmail,
+                playSound, important, 0);
+    }
+
+    private SetReminderResponseModel(String title,
+                                     LocalDateTime start,
+                                     LocalDateTime end,
+                                     LocalDateTime reminderTime,
+                                     int minutesBefore,
+                                     String alertType,
+                                     String urgencyLevel,
+                                     boolean sendMessage,
+                                     boolean sendEmail,
+                                     boolean playSound,
+                                     boolean important,
+                                     int missedCount) {
         this.title = title;
         this.start = start;
         this.end = end;
@@ -43,6 +60,7 @@ public class SetReminderResponseModel {
         this.sendEmail = sendEmail;
         this.playSound = playSound;
         this.important = important;
+        this.missedCount = missedCount;
     }
 
     public static SetReminderResponseModel fromEntity(Reminder reminder) {
@@ -104,6 +122,22 @@ public class SetReminderResponseModel {
     public boolean isImportant() {
         return important;
     }
+
+    /**
+     * This reminder as the summary of {@code missedCount} occurrences that came due while the
+     * application was not running.
+     */
+    public SetReminderResponseModel asMissed(int missedCount) {
+        return new SetReminderResponseModel(title, start, end, reminderTime, minutesBefore, alertType, urgencyLevel,
+                sendMessage, sendEmail, playSound, important, missedCount);
+    }
+
+    /**
+     * How many missed occurrences this notice summarises; 0 for a reminder that fired on time.
+     */
+    public int getMissedCount() {
+        return missedCount;
+    }
 }
 
 
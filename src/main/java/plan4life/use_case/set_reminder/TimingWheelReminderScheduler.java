@@ -0,0 +1,266 @@
+package plan4life.use_case.set_reminder;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical hashed timing wheel. Time advances in fixed ticks; each level has 64 slots, and a
+ * slot at level {@code n} spans 64<sup>n</sup> ticks. A reminder is hashed into the level that
+ * matches how far away it is, and is moved down a level each time its slot comes round, until
+ * level 0 fires it on its tick. Scheduling and cancelling are O(1) (a doubly linked list per
+ * slot), and each tick touches one slot per level that wraps, however many reminders are pending.
+ *
+ * <p>{@link #start()} drives the wheel from the system clock on one daemon thread; callbacks run
+ * on that thread. A wheel built with the public constructor is not driven: tests move their own
+ * clock and call {@link #runDue()}.
+ */
+public final class TimingWheelReminderScheduler implements ReminderScheduler, Closeable {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    private static TimingWheelReminderScheduler shared;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final long originMillis;
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    // Entries whose deadline tick has already been reached
+    private final Entry[] due = new Entry[1];
+    private ScheduledExecutorService driver;
+
+    // Guarded by this
+    private long currentTick;
+    private int pending;
+
+    public TimingWheelReminderScheduler(Clock clock, Duration tick) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be at least 1 ms: " + tick);
+        }
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.originMillis = clock.millis();
+    }
+
+    /**
+     * A wheel on the system clock with its own daemon thread.
+     */
+    public static TimingWheelReminderScheduler start() {
+        TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(Clock.systemDefaultZone(), DEFAULT_TICK);
+        wheel.driver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plan4life-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        wheel.driver.scheduleAtFixedRate(wheel::runDue, wheel.tickMillis, wheel.tickMillis, TimeUnit.MILLISECONDS);
+        return wheel;
+    }
+
+    /**
+     * The process-wide started wheel, created on first use.
+     */
+    public static synchronized TimingWheelReminderScheduler shared() {
+        if (shared == null) {
+            shared = start();
+        }
+        return shared;
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+
+    @Override
+    public synchronized Handle schedule(long delayMillis, Runnable task) {
+        return add(clock.millis(), delayMillis, task);
+    }
+
+    /**
+     * The whole batch is added under one lock acquisition against one reading of the clock.
+     */
+    @Override
+    public synchronized List<Handle> scheduleAll(long[] delayMillis, List<Runnable> tasks) {
+        if (delayMillis.length != tasks.size()) {
+            throw new IllegalArgumentException("one delay per task expected");
+        }
+        long nowMillis = clock.millis();
+        List<Handle> handles = new ArrayList<>(tasks.size());
+        for (int i = 0; i < delayMillis.length; i++) {
+            handles.add(add(nowMillis, delayMillis[i], tasks.get(i)));
+        }
+        return handles;
+    }
+
+    @Override
+    public synchronized void cancelAll(Collection<Handle> handles) {
+        for (Handle handle : handles) {
+            handle.cancel();
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    /**
+     * Advance the wheel to the clock's current time and run every callback that is now due, tick
+     * by tick, on the calling thread.
+     */
+    public void runDue() {
+        List<Runnable> fire = new ArrayList<>();
+        synchronized (this) {
+            long target = Math.floorDiv(clock.millis() - originMillis, tickMillis);
+            collect(due, 0, fire);
+            if (pending == 0) {
+                currentTick = Math.max(currentTick, target);
+            }
+            while (currentTick < target && pending > 0) {
+                currentTick++;
+                cascade();
+                collect(slots[0], (int) (currentTick & SLOT_MASK), fire);
+                collect(due, 0, fire);
+            }
+            if (pending == 0) {
+                currentTick = Math.max(currentTick, target);
+            }
+        }
+        for (Runnable task : fire) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                System.out.printf("[TimingWheelReminderScheduler] Reminder task failed: %s%n", ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (driver != null) {
+            driver.shutdownNow();
+        }
+    }
+
+    // ---- Wheel internals, all under this ----
+
+    private Entry add(long nowMillis, long delayMillis, Runnable task) {
+        long dueMillis = nowMillis + Math.max(0, delayMillis);
+        // Round up so a reminder never fires before its time
+        long deadline = Math.floorDiv(dueMillis - originMillis + tickMillis - 1, tickMillis);
+        Entry entry = new Entry(deadline, task);
+        insert(entry);
+        pending++;
+        return entry;
+    }
+
+    private void insert(Entry entry) {
+        long delta = entry.deadline - currentTick;
+        if (delta <= 0) {
+            link(due, 0, entry);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's span the entry is parked there and re-hashed each time round.
+        link(slots[level], (int) ((entry.deadline >>> (SLOT_BITS * level)) & SLOT_MASK), entry);
+    }
+
+    // When a level's slot index wraps to 0, the next slot of the level above moves down.
+    // Higher levels go first so an entry can fall through several levels in one tick.
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Entry entry = slots[level][index];
+            slots[level][index] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.bucket = null;
+                insert(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void collect(Entry[] bucket, int index, List<Runnable> fire) {
+        Entry entry = bucket[index];
+        bucket[index] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+            entry.fired = true;
+            pending--;
+            fire.add(entry.task);
+            entry = next;
+        }
+    }
+
+    private void link(Entry[] bucket, int index, Entry entry) {
+        entry.bucket = bucket;
+        entry.index = index;
+        entry.next = bucket[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        bucket[index] = entry;
+    }
+
+    private synchronized boolean cancel(Entry entry) {
+        if (entry.fired || entry.bucket == null) {
+            return false;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            entry.bucket[entry.index] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = null;
+        pending--;
+        return true;
+    }
+
+    private final class Entry implements Handle {
+        private final long deadline;
+        private final Runnable task;
+        private Entry[] bucket;
+        private int index;
+        private Entry prev;
+        private Entry next;
+        private boolean fired;
+
+        Entry(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public boolean cancel() {
+            return TimingWheelReminderScheduler.this.cancel(this);
+        }
+    }
+}
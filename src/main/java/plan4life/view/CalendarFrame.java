@@ -8,13 +8,17 @@ import java.awt.event.ActionListener;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 // Import Controllers and Entities
 import plan4life.controller.CalendarController;
 import plan4life.entities.BlockedTime;
 import plan4life.entities.Schedule;
+import plan4life.entities.ScheduleDelta;
+import plan4life.entities.ScheduleSnapshot;
 import plan4life.entities.Event;
+import plan4life.entities.SlotKey;
 import plan4life.use_case.block_off_time.BlockOffTimeController;
 import plan4life.use_case.set_preferences.SetPreferencesInputBoundary;
 
@@ -47,6 +51,9 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
     private JButton settingsBtn;
 
     private Schedule currentSchedule;
+    // Last version drawn on the calendar grid; null forces a full redraw
+    private ScheduleSnapshot renderedSnapshot;
+    private final Random colorRandom = new Random();
 
     // Track current view state
     private String currentView = "week";
@@ -138,6 +145,7 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
 
         dayBtn.addActionListener(e -> {
             calendarPanel.setDayView();
+            renderedSnapshot = null;
             currentView = "day";
             updateCalendarTitle();
             displaySchedule(currentSchedule);
@@ -145,6 +153,7 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
 
         weekBtn.addActionListener(e -> {
             calendarPanel.setWeekView();
+            renderedSnapshot = null;
             currentView = "week";
             updateCalendarTitle();
             displaySchedule(currentSchedule);
@@ -303,31 +312,23 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
         if (activityPanel != null && schedule != null) {
             activityPanel.setSchedule(schedule);
         }
-        calendarPanel.clear();
 
         if (schedule == null) {
+            renderedSnapshot = null;
+            calendarPanel.clear();
             activityPanel.setActivities(null);
             calendarPanel.repaint();
             return;
         }
 
-        Random random = new Random();
-
-        schedule.getActivities().forEach((time, activityName) -> {
-            boolean isLocked = currentSchedule.isLockedKey(time);
-            Color color = new Color(random.nextInt(156) + 100,
-                    random.nextInt(156) + 100,
-                    random.nextInt(156) + 100);
-            calendarPanel.colorCell(time, color, activityName, isLocked);
-        });
-
-        activityPanel.setActivities(schedule.getActivities().values());
-
-        if (schedule.getBlockedTimes() != null) {
-            for (BlockedTime block : schedule.getBlockedTimes()) {
-                calendarPanel.colorBlockedRange(block);
-            }
+        // One immutable version for the whole pass, even if an interactor edits meanwhile
+        ScheduleSnapshot snapshot = schedule.snapshot();
+        if (renderedSnapshot != null && renderedSnapshot.getScheduleId() == snapshot.getScheduleId()) {
+            applyScheduleDeltas(snapshot, schedule.changesSince(renderedSnapshot));
+        } else {
+            renderFullSnapshot(snapshot);
         }
+        renderedSnapshot = snapshot;
 
         if (newBlocks != null) {
             for (BlockedTime block : newBlocks) {
@@ -338,7 +339,74 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
         calendarPanel.repaint();
     }
 
-    public void highlightReminderCell(String timeKey, Event.UrgencyLevel level) {
+    private void renderFullSnapshot(ScheduleSnapshot snapshot) {
+        calendarPanel.clear();
+
+        snapshot.getActivities().forEach((time, activityName) ->
+                calendarPanel.colorCell(time, randomActivityColor(), activityName, snapshot.isLockedKey(time)));
+
+        activityPanel.setActivities(snapshot.getActivities().values());
+
+        for (BlockedTime block : snapshot.getBlockedTimes()) {
+            calendarPanel.colorBlockedRange(block);
+        }
+    }
+
+    // Touch only the cells and ranges that changed since the last rendered version
+    private void applyScheduleDeltas(ScheduleSnapshot snapshot, List<ScheduleDelta> deltas) {
+        boolean activitiesChanged = false;
+        for (ScheduleDelta delta : deltas) {
+            switch (delta.getKind()) {
+                case ACTIVITY_ADDED:
+                case ACTIVITY_CHANGED:
+                    calendarPanel.paintActivity(delta.getSlotKey(), randomActivityColor(),
+                            delta.getActivityName(), delta.isLocked());
+                    activitiesChanged = true;
+                    break;
+                case ACTIVITY_REMOVED:
+                    repaintHourAfterRemoval(snapshot, delta.getSlotKey());
+                    activitiesChanged = true;
+                    break;
+                case LOCK_TOGGLED:
+                    calendarPanel.setCellLocked(delta.getSlotKey(), delta.isLocked());
+                    break;
+                case BLOCK_ADDED:
+                    calendarPanel.colorBlockedRange(delta.getBlockedTime());
+                    break;
+                case BLOCK_REMOVED:
+                    calendarPanel.removeBlockedRange(delta.getBlockedTime());
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (activitiesChanged) {
+            activityPanel.setActivities(snapshot.getActivities().values());
+        }
+    }
+
+    // Cells are an hour tall: another activity may still start within the same hour.
+    private void repaintHourAfterRemoval(ScheduleSnapshot snapshot, SlotKey removed) {
+        SlotKey hourStart = SlotKey.ofHour(removed.getColumnIndex(), removed.getHour());
+        SlotKey hourEnd = SlotKey.of(removed.getColumnIndex(), hourStart.getMinuteOfDay() + 59);
+        Map.Entry<SlotKey, String> remaining = snapshot.getActivitiesInColumn(removed.getColumnIndex())
+                .subMap(hourStart, true, hourEnd, true)
+                .lastEntry();
+        if (remaining == null) {
+            calendarPanel.clearCell(removed);
+        } else {
+            calendarPanel.paintActivity(remaining.getKey(), randomActivityColor(), remaining.getValue(),
+                    snapshot.isLockedKey(remaining.getKey()));
+        }
+    }
+
+    private Color randomActivityColor() {
+        return new Color(colorRandom.nextInt(156) + 100,
+                colorRandom.nextInt(156) + 100,
+                colorRandom.nextInt(156) + 100);
+    }
+
+    public void highlightReminderCell(SlotKey timeKey, Event.UrgencyLevel level) {
         if (timeKey == null) return;
 
         Color urgencyColor;
@@ -362,7 +430,7 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
         calendarPanel.colorCell(timeKey, urgencyColor, "!", isLocked);
     }
 
-    public void resetReminderCell(String timeKey) {
+    public void resetReminderCell(SlotKey timeKey) {
         if (timeKey == null) return;
 
         boolean isLocked = currentSchedule != null
@@ -417,7 +485,7 @@ public class CalendarFrame extends JFrame implements CalendarViewInterface, Time
             calendarController.registerEvent(event);
 
             // 3) compute timeKey to match displaySchedule / colorCell
-            String timeKey = columnIndex + ":" + start.getHour();
+            SlotKey timeKey = SlotKey.ofHour(columnIndex, start.getHour());
 
             // 4) open ReminderDialog WITH timeKey
             ReminderDialog dialog =
@@ -2,6 +2,7 @@ package plan4life.view;
 
 import plan4life.entities.BlockedTime;
 import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
 
 import javax.swing.*;
 import java.awt.*;
@@ -9,8 +10,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
-import java.time.format.TextStyle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -19,6 +20,8 @@ public class CalendarPanel extends JPanel {
     private static final int ROWS = 24 - START_HOUR; // show from 6:00 to 23:00 inclusive
 
     private JPanel[][] cells;
+    // What colorCell last drew in each cell, so full-grid resets can restore it
+    private CellPaint[][] paints;
     private JPanel gridPanel;
     private JPanel dayHeaderPanel;
     private JPanel timeLabelPanel;
@@ -69,6 +72,7 @@ public class CalendarPanel extends JPanel {
 
         gridPanel = new JPanel(new GridLayout(ROWS, columns, 2, 2));
         cells = new JPanel[ROWS][columns];
+        paints = new CellPaint[ROWS][columns];
 
         boolean isDark = "Dark Mode".equals(currentThemeName);
         Color bgColor = isDark ? Color.DARK_GRAY : Color.WHITE;
@@ -191,8 +195,7 @@ public class CalendarPanel extends JPanel {
         int c = getColumnFromX(p.x);
         int r = getRowFromY(p.y);
         if (r >= 0 && c >= 0) {
-            String key = toTimeKey(c, toHour(r));
-            lockListener.onLockToggle(key);
+            lockListener.onLockToggle(toSlotKey(c, toHour(r)));
         }
     }
 
@@ -215,7 +218,7 @@ public class CalendarPanel extends JPanel {
     }
 
     public interface LockListener {
-        void onLockToggle(String timeKey);
+        void onLockToggle(SlotKey timeKey);
     }
 
     public void setLockListener(LockListener listener) {
@@ -292,9 +295,105 @@ public class CalendarPanel extends JPanel {
     public void clear() {
         blockedTimes.clear();
         manualBlocks.clear();
+        if (paints != null) {
+            for (CellPaint[] row : paints) {
+                Arrays.fill(row, null);
+            }
+        }
         repaintAllBlocks();
     }
 
+    /**
+     * Draw an activity in one cell, keeping any blocked range on top as a full render would.
+     */
+    public void paintActivity(SlotKey timeKey, Color color, String text, boolean isLocked) {
+        colorCell(timeKey, color, text, isLocked);
+        repaintCell(timeKey);
+    }
+
+    /**
+     * Forget what was drawn in one cell and restore its empty (or blocked) look.
+     */
+    public void clearCell(SlotKey timeKey) {
+        int[] position = toCell(timeKey);
+        if (position == null) {
+            return;
+        }
+        paints[position[0]][position[1]] = null;
+        repaintCell(position[0], position[1]);
+    }
+
+    /**
+     * Flip the lock marker of a painted cell without changing its colour or text.
+     */
+    public void setCellLocked(SlotKey timeKey, boolean isLocked) {
+        int[] position = toCell(timeKey);
+        if (position == null) {
+            return;
+        }
+        CellPaint paint = paints[position[0]][position[1]];
+        if (paint != null && paint.locked != isLocked) {
+            paints[position[0]][position[1]] = new CellPaint(paint.color, paint.text, isLocked, paint.timeKey);
+            repaintCell(position[0], position[1]);
+        }
+    }
+
+    public void removeBlockedRange(BlockedTime bt) {
+        if (bt == null || !blockedTimes.remove(bt)) {
+            return;
+        }
+        int col = bt.getColumnIndex();
+        if (col < 0 || col >= currentColumns || bt.getStart().getHour() >= START_HOUR + ROWS) {
+            return;
+        }
+        int fromRow = toRow(bt.getStart().getHour());
+        int toRow = toRow(Math.min(bt.getEnd().getHour(), START_HOUR + ROWS - 1));
+        for (int r = fromRow; r <= toRow; r++) {
+            repaintCell(r, col);
+        }
+    }
+
+    private void repaintCell(SlotKey timeKey) {
+        int[] position = toCell(timeKey);
+        if (position != null) {
+            repaintCell(position[0], position[1]);
+        }
+    }
+
+    private void repaintCell(int r, int c) {
+        resetCellVisual(r, c);
+        if (paints[r][c] != null) {
+            drawPaint(r, c, paints[r][c]);
+        }
+        for (BlockedTime bt : blockedTimes) {
+            if (bt.getColumnIndex() == c && coversRow(bt.getStart().getHour(), bt.getEnd().getHour(), r)) {
+                renderRange(bt.getStart().getHour(), bt.getEnd().getHour(), c, bt.getDescription());
+            }
+        }
+        for (ManualBlock mb : manualBlocks) {
+            if (mb.col == c && coversRow(mb.start.getHour(), mb.end.getHour(), r)) {
+                renderRange(mb.start.getHour(), mb.end.getHour(), mb.col, mb.description);
+            }
+        }
+    }
+
+    private boolean coversRow(int startH, int endH, int r) {
+        return startH < START_HOUR + ROWS
+                && toRow(startH) <= r
+                && r <= toRow(Math.min(endH, START_HOUR + ROWS - 1));
+    }
+
+    private int[] toCell(SlotKey timeKey) {
+        if (timeKey == null || cells == null) {
+            return null;
+        }
+        int columnIndex = currentColumns == 1 ? 0 : timeKey.getColumnIndex();
+        if (columnIndex < 0 || columnIndex >= currentColumns) {
+            return null;
+        }
+        return new int[]{toRow(timeKey.getHour()), columnIndex};
+    }
+
     private void resetCellVisual(int r, int c) {
         JPanel cell = cells[r][c];
         cell.removeAll();
@@ -305,54 +404,24 @@ public class CalendarPanel extends JPanel {
         cell.repaint();
     }
 
-    public void colorCell(String timeKey, Color color, String text, boolean isLocked) {
+    public void colorCell(SlotKey timeKey, Color color, String text, boolean isLocked) {
         try {
-            ParsedTimeKey parsed = parseTimeKey(timeKey);
-            if (parsed == null) {
-                System.out.printf("[CalendarPanel] Unable to parse time key: %s%n", timeKey);
+            if (timeKey == null) {
                 return;
             }
 
-            String normalizedTimeKey = toTimeKey(parsed.columnIndex, parsed.hour);
+            SlotKey normalizedTimeKey = toSlotKey(timeKey.getColumnIndex(), timeKey.getHour());
 
-            int rowIndex = toRow(parsed.hour);
-            int columnIndex = currentColumns == 1 ? 0 : parsed.columnIndex;
+            int rowIndex = toRow(timeKey.getHour());
+            int columnIndex = currentColumns == 1 ? 0 : timeKey.getColumnIndex();
             if (columnIndex < 0 || columnIndex >= currentColumns) {
                 System.out.printf("[CalendarPanel] Column index out of bounds for %s -> %d%n", timeKey, columnIndex);
                 return;
             }
 
-            JPanel cell = cells[rowIndex][columnIndex];
-            cell.setBackground(color);
-            cell.removeAll();
-            cell.setLayout(new BorderLayout());
-
-            JLabel label = new JLabel(text != null ? text : "", SwingConstants.CENTER);
-            cell.add(label, BorderLayout.CENTER);
-
-            String lockText = isLocked ? "\uD83D\uDD12" : "\uD83D\uDD13";
-            JLabel lockLabel = new JLabel(lockText);
-            lockLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-            lockLabel.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
-            lockLabel.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    if (lockListener != null) {
-                        lockListener.onLockToggle(normalizedTimeKey);
-                    }
-                }
-            });
-            cell.add(lockLabel, BorderLayout.EAST);
-
-            if (isLocked) {
-                cell.setBorder(BorderFactory.createLineBorder(Color.RED, 2));
-            } else {
-                boolean isDark = "Dark Mode".equals(currentThemeName);
-                cell.setBorder(BorderFactory.createLineBorder(isDark ? Color.GRAY : Color.LIGHT_GRAY));
-            }
-
-            cell.revalidate();
-            cell.repaint();
+            CellPaint paint = new CellPaint(color, text, isLocked, normalizedTimeKey);
+            paints[rowIndex][columnIndex] = paint;
+            drawPaint(rowIndex, columnIndex, paint);
 
             System.out.printf("[CalendarPanel] colorCell %s -> row %d, col %d, locked=%s%n", timeKey, rowIndex, columnIndex, isLocked);
         } catch (Exception ex) {
@@ -360,45 +429,38 @@ public class CalendarPanel extends JPanel {
         }
     }
 
-    private ParsedTimeKey parseTimeKey(String time) {
-        if (time == null || !time.contains(" ")) {
-            return null;
-        }
-        String[] parts = time.split(" ");
-        if (parts.length < 2) {
-            return null;
-        }
-        String dayToken = parts[0].trim().toUpperCase(Locale.ROOT);
-        String timeToken = parts[1].trim();
-
-        DayOfWeek day = switch (dayToken) {
-            case "MON", "MONDAY" -> DayOfWeek.MONDAY;
-            case "TUE", "TUESDAY" -> DayOfWeek.TUESDAY;
-            case "WED", "WEDNESDAY" -> DayOfWeek.WEDNESDAY;
-            case "THU", "THURSDAY" -> DayOfWeek.THURSDAY;
-            case "FRI", "FRIDAY" -> DayOfWeek.FRIDAY;
-            case "SAT", "SATURDAY" -> DayOfWeek.SATURDAY;
-            case "SUN", "SUNDAY" -> DayOfWeek.SUNDAY;
-            default -> null;
-        };
-        if (day == null) {
-            return null;
-        }
-
-        String[] timeParts = timeToken.split(":");
-        int hour = Integer.parseInt(timeParts[0]);
-        int columnIndex = day.getValue() - 1;
-        return new ParsedTimeKey(hour, columnIndex);
-    }
+    private void drawPaint(int rowIndex, int columnIndex, CellPaint paint) {
+        JPanel cell = cells[rowIndex][columnIndex];
+        cell.setBackground(paint.color);
+        cell.removeAll();
+        cell.setLayout(new BorderLayout());
 
-    private static class ParsedTimeKey {
-        final int hour;
-        final int columnIndex;
+        JLabel label = new JLabel(paint.text != null ? paint.text : "", SwingConstants.CENTER);
+        cell.add(label, BorderLayout.CENTER);
 
-        ParsedTimeKey(int hour, int columnIndex) {
-            this.hour = hour;
-            this.columnIndex = columnIndex;
+        String lockText = paint.locked ? "\uD83D\uDD12" : "\uD83D\uDD13";
+        JLabel lockLabel = new JLabel(lockText);
+        lockLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        lockLabel.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+        lockLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (lockListener != null) {
+                    lockListener.onLockToggle(paint.timeKey);
+                }
+            }
+        });
+        cell.add(lockLabel, BorderLayout.EAST);
+
+        if (paint.locked) {
+            cell.setBorder(BorderFactory.createLineBorder(Color.RED, 2));
+        } else {
+            boolean isDark = "Dark Mode".equals(currentThemeName);
+            cell.setBorder(BorderFactory.createLineBorder(isDark ? Color.GRAY : Color.LIGHT_GRAY));
         }
+
+        cell.revalidate();
+        cell.repaint();
     }
 
     private String getDayLabel(int columnIndex) {
@@ -419,11 +481,9 @@ public class CalendarPanel extends JPanel {
         return Math.min(23, START_HOUR + safeRow);
     }
 
-    private String toTimeKey(int columnIndex, int hour) {
-        DayOfWeek day = DayOfWeek.of((columnIndex % 7) + 1);
-        String dayLabel = day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+    private SlotKey toSlotKey(int columnIndex, int hour) {
         int safeHour = Math.max(0, Math.min(hour, 23));
-        return String.format("%s %02d:00", dayLabel, safeHour);
+        return SlotKey.ofHour(columnIndex % 7, safeHour);
     }
 
     public void colorBlockedRange(BlockedTime bt) {
@@ -483,6 +543,9 @@ public class CalendarPanel extends JPanel {
         for (int r = 0; r < ROWS; r++) {
             for (int c = 0; c < currentColumns; c++) {
                 resetCellVisual(r, c);
+                if (paints[r][c] != null) {
+                    drawPaint(r, c, paints[r][c]);
+                }
             }
         }
         for (BlockedTime bt : blockedTimes) {
@@ -493,6 +556,20 @@ public class CalendarPanel extends JPanel {
         }
     }
 
+    private static class CellPaint {
+        final Color color;
+        final String text;
+        final boolean locked;
+        final SlotKey timeKey;
+
+        CellPaint(Color color, String text, boolean locked, SlotKey timeKey) {
+            this.color = color;
+            this.text = text;
+            this.locked = locked;
+            this.timeKey = timeKey;
+        }
+    }
+
     private static class ManualBlock {
         LocalDateTime start;
         LocalDateTime end;
@@ -3,6 +3,7 @@ package plan4life.view;
 import plan4life.entities.Event;
 import plan4life.controller.CalendarController;
 import plan4life.entities.Event.UrgencyLevel;
+import plan4life.entities.SlotKey;
 
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicComboBoxUI;
@@ -22,7 +23,7 @@ public class ReminderDialog extends JDialog {
 
     private final CalendarController controller;
     private final Event event;
-    private final String timeKey;
+    private final SlotKey timeKey;
 
     private JComboBox<String> alertTypeBox;
     private JSpinner minutesSpinner;
@@ -37,7 +38,7 @@ public class ReminderDialog extends JDialog {
 
     public ReminderDialog(Frame owner,
                           CalendarController controller,
-                          Event event, String timeKey) {
+                          Event event, SlotKey timeKey) {
         super(owner, "Set Important Reminder", true);
         this.controller = controller;
         this.event = event;
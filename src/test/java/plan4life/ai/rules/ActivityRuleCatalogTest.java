@@ -0,0 +1,79 @@
+package plan4life.ai.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityRuleCatalogTest {
+
+    @Test
+    void testBundledRulesMatchKeywordsByPriority() {
+        ActivityRuleCatalog catalog = ActivityRuleCatalog.defaults();
+
+        ActivityTimeRule prep = catalog.findRule("Dinner Prep").orElseThrow();
+        assertTrue(prep.mustPrecedeDinner());
+        assertEquals(16, prep.getWindowStartHour());
+
+        ActivityTimeRule dinner = catalog.findRule("Work dinner with team").orElseThrow();
+        assertEquals(18, dinner.getWindowStartHour());
+        assertFalse(dinner.isWeekdaysOnly());
+
+        ActivityTimeRule breakfast = catalog.findRule("Breakfast").orElseThrow();
+        assertEquals(9, breakfast.getWindowEndHour());
+        assertEquals(30, breakfast.getWindowEndMinute());
+
+        assertTrue(catalog.findRule("Deep Work").orElseThrow().isWeekdaysOnly());
+        assertTrue(catalog.findRule("Read a novel").isEmpty());
+    }
+
+    @Test
+    void testRolesAreIndependentOfRulePriority() {
+        assertTrue(ActivityTimeRules.isDinnerActivity("Family Dinner"));
+        assertFalse(ActivityTimeRules.isDinnerActivity("Dinner prep"));
+        assertTrue(ActivityTimeRules.isMorningRoutine("Morning ritual"));
+        assertFalse(ActivityTimeRules.isMorningRoutine(null));
+    }
+
+    @Test
+    void testLookupsReturnSharedInstances() {
+        ActivityRuleCatalog catalog = ActivityRuleCatalog.defaults();
+        assertSame(catalog.findRule("Gym").orElseThrow(), catalog.findRule("gym session").orElseThrow());
+    }
+
+    @Test
+    void testUserRulesTakePrecedenceOverBundledRules() {
+        List<ActivityRuleDefinition> additions = ActivityRuleCatalog.readDefinitions(new StringReader(
+                "[{\"id\": \"piano\", \"anyOf\": [\"piano\"], \"windowStart\": \"19:00\", \"windowEnd\": \"21:00\"},"
+                        + "{\"id\": \"team gym\", \"allOf\": [\"team\", \"gym\"], \"windowStart\": \"17:00\","
+                        + " \"windowEnd\": \"24:00\", \"preferredStart\": \"18:30\"}]"));
+        ActivityRuleCatalog catalog = ActivityRuleCatalog.defaults().withRules(additions);
+
+        assertEquals(ActivityRuleCatalog.defaults().size() + 2, catalog.size());
+        assertEquals(19, catalog.findRule("Piano practice").orElseThrow().getWindowStartHour());
+        ActivityTimeRule teamGym = catalog.findRule("Team gym").orElseThrow();
+        assertEquals(18, teamGym.getPreferredStartHour());
+        assertEquals(30, teamGym.getPreferredStartMinute());
+        assertEquals(24, teamGym.getWindowEndHour());
+        assertEquals(5, catalog.findRule("Gym").orElseThrow().getWindowStartHour());
+    }
+
+    @Test
+    void testMalformedDefinitionsAreRejected() {
+        List<ActivityRuleDefinition> noKeywords = ActivityRuleCatalog.readDefinitions(new StringReader(
+                "[{\"id\": \"empty\", \"windowStart\": \"09:00\", \"windowEnd\": \"10:00\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> ActivityRuleCatalog.of(noKeywords));
+
+        List<ActivityRuleDefinition> badTime = ActivityRuleCatalog.readDefinitions(new StringReader(
+                "[{\"id\": \"late\", \"anyOf\": [\"late\"], \"windowStart\": \"25:00\", \"windowEnd\": \"26:00\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> ActivityRuleCatalog.of(badTime));
+    }
+
+    @Test
+    void testMatcherFindsOverlappingKeywords() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("he", "she", "his", "hers"));
+        assertEquals("{0, 1, 3}", matcher.matches("ushers").toString());
+    }
+}
@@ -0,0 +1,73 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import plan4life.entities.Reminder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryReminderDAOTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Test
+    void testFindDueBetweenUsesHalfOpenWindowInTimeOrder() {
+        InMemoryReminderDAO dao = new InMemoryReminderDAO();
+        dao.saveReminder(reminder("b", NINE.plusMinutes(30)));
+        dao.saveReminder(reminder("a", NINE));
+        dao.saveReminder(reminder("c", NINE.plusHours(1)));
+        dao.saveReminder(reminder("untimed", null));
+
+        assertEquals(List.of("a", "b"), ids(dao.findDueBetween(NINE, NINE.plusHours(1))));
+        assertEquals("b", dao.nextDue(NINE.plusMinutes(1)).getId());
+        assertNull(dao.nextDue(NINE.plusHours(2)));
+        assertEquals(4, dao.getAllReminders().size());
+    }
+
+    @Test
+    void testResavingOrDeletingMovesTheIndexEntry() {
+        InMemoryReminderDAO dao = new InMemoryReminderDAO();
+        dao.saveReminder(reminder("a", NINE));
+        dao.saveReminder(reminder("a", NINE.plusDays(1)));
+        dao.saveReminder(reminder("b", NINE.plusMinutes(5)));
+        dao.deleteReminder("b");
+
+        assertEquals("a", dao.nextDue(NINE).getId());
+        assertEquals(NINE.plusDays(1), dao.nextDue(NINE).getReminderTime());
+        assertTrue(dao.findDueBetween(NINE, NINE.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    void testPagesResumeAfterTheLastReminderReturned() {
+        InMemoryReminderDAO dao = new InMemoryReminderDAO();
+        for (int i = 0; i < 10; i++) {
+            // Two reminders share each time, so paging must also order by id.
+            dao.saveReminder(reminder("r" + i, NINE.plusMinutes(i / 2)));
+        }
+
+        Iterator<List<Reminder>> pages = dao.pageDueBetween(NINE, NINE.plusHours(1), 4);
+        List<String> seen = new ArrayList<>(ids(pages.next()));
+        dao.deleteReminder("r5");
+        dao.saveReminder(reminder("r0b", NINE));
+        while (pages.hasNext()) {
+            seen.addAll(ids(pages.next()));
+        }
+
+        assertEquals(List.of("r0", "r1", "r2", "r3", "r4", "r6", "r7", "r8", "r9"), seen);
+        assertThrows(IllegalArgumentException.class, () -> dao.pageDueBetween(NINE, NINE, 0));
+    }
+
+    private static Reminder reminder(String id, LocalDateTime reminderTime) {
+        return new Reminder(id, "Event " + id, NINE, NINE.plusHours(1), reminderTime, 10,
+                "Popup", "Normal", false, false, true, false);
+    }
+
+    private static List<String> ids(List<Reminder> reminders) {
+        return reminders.stream().map(Reminder::getId).collect(Collectors.toList());
+    }
+}
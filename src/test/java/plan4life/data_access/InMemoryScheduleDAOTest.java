@@ -0,0 +1,85 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import plan4life.entities.Activity;
+import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryScheduleDAOTest {
+
+    @Test
+    void testCompareAndSaveRejectsAStaleVersion() {
+        InMemoryScheduleDAO dao = new InMemoryScheduleDAO();
+        assertTrue(dao.compareAndSave(new Schedule(1, "week"), 0));
+        assertFalse(dao.compareAndSave(new Schedule(1, "week"), 0));
+
+        VersionedSchedule read = dao.getVersioned(1);
+        assertEquals(1, read.getVersion());
+        dao.saveSchedule(new Schedule(1, "day"));
+
+        assertFalse(dao.compareAndSave(new Schedule(1, "week"), read.getVersion()));
+        assertEquals("day", dao.getSchedule(1).getType());
+        assertEquals(2, dao.getVersioned(1).getVersion());
+    }
+
+    @Test
+    void testUpdateEditsACopyAndCanAbort() {
+        InMemoryScheduleDAO dao = new InMemoryScheduleDAO();
+        Schedule original = new Schedule(1, "week");
+        dao.saveSchedule(original);
+
+        Schedule updated = dao.update(1, schedule -> {
+            schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+            return schedule;
+        });
+
+        assertNotSame(original, updated);
+        assertTrue(original.getActivities().isEmpty());
+        assertEquals("Gym", dao.getSchedule(1).getActivities().get(SlotKey.parse("Mon 09:00")));
+        assertNull(dao.update(1, schedule -> null));
+        assertEquals(2, dao.getVersioned(1).getVersion());
+    }
+
+    @Test
+    void testConcurrentUpdatesLoseNothing() throws InterruptedException {
+        InMemoryScheduleDAO dao = new InMemoryScheduleDAO();
+        dao.saveSchedule(new Schedule(1, "week"));
+        dao.saveSchedule(new Schedule(2, "week"));
+        int threads = 4;
+        int updatesPerThread = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int scheduleId = 1 + t % 2;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < updatesPerThread; i++) {
+                    dao.update(scheduleId, schedule -> {
+                        schedule.addTask(new Activity("Task", 1f));
+                        return schedule;
+                    });
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads / 2 * updatesPerThread, dao.getSchedule(1).getTasks().size());
+        assertEquals(threads / 2 * updatesPerThread, dao.getSchedule(2).getTasks().size());
+        assertEquals(1 + threads / 2 * updatesPerThread, dao.getVersioned(1).getVersion());
+    }
+}
@@ -0,0 +1,86 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import plan4life.entities.Recurrence;
+import plan4life.entities.Reminder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledReminderDAOTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSavesAndDeletesSurviveReopen() throws IOException {
+        try (JournaledReminderDAO dao = new JournaledReminderDAO(directory)) {
+            dao.saveReminder(reminder("a", NINE));
+            dao.saveReminder(reminder("b", NINE.plusMinutes(30)));
+            dao.deleteReminder("a");
+        }
+
+        try (JournaledReminderDAO reopened = new JournaledReminderDAO(directory)) {
+            assertNull(reopened.getReminder("a"));
+            Reminder restored = reopened.getReminder("b");
+            assertEquals("Event b", restored.getTitle());
+            assertEquals(NINE.plusMinutes(30), restored.getReminderTime());
+            assertEquals("Popup", restored.getAlertType());
+            assertTrue(restored.isPlaySound());
+            assertNull(restored.getUrgencyLevel());
+            assertEquals("b", reopened.nextDue(NINE).getId());
+        }
+    }
+
+    @Test
+    void testCompactedStoreRebuildsItsDueIndex() throws IOException {
+        try (JournaledReminderDAO dao = new JournaledReminderDAO(directory, Duration.ofMillis(50), 2_000)) {
+            for (int i = 0; i < 300; i++) {
+                dao.saveReminder(reminder("r" + i, NINE.plusMinutes(i)));
+            }
+            dao.flush();
+        }
+
+        try (JournaledReminderDAO reopened = new JournaledReminderDAO(directory)) {
+            assertEquals(300, reopened.size());
+            assertEquals(60, reopened.findDueBetween(NINE.plusHours(1), NINE.plusHours(2)).size());
+            assertEquals("r299", reopened.nextDue(NINE.plusMinutes(299)).getId());
+        }
+    }
+
+    @Test
+    void testRecurrenceSurvivesReopen() throws IOException {
+        Recurrence weekly = Recurrence.weekly(NINE, DayOfWeek.MONDAY, DayOfWeek.THURSDAY)
+                .every(2).times(10).until(NINE.plusYears(1)).except(NINE.plusDays(3));
+        try (JournaledReminderDAO dao = new JournaledReminderDAO(directory)) {
+            dao.saveReminder(new Reminder("standup", "Standup", NINE, NINE.plusMinutes(15), NINE.minusMinutes(10), 10,
+                    "Popup", null, false, false, true, false, false, weekly));
+        }
+
+        try (JournaledReminderDAO reopened = new JournaledReminderDAO(directory)) {
+            Recurrence restored = reopened.getReminder("standup").getRecurrence();
+            assertEquals(Recurrence.Frequency.WEEKLY, restored.getFrequency());
+            assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), restored.getDays());
+            assertEquals(2, restored.getInterval());
+            assertEquals(10, restored.getCount());
+            assertEquals(NINE.plusYears(1), restored.getUntil());
+            assertEquals(Set.of(NINE.plusDays(3)), restored.getExceptions());
+            assertEquals(NINE, restored.getFirstStart());
+        }
+    }
+
+    private static Reminder reminder(String id, LocalDateTime reminderTime) {
+        return new Reminder(id, "Event " + id, NINE, NINE.plusHours(1), reminderTime, 10,
+                "Popup", null, false, false, true, false);
+    }
+}
@@ -0,0 +1,110 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledScheduleDAOTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSavesSurviveReopen() throws IOException {
+        try (JournaledScheduleDAO dao = new JournaledScheduleDAO(directory)) {
+            Schedule schedule = new Schedule(2, "week");
+            schedule.addActivity(SlotKey.parse("Tue 09:00"), "Gym");
+            dao.saveSchedule(schedule);
+
+            schedule.lockSlotKey(SlotKey.parse("Tue 09:00"));
+            schedule.addBlockedTime(new BlockedTime(LocalDateTime.of(2024, 1, 2, 12, 0),
+                    LocalDateTime.of(2024, 1, 2, 13, 0), "Lunch", 1));
+            dao.saveSchedule(schedule);
+            dao.saveSchedule(new Schedule(1, "day"));
+        }
+
+        try (JournaledScheduleDAO reopened = new JournaledScheduleDAO(directory)) {
+            Schedule restored = reopened.getSchedule(2);
+            assertEquals(2, reopened.size());
+            assertEquals("Gym", restored.getActivities().get(SlotKey.parse("Tue 09:00")));
+            assertTrue(restored.isLockedKey(SlotKey.parse("Tue 09:00")));
+            assertEquals("Lunch", restored.getBlockedTimes().get(0).getDescription());
+            assertEquals("day", reopened.getSchedule(1).getType());
+        }
+    }
+
+    @Test
+    void testTornTailRecordIsDroppedOnRecovery() throws IOException {
+        try (JournaledScheduleDAO dao = new JournaledScheduleDAO(directory)) {
+            dao.saveSchedule(new Schedule(1, "day"));
+            dao.saveSchedule(new Schedule(2, "week"));
+        }
+        Path journal = journalFile();
+        long goodSize = Files.size(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            // Header claiming a 40-byte record, followed by only 3 bytes of it.
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 9, 9, 9}));
+        }
+
+        try (JournaledScheduleDAO reopened = new JournaledScheduleDAO(directory)) {
+            assertEquals(2, reopened.size());
+            assertEquals(goodSize, Files.size(journal));
+            reopened.saveSchedule(new Schedule(3, "week"));
+        }
+        try (JournaledScheduleDAO again = new JournaledScheduleDAO(directory)) {
+            assertEquals(3, again.size());
+        }
+    }
+
+    @Test
+    void testCompactionRollsToANewSnapshotGeneration() throws IOException {
+        try (JournaledScheduleDAO dao = new JournaledScheduleDAO(directory, Duration.ofMillis(50), 2_000)) {
+            for (int id = 0; id < 500; id++) {
+                Schedule schedule = new Schedule(id, "week");
+                schedule.addActivity(SlotKey.of(id % 7, (id * 13) % 1440), "Task " + id);
+                dao.saveSchedule(schedule);
+            }
+            dao.flush();
+        }
+        List<String> files = listFiles();
+        assertEquals(2, files.size(), files.toString());
+        assertTrue(files.stream().anyMatch(name -> name.endsWith(".snapshot")));
+
+        try (JournaledScheduleDAO reopened = new JournaledScheduleDAO(directory)) {
+            assertEquals(500, reopened.size());
+            assertEquals("Task 499", reopened.getSchedule(499).getActivities().values().iterator().next());
+            reopened.compact();
+        }
+        try (JournaledScheduleDAO again = new JournaledScheduleDAO(directory)) {
+            assertEquals(500, again.size());
+        }
+    }
+
+    private Path journalFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
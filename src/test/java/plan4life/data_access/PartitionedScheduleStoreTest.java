@@ -0,0 +1,95 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedScheduleStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testUsersWithTheSameScheduleIdStaySeparate() {
+        PartitionedScheduleStore store = new PartitionedScheduleStore(new MapBackingStore(), 10);
+        ScheduleDataAccessInterface alice = store.forUser("alice");
+        ScheduleDataAccessInterface bob = store.forUser("bob");
+
+        alice.saveSchedule(new Schedule(2, "week"));
+        bob.update(2, schedule -> {
+            assertNull(schedule);
+            Schedule created = new Schedule(2, "week");
+            created.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+            return created;
+        });
+
+        assertTrue(alice.getSchedule(2).getActivities().isEmpty());
+        assertEquals("Gym", bob.getSchedule(2).getActivities().get(SlotKey.parse("Mon 09:00")));
+    }
+
+    @Test
+    void testColdSchedulesAreEvictedAndFaultedBackIn() {
+        MapBackingStore backing = new MapBackingStore();
+        // One stripe makes the LRU order deterministic.
+        PartitionedScheduleStore store = new PartitionedScheduleStore(backing, 2, 1);
+        store.saveSchedule("u1", new Schedule(1, "week"));
+        store.saveSchedule("u2", new Schedule(1, "week"));
+        store.getSchedule("u1", 1);
+        store.saveSchedule("u3", new Schedule(1, "week"));
+
+        assertEquals(2, store.residentCount());
+        assertEquals(1, backing.stores);
+        assertTrue(backing.contents.containsKey("u2/1"));
+
+        assertNotNull(store.getSchedule("u2", 1));
+        assertEquals(1, backing.loads);
+        assertEquals(2, store.residentCount());
+        // Faulting u2 in evicted u1, which had been saved, so it was written out.
+        assertEquals(2, backing.stores);
+
+        // Evicting the saved u3 writes it; evicting u2, faulted in clean, writes nothing.
+        store.getSchedule("u1", 1);
+        store.getSchedule("u3", 1);
+        assertEquals(3, backing.stores);
+        assertNull(store.getSchedule("nobody", 1));
+    }
+
+    @Test
+    void testFileBackingStoreSurvivesAFreshStore() throws IOException {
+        PartitionedScheduleStore store = new PartitionedScheduleStore(new FileScheduleBackingStore(directory), 4);
+        Schedule schedule = new Schedule(2, "week");
+        schedule.addActivity(SlotKey.parse("Wed 14:00"), "Piano");
+        store.saveSchedule("../not/a/path", schedule);
+        store.flush();
+
+        PartitionedScheduleStore reopened = new PartitionedScheduleStore(new FileScheduleBackingStore(directory), 4);
+        assertEquals("Piano", reopened.getSchedule("../not/a/path", 2).getActivities().get(SlotKey.parse("Wed 14:00")));
+        assertNull(reopened.getSchedule("../not/a/path", 1));
+    }
+
+    private static final class MapBackingStore implements ScheduleBackingStore {
+        private final Map<String, Schedule> contents = new HashMap<>();
+        private int loads;
+        private int stores;
+
+        @Override
+        public Schedule load(String userId, int scheduleId) {
+            loads++;
+            return contents.get(userId + "/" + scheduleId);
+        }
+
+        @Override
+        public void store(String userId, Schedule schedule) {
+            stores++;
+            contents.put(userId + "/" + schedule.getScheduleId(), schedule);
+        }
+    }
+}
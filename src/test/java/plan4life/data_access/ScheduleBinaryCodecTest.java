@@ -0,0 +1,125 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import plan4life.entities.Activity;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleBinaryCodecTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testRoundTripKeepsEveryPart() throws IOException {
+        Schedule original = sampleSchedule(7);
+
+        Schedule decoded = ScheduleBinaryCodec.decode(ScheduleBinaryCodec.encode(original));
+
+        assertEquals(7, decoded.getScheduleId());
+        assertEquals("week", decoded.getType());
+        assertEquals(original.getActivities(), decoded.getActivities());
+        assertEquals(original.getLockedSlotKeys(), decoded.getLockedSlotKeys());
+        assertEquals(original.getUnplacedActivities(), decoded.getUnplacedActivities());
+        assertBlocksEqual(original.getLockedBlocks(), decoded.getLockedBlocks());
+        assertBlocksEqual(original.getUnlockedBlocks(), decoded.getUnlockedBlocks());
+
+        assertEquals(2, decoded.getBlockedTimes().size());
+        BlockedTime blocked = decoded.getBlockedTimes().get(1);
+        assertEquals(MONDAY.plusDays(2).withHour(9).withSecond(30).withNano(5), blocked.getStart());
+        assertEquals(MONDAY.plusDays(2).withHour(8), blocked.getEnd());
+        assertEquals("Dentist", blocked.getDescription());
+        assertEquals(2, blocked.getColumnIndex());
+
+        assertEquals(3, decoded.getTasks().size());
+        Activity fixed = decoded.getTasks().get(1);
+        assertEquals("Call mom", fixed.getDescription());
+        assertEquals(0.5f, fixed.getDuration());
+        assertEquals("18:00", fixed.getStartTime());
+        assertEquals(4, fixed.getDayIndex());
+        assertNull(decoded.getTasks().get(0).getDayIndex());
+        assertNull(decoded.getTasks().get(2).getStartTime());
+        assertEquals(6, decoded.getTasks().get(2).getDayIndex());
+    }
+
+    @Test
+    void testStreamsManySchedulesOverChannels() throws IOException {
+        List<Schedule> schedules = new ArrayList<>();
+        for (int id = 0; id < 50; id++) {
+            schedules.add(sampleSchedule(id));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ScheduleBinaryCodec.writeAll(schedules, Channels.newChannel(bytes));
+
+        List<Integer> ids = new ArrayList<>();
+        int count = ScheduleBinaryCodec.readAll(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())),
+                schedule -> ids.add(schedule.getScheduleId()));
+
+        assertEquals(50, count);
+        assertEquals(49, ids.get(49));
+        // Names and times are shared through the string table and minute offsets.
+        assertTrue(bytes.size() / 50 < 200, "bytes per schedule: " + bytes.size() / 50);
+    }
+
+    @Test
+    void testRejectsUnknownVersionAndTruncatedInput() {
+        byte[] encoded = ScheduleBinaryCodec.encode(sampleSchedule(1));
+
+        byte[] future = encoded.clone();
+        future[4] = (byte) (ScheduleBinaryCodec.FORMAT_VERSION + 1);
+        IOException version = assertThrows(IOException.class, () -> ScheduleBinaryCodec.decode(future));
+        assertTrue(version.getMessage().contains("version"));
+
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        assertThrows(EOFException.class, () -> ScheduleBinaryCodec.decode(truncated));
+        assertThrows(IOException.class, () -> ScheduleBinaryCodec.decode("JSON".getBytes()));
+    }
+
+    private static Schedule sampleSchedule(int id) {
+        Schedule schedule = new Schedule(id, "week");
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+        schedule.addActivity(SlotKey.parse("Mon 10:30"), "Study");
+        schedule.addActivity(SlotKey.parse("Sun 20:00"), "Gym");
+        schedule.replaceLockedSlotKeys(Set.of(SlotKey.parse("Mon 09:00"), SlotKey.parse("Sun 20:00")));
+        schedule.addLockedBlock(new ScheduledBlock(MONDAY.withHour(9), MONDAY.withHour(10), "Gym", true, 0));
+        schedule.addUnlockedBlock(new ScheduledBlock(MONDAY.withHour(10).withMinute(30),
+                MONDAY.withHour(12), "Study", false, 0));
+        schedule.addUnlockedBlock(new ScheduledBlock(MONDAY.plusDays(6).withHour(20),
+                MONDAY.plusDays(6).withHour(21), "Gym", false, 6));
+        schedule.addBlockedTime(new BlockedTime(MONDAY.withHour(12), MONDAY.withHour(13), "", 0));
+        // Sub-minute start and an end before the start must survive unchanged.
+        schedule.addBlockedTime(new BlockedTime(MONDAY.plusDays(2).withHour(9).withSecond(30).withNano(5),
+                MONDAY.plusDays(2).withHour(8), "Dentist", 2));
+        schedule.addUnplacedActivity("Laundry");
+        schedule.addTask(new Activity("Read", 1.5f));
+        schedule.addTask(new Activity("Call mom", 0.5f, 4, "18:00"));
+        schedule.addTask(Activity.withDayOnly("Hike", 3f, 6));
+        return schedule;
+    }
+
+    private static void assertBlocksEqual(List<ScheduledBlock> expected, List<ScheduledBlock> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStart(), actual.get(i).getStart());
+            assertEquals(expected.get(i).getEnd(), actual.get(i).getEnd());
+            assertEquals(expected.get(i).getActivityName(), actual.get(i).getActivityName());
+            assertEquals(expected.get(i).isLocked(), actual.get(i).isLocked());
+            assertEquals(expected.get(i).getColumnIndex(), actual.get(i).getColumnIndex());
+        }
+    }
+}
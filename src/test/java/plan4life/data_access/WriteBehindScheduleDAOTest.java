@@ -0,0 +1,92 @@
+package plan4life.data_access;
+
+import org.junit.jupiter.api.Test;
+import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindScheduleDAOTest {
+
+    // Long enough that only explicit flushes and backpressure reach the backing store.
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Test
+    void testRepeatedSavesCoalesceIntoOneBackingWrite() {
+        CountingDAO backing = new CountingDAO();
+        WriteBehindScheduleDAO dao = new WriteBehindScheduleDAO(backing, NEVER, 100);
+        Schedule schedule = new Schedule(1, "week");
+        for (int i = 0; i < 5; i++) {
+            schedule.addActivity(SlotKey.ofHour(0, 9 + i), "Study");
+            dao.saveSchedule(schedule);
+        }
+
+        assertSame(schedule, dao.getSchedule(1));
+        assertEquals(0, backing.writes);
+        assertEquals(1, dao.pendingCount());
+
+        dao.flush();
+        assertEquals(1, backing.writes);
+        assertEquals(5, backing.stored.get(1).getActivities().size());
+        assertEquals(0, dao.pendingCount());
+    }
+
+    @Test
+    void testReadsLoadOnceAndUpdatesAreWrittenBehind() {
+        CountingDAO backing = new CountingDAO();
+        backing.stored.put(2, new Schedule(2, "week"));
+        WriteBehindScheduleDAO dao = new WriteBehindScheduleDAO(backing, NEVER, 100);
+
+        dao.getSchedule(2);
+        dao.getSchedule(2);
+        Schedule updated = dao.update(2, schedule -> {
+            schedule.addActivity(SlotKey.parse("Fri 18:00"), "Dinner");
+            return schedule;
+        });
+
+        assertEquals(1, backing.reads);
+        assertSame(updated, dao.getSchedule(2));
+        assertTrue(backing.stored.get(2).getActivities().isEmpty());
+        dao.flush();
+        assertEquals("Dinner", backing.stored.get(2).getActivities().get(SlotKey.parse("Fri 18:00")));
+    }
+
+    @Test
+    void testTooManyPendingSchedulesFlushOnTheSavingThread() throws IOException {
+        CountingDAO backing = new CountingDAO();
+        WriteBehindScheduleDAO dao = new WriteBehindScheduleDAO(backing, NEVER, 2);
+        dao.saveSchedule(new Schedule(1, "day"));
+        dao.saveSchedule(new Schedule(2, "week"));
+        assertEquals(0, backing.writes);
+
+        dao.saveSchedule(new Schedule(3, "week"));
+        assertEquals(3, backing.writes);
+
+        dao.saveSchedule(new Schedule(4, "week"));
+        dao.close();
+        assertEquals(4, backing.writes);
+    }
+
+    private static final class CountingDAO implements ScheduleDataAccessInterface {
+        private final Map<Integer, Schedule> stored = new HashMap<>();
+        private int reads;
+        private int writes;
+
+        @Override
+        public Schedule getSchedule(int scheduleId) {
+            reads++;
+            return stored.get(scheduleId);
+        }
+
+        @Override
+        public void saveSchedule(Schedule schedule) {
+            writes++;
+            stored.put(schedule.getScheduleId(), schedule);
+        }
+    }
+}
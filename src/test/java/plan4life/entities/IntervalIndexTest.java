@@ -0,0 +1,83 @@
+package plan4life.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testTouchingIntervalsOverlapLikeScheduledBlock() {
+        IntervalIndex<String> index = new IntervalIndex<>();
+        index.add(0, at(9, 0), at(10, 0), "Gym");
+
+        assertTrue(index.overlapsAny(0, at(10, 0), at(11, 0)));
+        assertTrue(index.overlapsAny(0, at(8, 0), at(9, 0)));
+        assertFalse(index.overlapsAny(0, at(10, 1), at(11, 0)));
+        assertFalse(index.overlapsAny(1, at(9, 0), at(10, 0)));
+    }
+
+    @Test
+    void testRemoveMatchesByIdentityAmongEqualIntervals() {
+        IntervalIndex<ScheduledBlock> index = new IntervalIndex<>();
+        ScheduledBlock first = new ScheduledBlock(at(9, 0), at(10, 0), "Study", false, 2);
+        ScheduledBlock second = new ScheduledBlock(at(9, 0), at(10, 0), "Study", false, 2);
+        index.add(2, first.getStart(), first.getEnd(), first);
+        index.add(2, second.getStart(), second.getEnd(), second);
+
+        assertTrue(index.remove(2, first.getStart(), first.getEnd(), first));
+        assertFalse(index.remove(2, first.getStart(), first.getEnd(), first));
+
+        List<ScheduledBlock> hits = new ArrayList<>();
+        index.collectOverlapping(2, at(9, 30), at(9, 45), hits);
+        assertEquals(List.of(second), hits);
+    }
+
+    @Test
+    void testCollectMatchesLinearScan() {
+        IntervalIndex<ScheduledBlock> index = new IntervalIndex<>();
+        List<ScheduledBlock> all = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 400; i++) {
+            int column = random.nextInt(7);
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(24 * 60));
+            ScheduledBlock block = new ScheduledBlock(start, start.plusMinutes(15 + random.nextInt(240)),
+                    "Block " + i, false, column);
+            all.add(block);
+            index.add(column, block.getStart(), block.getEnd(), block);
+        }
+        for (int i = 0; i < all.size(); i += 3) {
+            ScheduledBlock block = all.get(i);
+            assertTrue(index.remove(block.getColumnIndex(), block.getStart(), block.getEnd(), block));
+        }
+
+        for (int query = 0; query < 200; query++) {
+            int column = random.nextInt(7);
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(24 * 60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(180));
+            List<ScheduledBlock> expected = new ArrayList<>();
+            for (int i = 0; i < all.size(); i++) {
+                if (i % 3 != 0 && all.get(i).overlaps(start, end, column)) {
+                    expected.add(all.get(i));
+                }
+            }
+            List<ScheduledBlock> actual = new ArrayList<>();
+            index.collectOverlapping(column, start, end, actual);
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            assertEquals(!expected.isEmpty(), index.overlapsAny(column, start, end));
+        }
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return MONDAY.withHour(hour).withMinute(minute);
+    }
+}
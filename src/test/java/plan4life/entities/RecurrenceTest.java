@@ -0,0 +1,73 @@
+package plan4life.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceTest {
+
+    // A Wednesday
+    private static final LocalDateTime FIRST = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+    @Test
+    void testDailyEveryOtherDayWithCount() {
+        Recurrence rule = Recurrence.daily(FIRST).every(2).times(3);
+
+        assertEquals(List.of(FIRST, FIRST.plusDays(2), FIRST.plusDays(4)),
+                rule.startsBetween(FIRST.minusDays(10), FIRST.plusDays(30)));
+        assertNull(rule.nextAtOrAfter(FIRST.plusDays(4).plusMinutes(1)));
+    }
+
+    @Test
+    void testWeeklyByDaySkipsDaysBeforeTheFirstOccurrence() {
+        Recurrence rule = Recurrence.weekly(FIRST, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY).times(4);
+
+        // Monday 30 Dec is in the first week but before FIRST, so it is not an occurrence
+        assertEquals(List.of(FIRST, FIRST.plusDays(2), FIRST.plusDays(5), FIRST.plusDays(7)),
+                rule.startsBetween(FIRST.minusDays(7), FIRST.plusDays(60)));
+    }
+
+    @Test
+    void testUntilAndExceptions() {
+        Recurrence rule = Recurrence.weekly(FIRST).until(FIRST.plusWeeks(3)).except(FIRST.plusWeeks(1));
+
+        assertEquals(List.of(FIRST, FIRST.plusWeeks(2), FIRST.plusWeeks(3)),
+                rule.startsBetween(FIRST, FIRST.plusYears(1)));
+    }
+
+    @Test
+    void testExceptionsStillCountTowardsTheLimit() {
+        Recurrence rule = Recurrence.daily(FIRST).times(3).except(FIRST.plusDays(1));
+
+        assertEquals(List.of(FIRST, FIRST.plusDays(2)), rule.startsBetween(FIRST, FIRST.plusDays(10)));
+    }
+
+    @Test
+    void testSeekingFarAheadJumpsToThePeriodAndKeepsTheCount() {
+        Recurrence everyOtherWeek = Recurrence.weekly(FIRST, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY).every(2);
+
+        // Week 0 has only Wednesday; each later active week has two, so occurrence #2001 is 1000 active weeks on
+        LocalDateTime far = FIRST.plusWeeks(2000);
+        assertEquals(far.minusDays(1), everyOtherWeek.nextAtOrAfter(far.minusDays(1)));
+        assertEquals(far, everyOtherWeek.times(2001).nextAtOrAfter(far.minusDays(1).plusMinutes(1)));
+        assertNull(everyOtherWeek.times(2000).nextAtOrAfter(far));
+    }
+
+    @Test
+    void testTimeOfDayBeforeFirstStartOnTheSameDay() {
+        Recurrence rule = Recurrence.daily(FIRST);
+
+        assertEquals(FIRST.plusDays(1), rule.nextAtOrAfter(FIRST.plusMinutes(1)));
+        assertEquals(FIRST.plusDays(3), rule.nextAtOrAfter(FIRST.plusDays(3).minusHours(5)));
+    }
+
+    @Test
+    void testSeriesEndsAtTheLastRepresentableDate() {
+        assertNull(Recurrence.daily(FIRST).nextAtOrAfter(LocalDateTime.MAX));
+        assertNull(Recurrence.weekly(FIRST, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY).nextAtOrAfter(LocalDateTime.MAX));
+    }
+}
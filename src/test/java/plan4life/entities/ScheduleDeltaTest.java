@@ -0,0 +1,77 @@
+package plan4life.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleDeltaTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testSingleLockToggleIsOneDelta() {
+        Schedule schedule = new Schedule(1, "week");
+        for (int day = 0; day < 7; day++) {
+            for (int hour = 8; hour < 18; hour++) {
+                schedule.placeActivity(day, hour, "Work");
+            }
+        }
+        ScheduleSnapshot rendered = schedule.snapshot();
+
+        schedule.lockSlotKey(SlotKey.parse("Wed 10:00"));
+        List<ScheduleDelta> deltas = schedule.changesSince(rendered);
+
+        assertEquals(1, deltas.size());
+        assertEquals(ScheduleDelta.Kind.LOCK_TOGGLED, deltas.get(0).getKind());
+        assertEquals(SlotKey.parse("Wed 10:00"), deltas.get(0).getSlotKey());
+        assertTrue(deltas.get(0).isLocked());
+    }
+
+    @Test
+    void testActivityAndBlockChangesAreReported() {
+        Schedule schedule = new Schedule(1, "week");
+        BlockedTime lunch = new BlockedTime(MONDAY.withHour(12), MONDAY.withHour(13), "Lunch", 0);
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+        schedule.addActivity(SlotKey.parse("Tue 09:00"), "Study");
+        schedule.addBlockedTime(lunch);
+        ScheduleSnapshot rendered = schedule.snapshot();
+
+        schedule.removeActivity(SlotKey.parse("Mon 09:00"));
+        schedule.addActivity(SlotKey.parse("Tue 09:00"), "Review");
+        schedule.addActivity(SlotKey.parse("Fri 17:00"), "Dinner");
+        schedule.removeBlockedTime(lunch);
+        BlockedTime meeting = new BlockedTime(MONDAY.withHour(15), MONDAY.withHour(16), "Meeting", 0);
+        schedule.addBlockedTime(meeting);
+
+        List<ScheduleDelta> deltas = schedule.changesSince(rendered);
+
+        assertEquals(5, deltas.size());
+        assertEquals(ScheduleDelta.Kind.ACTIVITY_REMOVED, deltas.get(0).getKind());
+        assertEquals("Gym", deltas.get(0).getActivityName());
+        assertEquals(ScheduleDelta.Kind.ACTIVITY_CHANGED, deltas.get(1).getKind());
+        assertEquals("Review", deltas.get(1).getActivityName());
+        assertEquals(ScheduleDelta.Kind.ACTIVITY_ADDED, deltas.get(2).getKind());
+        assertEquals(SlotKey.parse("Fri 17:00"), deltas.get(2).getSlotKey());
+        assertEquals(ScheduleDelta.Kind.BLOCK_REMOVED, deltas.get(3).getKind());
+        assertSame(lunch, deltas.get(3).getBlockedTime());
+        assertEquals(ScheduleDelta.Kind.BLOCK_ADDED, deltas.get(4).getKind());
+        assertSame(meeting, deltas.get(4).getBlockedTime());
+    }
+
+    @Test
+    void testNoPreviousSnapshotReportsEverythingAsAdded() {
+        Schedule schedule = new Schedule(1, "week");
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+        schedule.lockSlotKey(SlotKey.parse("Mon 09:00"));
+
+        List<ScheduleDelta> deltas = schedule.changesSince(null);
+
+        assertEquals(1, deltas.size());
+        assertEquals(ScheduleDelta.Kind.ACTIVITY_ADDED, deltas.get(0).getKind());
+        assertTrue(deltas.get(0).isLocked());
+        assertTrue(schedule.changesSince(schedule.snapshot()).isEmpty());
+    }
+}
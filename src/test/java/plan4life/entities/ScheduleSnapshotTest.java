@@ -0,0 +1,83 @@
+package plan4life.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSnapshotTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterEdits() {
+        Schedule schedule = new Schedule(1, "week");
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+        schedule.addBlockedTime(new BlockedTime(MONDAY.withHour(12), MONDAY.withHour(13), "Lunch", 0));
+        ScheduleSnapshot before = schedule.snapshot();
+
+        schedule.addActivity(SlotKey.parse("Tue 10:00"), "Study");
+        schedule.lockSlotKey(SlotKey.parse("Mon 09:00"));
+        schedule.clearBlockedTimes();
+
+        assertEquals(1, before.getActivities().size());
+        assertFalse(before.isLockedKey(SlotKey.parse("Mon 09:00")));
+        assertEquals(1, before.getBlockedTimes().size());
+
+        ScheduleSnapshot after = schedule.snapshot();
+        assertEquals(2, after.getActivities().size());
+        assertTrue(after.isLockedKey(SlotKey.parse("Mon 09:00")));
+        assertTrue(after.getBlockedTimes().isEmpty());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void testEditSharesUntouchedColumnsAndLists() {
+        Schedule schedule = new Schedule(1, "week");
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+        schedule.addUnlockedBlock(new ScheduledBlock(MONDAY.withHour(9), MONDAY.withHour(10), "Gym", false, 0));
+        ScheduleSnapshot before = schedule.snapshot();
+
+        schedule.addActivity(SlotKey.parse("Wed 18:00"), "Dinner");
+        ScheduleSnapshot after = schedule.snapshot();
+
+        assertSame(before.getActivitiesInColumn(0), after.getActivitiesInColumn(0));
+        assertNotSame(before.getActivitiesInColumn(2), after.getActivitiesInColumn(2));
+        assertSame(before.getUnlockedBlocks(), after.getUnlockedBlocks());
+    }
+
+    @Test
+    void testActivitiesIterateInWeekOrder() {
+        Schedule schedule = new Schedule(1, "week");
+        schedule.addActivity(SlotKey.parse("Sun 08:00"), "Brunch");
+        schedule.addActivity(SlotKey.parse("Mon 14:00"), "Study");
+        schedule.addActivity(SlotKey.parse("Mon 09:00"), "Gym");
+
+        assertEquals(List.of(SlotKey.parse("Mon 09:00"), SlotKey.parse("Mon 14:00"), SlotKey.parse("Sun 08:00")),
+                new ArrayList<>(schedule.getActivities().keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> schedule.getActivities().clear());
+    }
+
+    @Test
+    void testPersistentListKeepsOrderAcrossChunks() {
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 100; i++) {
+            list = list.with(i);
+        }
+        PersistentList<Integer> odd = list.without(value -> value % 2 == 0);
+        PersistentList<Integer> withoutFifty = list.withoutFirst(50);
+
+        assertEquals(100, list.size());
+        assertEquals(50, odd.size());
+        assertEquals(51, odd.get(25));
+        assertEquals(99, withoutFifty.size());
+        assertEquals(51, withoutFifty.get(50));
+        assertEquals(101, odd.with(101).get(50));
+        assertSame(list, list.without(value -> value > 1000));
+        assertEquals(Set.of(), Set.copyOf(PersistentList.<Integer>empty()));
+    }
+}
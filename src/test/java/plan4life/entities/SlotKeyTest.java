@@ -0,0 +1,87 @@
+package plan4life.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotKeyTest {
+
+    @Test
+    void testPackingRoundTrips() {
+        SlotKey key = SlotKey.of(DayOfWeek.WEDNESDAY, LocalTime.of(14, 45));
+
+        assertEquals(2 * SlotKey.MINUTES_IN_DAY + 14 * 60 + 45, key.toPacked());
+        assertEquals(2, key.getColumnIndex());
+        assertEquals(DayOfWeek.WEDNESDAY, key.getDayOfWeek());
+        assertEquals(14 * 60 + 45, key.getMinuteOfDay());
+        assertEquals(14, key.getHour());
+        assertEquals(LocalTime.of(14, 45), key.toLocalTime());
+        assertSame(key, SlotKey.fromPacked(key.toPacked()));
+    }
+
+    @Test
+    void testFirstAndLastSlotsOfTheWeek() {
+        assertEquals(0, SlotKey.of(0, 0).toPacked());
+        SlotKey last = SlotKey.of(SlotKey.DAYS_IN_WEEK - 1, SlotKey.MINUTES_IN_DAY - 1);
+        assertEquals(SlotKey.DAYS_IN_WEEK * SlotKey.MINUTES_IN_DAY - 1, last.toPacked());
+        assertEquals("Sun 23:59", last.toString());
+    }
+
+    @Test
+    void testEqualKeysAreTheSameInstance() {
+        assertSame(SlotKey.of(4, 9 * 60), SlotKey.ofHour(4, 9));
+        assertSame(SlotKey.ofHour(4, 9), SlotKey.of(DayOfWeek.FRIDAY, LocalTime.of(9, 0)));
+        assertSame(SlotKey.ofHour(4, 9), SlotKey.parse("Fri 09:00"));
+    }
+
+    @Test
+    void testParsesDayAndTimeForm() {
+        assertSame(SlotKey.of(0, 9 * 60), SlotKey.parse("Mon 9:00"));
+        assertSame(SlotKey.of(0, 9 * 60 + 30), SlotKey.parse(" Monday 09:30 "));
+        assertSame(SlotKey.of(6, 23 * 60 + 59), SlotKey.parse("sun 23:59"));
+        assertEquals("Mon 09:00", SlotKey.parse("Mon 9:00").toString());
+    }
+
+    @Test
+    void testParsesColumnAndHourForm() {
+        assertSame(SlotKey.ofHour(2, 14), SlotKey.parse("2:14"));
+        assertSame(SlotKey.ofHour(0, 0), SlotKey.parse("0:0"));
+    }
+
+    @Test
+    void testParseReturnsNullForMalformedOrOutOfRangeText() {
+        assertNull(SlotKey.parse(null));
+        assertNull(SlotKey.parse(""));
+        assertNull(SlotKey.parse("Mon"));
+        assertNull(SlotKey.parse("Someday 9:00"));
+        assertNull(SlotKey.parse("Mon 9"));
+        assertNull(SlotKey.parse("Mon 24:00"));
+        assertNull(SlotKey.parse("Mon 9:60"));
+        assertNull(SlotKey.parse("Mon x:00"));
+        assertNull(SlotKey.parse("7:10"));
+        assertNull(SlotKey.parse("-1:10"));
+        assertNull(SlotKey.parse("2:24"));
+    }
+
+    @Test
+    void testRejectsOutOfRangeSlots() {
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.of(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.of(SlotKey.DAYS_IN_WEEK, 0));
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.of(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.of(0, SlotKey.MINUTES_IN_DAY));
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.ofHour(0, 24));
+        assertThrows(IllegalArgumentException.class, () -> SlotKey.fromPacked(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SlotKey.fromPacked(SlotKey.DAYS_IN_WEEK * SlotKey.MINUTES_IN_DAY));
+    }
+
+    @Test
+    void testOrdersByColumnThenMinute() {
+        assertTrue(SlotKey.of(0, 23 * 60).compareTo(SlotKey.of(1, 0)) < 0);
+        assertTrue(SlotKey.of(3, 10).compareTo(SlotKey.of(3, 9)) > 0);
+        assertEquals(0, SlotKey.ofHour(3, 9).compareTo(SlotKey.parse("Thu 09:00")));
+    }
+}
@@ -0,0 +1,151 @@
+package plan4life.presenter;
+
+import org.junit.jupiter.api.Test;
+import plan4life.use_case.set_reminder.SetReminderResponseModel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    /**
+     * Records every batch; optionally blocks in deliver() until released.
+     */
+    static class RecordingChannel implements NotificationChannel {
+        final List<List<String>> batches = new ArrayList<>();
+        final List<Integer> overflows = new ArrayList<>();
+        final CountDownLatch release;
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        RecordingChannel(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public boolean accepts(SetReminderResponseModel reminder) {
+            return reminder.isSendMessage();
+        }
+
+        @Override
+        public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            List<String> titles = new ArrayList<>();
+            batch.forEach(r -> titles.add(r.getTitle()));
+            synchronized (this) {
+                batches.add(titles);
+                overflows.add(overflow);
+            }
+        }
+    }
+
+    private static SetReminderResponseModel reminder(String title, boolean sendMessage) {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 9, 0);
+        return new SetReminderResponseModel(title, start, start.plusHours(1), start.minusMinutes(10), 10,
+                "Message only", "MEDIUM", sendMessage, false, false, false);
+    }
+
+    @Test
+    void testRemindersFiringTogetherAreDeliveredAsOneBatch() {
+        RecordingChannel channel = new RecordingChannel(new CountDownLatch(0));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(channel), 16,
+                Duration.ofSeconds(10), Duration.ZERO);
+
+        dispatcher.submit(reminder("A", true));
+        dispatcher.submit(reminder("B", true));
+        dispatcher.submit(reminder("C", true));
+        dispatcher.close();
+
+        assertEquals(List.of(List.of("A", "B", "C")), channel.batches);
+    }
+
+    @Test
+    void testChannelsOnlySeeRemindersTheyAccept() {
+        RecordingChannel channel = new RecordingChannel(new CountDownLatch(0));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(channel), 16,
+                Duration.ofSeconds(10), Duration.ZERO);
+
+        dispatcher.submit(reminder("silent", false));
+        dispatcher.submit(reminder("loud", true));
+        dispatcher.close();
+
+        assertEquals(List.of(List.of("loud")), channel.batches);
+    }
+
+    @Test
+    void testFullQueueDropsWithoutBlockingAndReportsOverflow() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChannel channel = new RecordingChannel(release);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(channel), 2,
+                Duration.ZERO, Duration.ZERO);
+
+        dispatcher.submit(reminder("first", true));
+        assertTrue(channel.entered.await(5, TimeUnit.SECONDS));
+        // The channel is stuck in deliver(); two fit in the queue, the rest are dropped at once
+        long startNanos = System.nanoTime();
+        int dropped = 0;
+        for (int i = 0; i < 5; i++) {
+            dropped += dispatcher.submit(reminder("r" + i, true));
+        }
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(3, dropped);
+
+        release.countDown();
+        dispatcher.close();
+
+        assertEquals(List.of(List.of("first"), List.of("r0", "r1")), channel.batches);
+        assertEquals(List.of(0, 3), channel.overflows);
+    }
+
+    @Test
+    void testSubmitAfterCloseIsRejected() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of());
+        dispatcher.close();
+        assertThrows(IllegalStateException.class, () -> dispatcher.submit(reminder("late", true)));
+    }
+
+    @Test
+    void testMissedSummaryIsDeliveredWithItsCount() {
+        List<String> delivered = new ArrayList<>();
+        NotificationChannel channel = new NotificationChannel() {
+            @Override
+            public String name() {
+                return "describing";
+            }
+
+            @Override
+            public boolean accepts(SetReminderResponseModel reminder) {
+                return true;
+            }
+
+            @Override
+            public void deliver(List<SetReminderResponseModel> batch, int overflow) {
+                synchronized (delivered) {
+                    delivered.add(ToastNotificationChannel.describe(batch, overflow));
+                }
+            }
+        };
+        SetReminderPresenter presenter = new SetReminderPresenter(new NotificationDispatcher(List.of(channel), 16,
+                Duration.ofSeconds(10), Duration.ZERO));
+
+        presenter.presentRemindersMissed(reminder("Standup", true), 4);
+        presenter.close();
+
+        assertEquals(List.of("Missed 4 occurrences: Standup (MEDIUM)"), delivered);
+    }
+}
@@ -0,0 +1,118 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.Schedule;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchScheduleSolverTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 1, 1); // Monday
+
+    @Test
+    void testSolvesEveryRequestAndReportsStats() {
+        List<SolveRequest> requests = new ArrayList<>();
+        for (int user = 0; user < 12; user++) {
+            requests.add(request("user-" + user, user, Duration.ofSeconds(10)));
+        }
+        Map<String, SolveResult> results = new ConcurrentHashMap<>();
+
+        BatchStats stats;
+        try (BatchScheduleSolver batch = new BatchScheduleSolver(4)) {
+            stats = batch.solveAll(requests, result -> results.put(result.getRequest().getRequestId(), result));
+        }
+
+        assertEquals(12, results.size());
+        assertEquals(12, stats.getTotal());
+        assertEquals(12, stats.getCompleted());
+        for (int user = 0; user < 12; user++) {
+            SolveResult result = results.get("user-" + user);
+            assertEquals(SolveResult.Status.COMPLETED, result.getStatus());
+            assertEquals(user, result.getSchedule().getScheduleId());
+            assertEquals(2, result.getSchedule().getUnlockedBlocks().size());
+        }
+        assertTrue(stats.getP95LatencyNanos() >= stats.getP50LatencyNanos());
+        assertTrue(stats.getThroughputPerSecond() > 0);
+    }
+
+    @Test
+    void testSlowAndFailingTasksDoNotAffectTheRest() {
+        List<SolveRequest> requests = List.of(
+                request("slow", 1, Duration.ofMillis(50)),
+                request("broken", 2, Duration.ofSeconds(10)),
+                request("fine", 3, Duration.ofSeconds(10)));
+        ScheduleSolver greedy = new ConstraintSolver(WEEK_START);
+
+        Map<String, SolveResult.Status> statuses = new HashMap<>();
+        BatchStats stats;
+        try (BatchScheduleSolver batch = new BatchScheduleSolver(3, request -> switch (request.getRequestId()) {
+            case "slow" -> (id, type, events, blocked) -> {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Schedule(id, type);
+            };
+            case "broken" -> (id, type, events, blocked) -> {
+                throw new IllegalStateException("boom");
+            };
+            default -> greedy;
+        })) {
+            BatchScheduleSolver.BatchRun run = batch.solveAll(requests);
+            while (run.hasNext()) {
+                SolveResult result = run.next();
+                statuses.put(result.getRequest().getRequestId(), result.getStatus());
+            }
+            stats = run.getStats();
+        }
+
+        assertEquals(SolveResult.Status.TIMED_OUT, statuses.get("slow"));
+        assertEquals(SolveResult.Status.FAILED, statuses.get("broken"));
+        assertEquals(SolveResult.Status.COMPLETED, statuses.get("fine"));
+        assertEquals(1, stats.getCompleted());
+        assertEquals(1, stats.getTimedOut());
+        assertEquals(1, stats.getFailed());
+    }
+
+    @Test
+    void testSolverThatNeverReturnsIsInterruptedOnTimeout() {
+        List<SolveRequest> requests = List.of(
+                request("stuck", 1, Duration.ofMillis(50)),
+                request("after", 2, Duration.ofSeconds(10)));
+        ScheduleSolver greedy = new ConstraintSolver(WEEK_START);
+
+        Map<String, SolveResult.Status> statuses = new ConcurrentHashMap<>();
+        try (BatchScheduleSolver batch = new BatchScheduleSolver(1, request -> request.getRequestId().equals("stuck")
+                ? (id, type, events, blocked) -> {
+                    // Spins until the batch interrupts it
+                    while (true) {
+                        ConstraintSolver.checkInterrupted();
+                    }
+                }
+                : greedy)) {
+            batch.solveAll(requests, result -> statuses.put(result.getRequest().getRequestId(), result.getStatus()));
+        }
+
+        assertEquals(SolveResult.Status.TIMED_OUT, statuses.get("stuck"));
+        assertEquals(SolveResult.Status.COMPLETED, statuses.get("after"));
+    }
+
+    private SolveRequest request(String id, int scheduleId, Duration timeout) {
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Study", false),
+                new ProposedEvent(DayOfWeek.TUESDAY, LocalTime.of(18, 0), 45, "Gym", false));
+        return new SolveRequest(id, scheduleId, "week", WEEK_START, events, List.of(), scheduleId, timeout);
+    }
+}
@@ -0,0 +1,299 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+import plan4life.ai.ProposedEvent;
+import plan4life.ai.rules.ActivityPrecedence;
+import plan4life.ai.rules.ActivityRuleCatalog;
+import plan4life.ai.rules.ActivityRuleDefinition;
+import plan4life.ai.rules.ActivityTimeRules;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintSolverTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 1, 1); // Monday
+
+    @Test
+    void testThirtyMinuteEventsPackIntoOneHour() {
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(7));
+        List<BlockedTime> blocked = List.of(
+                new BlockedTime(WEEK_START.atStartOfDay(), WEEK_START.atTime(9, 0), "Sleep", 0),
+                new BlockedTime(WEEK_START.atTime(10, 0), WEEK_START.plusDays(1).atStartOfDay(), "Busy", 0));
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 30, "Email", false),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 30, "Reading", false));
+
+        Schedule schedule = solver.solve(2, "week", events, blocked);
+
+        assertEquals(2, schedule.getUnlockedBlocks().size());
+        assertTrue(schedule.getUnlockedBlocks().stream().allMatch(block -> block.getColumnIndex() == 0));
+    }
+
+    @Test
+    void testStatsCollectorCountsPlacementsAndUnplaced() {
+        SolverStatsCollector stats = new SolverStatsCollector();
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(7), 15, stats);
+        List<BlockedTime> blocked = new ArrayList<>();
+        for (int column = 0; column < 7; column++) {
+            LocalDate day = WEEK_START.plusDays(column);
+            blocked.add(new BlockedTime(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), "Away", column));
+        }
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Team Sync", true),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(11, 0), 60, "Study", false));
+
+        solver.solve(2, "week", events, blocked);
+
+        SolverStatsCollector.SolverStats last = stats.getLastSolve();
+        assertEquals(1, last.getPlacements());
+        assertEquals(1, last.getLockedPlacements());
+        assertEquals(1, last.getUnplaced());
+        assertEquals(7, last.getColumnsProbed());
+        assertEquals(0, last.getOptionsReturned());
+        assertTrue(last.getPhaseNanos(SolverPhase.FLEXIBLE) > 0);
+    }
+
+    @Test
+    void testEmptyProposalsStillReportEveryPhaseAndTheSummary() {
+        List<SolverPhase> phases = new ArrayList<>();
+        List<int[]> summaries = new ArrayList<>();
+        SolverListener listener = new SolverListener() {
+            @Override
+            public void onPhaseFinished(SolverPhase phase, long elapsedNanos) {
+                phases.add(phase);
+            }
+
+            @Override
+            public void onSummary(int[] placedPerDay, int unplacedCount) {
+                summaries.add(placedPerDay);
+            }
+        };
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(7), 15, listener);
+
+        Schedule schedule = solver.solve(2, "week", List.of(), List.of());
+
+        assertTrue(schedule.getUnlockedBlocks().isEmpty());
+        assertEquals(List.of(SolverPhase.BLOCKED_TIMES, SolverPhase.LOCKED, SolverPhase.FLEXIBLE), phases);
+        assertEquals(1, summaries.size());
+        assertArrayEquals(new int[7], summaries.get(0));
+    }
+
+    @Test
+    void testRepairMovesOnlyDisplacedActivities() {
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(3));
+        Schedule schedule = new Schedule(2, "week");
+        ScheduledBlock kept = new ScheduledBlock(WEEK_START.atTime(8, 0), WEEK_START.atTime(9, 0), "Email", false, 0);
+        ScheduledBlock moved = new ScheduledBlock(WEEK_START.atTime(14, 0), WEEK_START.atTime(15, 0), "Study", false, 0);
+        schedule.addUnlockedBlock(kept);
+        schedule.addActivity(SlotKey.parse("Mon 08:00"), "Email");
+        schedule.addUnlockedBlock(moved);
+        schedule.addActivity(SlotKey.parse("Mon 14:00"), "Study");
+
+        BlockedTime meeting = new BlockedTime(WEEK_START.atTime(13, 30), WEEK_START.atTime(15, 30), "Meeting", 0);
+        solver.repair(schedule, RepairDelta.blockedTime(meeting));
+
+        assertTrue(schedule.getUnlockedBlocks().contains(kept));
+        assertFalse(schedule.getUnlockedBlocks().contains(moved));
+        assertEquals(2, schedule.getUnlockedBlocks().size());
+        assertEquals(1, schedule.getBlockedTimes().size());
+
+        ScheduledBlock replaced = schedule.getUnlockedBlocks().stream()
+                .filter(block -> block.getActivityName().equals("Study"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, replaced.getColumnIndex());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 15, 30), replaced.getStart());
+        assertEquals("Study", schedule.getActivities().get(SlotKey.parse("Mon 15:30")));
+        assertFalse(schedule.getActivities().containsKey(SlotKey.parse("Mon 14:00")));
+    }
+
+    @Test
+    void testRepairNeverMovesDisplacedActivityToAnotherDay() {
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(3));
+        Schedule schedule = new Schedule(2, "week");
+        ScheduledBlock study = new ScheduledBlock(WEEK_START.atTime(14, 0), WEEK_START.atTime(15, 0), "Study", false, 0);
+        schedule.addUnlockedBlock(study);
+        schedule.addActivity(SlotKey.parse("Mon 14:00"), "Study");
+
+        BlockedTime away = new BlockedTime(WEEK_START.atStartOfDay(), WEEK_START.plusDays(1).atStartOfDay(), "Away", 0);
+        solver.repair(schedule, RepairDelta.blockedTime(away));
+
+        assertTrue(schedule.getUnlockedBlocks().isEmpty());
+        assertEquals(List.of("Study"), schedule.getUnplacedActivities());
+    }
+
+    @Test
+    void testRepairWithEmptyDeltaLeavesScheduleUntouched() {
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(3));
+        Schedule schedule = new Schedule(2, "week");
+
+        assertSame(schedule, solver.repair(schedule, RepairDelta.of(List.of(), List.of())));
+        assertTrue(schedule.getBlockedTimes().isEmpty());
+    }
+
+    @Test
+    void testImprovementPlacesWhatGreedyLeftOut() {
+        // Only Monday 08:00-12:00 is open; the 3h project fits only if the 1h item moves to an edge.
+        List<BlockedTime> blocked = new ArrayList<>();
+        blocked.add(new BlockedTime(WEEK_START.atStartOfDay(), WEEK_START.atTime(8, 0), "Sleep", 0));
+        blocked.add(new BlockedTime(WEEK_START.atTime(12, 0), WEEK_START.plusDays(1).atStartOfDay(), "Busy", 0));
+        for (int column = 1; column < 7; column++) {
+            LocalDate day = WEEK_START.plusDays(column);
+            blocked.add(new BlockedTime(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), "Away", column));
+        }
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Reading", false),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 180, "Project", false));
+
+        for (long seed = 0; seed < 8; seed++) {
+            ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(seed), 15,
+                    SolverListener.NO_OP, Duration.ofMillis(200));
+            Schedule schedule = solver.solve(2, "week", events, blocked);
+
+            assertTrue(schedule.getUnplacedActivities().isEmpty(), "seed " + seed);
+            assertEquals(2, schedule.getUnlockedBlocks().size());
+            assertEquals(8, schedule.getBlockedTimes().size());
+        }
+    }
+
+    @Test
+    void testImprovementKeepsLockedBlocksAndDeadline() {
+        List<ProposedEvent> events = new ArrayList<>();
+        events.add(new ProposedEvent(DayOfWeek.TUESDAY, LocalTime.of(10, 0), 60, "Team Sync", true));
+        for (int i = 0; i < 20; i++) {
+            events.add(new ProposedEvent(DayOfWeek.TUESDAY, LocalTime.of(10, 0), 90, "Task " + i, false));
+        }
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(5), 15,
+                SolverListener.NO_OP, Duration.ofMillis(100));
+
+        long started = System.nanoTime();
+        Schedule schedule = solver.solve(2, "week", events, List.of());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + "ms");
+        assertEquals(1, schedule.getLockedBlocks().size());
+        ScheduledBlock locked = schedule.getLockedBlocks().get(0);
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0), locked.getStart());
+        assertTrue(schedule.isLockedKey(SlotKey.parse("Tue 10:00")));
+        assertEquals("Team Sync", schedule.getActivities().get(SlotKey.parse("Tue 10:00")));
+        for (ScheduledBlock block : schedule.getUnlockedBlocks()) {
+            assertFalse(block.getColumnIndex() == locked.getColumnIndex()
+                    && block.getStart().isBefore(locked.getEnd()) && locked.getStart().isBefore(block.getEnd()));
+        }
+        assertEquals(20, schedule.getUnlockedBlocks().size() + schedule.getUnplacedActivities().size());
+    }
+
+    @Test
+    void testImprovementStopsOnceItStallsLongBeforeTheDeadline() {
+        // Two activities cannot both start at 09:00, so the cost never reaches zero
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Email", false),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Reading", false));
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(3), 15,
+                SolverListener.NO_OP, Duration.ofMinutes(1));
+
+        long started = System.nanoTime();
+        Schedule schedule = solver.solve(2, "week", events, List.of());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 10_000, "took " + elapsedMillis + "ms");
+        assertEquals(2, schedule.getUnlockedBlocks().size());
+    }
+
+    @Test
+    void testDinnerPrepFinishesBeforeThatDaysDinner() {
+        ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(11));
+        List<BlockedTime> blocked = List.of(
+                new BlockedTime(WEEK_START.atTime(17, 0), WEEK_START.atTime(17, 30), "Commute", 0));
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(17, 30), 60, "Family Dinner", true),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(17, 0), 45, "Dinner prep", false));
+
+        Schedule schedule = solver.solve(2, "week", events, blocked);
+
+        ScheduledBlock prep = schedule.getUnlockedBlocks().get(0);
+        assertEquals(0, prep.getColumnIndex());
+        assertFalse(prep.getEnd().isAfter(WEEK_START.atTime(17, 0)));
+    }
+
+    @Test
+    void testCustomPrecedenceFollowsAnchorWithinGap() {
+        ActivityRuleDefinition stretch = new ActivityRuleDefinition("stretch", List.of("stretch"), null, null,
+                "05:00", "22:00", "12:00", false, false, null)
+                .withPrecedence(new ActivityPrecedence(ActivityPrecedence.Relation.AFTER, "gym", 30));
+        ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults().withRules(List.of(stretch)));
+        try {
+            List<int[]> narrowed = new ArrayList<>();
+            SolverListener listener = new SolverListener() {
+                @Override
+                public void onWindowNarrowed(String activityName, int columnIndex,
+                                             int previousStartMinute, int previousEndMinute,
+                                             int newStartMinute, int newEndMinute) {
+                    narrowed.add(new int[]{columnIndex, previousStartMinute, previousEndMinute, newStartMinute, newEndMinute});
+                }
+            };
+            ConstraintSolver solver = new ConstraintSolver(WEEK_START, new Random(4), 15, listener);
+            List<ProposedEvent> events = List.of(
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(6, 0), 60, "Gym", true),
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(12, 0), 20, "Stretch", false));
+
+            Schedule schedule = solver.solve(2, "week", events, List.of());
+
+            ScheduledBlock placed = schedule.getUnlockedBlocks().get(0);
+            assertEquals(2, placed.getColumnIndex());
+            // 05:00-22:00 becomes gym end (07:00) through 30 minutes later plus the stretch itself
+            assertEquals(1, narrowed.size());
+            assertArrayEquals(new int[]{2, 300, 1320, 420, 470}, narrowed.get(0));
+            LocalDateTime gymEnd = LocalDateTime.of(2024, 1, 3, 7, 0);
+            assertFalse(placed.getStart().isBefore(gymEnd));
+            assertFalse(placed.getStart().isAfter(gymEnd.plusMinutes(30)));
+        } finally {
+            ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults());
+        }
+    }
+
+    @Test
+    void testCustomPrecedenceHoldsWhenAnchorIsFlexibleToo() {
+        ActivityRuleDefinition stretch = new ActivityRuleDefinition("stretch", List.of("stretch"), null, null,
+                "05:00", "22:00", "12:00", false, false, null)
+                .withPrecedence(new ActivityPrecedence(ActivityPrecedence.Relation.AFTER, "gym", 30));
+        ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults().withRules(List.of(stretch)));
+        try {
+            // The dependent is listed first, and spread seeds shuffle the flexible order both ways
+            List<ProposedEvent> events = List.of(
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(12, 0), 20, "Stretch", false),
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(6, 0), 60, "Gym", false));
+            for (long seed = 0; seed < 20; seed++) {
+                Schedule schedule = new ConstraintSolver(WEEK_START, new Random(seed * 0x9E3779B97F4A7C15L)).solve(2, "week", events, List.of());
+
+                ScheduledBlock gym = blockNamed(schedule, "Gym");
+                ScheduledBlock placed = blockNamed(schedule, "Stretch");
+                assertEquals(gym.getColumnIndex(), placed.getColumnIndex(), "seed " + seed);
+                assertFalse(placed.getStart().isBefore(gym.getEnd()), "seed " + seed);
+                assertFalse(placed.getStart().isAfter(gym.getEnd().plusMinutes(30)), "seed " + seed);
+            }
+        } finally {
+            ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults());
+        }
+    }
+
+    private static ScheduledBlock blockNamed(Schedule schedule, String name) {
+        return schedule.getUnlockedBlocks().stream()
+                .filter(block -> block.getActivityName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
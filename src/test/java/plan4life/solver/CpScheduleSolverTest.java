@@ -0,0 +1,163 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+import plan4life.ai.ProposedEvent;
+import plan4life.ai.rules.ActivityPrecedence;
+import plan4life.ai.rules.ActivityRuleCatalog;
+import plan4life.ai.rules.ActivityRuleDefinition;
+import plan4life.ai.rules.ActivityTimeRules;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+import plan4life.entities.SlotKey;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpScheduleSolverTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 1, 1); // Monday
+
+    @Test
+    void testPacksEventsThatOnlyFitTogether() {
+        // Only Monday 08:00-12:00 is open; 1h + 3h must be packed back to back.
+        List<BlockedTime> blocked = blockEverythingExceptMondayMorning();
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Reading", false),
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 180, "Project", false));
+
+        CpScheduleSolver solver = new CpScheduleSolver(WEEK_START, Duration.ofSeconds(5));
+        Schedule schedule = solver.solve(2, "week", events, blocked);
+
+        assertTrue(schedule.getUnplacedActivities().isEmpty());
+        assertEquals(2, schedule.getUnlockedBlocks().size());
+        ScheduledBlock first = schedule.getUnlockedBlocks().get(0);
+        ScheduledBlock second = schedule.getUnlockedBlocks().get(1);
+        assertFalse(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()));
+    }
+
+    @Test
+    void testLockedEventsKeepTheirExactSlot() {
+        List<ProposedEvent> events = List.of(
+                new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(10, 30), 45, "Team Sync", true),
+                new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(10, 30), 60, "Study", false));
+
+        CpScheduleSolver solver = new CpScheduleSolver(WEEK_START, Duration.ofSeconds(5));
+        Schedule schedule = solver.solve(2, "week", events, List.of());
+
+        ScheduledBlock locked = schedule.getLockedBlocks().get(0);
+        assertEquals(LocalDateTime.of(2024, 1, 3, 10, 30), locked.getStart());
+        assertTrue(schedule.isLockedKey(SlotKey.parse("Wed 10:30")));
+
+        ScheduledBlock study = schedule.getUnlockedBlocks().get(0);
+        assertFalse(study.getStart().isBefore(locked.getEnd()) && locked.getStart().isBefore(study.getEnd()));
+    }
+
+    @Test
+    void testFallsBackToGreedyWhenNoSolutionInBudget() {
+        List<ProposedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            events.add(new ProposedEvent(DayOfWeek.of(i % 7 + 1), LocalTime.of(8, 0), 90, "Item " + i, false));
+        }
+        CapturingSolver fallback = new CapturingSolver();
+        List<SolverFallback> fallbacks = new ArrayList<>();
+        SolverListener listener = new SolverListener() {
+            @Override
+            public void onFallback(SolverFallback reason) {
+                fallbacks.add(reason);
+            }
+        };
+
+        CpScheduleSolver solver = new CpScheduleSolver(WEEK_START, Duration.ZERO, 15, fallback, listener);
+        Schedule schedule = solver.solve(2, "week", events, List.of());
+
+        assertTrue(fallback.called);
+        assertNotNull(schedule);
+        assertEquals(List.of(SolverFallback.NO_CP_SOLUTION), fallbacks);
+    }
+
+    @Test
+    void testCustomPrecedenceBetweenFlexibleEvents() {
+        useStretchAfterGymRule();
+        try {
+            List<ProposedEvent> events = List.of(
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(6, 0), 60, "Gym", false),
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(12, 0), 20, "Stretch", false));
+
+            Schedule schedule = new CpScheduleSolver(WEEK_START, Duration.ofSeconds(5)).solve(2, "week", events, List.of());
+
+            assertTrue(schedule.getUnplacedActivities().isEmpty());
+            ScheduledBlock gym = blockNamed(schedule, "Gym");
+            ScheduledBlock stretch = blockNamed(schedule, "Stretch");
+            assertEquals(gym.getColumnIndex(), stretch.getColumnIndex());
+            assertFalse(stretch.getStart().isBefore(gym.getEnd()));
+            assertFalse(stretch.getStart().isAfter(gym.getEnd().plusMinutes(30)));
+        } finally {
+            ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults());
+        }
+    }
+
+    @Test
+    void testCustomPrecedenceOnLockedAnchorBoundsTheWindow() {
+        useStretchAfterGymRule();
+        try {
+            List<ProposedEvent> events = List.of(
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(6, 0), 60, "Gym", true),
+                    new ProposedEvent(DayOfWeek.WEDNESDAY, LocalTime.of(12, 0), 20, "Stretch", false));
+
+            Schedule schedule = new CpScheduleSolver(WEEK_START, Duration.ofSeconds(5)).solve(2, "week", events, List.of());
+
+            ScheduledBlock stretch = blockNamed(schedule, "Stretch");
+            LocalDateTime gymEnd = LocalDateTime.of(2024, 1, 3, 7, 0);
+            assertEquals(2, stretch.getColumnIndex());
+            assertFalse(stretch.getStart().isBefore(gymEnd));
+            assertFalse(stretch.getStart().isAfter(gymEnd.plusMinutes(30)));
+        } finally {
+            ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults());
+        }
+    }
+
+    private static void useStretchAfterGymRule() {
+        ActivityRuleDefinition stretch = new ActivityRuleDefinition("stretch", List.of("stretch"), null, null,
+                "05:00", "22:00", "12:00", false, false, null)
+                .withPrecedence(new ActivityPrecedence(ActivityPrecedence.Relation.AFTER, "gym", 30));
+        ActivityTimeRules.useCatalog(ActivityRuleCatalog.defaults().withRules(List.of(stretch)));
+    }
+
+    private static ScheduledBlock blockNamed(Schedule schedule, String name) {
+        return schedule.getUnlockedBlocks().stream()
+                .filter(block -> block.getActivityName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<BlockedTime> blockEverythingExceptMondayMorning() {
+        List<BlockedTime> blocked = new ArrayList<>();
+        blocked.add(new BlockedTime(WEEK_START.atTime(0, 0), WEEK_START.atTime(8, 0), "Sleep", 0));
+        blocked.add(new BlockedTime(WEEK_START.atTime(12, 0), WEEK_START.plusDays(1).atStartOfDay(), "Busy", 0));
+        for (int column = 1; column < 7; column++) {
+            LocalDate day = WEEK_START.plusDays(column);
+            blocked.add(new BlockedTime(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), "Away", column));
+        }
+        return blocked;
+    }
+
+    private static class CapturingSolver implements ScheduleSolver {
+        boolean called;
+
+        @Override
+        public Schedule solve(int scheduleId, String scheduleType,
+                              List<ProposedEvent> proposedEvents, List<BlockedTime> blockedTimes) {
+            called = true;
+            return new ConstraintSolver(WEEK_START, new Random(1)).solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.BlockedTime;
+import plan4life.entities.Schedule;
+import plan4life.entities.ScheduledBlock;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HorizonPlannerTest {
+
+    @Test
+    void testStreamsOneSchedulePerWeekAndSkipsDaysOutsideRange() {
+        List<ProposedEvent> routine = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Study", false),
+                new ProposedEvent(DayOfWeek.FRIDAY, LocalTime.of(9, 0), 60, "Review", false));
+        List<HorizonPlanner.WeekPlan> weeks = new ArrayList<>();
+
+        // Wednesday 2024-01-03 through Tuesday 2024-01-16 touches three weeks.
+        new HorizonPlanner().plan(2, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 16),
+                routine, weekStart -> List.of(), weeks::add);
+
+        assertEquals(3, weeks.size());
+        assertEquals(LocalDate.of(2024, 1, 1), weeks.get(0).getWeekStart());
+        assertEquals(LocalDate.of(2024, 1, 15), weeks.get(2).getWeekStart());
+
+        Schedule first = weeks.get(0).getSchedule();
+        assertEquals(1, first.getUnlockedBlocks().size());
+        assertTrue(first.getUnlockedBlocks().get(0).getStart().toLocalDate().isAfter(LocalDate.of(2024, 1, 2)));
+        assertTrue(first.getBlockedTimes().isEmpty());
+        assertEquals(2, weeks.get(1).getSchedule().getUnlockedBlocks().size());
+    }
+
+    @Test
+    void testUnplacedActivitiesCarryIntoNextWeek() {
+        List<ProposedEvent> routine = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Deep Clean", false));
+        List<HorizonPlanner.WeekPlan> weeks = new ArrayList<>();
+
+        new HorizonPlanner().plan(2, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14), routine,
+                weekStart -> weekStart.equals(LocalDate.of(2024, 1, 1)) ? blockWholeWeek(weekStart) : List.of(),
+                weeks::add);
+
+        assertEquals(List.of("Deep Clean"), weeks.get(0).getSchedule().getUnplacedActivities());
+        assertEquals(List.of("Deep Clean"), weeks.get(1).getCarriedIn());
+        assertEquals(2, weeks.get(1).getSchedule().getUnlockedBlocks().size());
+    }
+
+    @Test
+    void testDeficitOfAnActivityThatNeverFitsStaysConstant() {
+        List<ProposedEvent> routine = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Deep Clean", false),
+                new ProposedEvent(DayOfWeek.THURSDAY, LocalTime.of(9, 0), 60, "Deep Clean", false));
+        List<HorizonPlanner.WeekPlan> weeks = new ArrayList<>();
+
+        new HorizonPlanner().plan(2, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 25), routine,
+                this::blockWholeWeek, weeks::add);
+
+        assertEquals(8, weeks.size());
+        assertTrue(weeks.get(0).getCarriedIn().isEmpty());
+        for (HorizonPlanner.WeekPlan week : weeks.subList(1, weeks.size())) {
+            assertEquals(List.of("Deep Clean"), week.getCarriedIn());
+            assertEquals(3, week.getSchedule().getUnplacedActivities().size());
+        }
+    }
+
+    @Test
+    void testDinnerAnchorFlowsIntoNextWeek() {
+        List<ProposedEvent> routine = List.of(
+                new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(19, 0), 60, "Dinner", false));
+        List<List<ProposedEvent>> proposalsSeen = new ArrayList<>();
+
+        HorizonPlanner planner = new HorizonPlanner(weekStart -> (id, type, proposals, blocked) -> {
+            proposalsSeen.add(proposals);
+            Schedule schedule = new ConstraintSolver(weekStart, new Random(1)).solve(id, type, List.of(), blocked);
+            schedule.addUnlockedBlock(new ScheduledBlock(
+                    weekStart.atTime(18, 0), weekStart.atTime(19, 0), "Dinner", false, 0));
+            return schedule;
+        });
+        planner.plan(2, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14), routine,
+                weekStart -> List.of(), plan -> { });
+
+        assertEquals(LocalTime.of(19, 0), proposalsSeen.get(0).get(0).getStartTime());
+        assertEquals(LocalTime.of(18, 0), proposalsSeen.get(1).get(0).getStartTime());
+    }
+
+    private List<BlockedTime> blockWholeWeek(LocalDate weekStart) {
+        List<BlockedTime> blocked = new ArrayList<>();
+        for (int column = 0; column < 7; column++) {
+            LocalDate day = weekStart.plusDays(column);
+            blocked.add(new BlockedTime(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), "Away", column));
+        }
+        return blocked;
+    }
+}
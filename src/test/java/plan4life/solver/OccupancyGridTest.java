@@ -0,0 +1,74 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyGridTest {
+
+    @Test
+    void testMarkMinutesRoundsOutToSlotBoundaries() {
+        OccupancyGrid grid = new OccupancyGrid(7);
+
+        // 9:10-9:40 touches the 9:00 and 9:30 slots.
+        grid.markMinutes(0, 9 * 60 + 10, 9 * 60 + 40);
+
+        assertEquals(3, grid.occupiedSlotCount(0));
+        assertFalse(grid.isFree(0, 36, 37));
+        assertFalse(grid.isFree(0, 38, 39));
+        assertTrue(grid.isFree(0, 39, 40));
+        assertEquals(0, grid.occupiedSlotCount(1));
+    }
+
+    @Test
+    void testThirtyMinuteActivityOnlyUsesTwoSlots() {
+        OccupancyGrid grid = new OccupancyGrid(7);
+
+        assertEquals(2, grid.slotsFor(30));
+        assertEquals(5, grid.slotsFor(75));
+        assertEquals(1, grid.slotsFor(0));
+    }
+
+    @Test
+    void testNearestFreeStartsOrdersByDistanceAndSkipsConflicts() {
+        OccupancyGrid grid = new OccupancyGrid(7, 60);
+        grid.markSlots(2, 9, 12);
+
+        int[] out = new int[4];
+        int count = grid.nearestFreeStarts(2, 10, 2, 0, 24, out);
+
+        assertEquals(4, count);
+        assertArrayEquals(new int[]{12, 13, 7, 14}, out);
+    }
+
+    @Test
+    void testNearestFreeStartsRespectsWindowAcrossWordBoundary() {
+        OccupancyGrid grid = new OccupancyGrid(1, 5);
+        grid.markSlots(0, 60, 70);
+
+        int[] out = new int[1];
+        int count = grid.nearestFreeStarts(0, 62, 8, 50, 80, out);
+
+        assertEquals(1, count);
+        assertEquals(70, out[0]);
+        assertTrue(grid.isFree(0, out[0], out[0] + 8));
+    }
+
+    @Test
+    void testNoCandidatesWhenWindowTooSmall() {
+        OccupancyGrid grid = new OccupancyGrid(7);
+
+        int[] out = new int[5];
+        assertEquals(0, grid.nearestFreeStarts(0, 0, 8, 10, 12, out));
+    }
+
+    @Test
+    void testClearSlotsReleasesCapacity() {
+        OccupancyGrid grid = new OccupancyGrid(7);
+        grid.markSlots(3, 0, 96);
+        grid.clearSlots(3, 40, 44);
+
+        assertEquals(92, grid.occupiedSlotCount(3));
+        assertTrue(grid.isFree(3, 40, 44));
+    }
+}
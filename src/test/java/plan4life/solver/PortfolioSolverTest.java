@@ -0,0 +1,58 @@
+package plan4life.solver;
+
+import org.junit.jupiter.api.Test;
+import plan4life.ai.ProposedEvent;
+import plan4life.entities.Schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioSolverTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 1, 1); // Monday
+
+    @Test
+    void testWinningSeedReproducesSchedule() {
+        List<ProposedEvent> events = denseWeek();
+        PortfolioSolver solver = new PortfolioSolver(WEEK_START, 8, 15, ForkJoinPool.commonPool(),
+                ScheduleScore.STANDARD, 42L);
+
+        PortfolioSolver.Result result = solver.solveWithSeed(2, "week", events, List.of());
+        Schedule replay = solver.solveSeed(result.getSeed(), 2, "week", events, List.of());
+
+        assertEquals(starts(result.getSchedule()), starts(replay));
+        assertEquals(result.getScore().getUnplacedCount(), replay.getUnplacedActivities().size());
+    }
+
+    @Test
+    void testScoreRanksFewerUnplacedFirst() {
+        ScheduleScore fewerUnplaced = new ScheduleScore(0, 500, 900);
+        ScheduleScore closerButUnplaced = new ScheduleScore(1, 0, 0);
+
+        assertTrue(fewerUnplaced.compareTo(closerButUnplaced) < 0);
+        assertTrue(new ScheduleScore(0, 10, 900).compareTo(new ScheduleScore(0, 20, 0)) < 0);
+    }
+
+    private List<ProposedEvent> denseWeek() {
+        List<ProposedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            events.add(new ProposedEvent(DayOfWeek.of(i % 7 + 1), LocalTime.of(9 + i % 8, 0), 120, "Task " + i, false));
+        }
+        events.add(new ProposedEvent(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60, "Team Sync", true));
+        return events;
+    }
+
+    private List<String> starts(Schedule schedule) {
+        return schedule.getUnlockedBlocks().stream()
+                .map(block -> block.getActivityName() + "@" + block.getStart())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
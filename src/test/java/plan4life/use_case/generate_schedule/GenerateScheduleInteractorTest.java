@@ -14,6 +14,7 @@ import plan4life.entities.Schedule;
 import plan4life.solver.ConstraintSolver;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -60,6 +61,23 @@ class GenerateScheduleInteractorTest {
                 presenter.lastResponse.getMessage());
     }
 
+    @Test
+    void execute_resolvesWhenABlockOffLandsWhileSolving() {
+        BlockedTime meeting = new BlockedTime(LocalDateTime.of(2024, 1, 1, 13, 0),
+                LocalDateTime.of(2024, 1, 1, 14, 0), "Meeting", 0);
+        solver.duringFirstSolve = () -> {
+            Schedule edited = new Schedule(2, "week");
+            edited.addBlockedTime(meeting);
+            scheduleDAO.saveSchedule(edited);
+        };
+
+        interactor.execute(new GenerateScheduleRequestModel("Test routine", "", Collections.emptyList()));
+
+        assertEquals(2, solver.calls);
+        assertSame(scheduleDAO.savedSchedule, presenter.lastResponse.getSchedule());
+        assertEquals(List.of(meeting), scheduleDAO.savedSchedule.getBlockedTimes());
+    }
+
     @Test
     void execute_rejectsEmptyInput() {
         GenerateScheduleRequestModel request = new GenerateScheduleRequestModel("   ", "  ", Collections.emptyList());
@@ -117,6 +135,8 @@ class GenerateScheduleInteractorTest {
 
     private static class CapturingConstraintSolver extends ConstraintSolver {
         boolean called;
+        int calls;
+        Runnable duringFirstSolve;
 
         @Override
         public Schedule solve(int scheduleId,
@@ -124,6 +144,9 @@ class GenerateScheduleInteractorTest {
                               List<ProposedEvent> proposedEvents,
                               List<BlockedTime> blockedTimes) {
             called = true;
+            if (calls++ == 0 && duringFirstSolve != null) {
+                duringFirstSolve.run();
+            }
             Schedule schedule = super.solve(scheduleId, scheduleType, proposedEvents, blockedTimes);
             schedule.addUnplacedActivity("unplaced");
             return schedule;
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import plan4life.data_access.InMemoryScheduleDAO;
 import plan4life.entities.Schedule;
+import plan4life.entities.SlotKey;
 
 import java.util.Set;
 
@@ -25,50 +26,50 @@ class LockActivityInteractorTest {
         interactor = new LockActivityInteractor(presenter, dao);
 
         schedule = new Schedule(1, "week");
-        schedule.addActivity("Mon 9:00", "Workout");
-        schedule.addActivity("Mon 10:00", "Study");
+        schedule.addActivity(SlotKey.parse("Mon 9:00"), "Workout");
+        schedule.addActivity(SlotKey.parse("Mon 10:00"), "Study");
         dao.saveSchedule(schedule);
     }
 
     @Test
     void testLockSingleKey() {
         LockActivityRequestModel req =
-                new LockActivityRequestModel(1, Set.of("Mon 9:00"));
+                new LockActivityRequestModel(1, Set.of(SlotKey.parse("Mon 9:00")));
 
         interactor.execute(req);
 
         Schedule updated = presenter.lastResponse.getUpdatedSchedule();
-        assertTrue(updated.getLockedSlotKeys().contains("Mon 9:00"));
+        assertTrue(updated.getLockedSlotKeys().contains(SlotKey.parse("Mon 9:00")));
     }
 
     @Test
     void testLockMultipleKeys() {
         LockActivityRequestModel req =
-                new LockActivityRequestModel(1, Set.of("Mon 9:00", "Mon 10:00"));
+                new LockActivityRequestModel(1, Set.of(SlotKey.parse("Mon 9:00"), SlotKey.parse("Mon 10:00")));
 
         interactor.execute(req);
 
         Schedule updated = presenter.lastResponse.getUpdatedSchedule();
-        assertTrue(updated.getLockedSlotKeys().contains("Mon 9:00"));
-        assertTrue(updated.getLockedSlotKeys().contains("Mon 10:00"));
+        assertTrue(updated.getLockedSlotKeys().contains(SlotKey.parse("Mon 9:00")));
+        assertTrue(updated.getLockedSlotKeys().contains(SlotKey.parse("Mon 10:00")));
         assertEquals(2, updated.getLockedSlotKeys().size());
     }
 
     @Test
     void testUnlockingWorks() {
-        schedule.lockSlotKey("Mon 9:00");
-        schedule.lockSlotKey("Mon 10:00");
+        schedule.lockSlotKey(SlotKey.parse("Mon 9:00"));
+        schedule.lockSlotKey(SlotKey.parse("Mon 10:00"));
         dao.saveSchedule(schedule);
 
         LockActivityRequestModel req =
-                new LockActivityRequestModel(1, Set.of("Mon 9:00"));
+                new LockActivityRequestModel(1, Set.of(SlotKey.parse("Mon 9:00")));
 
         interactor.execute(req);
 
         Schedule updated = presenter.lastResponse.getUpdatedSchedule();
 
-        assertFalse(updated.getLockedSlotKeys().contains("Mon 9:00"));
-        assertTrue(updated.getLockedSlotKeys().contains("Mon 10:00"));
+        assertFalse(updated.getLockedSlotKeys().contains(SlotKey.parse("Mon 9:00")));
+        assertTrue(updated.getLockedSlotKeys().contains(SlotKey.parse("Mon 10:00")));
     }
 
     @Test
@@ -80,7 +81,7 @@ class LockActivityInteractorTest {
     @Test
     void testNewScheduleCreatedIfMissing() {
         LockActivityRequestModel req =
-                new LockActivityRequestModel(99, Set.of("Mon 3:00"));
+                new LockActivityRequestModel(99, Set.of(SlotKey.parse("Mon 3:00")));
 
         interactor.execute(req);
 
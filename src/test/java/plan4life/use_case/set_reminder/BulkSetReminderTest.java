@@ -0,0 +1,137 @@
+package plan4life.use_case.set_reminder;
+
+import org.junit.jupiter.api.Test;
+import plan4life.data_access.InMemoryReminderDAO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk setReminders / cancelReminders on a manual clock.
+ */
+class BulkSetReminderTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private final TimingWheelReminderSchedulerTest.ManualClock clock =
+            new TimingWheelReminderSchedulerTest.ManualClock(NOW.toInstant(ZoneOffset.UTC).toEpochMilli());
+    private final TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+    private final InMemoryReminderDAO dao = new InMemoryReminderDAO();
+    private final CountingPresenter presenter = new CountingPresenter();
+    private final SetReminderInteractor interactor = new SetReminderInteractor(dao, presenter, wheel);
+
+    static class CountingPresenter implements SetReminderOutputBoundary {
+        int singleScheduledCalls;
+        final List<Integer> bulkScheduled = new ArrayList<>();
+        final List<Integer> bulkCancelled = new ArrayList<>();
+        final List<String> fired = new ArrayList<>();
+
+        @Override
+        public void presentReminderScheduled(SetReminderResponseModel responseModel) {
+            singleScheduledCalls++;
+        }
+
+        @Override
+        public void presentReminderFired(SetReminderResponseModel responseModel) {
+            fired.add(responseModel.getTitle());
+        }
+
+        @Override
+        public void presentReminderCancelled(SetReminderResponseModel responseModel) {
+        }
+
+        @Override
+        public void presentRemindersScheduled(List<SetReminderResponseModel> responseModels) {
+            bulkScheduled.add(responseModels.size());
+        }
+
+        @Override
+        public void presentRemindersCancelled(List<SetReminderResponseModel> responseModels) {
+            bulkCancelled.add(responseModels.size());
+        }
+    }
+
+    private static SetReminderRequestModel request(String title, LocalDateTime start, int minutesBefore) {
+        return new SetReminderRequestModel(title, start, start.plusHours(1), minutesBefore,
+                "Message only", "MEDIUM", true, false, false, true);
+    }
+
+    private static List<SetReminderRequestModel> events(int count) {
+        List<SetReminderRequestModel> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(request("Event " + i, NOW.plusHours(1).plusMinutes(i), 15));
+        }
+        return requests;
+    }
+
+    @Test
+    void testSetRemindersStoresArmsAndReportsTheBatchOnce() {
+        interactor.setReminders(events(5000));
+
+        assertEquals(5000, dao.size());
+        assertEquals(5000, wheel.pendingCount());
+        assertEquals(List.of(5000), presenter.bulkScheduled);
+        assertEquals(0, presenter.singleScheduledCalls);
+
+        clock.advance(Duration.ofMinutes(46));
+        wheel.runDue();
+        assertEquals(List.of("Event 0", "Event 1"), presenter.fired);
+        assertEquals("Event 2", dao.nextDue(LocalDateTime.MIN).getTitle());
+    }
+
+    @Test
+    void testInvalidRequestRejectsTheWholeBatch() {
+        List<SetReminderRequestModel> requests = events(3);
+        requests.add(request("Bad", NOW.plusHours(2), -5));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> interactor.setReminders(requests));
+
+        assertTrue(ex.getMessage().contains("#3"));
+        assertEquals(0, dao.size());
+        assertEquals(0, wheel.pendingCount());
+        assertTrue(presenter.bulkScheduled.isEmpty());
+    }
+
+    @Test
+    void testResettingReplacesExistingTimersAndDuplicatesCollapse() {
+        interactor.setReminders(events(10));
+        List<SetReminderRequestModel> again = events(10);
+        again.add(request("Event 0", NOW.plusHours(1), 30));
+
+        interactor.setReminders(again);
+
+        assertEquals(10, dao.size());
+        assertEquals(10, wheel.pendingCount());
+        assertEquals(List.of(10, 10), presenter.bulkScheduled);
+    }
+
+    @Test
+    void testRemindersAlreadyDueFireImmediately() {
+        interactor.setReminders(List.of(
+                request("Past", NOW.minusMinutes(5), 10),
+                request("Now", NOW.plusHours(3), 0),
+                request("Later", NOW.plusHours(3), 10)));
+
+        assertEquals(List.of("Past", "Now"), presenter.fired);
+        assertEquals(1, wheel.pendingCount());
+        assertEquals("Later", dao.nextDue(LocalDateTime.MIN).getTitle());
+    }
+
+    @Test
+    void testCancelRemindersRemovesTheBatch() {
+        List<SetReminderRequestModel> requests = events(100);
+        interactor.setReminders(requests);
+
+        interactor.cancelReminders(requests.subList(0, 60));
+
+        assertEquals(40, dao.size());
+        assertEquals(40, wheel.pendingCount());
+        assertEquals(List.of(60), presenter.bulkCancelled);
+    }
+}
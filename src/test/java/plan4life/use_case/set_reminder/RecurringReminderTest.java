@@ -0,0 +1,141 @@
+package plan4life.use_case.set_reminder;
+
+import org.junit.jupiter.api.Test;
+import plan4life.data_access.InMemoryReminderDAO;
+import plan4life.entities.Recurrence;
+import plan4life.entities.Reminder;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recurring reminders: one stored and armed occurrence per series, on a manual clock.
+ */
+class RecurringReminderTest {
+
+    // A Monday
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 8, 0);
+    private static final LocalDateTime STANDUP = NOW.plusHours(1);
+
+    private final TimingWheelReminderSchedulerTest.ManualClock clock =
+            new TimingWheelReminderSchedulerTest.ManualClock(NOW.toInstant(ZoneOffset.UTC).toEpochMilli());
+    private final TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+    private final InMemoryReminderDAO dao = new InMemoryReminderDAO();
+    private final ReminderRecoveryTest.RecordingPresenter presenter = new ReminderRecoveryTest.RecordingPresenter();
+    private final SetReminderInteractor interactor = new SetReminderInteractor(dao, presenter, wheel);
+
+    private static SetReminderRequestModel standup(Recurrence recurrence) {
+        return new SetReminderRequestModel("Standup", STANDUP, STANDUP.plusMinutes(15), 10,
+                "Message only", "MEDIUM", true, false, false, true, recurrence);
+    }
+
+    @Test
+    void testOnlyTheNextOccurrenceIsStoredAndArmed() {
+        interactor.setReminder(standup(Recurrence.daily(STANDUP)));
+
+        assertEquals(1, dao.size());
+        assertEquals(1, wheel.pendingCount());
+
+        for (int day = 0; day < 3; day++) {
+            clock.advance(Duration.ofDays(1));
+            wheel.runDue();
+        }
+
+        assertEquals(3, presenter.fired.size());
+        assertEquals(1, dao.size());
+        assertEquals(1, wheel.pendingCount());
+        assertEquals(STANDUP.plusDays(3).minusMinutes(10), dao.nextDue(LocalDateTime.MIN).getReminderTime());
+    }
+
+    @Test
+    void testSeriesEndsAfterItsLastOccurrence() {
+        interactor.setReminder(standup(Recurrence.weekly(STANDUP, DayOfWeek.MONDAY, DayOfWeek.THURSDAY).times(2)));
+
+        clock.advance(Duration.ofDays(3));
+        wheel.runDue();
+        assertEquals(1, wheel.pendingCount());
+        clock.advance(Duration.ofDays(4));
+        wheel.runDue();
+
+        assertEquals(2, presenter.fired.size());
+        assertEquals(0, wheel.pendingCount());
+        assertNull(dao.nextDue(LocalDateTime.MIN));
+        assertTrue(dao.getAllReminders().get(0).isDelivered());
+    }
+
+    @Test
+    void testPastOccurrencesOfANewSeriesAreSkippedNotFired() {
+        LocalDateTime firstStart = STANDUP.minusWeeks(4);
+        interactor.setReminder(new SetReminderRequestModel("Standup", firstStart, firstStart.plusMinutes(15), 10,
+                "Message only", "MEDIUM", true, false, false, true, Recurrence.weekly(firstStart)));
+
+        assertTrue(presenter.fired.isEmpty());
+        assertEquals(STANDUP.minusMinutes(10), dao.nextDue(LocalDateTime.MIN).getReminderTime());
+    }
+
+    @Test
+    void testCancellingStopsTheSeries() {
+        SetReminderRequestModel request = standup(Recurrence.daily(STANDUP));
+        interactor.setReminder(request);
+
+        interactor.cancelReminder(request);
+        clock.advance(Duration.ofDays(2));
+        wheel.runDue();
+
+        assertTrue(presenter.fired.isEmpty());
+        assertEquals(0, dao.size());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void testRangeQueriesExpandOccurrencesOnTheFly() {
+        interactor.setReminder(standup(Recurrence.weekly(STANDUP, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY)
+                .except(STANDUP.plusDays(2))));
+
+        List<Reminder> twoWeeks = dao.occurrencesDueBetween(NOW, NOW.plusWeeks(2));
+
+        assertEquals(List.of(STANDUP, STANDUP.plusWeeks(1), STANDUP.plusWeeks(1).plusDays(2)),
+                twoWeeks.stream().map(Reminder::getStart).toList());
+        assertEquals(1, dao.size());
+    }
+
+    @Test
+    void testRecoveryCountsEveryMissedOccurrenceAndRearmsTheSeries() {
+        interactor.setReminder(standup(Recurrence.daily(STANDUP)));
+
+        // Restart three and a half days later with a fresh interactor
+        clock.advance(Duration.ofDays(3).plusHours(12));
+        ReminderRecoveryTest.RecordingPresenter restarted = new ReminderRecoveryTest.RecordingPresenter();
+        TimingWheelReminderScheduler freshWheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+        new SetReminderInteractor(dao, restarted, freshWheel).recoverPendingReminders(CatchUpPolicy.summaryPerEvent());
+
+        assertEquals(List.of("Standup x4"), restarted.missed);
+        assertEquals(1, freshWheel.pendingCount());
+        assertEquals(STANDUP.plusDays(4).minusMinutes(10), dao.nextDue(LocalDateTime.MIN).getReminderTime());
+    }
+
+    @Test
+    void testWindowsReachingLocalDateTimeMaxDoNotOverflow() {
+        interactor.setReminder(standup(Recurrence.daily(STANDUP).times(3)));
+        Reminder stored = dao.nextDue(LocalDateTime.MIN);
+
+        assertNull(stored.occurrenceDueAtOrAfter(LocalDateTime.MAX));
+        assertEquals(List.of(STANDUP, STANDUP.plusDays(1), STANDUP.plusDays(2)),
+                stored.occurrencesDueBetween(NOW, LocalDateTime.MAX).stream().map(Reminder::getStart).toList());
+    }
+
+    @Test
+    void testOpenEndedSeriesRejectsAWindowWithoutEnd() {
+        interactor.setReminder(standup(Recurrence.daily(STANDUP)));
+        Reminder stored = dao.nextDue(LocalDateTime.MIN);
+
+        assertNull(stored.occurrenceDueAtOrAfter(LocalDateTime.MAX));
+        assertThrows(IllegalArgumentException.class, () -> stored.occurrencesDueBetween(NOW, LocalDateTime.MAX));
+        assertEquals(7, stored.occurrencesDueBetween(NOW, NOW.plusWeeks(1)).size());
+    }
+}
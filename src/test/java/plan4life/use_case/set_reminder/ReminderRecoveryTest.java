@@ -0,0 +1,131 @@
+package plan4life.use_case.set_reminder;
+
+import org.junit.jupiter.api.Test;
+import plan4life.data_access.InMemoryReminderDAO;
+import plan4life.entities.Reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup recovery of stored reminders, on a manual clock.
+ */
+class ReminderRecoveryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    private final TimingWheelReminderSchedulerTest.ManualClock clock =
+            new TimingWheelReminderSchedulerTest.ManualClock(NOW.toInstant(ZoneOffset.UTC).toEpochMilli());
+    private final TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+    private final InMemoryReminderDAO dao = new InMemoryReminderDAO();
+    private final RecordingPresenter presenter = new RecordingPresenter();
+    private final SetReminderInteractor interactor = new SetReminderInteractor(dao, presenter, wheel);
+
+    static class RecordingPresenter implements SetReminderOutputBoundary {
+        final List<String> fired = new ArrayList<>();
+        final List<String> missed = new ArrayList<>();
+
+        @Override
+        public void presentReminderScheduled(SetReminderResponseModel responseModel) {
+        }
+
+        @Override
+        public void presentReminderFired(SetReminderResponseModel responseModel) {
+            fired.add(responseModel.getTitle());
+        }
+
+        @Override
+        public void presentReminderCancelled(SetReminderResponseModel responseModel) {
+        }
+
+        @Override
+        public void presentRemindersMissed(SetReminderResponseModel latest, int missedCount) {
+            missed.add(latest.getTitle() + " x" + missedCount);
+        }
+    }
+
+    private void store(String id, String title, LocalDateTime reminderTime) {
+        dao.saveReminder(new Reminder(id, title, reminderTime.plusMinutes(10), reminderTime.plusHours(1),
+                reminderTime, 10, "Message only", "MEDIUM", true, false, false, false));
+    }
+
+    @Test
+    void testFutureRemindersAreRescheduledAndFireOnTime() {
+        store("a", "Standup", NOW.plusMinutes(5));
+
+        SetReminderInteractor.RecoveryReport report = interactor.recoverPendingReminders(CatchUpPolicy.fireAll());
+
+        assertEquals(1, report.getRescheduled());
+        assertEquals(1, wheel.pendingCount());
+        clock.advance(Duration.ofMinutes(5));
+        wheel.runDue();
+        assertEquals(List.of("Standup"), presenter.fired);
+        assertTrue(dao.getReminder("a").isDelivered());
+    }
+
+    @Test
+    void testFireAllFiresEachMissedReminderOnce() {
+        store("a", "Standup", NOW.minusHours(2));
+        store("b", "Standup", NOW.minusHours(1));
+
+        SetReminderInteractor.RecoveryReport report = interactor.recoverPendingReminders(CatchUpPolicy.fireAll());
+
+        assertEquals(2, report.getMissedNotifications());
+        assertEquals(List.of("Standup", "Standup"), presenter.fired);
+        assertNull(dao.nextDue(LocalDateTime.MIN));
+
+        // A second startup finds nothing left to deliver
+        interactor.recoverPendingReminders(CatchUpPolicy.fireAll());
+        assertEquals(2, presenter.fired.size());
+    }
+
+    @Test
+    void testSummaryPerEventKeepsEventsWithTheSameTitleApart() {
+        store("a", "Dentist", NOW.minusDays(2));
+        store("b", "Dentist", NOW.minusDays(1));
+        store("c", "Standup", NOW.minusMinutes(30));
+
+        SetReminderInteractor.RecoveryReport report =
+                interactor.recoverPendingReminders(CatchUpPolicy.summaryPerEvent());
+
+        assertEquals(3, report.getMissedNotifications());
+        assertEquals(List.of("Dentist x1", "Dentist x1", "Standup x1"), presenter.missed);
+        assertTrue(presenter.fired.isEmpty());
+        assertTrue(dao.getReminder("a").isDelivered());
+    }
+
+    @Test
+    void testDropOlderThanSkipsStaleReminders() {
+        store("old", "Gym", NOW.minusDays(3));
+        store("recent", "Lunch", NOW.minusMinutes(20));
+
+        SetReminderInteractor.RecoveryReport report =
+                interactor.recoverPendingReminders(CatchUpPolicy.dropOlderThan(Duration.ofHours(1)));
+
+        assertEquals(1, report.getDropped());
+        assertEquals(List.of("Lunch"), presenter.fired);
+        assertTrue(dao.getReminder("old").isDelivered());
+    }
+
+    @Test
+    void testCancelledReminderIsNotMarkedDeliveredWhenItsTimerFires() {
+        LocalDateTime start = NOW.plusMinutes(11);
+        SetReminderRequestModel request = new SetReminderRequestModel("Standup", start, start.plusHours(1),
+                10, "Message only", "MEDIUM", true, false, false, false);
+        String id = "Standup|" + start + "|" + start.plusHours(1);
+        store(id, "Standup", NOW.plusMinutes(1));
+        interactor.recoverPendingReminders(CatchUpPolicy.fireAll());
+
+        interactor.cancelReminder(request);
+        clock.advance(Duration.ofMinutes(1));
+        wheel.runDue();
+
+        assertNull(dao.getReminder(id));
+        assertTrue(presenter.fired.isEmpty());
+    }
+}
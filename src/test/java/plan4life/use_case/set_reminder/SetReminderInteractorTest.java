@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import plan4life.data_access.ReminderDataAccessInterface;
 import plan4life.entities.Reminder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -167,6 +168,37 @@ class SetReminderInteractorTest {
         assertEquals("Future Event", presenter.lastFired.getTitle());
     }
 
+    // ---------------------------------------------------------------------
+    // 2b) Future reminders fire from the shared scheduler, driven here by a virtual clock
+    // ---------------------------------------------------------------------
+
+    @Test
+    void testSetReminderFiresFromSchedulerOnVirtualClock() {
+        InMemoryReminderDAO dao = new InMemoryReminderDAO();
+        CollectingPresenter presenter = new CollectingPresenter();
+        TimingWheelReminderSchedulerTest.ManualClock clock =
+                new TimingWheelReminderSchedulerTest.ManualClock(1_700_000_000_000L);
+        TimingWheelReminderScheduler scheduler =
+                new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+        SetReminderInteractor interactor = new SetReminderInteractor(dao, presenter, scheduler);
+
+        LocalDateTime start = LocalDateTime.now(clock).plusMinutes(30);
+        SetReminderRequestModel request = new SetReminderRequestModel(
+                "Virtual Event", start, start.plusHours(1), 10,
+                "Message only", "LOW", false, false, false, true);
+
+        interactor.setReminder(request);
+        clock.advance(Duration.ofMinutes(19));
+        scheduler.runDue();
+        assertFalse(presenter.firedCalled);
+
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.runDue();
+        assertTrue(presenter.firedCalled);
+        assertEquals("Virtual Event", presenter.lastFired.getTitle());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
     // ---------------------------------------------------------------------
     // 3) Cancel reminder when timer exists
     // ---------------------------------------------------------------------
@@ -0,0 +1,122 @@
+package plan4life.use_case.set_reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelReminderSchedulerTest {
+
+    /**
+     * Virtual clock moved by hand.
+     */
+    static final class ManualClock extends Clock {
+        private long millis;
+
+        ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(Duration amount) {
+            millis += amount.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Test
+    void testCallbacksFireOnTimeAndNotBefore() {
+        ManualClock clock = new ManualClock(1_000_000);
+        TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(25, () -> fired.add("25ms"));
+        wheel.schedule(Duration.ofHours(3).toMillis(), () -> fired.add("3h"));
+        wheel.schedule(0, () -> fired.add("now"));
+
+        wheel.runDue();
+        assertEquals(List.of("now"), fired);
+
+        clock.advance(Duration.ofMillis(20));
+        wheel.runDue();
+        assertEquals(List.of("now"), fired);
+        clock.advance(Duration.ofMillis(10));
+        wheel.runDue();
+        assertEquals(List.of("now", "25ms"), fired);
+
+        clock.advance(Duration.ofHours(3).minusMillis(40));
+        wheel.runDue();
+        assertEquals(2, fired.size());
+        clock.advance(Duration.ofMillis(10));
+        wheel.runDue();
+        assertEquals(List.of("now", "25ms", "3h"), fired);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void testCancelledCallbacksNeverRun() {
+        ManualClock clock = new ManualClock(0);
+        TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+        List<String> fired = new ArrayList<>();
+        ReminderScheduler.Handle kept = wheel.schedule(Duration.ofMinutes(10).toMillis(), () -> fired.add("kept"));
+        ReminderScheduler.Handle dropped = wheel.schedule(Duration.ofMinutes(10).toMillis(), () -> fired.add("dropped"));
+
+        assertTrue(dropped.cancel());
+        assertFalse(dropped.cancel());
+        clock.advance(Duration.ofMinutes(11));
+        wheel.runDue();
+
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void testManyPendingRemindersFireInTickOrder() {
+        ManualClock clock = new ManualClock(0);
+        TimingWheelReminderScheduler wheel = new TimingWheelReminderScheduler(clock, Duration.ofMillis(10));
+        Random random = new Random(42);
+        int count = 100_000;
+        long[] lastFired = {-1};
+        int[] firedCount = {0};
+        boolean[] early = {false};
+        for (int i = 0; i < count; i++) {
+            long delay = random.nextInt((int) Duration.ofDays(2).toMillis());
+            wheel.schedule(delay, () -> {
+                long now = clock.millis();
+                early[0] |= now < delay;
+                lastFired[0] = Math.max(lastFired[0], now);
+                firedCount[0]++;
+            });
+        }
+        assertEquals(count, wheel.pendingCount());
+
+        for (int minute = 0; minute <= 2 * 24 * 60; minute++) {
+            clock.advance(Duration.ofMinutes(1));
+            wheel.runDue();
+        }
+
+        assertEquals(count, firedCount[0]);
+        assertFalse(early[0]);
+        assertEquals(0, wheel.pendingCount());
+    }
+}